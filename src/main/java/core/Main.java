@@ -6,16 +6,20 @@ import core.domain.client.MembershipType;
 import core.domain.club.FitnessClub;
 import core.domain.club.FitnessNetwork;
 import core.domain.club.Studio;
+import core.domain.shop.Campaign;
+import core.domain.shop.CampaignTarget;
 import core.domain.shop.DiscountStrategy;
 import core.domain.shop.Order;
 import core.domain.shop.OrderItem;
 import core.domain.shop.Product;
 import core.domain.shop.ProductFactory;
+import core.domain.shop.ProductType;
 import core.domain.staff.Administrator;
 import core.domain.staff.Cleaner;
 import core.domain.staff.Trainer;
 import core.domain.scheduling.GroupClass;
 import core.services.BookingService;
+import core.services.CampaignService;
 import core.services.MembershipService;
 
 import core.exceptions.BookingException;
@@ -44,6 +48,7 @@ public class Main implements CommandLineRunner {
     private final ProductFactory productFactory;
     private final MembershipService membershipService;
     private final BookingService bookingService;
+    private final CampaignService campaignService;
     
     /**
      * Constructor with dependency injection.
@@ -52,16 +57,19 @@ public class Main implements CommandLineRunner {
      * @param productFactory the product factory
      * @param membershipService the membership service
      * @param bookingService the booking service
+     * @param campaignService the campaign service
      */
     @Autowired
     public Main(FitnessNetwork fitnessNetwork,
                 ProductFactory productFactory,
                 MembershipService membershipService,
-                BookingService bookingService) {
+                BookingService bookingService,
+                CampaignService campaignService) {
         this.fitnessNetwork = fitnessNetwork;
         this.productFactory = productFactory;
         this.membershipService = membershipService;
         this.bookingService = bookingService;
+        this.campaignService = campaignService;
     }
     
     public static void main(String[] args) {
@@ -277,5 +285,17 @@ public class Main implements CommandLineRunner {
         System.out.println("Оригінальна сума замовлення: " + order.getOriginalTotalPrice() + " грн");
         System.out.println("Загальна знижка: " + order.getTotalDiscountAmount() + " грн");
         System.out.println("Фінальна сума: " + order.getTotalPrice() + " грн");
+
+        // Demonstrate a campaign applied at checkout
+        System.out.println("\n6.5. Замовлення під час акції:");
+        Campaign springSale = new Campaign.Builder("Весняний розпродаж", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.SUPPLEMENT))
+                .build();
+        campaignService.addCampaign(springSale);
+
+        Order campaignOrder = campaignService.createOrder(orderClient, orderItems);
+        System.out.println("Акція: " + springSale.getName());
+        System.out.println("Фінальна сума: " + campaignOrder.getTotalPrice() + " грн");
+        campaignService.removeCampaign(springSale.getId());
     }
 }
\ No newline at end of file
@@ -2,45 +2,167 @@ package core.domain.client;
 
 import core.domain.staff.Administrator;
 import core.util.Constants;
+import core.util.IdGenerators;
 import core.util.ValidationUtils;
 
+import java.time.LocalDate;
+
 /**
  * Represents a client of the fitness club.
- * A client can have a membership that grants access to club facilities and services.
+ * A client can have a membership that grants access to club facilities and services,
+ * and a renewal that takes over when the current membership ends.
  */
 public class Client {
+    private final long id;
     private final String fullName;
-    private Membership membership; // can be null
+    private volatile Membership membership; // can be null
+    private volatile Membership nextMembership; // can be null
     private String phoneNumber;
 
     public Client(String fullName, String phoneNumber) {
+        this.id = IdGenerators.nextId();
         this.fullName = ValidationUtils.requireNonBlank(fullName, "Ім'я клієнта не може бути порожнім.");
         this.phoneNumber = ValidationUtils.requireNonBlank(phoneNumber, Constants.ERROR_CLIENT_PHONE_BLANK);
     }
 
-    public void assignMembership(Membership membership, Administrator administrator) {
+    /**
+     * Assigns a membership, dropping a queued renewal.
+     *
+     * @param membership the new membership (must not be null)
+     * @param administrator the administrator who approved the membership (must not be null)
+     * @return the dropped renewal, or null if none was queued
+     */
+    public synchronized Membership assignMembership(Membership membership, Administrator administrator) {
         ValidationUtils.requireNonNull(membership, Constants.ERROR_MEMBERSHIP_NULL);
         ValidationUtils.requireNonNull(administrator, Constants.ERROR_ADMINISTRATOR_NULL);
+        Membership dropped = nextMembership;
         this.membership = membership;
+        this.nextMembership = null;
+        return dropped;
+    }
+
+    /**
+     * Atomically replaces the current membership, but only if it is still the expected one
+     * and no renewal is queued, since a queued renewal means the client was already renewed.
+     * Used by bulk renewals so that a membership assigned concurrently is never overwritten.
+     *
+     * @param expected the membership the caller based the replacement on (may be null)
+     * @param replacement the new membership (must not be null)
+     * @param administrator the administrator who approved the replacement (must not be null)
+     * @return true if the membership was replaced, false if it changed in the meantime
+     */
+    public synchronized boolean replaceMembership(Membership expected, Membership replacement,
+                                                  Administrator administrator) {
+        ValidationUtils.requireNonNull(replacement, Constants.ERROR_MEMBERSHIP_NULL);
+        ValidationUtils.requireNonNull(administrator, Constants.ERROR_ADMINISTRATOR_NULL);
+        if (this.membership != expected || nextMembership != null) {
+            return false;
+        }
+        this.membership = replacement;
+        return true;
+    }
+
+    /**
+     * Atomically queues the renewal of the current membership, but only if it is still the expected one
+     * and no renewal is queued yet. The renewal becomes the current membership once the current one
+     * has ended and {@link #activateRenewal(LocalDate)} is called, so the client keeps access until then.
+     * If the current membership has already ended, it is replaced right away.
+     *
+     * @param expected the membership the caller based the renewal on (may be null)
+     * @param renewal the new membership (must not be null)
+     * @param administrator the administrator who approved the renewal (must not be null)
+     * @return true if the renewal was queued or assigned, false if the membership changed in the meantime
+     */
+    public synchronized boolean scheduleRenewal(Membership expected, Membership renewal,
+                                                Administrator administrator) {
+        ValidationUtils.requireNonNull(renewal, Constants.ERROR_MEMBERSHIP_NULL);
+        ValidationUtils.requireNonNull(administrator, Constants.ERROR_ADMINISTRATOR_NULL);
+        if (membership != expected || nextMembership != null) {
+            return false;
+        }
+        if (expected == null || hasEnded(expected)) {
+            this.membership = renewal;
+        } else {
+            this.nextMembership = renewal;
+        }
+        return true;
     }
 
     public boolean hasActiveMembership() {
-        return membership != null && membership.isActive();
+        Membership current = membership;
+        return current != null && current.isActive();
     }
 
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = ValidationUtils.requireNonBlank(phoneNumber, Constants.ERROR_CLIENT_PHONE_BLANK);
     }
 
+    public long getNumericId() {
+        return id;
+    }
+
     public String getFullName() {
         return fullName;
     }
 
+    /**
+     * Gets the current membership. A queued renewal only becomes current through
+     * {@link #activateRenewal(LocalDate)}.
+     *
+     * @return the current membership, or null if the client has none
+     */
     public Membership getMembership() {
         return membership;
     }
 
+    /**
+     * Gets the renewal that becomes current when the current membership ends.
+     *
+     * @return the queued renewal, or null if there is none
+     */
+    public Membership getNextMembership() {
+        return nextMembership;
+    }
+
     public String getPhoneNumber() {
         return phoneNumber;
     }
+
+    /**
+     * Makes the queued renewal current if the current membership ended before the specified day.
+     *
+     * @param today the current day (must not be null)
+     * @return true if the renewal became current
+     */
+    public synchronized boolean activateRenewal(LocalDate today) {
+        ValidationUtils.requireNonNull(today, "Дата не може бути null.");
+        if (nextMembership == null || membership == null || !today.isAfter(membership.getEndDate())) {
+            return false;
+        }
+        membership = nextMembership;
+        nextMembership = null;
+        return true;
+    }
+
+    /**
+     * Atomically replaces the queued renewal, but only if it is still the expected one,
+     * e.g. to move it behind a current membership extended by a freeze.
+     *
+     * @param expected the renewal the caller based the replacement on (must not be null)
+     * @param replacement the new renewal (must not be null)
+     * @return true if the renewal was replaced, false if it changed in the meantime
+     */
+    public synchronized boolean replaceRenewal(Membership expected, Membership replacement) {
+        ValidationUtils.requireNonNull(expected, Constants.ERROR_MEMBERSHIP_NULL);
+        ValidationUtils.requireNonNull(replacement, Constants.ERROR_MEMBERSHIP_NULL);
+        if (nextMembership != expected) {
+            return false;
+        }
+        nextMembership = replacement;
+        return true;
+    }
+
+    private static boolean hasEnded(Membership membership) {
+        return LocalDate.now().isAfter(membership.getEndDate());
+    }
 }
\ No newline at end of file
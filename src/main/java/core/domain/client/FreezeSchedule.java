@@ -0,0 +1,150 @@
+package core.domain.client;
+
+import core.util.ValidationUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable, sorted list of freeze periods of a membership.
+ * Periods are stored as merged, non-overlapping epoch-day ranges in primitive arrays,
+ * so checking whether a day is frozen is a binary search and the total number of
+ * frozen days is precomputed.
+ */
+public final class FreezeSchedule {
+    /** Schedule without any freeze periods. */
+    public static final FreezeSchedule EMPTY = new FreezeSchedule(new long[0], new long[0]);
+
+    private final long[] startDays; // inclusive, sorted
+    private final long[] endDays;   // inclusive
+    private final int totalFrozenDays;
+
+    private FreezeSchedule(long[] startDays, long[] endDays) {
+        this.startDays = startDays;
+        this.endDays = endDays;
+        long total = 0;
+        for (int i = 0; i < startDays.length; i++) {
+            total += endDays[i] - startDays[i] + 1;
+        }
+        this.totalFrozenDays = Math.toIntExact(total);
+    }
+
+    /**
+     * Creates a schedule with a single freeze period.
+     *
+     * @param from the first frozen day (must not be null)
+     * @param to the last frozen day (must not be null or before from)
+     * @return the schedule
+     * @throws IllegalArgumentException if the period is invalid
+     */
+    public static FreezeSchedule of(LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(from, "Дата початку заморозки не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата кінця заморозки не може бути null.");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Дата кінця заморозки не може бути раніше дати початку.");
+        }
+        return new FreezeSchedule(new long[]{from.toEpochDay()}, new long[]{to.toEpochDay()});
+    }
+
+    /**
+     * Merges another schedule into this one. Overlapping and adjacent periods are joined.
+     *
+     * @param other the schedule to merge (must not be null)
+     * @return the merged schedule
+     */
+    public FreezeSchedule merge(FreezeSchedule other) {
+        ValidationUtils.requireNonNull(other, "Розклад заморозок не може бути null.");
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        int total = startDays.length + other.startDays.length;
+        long[] starts = new long[total];
+        long[] ends = new long[total];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < startDays.length || j < other.startDays.length) {
+            long start;
+            long end;
+            if (j >= other.startDays.length || (i < startDays.length && startDays[i] <= other.startDays[j])) {
+                start = startDays[i];
+                end = endDays[i++];
+            } else {
+                start = other.startDays[j];
+                end = other.endDays[j++];
+            }
+            if (count > 0 && start <= ends[count - 1] + 1) {
+                ends[count - 1] = Math.max(ends[count - 1], end);
+            } else {
+                starts[count] = start;
+                ends[count++] = end;
+            }
+        }
+        return new FreezeSchedule(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /**
+     * Restricts the schedule to days on or after the specified day.
+     *
+     * @param firstDay the first epoch day to keep
+     * @return the clipped schedule
+     */
+    FreezeSchedule clipBefore(long firstDay) {
+        if (isEmpty() || startDays[0] >= firstDay) {
+            return this;
+        }
+        int from = 0;
+        while (from < endDays.length && endDays[from] < firstDay) {
+            from++;
+        }
+        long[] starts = Arrays.copyOfRange(startDays, from, startDays.length);
+        long[] ends = Arrays.copyOfRange(endDays, from, endDays.length);
+        if (starts.length > 0 && starts[0] < firstDay) {
+            starts[0] = firstDay;
+        }
+        return new FreezeSchedule(starts, ends);
+    }
+
+    /**
+     * Checks whether a day falls into a freeze period.
+     *
+     * @param epochDay the day to check, as an epoch day
+     * @return true if the day is frozen
+     */
+    public boolean isFrozen(long epochDay) {
+        int index = Arrays.binarySearch(startDays, epochDay);
+        if (index >= 0) {
+            return true;
+        }
+        int previous = -index - 2;
+        return previous >= 0 && epochDay <= endDays[previous];
+    }
+
+    public boolean isFrozen(LocalDate date) {
+        return isFrozen(date.toEpochDay());
+    }
+
+    public int getTotalFrozenDays() {
+        return totalFrozenDays;
+    }
+
+    public boolean isEmpty() {
+        return startDays.length == 0;
+    }
+
+    public int size() {
+        return startDays.length;
+    }
+
+    public LocalDate getStart(int index) {
+        return LocalDate.ofEpochDay(startDays[index]);
+    }
+
+    public LocalDate getEnd(int index) {
+        return LocalDate.ofEpochDay(endDays[index]);
+    }
+}
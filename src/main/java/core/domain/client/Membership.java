@@ -2,60 +2,179 @@ package core.domain.client;
 
 import core.domain.shop.DiscountStrategy;
 import core.util.Constants;
+import core.util.Money;
 import core.util.ValidationUtils;
 import java.time.LocalDate;
 
 /**
  * Represents a membership that grants a client access to fitness club facilities.
  * Supports different membership types (single club or network-wide) and tracks
- * membership state (active, expired, not started).
+ * membership state (active, frozen, expired, not started).
+ * Freeze periods extend the end date; they are kept as a precompiled {@link FreezeSchedule}
+ * so that the state check on the check-in path stays O(log n) in the number of freezes.
  */
 public class Membership {
     private final MembershipType type;
     private final LocalDate startDate;
-    private final LocalDate endDate;
+    private final LocalDate scheduledEndDate;
+    private final long startDay;
+    private final int durationInDays;
     private final String clubId; // null, when NETWORK_WIDE
     private final MembershipStrategyAccess accessStrategy;
-    private final float originalCost;
+    private final long originalCostMinor;
     private final core.domain.shop.DiscountOperation discountStrategy;
-    private MembershipState currentState;
+    private final VisitCounter visits;
+    private volatile Validity validity;
 
     private Membership(Builder builder) {
         this.type = builder.type;
         this.startDate = builder.startDate;
-        this.endDate = builder.startDate.plusDays(builder.durationInDays);
+        this.scheduledEndDate = builder.startDate.plusDays(builder.durationInDays);
+        this.startDay = startDate.toEpochDay();
+        this.durationInDays = builder.durationInDays;
         this.clubId = builder.clubId;
         this.accessStrategy = MembershipStrategy.getStrategy(this.type);
-        this.originalCost = builder.cost;
+        this.originalCostMinor = builder.costMinor;
         this.discountStrategy = builder.discountStrategy != null 
             ? builder.discountStrategy 
             : DiscountStrategy.noDiscount();
-        this.currentState = MembershipStateImpl.getState(startDate, endDate);
+        this.visits = new VisitCounter(builder.visitQuota);
+        this.validity = new Validity(FreezeSchedule.EMPTY, scheduledEndDate, scheduledEndDate.toEpochDay());
     }
 
     public boolean isActive() {
-        updateState();
-        return currentState.isActive();
+        return currentState().isActive();
     }
     
     public boolean canBook() {
-        updateState();
-        return currentState.canBook();
+        return currentState().canBook();
     }
     
     public String getStatusDescription() {
-        updateState();
-        return currentState.getStatusDescription();
+        return currentState().getStatusDescription();
+    }
+
+    /**
+     * Checks whether the membership is frozen today.
+     *
+     * @return true if today falls into a freeze period
+     */
+    public boolean isFrozen() {
+        return currentState() == MembershipStateImpl.FROZEN;
     }
     
-    private void updateState() {
-        this.currentState = MembershipStateImpl.getState(startDate, endDate);
+    private MembershipState currentState() {
+        Validity current = validity;
+        return MembershipStateImpl.getState(LocalDate.now().toEpochDay(), startDay, current.endDay(), current.freezes());
+    }
+
+    /**
+     * Freezes the membership for the specified period. The end date moves by the number of frozen days.
+     *
+     * @param from the first frozen day (must not be null)
+     * @param to the last frozen day (must not be null or before from)
+     * @throws IllegalArgumentException if the period is invalid or does not overlap the membership
+     */
+    public void freeze(LocalDate from, LocalDate to) {
+        if (!applyFreeze(FreezeSchedule.of(from, to))) {
+            throw new IllegalArgumentException(Constants.ERROR_MEMBERSHIP_FREEZE_OUT_OF_RANGE);
+        }
+    }
+
+    /**
+     * Applies precompiled freeze periods to the membership.
+     * Days before the start date are ignored. Used by bulk freezes, which share one
+     * schedule between all memberships they affect.
+     *
+     * @param periods the freeze periods (must not be null)
+     * @return true if the freeze was applied, false if it does not overlap the membership
+     * @throws IllegalArgumentException if periods is null
+     */
+    public synchronized boolean applyFreeze(FreezeSchedule periods) {
+        ValidationUtils.requireNonNull(periods, "Розклад заморозок не може бути null.");
+        FreezeSchedule applicable = periods.clipBefore(startDay);
+        Validity current = validity;
+        if (applicable.isEmpty() || applicable.getStart(0).toEpochDay() > current.endDay()) {
+            return false;
+        }
+        FreezeSchedule merged = current.freezes().merge(applicable);
+        LocalDate endDate = scheduledEndDate.plusDays(merged.getTotalFrozenDays());
+        this.validity = new Validity(merged, endDate, endDate.toEpochDay());
+        return true;
+    }
+
+    public FreezeSchedule getFreezeSchedule() {
+        return validity.freezes();
     }
 
     public boolean hasAccessToClub(String clubId) {
         return accessStrategy.hasAccessToClub(clubId, this.clubId);
     }
 
+    /**
+     * Records a visit (check-in or class booking) at the specified club.
+     * Safe to call concurrently from several clubs; the visit quota is never exceeded.
+     *
+     * @param clubId the club where the visit happens (must not be null or blank)
+     * @return true if the visit was recorded, false if the visit quota is exhausted
+     * @throws IllegalArgumentException if clubId is null or blank
+     */
+    public boolean tryRecordVisit(String clubId) {
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        return visits.tryRecordVisit(clubId);
+    }
+
+    /**
+     * Returns a visit recorded at the specified club, e.g. when a booking is cancelled.
+     *
+     * @param clubId the club where the visit was recorded
+     * @return true if a visit was returned, false if no visit was recorded at that club
+     */
+    public boolean releaseVisit(String clubId) {
+        if (clubId == null) {
+            return false;
+        }
+        return visits.releaseVisit(clubId);
+    }
+
+    public boolean hasVisitQuota() {
+        return visits.getQuota() != VisitCounter.UNLIMITED;
+    }
+
+    public int getVisitQuota() {
+        return visits.getQuota();
+    }
+
+    public boolean hasRemainingVisits() {
+        return visits.getRemainingVisits() > 0;
+    }
+
+    /**
+     * Gets the number of visits left under the quota.
+     *
+     * @return the remaining visits, or {@link Integer#MAX_VALUE} for memberships without a quota
+     */
+    public int getRemainingVisits() {
+        return visits.getRemainingVisits();
+    }
+
+    public int getUsedVisits() {
+        return visits.getUsedVisits();
+    }
+
+    public long getVisitsAtClub(String clubId) {
+        return clubId == null ? 0 : visits.getVisitsAtClub(clubId);
+    }
+
+    /**
+     * Sums visits over all clubs. Always equals {@link #getUsedVisits()} once concurrent updates settle.
+     *
+     * @return the reconciled number of visits
+     */
+    public long getReconciledVisits() {
+        return visits.reconcile();
+    }
+
     public MembershipType getType() {
         return type;
     }
@@ -64,30 +183,123 @@ public class Membership {
         return startDate;
     }
 
+    /**
+     * Gets the effective end date, including the extension from freeze periods.
+     *
+     * @return the effective end date
+     */
     public LocalDate getEndDate() {
-        return endDate;
+        return validity.endDate();
+    }
+
+    /**
+     * Gets the end date as originally purchased, without freeze extensions.
+     *
+     * @return the scheduled end date
+     */
+    public LocalDate getScheduledEndDate() {
+        return scheduledEndDate;
     }
 
     public String getClubId() {
         return clubId;
     }
+
+    public int getDurationInDays() {
+        return durationInDays;
+    }
     
     public float getOriginalCost() {
-        return originalCost;
+        return (float) Money.toMajor(originalCostMinor);
+    }
+
+    public long getOriginalCostMinor() {
+        return originalCostMinor;
     }
     
     public float getCost() {
-        return (float) discountStrategy.applyDiscount(originalCost);
+        return (float) Money.toMajor(getCostMinor());
+    }
+
+    /**
+     * Gets the cost after discount in minor units. This is the exact amount to charge;
+     * the float getters are kept for display.
+     *
+     * @return the discounted cost in minor units
+     */
+    public long getCostMinor() {
+        return discountStrategy.applyDiscountMinor(originalCostMinor);
     }
     
     public float getDiscountAmount() {
-        return (float) discountStrategy.getDiscountAmount(originalCost);
+        return (float) Money.toMajor(getDiscountAmountMinor());
+    }
+
+    public long getDiscountAmountMinor() {
+        return discountStrategy.getDiscountAmountMinor(originalCostMinor);
     }
     
     public core.domain.shop.DiscountOperation getDiscountStrategy() {
         return discountStrategy;
     }
 
+    /**
+     * Creates the successor of this membership with the same terms.
+     * The successor starts on the day after this membership ends and keeps
+     * the type, club, duration, cost and discount.
+     *
+     * @return a new membership continuing this one
+     */
+    public Membership renew() {
+        return copy(type, getEndDate().plusDays(1), originalCostMinor);
+    }
+
+    /**
+     * Creates the successor of this membership with a different type and cost,
+     * e.g. an upgrade from SINGLE_CLUB to NETWORK_WIDE at renewal time.
+     * The successor starts on the day after this membership ends and keeps the duration,
+     * the visit quota and the discount, which applies to the new cost.
+     *
+     * @param newType the membership type of the successor (must not be null)
+     * @param newCostMinor the cost of the successor in minor units, before discount
+     * @return a new membership continuing this one
+     * @throws IllegalArgumentException if the successor cannot be built (e.g. SINGLE_CLUB without a club)
+     */
+    public Membership renewAs(MembershipType newType, long newCostMinor) {
+        return copy(newType, getEndDate().plusDays(1), newCostMinor);
+    }
+
+    /**
+     * Creates a copy of this membership that starts on another day with the same terms and freezes,
+     * e.g. to move a queued renewal behind a membership extended by a freeze.
+     * Visits already recorded are not copied.
+     *
+     * @param newStartDate the start date of the copy (must not be null)
+     * @return a new membership with the same terms
+     * @throws IllegalArgumentException if newStartDate is null
+     */
+    public Membership startingOn(LocalDate newStartDate) {
+        Membership moved = copy(type, newStartDate, originalCostMinor);
+        if (!getFreezeSchedule().isEmpty()) {
+            moved.applyFreeze(getFreezeSchedule());
+        }
+        return moved;
+    }
+
+    private Membership copy(MembershipType newType, LocalDate newStartDate, long newCostMinor) {
+        Builder builder = Builder.ofMinorUnits(newType, newStartDate, newCostMinor)
+                .withDurationInDays(durationInDays)
+                .withVisitQuota(visits.getQuota())
+                .forClub(clubId);
+        if (!(discountStrategy instanceof DiscountStrategy.NoDiscount)) {
+            builder.withDiscount(discountStrategy);
+        }
+        return builder.build();
+    }
+
+    private record Validity(FreezeSchedule freezes, LocalDate endDate, long endDay) {
+    }
+
     /**
      * Builder class for creating Membership instances.
      * Provides a fluent API for constructing memberships with optional parameters.
@@ -95,9 +307,10 @@ public class Membership {
     public static class Builder {
         private final MembershipType type;
         private final LocalDate startDate;
-        private final float cost;
+        private long costMinor;
 
         private int durationInDays = Constants.DEFAULT_MEMBERSHIP_DURATION_DAYS;
+        private int visitQuota = VisitCounter.UNLIMITED;
         private String clubId = null;
         private core.domain.shop.DiscountOperation discountStrategy = null;
 
@@ -111,7 +324,21 @@ public class Membership {
         public Builder(MembershipType type, LocalDate startDate, float cost) {
             this.type = type;
             this.startDate = startDate;
-            this.cost = cost;
+            this.costMinor = Money.ofMajor(cost);
+        }
+
+        /**
+         * Creates a new membership builder with the cost given in minor units.
+         *
+         * @param type the membership type (must not be null)
+         * @param startDate the start date of the membership (must not be null)
+         * @param costMinor the cost of the membership in minor units
+         * @return the builder
+         */
+        public static Builder ofMinorUnits(MembershipType type, LocalDate startDate, long costMinor) {
+            Builder builder = new Builder(type, startDate, 0f);
+            builder.costMinor = costMinor;
+            return builder;
         }
 
         public Builder withDurationInDays(int duration) {
@@ -119,6 +346,17 @@ public class Membership {
             return this;
         }
 
+        /**
+         * Limits the number of visits allowed during the membership.
+         *
+         * @param visitQuota the number of visits (must not be negative; 0 means unlimited)
+         * @return this builder
+         */
+        public Builder withVisitQuota(int visitQuota) {
+            this.visitQuota = visitQuota;
+            return this;
+        }
+
         public Builder forClub(String clubId) {
             this.clubId = clubId;
             return this;
@@ -134,6 +372,7 @@ public class Membership {
             ValidationUtils.requireNonNull(type, Constants.ERROR_MEMBERSHIP_TYPE_NULL);
             ValidationUtils.requireNonNull(startDate, Constants.ERROR_MEMBERSHIP_START_DATE_NULL);
             ValidationUtils.requirePositive(durationInDays, Constants.ERROR_MEMBERSHIP_DURATION_INVALID);
+            ValidationUtils.requireNonNegative(visitQuota, Constants.ERROR_MEMBERSHIP_VISIT_QUOTA_INVALID);
             
             if (type == MembershipType.SINGLE_CLUB && (clubId == null || clubId.isBlank())) {
                 throw new IllegalArgumentException(Constants.ERROR_MEMBERSHIP_CLUB_ID_REQUIRED);
@@ -4,10 +4,16 @@ import java.time.LocalDate;
 
 /**
  * Implementation of membership states.
- * Provides state objects for active, expired, and not-started memberships.
+ * Provides state objects for active, frozen, expired, and not-started memberships.
+ * States are stateless, so shared instances are returned.
  */
 public class MembershipStateImpl {
     
+    static final MembershipState ACTIVE = new ActiveState();
+    static final MembershipState FROZEN = new FrozenState();
+    static final MembershipState EXPIRED = new ExpiredState();
+    static final MembershipState NOT_STARTED = new NotStartedState();
+    
     public static class ActiveState implements MembershipState {
         @Override
         public boolean isActive() {
@@ -42,6 +48,23 @@ public class MembershipStateImpl {
         }
     }
     
+    public static class FrozenState implements MembershipState {
+        @Override
+        public boolean isActive() {
+            return false;
+        }
+        
+        @Override
+        public boolean canBook() {
+            return false;
+        }
+        
+        @Override
+        public String getStatusDescription() {
+            return "Заморожено";
+        }
+    }
+    
     public static class NotStartedState implements MembershipState {
         @Override
         public boolean isActive() {
@@ -67,14 +90,28 @@ public class MembershipStateImpl {
      * @return the appropriate membership state
      */
     public static MembershipState getState(LocalDate startDate, LocalDate endDate) {
-        LocalDate today = LocalDate.now();
-        
-        if (today.isBefore(startDate)) {
-            return new NotStartedState();
-        } else if (today.isAfter(endDate)) {
-            return new ExpiredState();
+        return getState(LocalDate.now().toEpochDay(), startDate.toEpochDay(), endDate.toEpochDay(),
+                FreezeSchedule.EMPTY);
+    }
+    
+    /**
+     * Determines the state for a membership from precomputed epoch days and freeze periods.
+     *
+     * @param today the current day as an epoch day
+     * @param startDay the start day of the membership as an epoch day
+     * @param endDay the effective end day of the membership as an epoch day
+     * @param freezes the freeze periods of the membership
+     * @return the appropriate membership state
+     */
+    public static MembershipState getState(long today, long startDay, long endDay, FreezeSchedule freezes) {
+        if (today < startDay) {
+            return NOT_STARTED;
+        } else if (today > endDay) {
+            return EXPIRED;
+        } else if (freezes.isFrozen(today)) {
+            return FROZEN;
         } else {
-            return new ActiveState();
+            return ACTIVE;
         }
     }
 }
@@ -0,0 +1,308 @@
+package core.domain.client;
+
+import core.util.ValidationUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Incrementally maintained counters of active memberships per club and per membership type.
+ * Every registered membership contributes a timeline of day-stamped deltas: +1 when it starts,
+ * -1 after it ends, and -1/+1 around each freeze period. Deltas for past days are applied at once,
+ * future deltas are queued and applied when the day comes, so reading a counter never iterates clients.
+ * Also keeps one row per client for cohort analytics, exposed as a columnar {@link Snapshot}.
+ */
+public class MembershipStatistics {
+    private final Clock clock;
+    private final Map<String, AtomicLong> activeByClub;
+    private final AtomicLongArray activeByType;
+    private final TreeMap<Long, List<Delta>> pendingDeltas;
+    private final Map<Membership, Boolean> registered;
+    private final Map<Client, ClientRecord> clients;
+    private volatile long currentDay;
+    private long version;
+    private Snapshot snapshot;
+
+    /**
+     * Creates statistics that follow the system clock.
+     */
+    public MembershipStatistics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates statistics that follow the specified clock.
+     *
+     * @param clock the clock that defines "today" (must not be null)
+     */
+    public MembershipStatistics(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        this.activeByClub = new ConcurrentHashMap<>();
+        this.activeByType = new AtomicLongArray(MembershipType.values().length);
+        this.pendingDeltas = new TreeMap<>();
+        this.registered = new IdentityHashMap<>();
+        this.clients = new HashMap<>();
+        this.currentDay = LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Records that a client's membership changed from one membership to another.
+     *
+     * @param client the client (must not be null)
+     * @param previous the membership the client held before (may be null)
+     * @param current the membership the client holds now (must not be null)
+     */
+    public synchronized void recordAssignment(Client client, Membership previous, Membership current) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        ValidationUtils.requireNonNull(current, "Абонемент не може бути null.");
+        if (previous != null && registered.remove(previous) != null) {
+            applyTimeline(previous, -1);
+        }
+        if (registered.put(current, Boolean.TRUE) == null) {
+            applyTimeline(current, 1);
+        }
+        ClientRecord record = clients.get(client);
+        if (record == null) {
+            clients.put(client, new ClientRecord(YearMonth.from(current.getStartDate()), current));
+        } else {
+            record.current = current;
+        }
+        version++;
+    }
+
+    /**
+     * Removes the contribution of a membership that will never be used, e.g. a queued renewal
+     * dropped by a new assignment. Unregistered memberships are ignored.
+     *
+     * @param membership the membership to remove (must not be null)
+     */
+    public synchronized void recordRemoval(Membership membership) {
+        ValidationUtils.requireNonNull(membership, "Абонемент не може бути null.");
+        if (registered.remove(membership) != null) {
+            applyTimeline(membership, -1);
+            version++;
+        }
+    }
+
+    /**
+     * Freezes memberships and moves their contributions accordingly, in one pass under one lock.
+     * Memberships that were never registered are frozen without touching the counters.
+     *
+     * @param memberships the memberships to freeze (must not be null)
+     * @param period the freeze period (must not be null)
+     * @return the number of memberships the freeze was applied to
+     */
+    public synchronized int applyFreeze(Collection<Membership> memberships, FreezeSchedule period) {
+        ValidationUtils.requireNonNull(memberships, "Список абонементів не може бути null.");
+        ValidationUtils.requireNonNull(period, "Розклад заморозок не може бути null.");
+        int frozen = 0;
+        for (Membership membership : memberships) {
+            boolean tracked = registered.containsKey(membership);
+            if (tracked) {
+                applyTimeline(membership, -1);
+            }
+            if (membership.applyFreeze(period)) {
+                frozen++;
+            }
+            if (tracked) {
+                applyTimeline(membership, 1);
+            }
+        }
+        version++;
+        return frozen;
+    }
+
+    /**
+     * Gets the number of active SINGLE_CLUB memberships of a club today.
+     *
+     * @param clubId the club ID
+     * @return the number of active members of the club
+     */
+    public long getActiveMembers(String clubId) {
+        rollToToday();
+        AtomicLong counter = clubId == null ? null : activeByClub.get(clubId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Gets the number of active memberships of a type today.
+     *
+     * @param type the membership type (must not be null)
+     * @return the number of active memberships of the type
+     */
+    public long getActiveMembers(MembershipType type) {
+        ValidationUtils.requireNonNull(type, "Тип абонемента не може бути null.");
+        rollToToday();
+        return activeByType.get(type.ordinal());
+    }
+
+    /**
+     * Gets the number of active memberships of all types today.
+     *
+     * @return the total number of active memberships
+     */
+    public long getTotalActiveMembers() {
+        rollToToday();
+        long total = 0;
+        for (int i = 0; i < activeByType.length(); i++) {
+            total += activeByType.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the active member counts of all clubs today.
+     *
+     * @return an immutable map from club ID to active SINGLE_CLUB members
+     */
+    public Map<String, Long> getActiveMembersByClub() {
+        rollToToday();
+        Map<String, Long> result = new HashMap<>();
+        activeByClub.forEach((clubId, counter) -> {
+            if (counter.get() != 0) {
+                result.put(clubId, counter.get());
+            }
+        });
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Gets a columnar snapshot of all clients for analytics.
+     * The snapshot is cached and only rebuilt after memberships change.
+     *
+     * @return the snapshot
+     */
+    public synchronized Snapshot snapshot() {
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = new Snapshot(version, clients.values());
+        }
+        return snapshot;
+    }
+
+    private void rollToToday() {
+        long today = LocalDate.now(clock).toEpochDay();
+        if (today > currentDay) {
+            rollTo(today);
+        }
+    }
+
+    private synchronized void rollTo(long day) {
+        while (!pendingDeltas.isEmpty() && pendingDeltas.firstKey() <= day) {
+            for (Delta delta : pendingDeltas.pollFirstEntry().getValue()) {
+                apply(delta);
+            }
+        }
+        if (day > currentDay) {
+            currentDay = day;
+        }
+    }
+
+    private void applyTimeline(Membership membership, int sign) {
+        String clubId = membership.getType() == MembershipType.SINGLE_CLUB ? membership.getClubId() : null;
+        int typeIndex = membership.getType().ordinal();
+        long startDay = membership.getStartDate().toEpochDay();
+        long endDay = membership.getEndDate().toEpochDay();
+
+        schedule(startDay, new Delta(clubId, typeIndex, sign));
+        schedule(endDay + 1, new Delta(clubId, typeIndex, -sign));
+        FreezeSchedule freezes = membership.getFreezeSchedule();
+        for (int i = 0; i < freezes.size(); i++) {
+            long from = freezes.getStart(i).toEpochDay();
+            long to = Math.min(freezes.getEnd(i).toEpochDay(), endDay);
+            if (from <= to) {
+                schedule(from, new Delta(clubId, typeIndex, -sign));
+                schedule(to + 1, new Delta(clubId, typeIndex, sign));
+            }
+        }
+    }
+
+    private void schedule(long day, Delta delta) {
+        if (day <= currentDay) {
+            apply(delta);
+        } else {
+            pendingDeltas.computeIfAbsent(day, d -> new ArrayList<>()).add(delta);
+        }
+    }
+
+    private void apply(Delta delta) {
+        activeByType.addAndGet(delta.typeIndex(), delta.amount());
+        if (delta.clubId() != null) {
+            activeByClub.computeIfAbsent(delta.clubId(), id -> new AtomicLong()).addAndGet(delta.amount());
+        }
+    }
+
+    private record Delta(String clubId, int typeIndex, int amount) {
+    }
+
+    private static final class ClientRecord {
+        private final YearMonth cohort;
+        private Membership current;
+
+        private ClientRecord(YearMonth cohort, Membership current) {
+            this.cohort = cohort;
+            this.current = current;
+        }
+    }
+
+    /**
+     * Immutable columnar view of all clients: one row per client, one primitive array per attribute.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final int[] cohortMonths;
+        private final long[] endDays;
+        private final byte[] typeOrdinals;
+
+        private Snapshot(long version, Collection<ClientRecord> records) {
+            this.version = version;
+            int size = records.size();
+            this.cohortMonths = new int[size];
+            this.endDays = new long[size];
+            this.typeOrdinals = new byte[size];
+            int row = 0;
+            for (ClientRecord record : records) {
+                cohortMonths[row] = record.cohort.getYear() * 12 + record.cohort.getMonthValue() - 1;
+                endDays[row] = record.current.getEndDate().toEpochDay();
+                typeOrdinals[row] = (byte) record.current.getType().ordinal();
+                row++;
+            }
+        }
+
+        public int size() {
+            return cohortMonths.length;
+        }
+
+        /**
+         * Gets the cohort of a client row as a month index ({@code year * 12 + month - 1}).
+         *
+         * @param row the row
+         * @return the cohort month index
+         */
+        public int getCohortMonth(int row) {
+            return cohortMonths[row];
+        }
+
+        public long getEndDay(int row) {
+            return endDays[row];
+        }
+
+        public MembershipType getType(int row) {
+            return MembershipType.values()[typeOrdinals[row]];
+        }
+
+        public int getTypeOrdinal(int row) {
+            return typeOrdinals[row];
+        }
+    }
+}
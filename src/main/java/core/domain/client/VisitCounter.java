@@ -0,0 +1,105 @@
+package core.domain.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Meters visits made under a membership and enforces an optional visit quota.
+ * The quota is enforced with a single compare-and-set counter, so concurrent check-ins
+ * can never exceed it; per-club usage is kept in separate counters so that clubs metering the
+ * same network-wide member do not contend on one counter. Releasing a visit decrements the club
+ * counter with compare-and-set, so concurrent cancellations can never return more visits than were made.
+ */
+class VisitCounter {
+    static final int UNLIMITED = 0;
+
+    private final int quota;
+    private final AtomicInteger used;
+    private final Map<String, AtomicLong> visitsByClub;
+
+    VisitCounter(int quota) {
+        this.quota = quota;
+        this.used = new AtomicInteger();
+        this.visitsByClub = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records a visit at the specified club if the quota allows it.
+     *
+     * @param clubId the club where the visit happens
+     * @return true if the visit was recorded, false if the quota is exhausted
+     */
+    boolean tryRecordVisit(String clubId) {
+        if (quota == UNLIMITED) {
+            used.incrementAndGet();
+        } else {
+            int current;
+            do {
+                current = used.get();
+                if (current >= quota) {
+                    return false;
+                }
+            } while (!used.compareAndSet(current, current + 1));
+        }
+        visitsByClub.computeIfAbsent(clubId, id -> new AtomicLong()).incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns a previously recorded visit at the specified club, e.g. after a cancelled booking.
+     *
+     * @param clubId the club where the visit was recorded
+     * @return true if a visit was returned, false if there was none to return
+     */
+    boolean releaseVisit(String clubId) {
+        AtomicLong clubVisits = visitsByClub.get(clubId);
+        if (clubVisits == null) {
+            return false;
+        }
+        long current;
+        do {
+            current = clubVisits.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!clubVisits.compareAndSet(current, current - 1));
+        // used was incremented before the club counter, so it never drops below zero
+        used.decrementAndGet();
+        return true;
+    }
+
+    int getQuota() {
+        return quota;
+    }
+
+    int getUsedVisits() {
+        return used.get();
+    }
+
+    int getRemainingVisits() {
+        if (quota == UNLIMITED) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(0, quota - used.get());
+    }
+
+    long getVisitsAtClub(String clubId) {
+        AtomicLong clubVisits = visitsByClub.get(clubId);
+        return clubVisits == null ? 0 : clubVisits.get();
+    }
+
+    /**
+     * Reconciles the per-club counters into a single total.
+     *
+     * @return the sum of visits over all clubs
+     */
+    long reconcile() {
+        long total = 0;
+        for (AtomicLong clubVisits : visitsByClub.values()) {
+            total += clubVisits.get();
+        }
+        return total;
+    }
+}
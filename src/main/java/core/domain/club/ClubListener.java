@@ -0,0 +1,30 @@
+package core.domain.club;
+
+import core.domain.staff.EmployeeOperation;
+
+import java.util.List;
+
+/**
+ * Receives changes of the resources of a club, so that aggregates over many clubs
+ * can be maintained incrementally instead of being recounted.
+ */
+interface ClubListener {
+
+    /**
+     * Called after the number of studios or staff of a club changed.
+     *
+     * @param club the club
+     * @param studioDelta the change of the number of studios
+     * @param staffDelta the change of the number of staff
+     */
+    void onResourcesChanged(FitnessClub club, int studioDelta, int staffDelta);
+
+    /**
+     * Called after employees joined or left a club.
+     *
+     * @param club the club
+     * @param employees the employees
+     * @param joined true if the employees joined, false if they left
+     */
+    void onStaffChanged(FitnessClub club, List<EmployeeOperation> employees, boolean joined);
+}
@@ -4,46 +4,119 @@ import core.domain.scheduling.Schedule;
 import core.domain.shop.Inventory;
 import core.domain.staff.Employee;
 import core.domain.staff.EmployeeOperation;
+import core.domain.staff.StaffDirectory;
 import core.util.Constants;
+import core.util.LazyId;
 import core.util.ValidationUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents a fitness club with studios, staff, schedule, and inventory.
  * Each club has a unique ID and address, and manages its own resources.
+ * Staff and studios are kept as immutable snapshots that are replaced on change, so reading them
+ * never copies or locks.
  */
 public class FitnessClub {
-    private final String id;
+    private final LazyId id;
     private final String address;
     private final Schedule schedule;
     private final Inventory inventory;
-    private final List<EmployeeOperation> staff;  // Using interface for low coupling
-    private final List<Studio> studios;
+    private volatile List<EmployeeOperation> staff;  // Using interface for low coupling
+    private volatile List<Studio> studios;
+    private final StaffDirectory staffDirectory;
+    private ClubListener listener; // guarded by this
+    private volatile long modCount;
 
     public FitnessClub(String address) {
-        this.id = UUID.randomUUID().toString();
+        this.id = LazyId.next();
         this.address = ValidationUtils.requireNonBlank(address, "Адреса клубу не може бути порожньою.");
         this.schedule = new Schedule();
         this.inventory = new Inventory();
-        this.staff = new ArrayList<>();
-        this.studios = new ArrayList<>();
+        this.staff = List.of();
+        this.studios = List.of();
+        this.staffDirectory = new StaffDirectory();
     }
 
-    public void addStaff(Employee employee) {
+    public synchronized void addStaff(Employee employee) {
         ValidationUtils.requireNonNull(employee, Constants.ERROR_EMPLOYEE_NULL);
-        this.staff.add(employee);
+        this.staff = append(staff, employee);
+        staffDirectory.add(employee);
+        modCount++;
+        if (listener != null) {
+            listener.onResourcesChanged(this, 0, 1);
+            listener.onStaffChanged(this, List.of(employee), true);
+        }
     }
 
-    public void addStudio(Studio studio) {
+    public synchronized void addStudio(Studio studio) {
         ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
-        this.studios.add(studio);
+        this.studios = append(studios, studio);
+        modCount++;
+        if (listener != null) {
+            listener.onResourcesChanged(this, 1, 0);
+        }
     }
 
+    /**
+     * Gets the version of the club. It changes whenever staff or studios are added, the schedule or
+     * one of its classes changes, or a stock level changes, so results computed from the club can be
+     * reused while the version stays the same. Salary changes do not change the version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return modCount + schedule.getVersion() + inventory.getVersion();
+    }
+
+    /**
+     * Registers the listener of the network the club joins and reports the current resources to it.
+     *
+     * @param newListener the listener
+     * @throws IllegalArgumentException if the club already has a listener
+     */
+    synchronized void attach(ClubListener newListener) {
+        if (listener != null) {
+            throw new IllegalArgumentException("Клуб вже входить до мережі.");
+        }
+        listener = newListener;
+        newListener.onResourcesChanged(this, studios.size(), staff.size());
+        newListener.onStaffChanged(this, staff, true);
+    }
+
+    /**
+     * Unregisters the listener, withdrawing the club's resources from it.
+     *
+     * @param oldListener the listener to remove
+     */
+    synchronized void detach(ClubListener oldListener) {
+        if (listener == oldListener) {
+            listener = null;
+            oldListener.onResourcesChanged(this, -studios.size(), -staff.size());
+            oldListener.onStaffChanged(this, staff, false);
+        }
+    }
+
+    private static <T> List<T> append(List<T> list, T element) {
+        List<T> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        copy.add(element);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
     public String getId() {
-        return id;
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
     }
 
     public String getAddress() {
@@ -58,11 +131,30 @@ public class FitnessClub {
         return inventory;
     }
 
+    /**
+     * Gets the staff of the club indexed by name, job title, specialization and type.
+     *
+     * @return the staff directory
+     */
+    public StaffDirectory getStaffDirectory() {
+        return staffDirectory;
+    }
+
+    /**
+     * Gets the staff of the club.
+     *
+     * @return an immutable snapshot of the staff; not copied on each call
+     */
     public List<EmployeeOperation> getStaff() {
-        return List.copyOf(staff);
+        return staff;
     }
 
+    /**
+     * Gets the studios of the club.
+     *
+     * @return an immutable snapshot of the studios; not copied on each call
+     */
     public List<Studio> getStudios() {
-        return List.copyOf(studios);
+        return studios;
     }
 }
\ No newline at end of file
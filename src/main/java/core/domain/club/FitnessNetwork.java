@@ -1,30 +1,70 @@
 package core.domain.club;
 
+import core.domain.shop.ProductOperation;
+import core.domain.staff.EmployeeOperation;
+import core.domain.staff.StaffDirectory;
+import core.domain.shop.StockIndex;
+import core.exceptions.ProductOutOfStockException;
 import core.util.ValidationUtils;
 import core.util.Constants;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a network of fitness clubs.
- * Uses the Singleton pattern to ensure only one network instance exists.
+ * Single-network deployments use the shared instance from {@link #getInstance(String)};
+ * multi-tenant deployments create one independent network per tenant with {@link #create(String)}.
+ * Clubs are kept in an immutable registry that is replaced when a club joins or leaves, so reads
+ * never lock or copy: clubs can be iterated, looked up by ID and by dense index in O(1).
+ * Network totals of studios and staff are updated by the clubs as they change, and so are the
+ * network-wide {@link StaffDirectory} and the {@link StockIndex} of the club inventories.
  */
 public class FitnessNetwork {
     private static volatile FitnessNetwork instance;
     private static final Object lock = new Object();
 
     private final String name;
-    private final List<FitnessClub> clubs;
+    private volatile Registry registry;
+    private final AtomicInteger totalStudios;
+    private final AtomicInteger totalStaff;
+    private final ClubListener aggregates;
+    private final StockIndex stockIndex;
+    private final StaffDirectory staffDirectory;
 
     /**
-     * Private constructor for singleton pattern.
+     * Private constructor; networks are obtained via {@link #getInstance(String)} or {@link #create(String)}.
      *
      * @param name the name of the network (must not be null or blank)
      * @throws IllegalArgumentException if name is null or blank
      */
     private FitnessNetwork(String name) {
         this.name = ValidationUtils.requireNonBlank(name, "Назва мережі не може бути порожньою.");
-        this.clubs = new ArrayList<>();
+        this.registry = Registry.EMPTY;
+        this.totalStudios = new AtomicInteger();
+        this.totalStaff = new AtomicInteger();
+        this.staffDirectory = new StaffDirectory();
+        this.aggregates = new ClubListener() {
+            @Override
+            public void onResourcesChanged(FitnessClub club, int studioDelta, int staffDelta) {
+                totalStudios.addAndGet(studioDelta);
+                totalStaff.addAndGet(staffDelta);
+            }
+
+            @Override
+            public void onStaffChanged(FitnessClub club, List<EmployeeOperation> employees, boolean joined) {
+                if (joined) {
+                    staffDirectory.addAll(employees);
+                } else {
+                    staffDirectory.removeAll(employees);
+                }
+            }
+        };
+        this.stockIndex = new StockIndex();
     }
 
     /**
@@ -46,21 +86,180 @@ public class FitnessNetwork {
         return instance;
     }
 
+    /**
+     * Creates a new network that is independent of the shared instance and of all other networks.
+     *
+     * @param name the name of the network (must not be null or blank)
+     * @return the new network
+     * @throws IllegalArgumentException if name is null or blank
+     */
+    public static FitnessNetwork create(String name) {
+        return new FitnessNetwork(name);
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * Gets the clubs of the network in the order they joined.
+     *
+     * @return an immutable snapshot of the clubs; not copied on each call
+     */
     public List<FitnessClub> getClubs() {
-        return List.copyOf(clubs);
+        return registry.clubs();
     }
 
+    public int getClubCount() {
+        return registry.clubs().size();
+    }
+
+    /**
+     * Gets a club by its dense index, i.e. its position in {@link #getClubs()}.
+     *
+     * @param index the index
+     * @return the club
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public FitnessClub getClub(int index) {
+        return registry.clubs().get(index);
+    }
+
+    /**
+     * Finds a club by ID.
+     *
+     * @param clubId the club ID
+     * @return the club, or empty if no club of the network has this ID
+     */
+    public Optional<FitnessClub> findClub(String clubId) {
+        Registry current = registry;
+        Integer index = clubId == null ? null : current.indexById().get(clubId);
+        return index == null ? Optional.empty() : Optional.of(current.clubs().get(index));
+    }
+
+    /**
+     * Gets the dense index of a club.
+     *
+     * @param club the club
+     * @return the index, or -1 if the club is not part of the network
+     */
+    public int indexOf(FitnessClub club) {
+        Integer index = club == null ? null : registry.indexById().get(club.getId());
+        return index == null ? -1 : index;
+    }
+
+    public int getTotalStudios() {
+        return totalStudios.get();
+    }
+
+    public int getTotalStaff() {
+        return totalStaff.get();
+    }
+
+    /**
+     * Gets the staff of all clubs of the network; an employee of several clubs is listed once.
+     *
+     * @return the staff directory
+     */
+    public StaffDirectory getStaffDirectory() {
+        return staffDirectory;
+    }
+
+    /**
+     * Gets the stock availability of all clubs of the network.
+     *
+     * @return the stock index
+     */
+    public StockIndex getStockIndex() {
+        return stockIndex;
+    }
+
+    /**
+     * Moves stock of a product from one club of the network to another.
+     *
+     * @param fromClubId the ID of the club that gives the stock
+     * @param toClubId the ID of the club that receives the stock
+     * @param product the product (must not be null)
+     * @param quantity the quantity (must be positive)
+     * @throws IllegalArgumentException if a club is not part of the network, both clubs are the same
+     *         or any other parameter is invalid
+     * @throws ProductOutOfStockException if the giving club has insufficient stock
+     * @see core.domain.shop.Inventory#transferTo
+     */
+    public void transferStock(String fromClubId, String toClubId, ProductOperation product, int quantity)
+            throws ProductOutOfStockException {
+        FitnessClub from = requireClub(fromClubId);
+        FitnessClub to = requireClub(toClubId);
+        from.getInventory().transferTo(to.getInventory(), product, quantity);
+    }
+
+    /**
+     * Adds a club to the network.
+     *
+     * @param club the club (must not be null)
+     * @throws IllegalArgumentException if club is null or already belongs to a network
+     */
     public void addClub(FitnessClub club) {
         ValidationUtils.requireNonNull(club, Constants.ERROR_CLUB_NULL);
-        this.clubs.add(club);
+        synchronized (this) {
+            club.attach(aggregates);
+            try {
+                stockIndex.attach(club.getId(), club.getInventory());
+            } catch (IllegalArgumentException e) {
+                club.detach(aggregates);
+                throw e;
+            }
+            registry = registry.with(club);
+        }
     }
 
+    /**
+     * Removes a club from the network. Indexes of the clubs after it shift down by one.
+     *
+     * @param club the club (must not be null)
+     * @throws IllegalArgumentException if club is null
+     */
     public void removeClub(FitnessClub club) {
         ValidationUtils.requireNonNull(club, Constants.ERROR_CLUB_NULL);
-        this.clubs.remove(club);
+        synchronized (this) {
+            if (registry.indexById().containsKey(club.getId())) {
+                registry = registry.without(club);
+                club.detach(aggregates);
+                stockIndex.detach(club.getId());
+            }
+        }
+    }
+
+    private FitnessClub requireClub(String clubId) {
+        return findClub(clubId)
+                .orElseThrow(() -> new IllegalArgumentException("Клуб '" + clubId + "' не входить до мережі."));
+    }
+
+    /**
+     * Immutable snapshot of the clubs and their index by ID.
+     */
+    private record Registry(List<FitnessClub> clubs, Map<String, Integer> indexById) {
+        private static final Registry EMPTY = new Registry(List.of(), Map.of());
+
+        private Registry with(FitnessClub club) {
+            List<FitnessClub> copy = new ArrayList<>(clubs.size() + 1);
+            copy.addAll(clubs);
+            copy.add(club);
+            return of(copy);
+        }
+
+        private Registry without(FitnessClub club) {
+            List<FitnessClub> copy = new ArrayList<>(clubs);
+            copy.remove(club);
+            return of(copy);
+        }
+
+        private static Registry of(List<FitnessClub> clubs) {
+            Map<String, Integer> index = new HashMap<>(clubs.size() * 2);
+            for (int i = 0; i < clubs.size(); i++) {
+                index.put(clubs.get(i).getId(), i);
+            }
+            return new Registry(Collections.unmodifiableList(clubs), Collections.unmodifiableMap(index));
+        }
     }
-}
\ No newline at end of file
+}
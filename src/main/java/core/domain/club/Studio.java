@@ -2,16 +2,15 @@ package core.domain.club;
 
 import core.domain.staff.Cleaner;
 import core.util.Constants;
+import core.util.LazyId;
 import core.util.ValidationUtils;
 
-import java.util.UUID;
-
 /**
  * Represents a studio within a fitness club.
  * A studio has a capacity and can be cleaned by assigned cleaners.
  */
 public class Studio {
-    private final String id;
+    private final LazyId id;
     private String name;
     private final int capacity;
     private boolean cleanliness;
@@ -25,7 +24,7 @@ public class Studio {
      * @throws IllegalArgumentException if name is null/blank or capacity is not positive
      */
     public Studio(String name, int capacity, boolean cleanliness) {
-        this.id = UUID.randomUUID().toString();
+        this.id = LazyId.next();
         this.name = ValidationUtils.requireNonBlank(name, Constants.ERROR_STUDIO_NAME_BLANK);
         this.capacity = ValidationUtils.requirePositive(capacity, Constants.ERROR_STUDIO_CAPACITY_INVALID);
         this.cleanliness = cleanliness;
@@ -42,7 +41,7 @@ public class Studio {
     public boolean clean(Cleaner cleaner) {
         ValidationUtils.requireNonNull(cleaner, Constants.ERROR_CLEANER_NULL);
         
-        if (cleaner.getAssignedZones().contains(this.name)) {
+        if (cleaner.isAssignedTo(this.name)) {
             this.cleanliness = true;
             System.out.println("Прибиральник " + cleaner.getFullName() + " прибрав студію '" + this.name + "'.");
             return true;
@@ -72,7 +71,16 @@ public class Studio {
         this.name = ValidationUtils.requireNonBlank(name, Constants.ERROR_STUDIO_NAME_BLANK);
     }
 
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
     public String getId() {
-        return id;
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
     }
 }
\ No newline at end of file
@@ -8,19 +8,19 @@ import core.exceptions.BookingException;
 import core.event.Event;
 import core.event.Observable;
 import core.util.Constants;
+import core.util.LazyId;
 import core.util.ValidationUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents a group fitness class scheduled at a specific time and studio.
  * Supports participant management and state tracking (scheduled, in progress, completed, cancelled).
  */
 public class GroupClass {
-    private final String id;
+    private final LazyId id;
     private final String name;
     private final Trainer trainer;
     private final Studio studio;
@@ -48,7 +48,7 @@ public class GroupClass {
         ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
         ValidationUtils.requireNonNull(startTime, "Час початку не може бути null.");
 
-        this.id = UUID.randomUUID().toString();
+        this.id = LazyId.next();
         this.name = name;
         this.trainer = trainer;
         this.studio = studio;
@@ -115,16 +115,41 @@ public class GroupClass {
         return isCancelled;
     }
 
-    public void removeParticipant(Client client) {
-        participants.remove(client);
+    /**
+     * Removes a participant from the class.
+     * Notifies observers with {@code BOOKING_CANCELLED} if the client was booked.
+     *
+     * @param client the client to remove
+     * @return true if the client was a participant
+     */
+    public boolean removeParticipant(Client client) {
+        if (!participants.remove(client)) {
+            return false;
+        }
+        eventObservable.notifyObservers(new Event(Event.EventType.BOOKING_CANCELLED,
+            "Клієнта знято з заняття '" + this.name + "'", this));
+        return true;
+    }
+
+    public boolean hasParticipant(Client client) {
+        return participants.contains(client);
     }
 
     public boolean overlapsWith(GroupClass other) {
         return this.startTime.isBefore(other.endTime) && this.endTime.isAfter(other.startTime);
     }
 
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
     public String getId() {
-        return id;
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
     }
 
     public String getName() {
@@ -1,6 +1,8 @@
 package core.domain.scheduling;
 
 import core.domain.club.Studio;
+import core.event.Event;
+import core.event.Observer;
 import core.util.ValidationUtils;
 
 import java.time.LocalDate;
@@ -8,18 +10,32 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Manages the schedule of group classes for a fitness club.
  * Organizes classes by date and prevents scheduling conflicts in the same studio.
+ * The schedule keeps a version that changes whenever a class is added, removed, booked, unbooked
+ * or cancelled, so views computed from it can tell whether they are still current.
  */
 public class Schedule {
 
     private final Map<LocalDate, List<GroupClass>> classesByDate;
+    private final Map<String, GroupClass> classesById;
+    private final AtomicLong version = new AtomicLong();
+    private final Observer<Event> changeObserver = event -> {
+        switch (event.getType()) {
+            case BOOKING_CONFIRMED, BOOKING_CANCELLED, CLASS_CANCELLED -> version.incrementAndGet();
+            default -> { }
+        }
+    };
 
     public Schedule() {
         this.classesByDate = new HashMap<>();
+        this.classesById = new HashMap<>();
     }
 
     /**
@@ -30,14 +46,14 @@ public class Schedule {
      * @return true if the class was added successfully, false if there's a conflict
      * @throws IllegalArgumentException if newClass is null
      */
-    public boolean addClass(GroupClass newClass) {
+    public synchronized boolean addClass(GroupClass newClass) {
         ValidationUtils.requireNonNull(newClass, "Заняття не може бути null.");
         
         LocalDate date = newClass.getStartTime().toLocalDate();
         List<GroupClass> classesOnThisDay = classesByDate.getOrDefault(date, new ArrayList<>());
 
         for (GroupClass existingClass : classesOnThisDay) {
-            if (existingClass.getStudio().getId().equals(newClass.getStudio().getId()) && existingClass.overlapsWith(newClass)) {
+            if (existingClass.getStudio().getNumericId() == newClass.getStudio().getNumericId() && existingClass.overlapsWith(newClass)) {
                 System.out.println("Студія '" + newClass.getStudio().getName() + "' уже зайнята на цей час.");
                 return false;
             }
@@ -45,33 +61,73 @@ public class Schedule {
 
         classesOnThisDay.add(newClass);
         classesByDate.put(date, classesOnThisDay);
+        classesById.put(newClass.getId(), newClass);
+        newClass.addObserver(changeObserver);
+        version.incrementAndGet();
         return true;
     }
 
-    public void removeClass(GroupClass classToRemove) {
+    public synchronized void removeClass(GroupClass classToRemove) {
         ValidationUtils.requireNonNull(classToRemove, "Заняття не може бути null.");
         
         LocalDate date = classToRemove.getStartTime().toLocalDate();
         if (classesByDate.containsKey(date)) {
-            classesByDate.get(date).remove(classToRemove);
+            if (classesByDate.get(date).remove(classToRemove)) {
+                classesById.remove(classToRemove.getId());
+                classToRemove.removeObserver(changeObserver);
+                version.incrementAndGet();
+            }
         }
     }
 
-    public List<GroupClass> getClassesForDate(LocalDate date) {
+    /**
+     * Finds a scheduled class by its ID.
+     *
+     * @param classId the class ID
+     * @return the class, or empty if no such class is scheduled
+     */
+    public synchronized Optional<GroupClass> findClass(String classId) {
+        return classId == null ? Optional.empty() : Optional.ofNullable(classesById.get(classId));
+    }
+
+    public synchronized List<GroupClass> getClassesForDate(LocalDate date) {
         ValidationUtils.requireNonNull(date, "Дата не може бути null.");
         return classesByDate.getOrDefault(date, new ArrayList<>());
     }
 
-    public List<GroupClass> getClassesForDateAndStudio(LocalDate date, Studio studio) {
+    public synchronized List<GroupClass> getClassesForDateAndStudio(LocalDate date, Studio studio) {
         ValidationUtils.requireNonNull(date, "Дата не може бути null.");
         ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
         
         return getClassesForDate(date).stream()
-                .filter(c -> c.getStudio().getId().equals(studio.getId()))
+                .filter(c -> c.getStudio().getNumericId() == studio.getNumericId())
                 .collect(Collectors.toList());
     }
 
-    public List<GroupClass> getAllClasses() {
+    /**
+     * Gets the version of the schedule; it changes with every change of the schedule or its classes.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Passes every scheduled class to an action without copying the schedule.
+     * The schedule is locked while the action runs, so the action must not change it.
+     *
+     * @param action the action (must not be null)
+     * @throws IllegalArgumentException if action is null
+     */
+    public synchronized void forEachClass(Consumer<GroupClass> action) {
+        ValidationUtils.requireNonNull(action, "Дія не може бути null.");
+        for (List<GroupClass> classesOnDate : classesByDate.values()) {
+            classesOnDate.forEach(action);
+        }
+    }
+
+    public synchronized List<GroupClass> getAllClasses() {
         List<GroupClass> allClasses = new ArrayList<>();
         for (List<GroupClass> classesOnDate : classesByDate.values()) {
             allClasses.addAll(classesOnDate);
@@ -0,0 +1,138 @@
+package core.domain.shop;
+
+import core.util.Constants;
+import core.util.LazyId;
+import core.util.ValidationUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time-windowed promotional campaign: a discount applied to the products
+ * selected by a {@link CampaignTarget} between a start and an end time.
+ * When several campaigns select the same product, the one with the higher priority wins;
+ * on equal priority the more specific target wins.
+ */
+public class Campaign {
+    private final LazyId id;
+    private final String name;
+    private final CampaignTarget target;
+    private final DiscountOperation discount;
+    private final LocalDateTime startsAt;
+    private final LocalDateTime endsAt;
+    private final int priority;
+
+    private Campaign(Builder builder) {
+        this.id = LazyId.next();
+        this.name = builder.name;
+        this.target = builder.target;
+        this.discount = builder.discount;
+        this.startsAt = builder.startsAt;
+        this.endsAt = builder.endsAt;
+        this.priority = builder.priority;
+    }
+
+    /**
+     * Checks whether the campaign runs at the specified time.
+     *
+     * @param time the time to check
+     * @return true if startsAt <= time < endsAt
+     */
+    public boolean isActiveAt(LocalDateTime time) {
+        return !time.isBefore(startsAt) && time.isBefore(endsAt);
+    }
+
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
+    public String getId() {
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CampaignTarget getTarget() {
+        return target;
+    }
+
+    public DiscountOperation getDiscount() {
+        return discount;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Builder class for creating Campaign instances.
+     */
+    public static class Builder {
+        private final String name;
+        private final DiscountOperation discount;
+        private CampaignTarget target;
+        private LocalDateTime startsAt = LocalDateTime.MIN;
+        private LocalDateTime endsAt = LocalDateTime.MAX;
+        private int priority;
+
+        /**
+         * Creates a new campaign builder.
+         *
+         * @param name the name of the campaign (must not be null or blank)
+         * @param discount the discount the campaign gives (must not be null)
+         */
+        public Builder(String name, DiscountOperation discount) {
+            this.name = name;
+            this.discount = discount;
+        }
+
+        public Builder target(CampaignTarget target) {
+            this.target = target;
+            return this;
+        }
+
+        /**
+         * Limits the campaign to a time window.
+         *
+         * @param startsAt the start of the campaign, inclusive
+         * @param endsAt the end of the campaign, exclusive
+         * @return this builder
+         */
+        public Builder between(LocalDateTime startsAt, LocalDateTime endsAt) {
+            this.startsAt = startsAt;
+            this.endsAt = endsAt;
+            return this;
+        }
+
+        public Builder withPriority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Campaign build() {
+            ValidationUtils.requireNonBlank(name, "Назва кампанії не може бути порожньою.");
+            ValidationUtils.requireNonNull(discount, "Стратегія знижки не може бути null.");
+            ValidationUtils.requireNonNull(target, Constants.ERROR_CAMPAIGN_TARGET_NULL);
+            ValidationUtils.requireNonNull(startsAt, "Дата початку не може бути null.");
+            ValidationUtils.requireNonNull(endsAt, "Дата кінця не може бути null.");
+            if (!endsAt.isAfter(startsAt)) {
+                throw new IllegalArgumentException(Constants.ERROR_CAMPAIGN_PERIOD_INVALID);
+            }
+            return new Campaign(this);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package core.domain.shop;
+
+import core.util.Constants;
+import core.util.ValidationUtils;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Selects the products a campaign applies to: all products of a type,
+ * all products with an attribute value, or an explicit set of product IDs.
+ *
+ * @param kind the kind of selection
+ * @param productType the product type, for {@link Kind#PRODUCT_TYPE} targets
+ * @param attribute the attribute, for {@link Kind#ATTRIBUTE} targets
+ * @param attributeValue the normalized attribute value, for {@link Kind#ATTRIBUTE} targets
+ * @param productIds the product IDs, for {@link Kind#PRODUCT_IDS} targets
+ */
+public record CampaignTarget(Kind kind, ProductType productType, ProductAttribute attribute,
+                             String attributeValue, Set<String> productIds) {
+
+    /**
+     * Kinds of targets, from the least to the most specific.
+     */
+    public enum Kind {
+        PRODUCT_TYPE,
+        ATTRIBUTE,
+        PRODUCT_IDS
+    }
+
+    public static CampaignTarget forType(ProductType type) {
+        ValidationUtils.requireNonNull(type, Constants.ERROR_PRODUCT_TYPE_NULL);
+        return new CampaignTarget(Kind.PRODUCT_TYPE, type, null, null, Set.of());
+    }
+
+    /**
+     * Targets products whose attribute has the specified value. Values are compared ignoring case.
+     *
+     * @param attribute the attribute (must not be null)
+     * @param value the attribute value (must not be null or blank)
+     * @return the target
+     */
+    public static CampaignTarget forAttribute(ProductAttribute attribute, String value) {
+        ValidationUtils.requireNonNull(attribute, "Атрибут продукту не може бути null.");
+        ValidationUtils.requireNonBlank(value, "Значення атрибута не може бути порожнім.");
+        return new CampaignTarget(Kind.ATTRIBUTE, null, attribute, ProductAttribute.normalize(value), Set.of());
+    }
+
+    public static CampaignTarget forProducts(Collection<String> productIds) {
+        ValidationUtils.requireNonNull(productIds, "Список ID продуктів не може бути null.");
+        return new CampaignTarget(Kind.PRODUCT_IDS, null, null, null, Set.copyOf(productIds));
+    }
+
+    /**
+     * Checks whether the target selects a product. Used for validation and diagnostics;
+     * price lookups go through the campaign index instead.
+     *
+     * @param product the product to check (must not be null)
+     * @return true if the product is selected
+     */
+    public boolean matches(Product product) {
+        return switch (kind) {
+            case PRODUCT_TYPE -> product.getType() == productType;
+            case ATTRIBUTE -> {
+                String value = product.getAttribute(attribute);
+                yield value != null && ProductAttribute.normalize(value).equals(attributeValue);
+            }
+            case PRODUCT_IDS -> productIds.contains(product.getId());
+        };
+    }
+}
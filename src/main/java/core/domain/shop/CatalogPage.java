@@ -0,0 +1,23 @@
+package core.domain.shop;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of catalog search results with facet counts over all matches.
+ *
+ * @param items the products of the page, in catalog order
+ * @param totalMatches the number of matching products
+ * @param offset the offset of the page
+ * @param limit the requested page size
+ * @param typeCounts the number of matches per product type
+ * @param attributeCounts the number of matches per attribute value, per attribute
+ */
+public record CatalogPage(List<Product> items, int totalMatches, int offset, int limit,
+                          Map<ProductType, Integer> typeCounts,
+                          Map<ProductAttribute, Map<String, Integer>> attributeCounts) {
+
+    public boolean hasNextPage() {
+        return offset + items.size() < totalMatches;
+    }
+}
@@ -0,0 +1,112 @@
+package core.domain.shop;
+
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query over a {@link ProductCatalog}. All conditions must hold; a query without
+ * conditions matches every product. Results are returned one page at a time.
+ */
+public final class CatalogQuery {
+    private final ProductType type;
+    private final Map<ProductAttribute, String> attributes;
+    private final List<String> nameTokens;
+    private final int offset;
+    private final int limit;
+
+    private CatalogQuery(Builder builder) {
+        this.type = builder.type;
+        this.attributes = Collections.unmodifiableMap(new EnumMap<>(builder.attributes));
+        this.nameTokens = List.copyOf(builder.nameTokens);
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    public ProductType getType() {
+        return type;
+    }
+
+    public Map<ProductAttribute, String> getAttributes() {
+        return attributes;
+    }
+
+    public List<String> getNameTokens() {
+        return nameTokens;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Builder class for creating CatalogQuery instances.
+     */
+    public static class Builder {
+        private static final int DEFAULT_LIMIT = 20;
+
+        private ProductType type;
+        private final Map<ProductAttribute, String> attributes = new EnumMap<>(ProductAttribute.class);
+        private final List<String> nameTokens = new ArrayList<>();
+        private int offset = 0;
+        private int limit = DEFAULT_LIMIT;
+
+        public Builder ofType(ProductType type) {
+            this.type = type;
+            return this;
+        }
+
+        /**
+         * Requires an attribute value. Values match ignoring case.
+         *
+         * @param attribute the attribute (must not be null)
+         * @param value the attribute value (must not be null or blank)
+         * @return this builder
+         */
+        public Builder withAttribute(ProductAttribute attribute, String value) {
+            ValidationUtils.requireNonNull(attribute, "Атрибут продукту не може бути null.");
+            ValidationUtils.requireNonBlank(value, "Значення атрибута не може бути порожнім.");
+            attributes.put(attribute, ProductAttribute.normalize(value));
+            return this;
+        }
+
+        /**
+         * Requires every word of the text to appear in the product name.
+         *
+         * @param text the words to search for (must not be null)
+         * @return this builder
+         */
+        public Builder withNameWords(String text) {
+            ValidationUtils.requireNonNull(text, "Текст пошуку не може бути null.");
+            nameTokens.addAll(ProductCatalog.tokenize(text));
+            return this;
+        }
+
+        /**
+         * Selects the page of results to return.
+         *
+         * @param offset the number of results to skip (must not be negative)
+         * @param limit the maximum number of results (must be positive)
+         * @return this builder
+         */
+        public Builder page(int offset, int limit) {
+            this.offset = offset;
+            this.limit = limit;
+            return this;
+        }
+
+        public CatalogQuery build() {
+            ValidationUtils.requireNonNegative(offset, "Зсув сторінки не може бути від'ємним.");
+            ValidationUtils.requirePositive(limit, "Розмір сторінки має бути позитивним.");
+            return new CatalogQuery(this);
+        }
+    }
+}
@@ -35,6 +35,22 @@ public class Clothes extends Product {
         return "Одяг: " + name + ", Розмір: " + size + ", Колір: " + color;
     }
 
+    @Override
+    public ProductType getType() {
+        return ProductType.CLOTHES;
+    }
+
+    @Override
+    public String getAttribute(ProductAttribute attribute) {
+        if (attribute == ProductAttribute.SIZE) {
+            return size;
+        }
+        if (attribute == ProductAttribute.COLOR) {
+            return color;
+        }
+        return null;
+    }
+
     /**
      * Gets the size of the clothing item.
      *
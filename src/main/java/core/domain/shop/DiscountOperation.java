@@ -1,17 +1,42 @@
 package core.domain.shop;
 
+import core.util.Constants;
+import core.util.Money;
+import core.util.ValidationUtils;
+
 /**
  * Strategy interface for calculating discounts on prices.
  * Different discount types (percentage, fixed amount, etc.) implement this interface.
+ * Discounts are calculated exactly in minor units (see {@link Money});
+ * the {@code double} methods are conversions for display and legacy callers.
  */
 public interface DiscountOperation {
+    /**
+     * Calculates the discounted price from an original price in minor units.
+     *
+     * @param originalPriceMinor the original price before discount, in minor units (must be non-negative)
+     * @return the price after applying the discount, in minor units (non-negative)
+     */
+    long applyDiscountMinor(long originalPriceMinor);
+    
+    /**
+     * Gets the discount amount in minor units (not the final price).
+     *
+     * @param originalPriceMinor the original price before discount, in minor units (must be non-negative)
+     * @return the discount amount that was applied, in minor units
+     */
+    long getDiscountAmountMinor(long originalPriceMinor);
+    
     /**
      * Calculates the discounted price from an original price.
      *
      * @param originalPrice the original price before discount (must be non-negative)
      * @return the price after applying the discount (must be non-negative)
      */
-    double applyDiscount(double originalPrice);
+    default double applyDiscount(double originalPrice) {
+        ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+        return Money.toMajor(applyDiscountMinor(Money.ofMajor(originalPrice)));
+    }
     
     /**
      * Gets the discount amount (not the final price).
@@ -19,7 +44,10 @@ public interface DiscountOperation {
      * @param originalPrice the original price before discount (must be non-negative)
      * @return the discount amount that was applied
      */
-    double getDiscountAmount(double originalPrice);
+    default double getDiscountAmount(double originalPrice) {
+        ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+        return Money.toMajor(getDiscountAmountMinor(Money.ofMajor(originalPrice)));
+    }
     
     /**
      * Gets a description of the discount strategy.
@@ -0,0 +1,39 @@
+package core.domain.shop;
+
+import core.domain.client.MembershipType;
+
+/**
+ * A single stackable pricing rule of a product.
+ * Rules are never evaluated on the lookup path: a product compiles its rules into an
+ * immutable {@link PricePlan} whenever they change, and prices are read from the plan.
+ * Standard rules are created by {@link DiscountRules}.
+ */
+public interface DiscountRule {
+    /**
+     * Applies the rule to a unit price.
+     *
+     * @param unitPriceMinor the unit price after the preceding rules, in minor units
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the unit price after this rule, in minor units (non-negative)
+     */
+    default long applyToUnitPrice(long unitPriceMinor, MembershipType tier) {
+        return unitPriceMinor;
+    }
+
+    /**
+     * Gets the number of units given for free when buying the specified quantity.
+     *
+     * @param quantity the quantity bought
+     * @return the number of free units (0 if the rule is not a bundle rule)
+     */
+    default int getFreeUnits(int quantity) {
+        return 0;
+    }
+
+    /**
+     * Gets a description of the rule.
+     *
+     * @return a human-readable description of the rule
+     */
+    String getDescription();
+}
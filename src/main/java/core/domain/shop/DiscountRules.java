@@ -0,0 +1,114 @@
+package core.domain.shop;
+
+import core.domain.client.MembershipType;
+import core.util.Constants;
+import core.util.ValidationUtils;
+
+/**
+ * Standard {@link DiscountRule} implementations: percentage, fixed amount,
+ * buy-X-get-Y bundles and membership tier discounts.
+ * Unit price rules reuse the {@link DiscountStrategy} calculations, so rounding is the same.
+ */
+public final class DiscountRules {
+
+    private DiscountRules() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Wraps a discount strategy as a rule that applies to every buyer.
+     *
+     * @param discount the discount strategy (must not be null)
+     * @return the rule
+     */
+    public static DiscountRule of(DiscountOperation discount) {
+        return new StrategyRule(ValidationUtils.requireNonNull(discount, "Стратегія знижки не може бути null."));
+    }
+
+    /**
+     * Creates a percentage discount rule.
+     *
+     * @param percent the discount percentage (0-100)
+     * @return the rule
+     */
+    public static DiscountRule percentage(double percent) {
+        return of(DiscountStrategy.percentageDiscount(percent));
+    }
+
+    /**
+     * Creates a fixed amount discount rule.
+     *
+     * @param amount the fixed discount amount per unit (must be non-negative)
+     * @return the rule
+     */
+    public static DiscountRule fixed(double amount) {
+        return of(DiscountStrategy.fixedDiscount(amount));
+    }
+
+    /**
+     * Creates a bundle rule: for every {@code buy} units paid, {@code free} more units are free.
+     *
+     * @param buy the number of paid units in a bundle (must be positive)
+     * @param free the number of free units in a bundle (must be positive)
+     * @return the rule
+     */
+    public static DiscountRule buyXGetY(int buy, int free) {
+        return new BuyXGetYRule(buy, free);
+    }
+
+    /**
+     * Creates a percentage discount rule for holders of a membership type.
+     *
+     * @param tier the membership type that gets the discount (must not be null)
+     * @param percent the discount percentage (0-100)
+     * @return the rule
+     */
+    public static DiscountRule memberTier(MembershipType tier, double percent) {
+        return new MemberTierRule(tier, new DiscountStrategy.PercentageDiscount(percent));
+    }
+
+    private record StrategyRule(DiscountOperation discount) implements DiscountRule {
+        @Override
+        public long applyToUnitPrice(long unitPriceMinor, MembershipType tier) {
+            return discount.applyDiscountMinor(unitPriceMinor);
+        }
+
+        @Override
+        public String getDescription() {
+            return discount.getDescription();
+        }
+    }
+
+    private record BuyXGetYRule(int buy, int free) implements DiscountRule {
+        private BuyXGetYRule {
+            ValidationUtils.requirePositive(buy, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+            ValidationUtils.requirePositive(free, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        }
+
+        @Override
+        public int getFreeUnits(int quantity) {
+            return quantity / (buy + free) * free;
+        }
+
+        @Override
+        public String getDescription() {
+            return String.format("Купи %d, отримай %d безкоштовно", buy, free);
+        }
+    }
+
+    private record MemberTierRule(MembershipType tier, DiscountOperation discount) implements DiscountRule {
+        private MemberTierRule {
+            ValidationUtils.requireNonNull(tier, Constants.ERROR_MEMBERSHIP_TYPE_NULL);
+        }
+
+        @Override
+        public long applyToUnitPrice(long unitPriceMinor, MembershipType buyerTier) {
+            return buyerTier == tier ? discount.applyDiscountMinor(unitPriceMinor) : unitPriceMinor;
+        }
+
+        @Override
+        public String getDescription() {
+            return discount.getDescription() + " для абонементу " + tier;
+        }
+    }
+}
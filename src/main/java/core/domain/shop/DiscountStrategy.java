@@ -1,6 +1,7 @@
 package core.domain.shop;
 
 import core.util.Constants;
+import core.util.Money;
 import core.util.ValidationUtils;
 
 /**
@@ -14,15 +15,15 @@ public class DiscountStrategy {
      */
     public static class NoDiscount implements DiscountOperation {
         @Override
-        public double applyDiscount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            return originalPrice;
+        public long applyDiscountMinor(long originalPriceMinor) {
+            ValidationUtils.requireNonNegative(originalPriceMinor, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+            return originalPriceMinor;
         }
         
         @Override
-        public double getDiscountAmount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            return 0.0;
+        public long getDiscountAmountMinor(long originalPriceMinor) {
+            ValidationUtils.requireNonNegative(originalPriceMinor, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+            return 0;
         }
         
         @Override
@@ -37,6 +38,7 @@ public class DiscountStrategy {
      */
     public static class PercentageDiscount implements DiscountOperation {
         private final double discountPercent;
+        private final long discountBasisPoints;
         
         /**
          * Creates a percentage discount strategy.
@@ -49,20 +51,19 @@ public class DiscountStrategy {
                 throw new IllegalArgumentException("Відсоток знижки повинен бути від 0 до 100.");
             }
             this.discountPercent = discountPercent;
+            this.discountBasisPoints = Money.toBasisPoints(discountPercent);
         }
         
         @Override
-        public double applyDiscount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            double discountAmount = getDiscountAmount(originalPrice);
-            double finalPrice = originalPrice - discountAmount;
-            return Math.max(0.0, finalPrice); // Ensure price doesn't go negative
+        public long applyDiscountMinor(long originalPriceMinor) {
+            long finalPrice = originalPriceMinor - getDiscountAmountMinor(originalPriceMinor);
+            return Math.max(0, finalPrice); // Ensure price doesn't go negative
         }
         
         @Override
-        public double getDiscountAmount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            return originalPrice * (discountPercent / 100.0);
+        public long getDiscountAmountMinor(long originalPriceMinor) {
+            ValidationUtils.requireNonNegative(originalPriceMinor, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+            return Money.percentOf(originalPriceMinor, discountBasisPoints);
         }
         
         @Override
@@ -86,6 +87,7 @@ public class DiscountStrategy {
      */
     public static class FixedDiscount implements DiscountOperation {
         private final double discountAmount;
+        private final long discountAmountMinor;
         
         /**
          * Creates a fixed discount strategy.
@@ -98,19 +100,20 @@ public class DiscountStrategy {
                 throw new IllegalArgumentException("Сума знижки не може бути від'ємною.");
             }
             this.discountAmount = discountAmount;
+            this.discountAmountMinor = Money.ofMajor(discountAmount);
         }
         
         @Override
-        public double applyDiscount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            double finalPrice = originalPrice - discountAmount;
-            return Math.max(0.0, finalPrice); // Ensure price doesn't go negative
+        public long applyDiscountMinor(long originalPriceMinor) {
+            ValidationUtils.requireNonNegative(originalPriceMinor, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+            long finalPrice = originalPriceMinor - discountAmountMinor;
+            return Math.max(0, finalPrice); // Ensure price doesn't go negative
         }
         
         @Override
-        public double getDiscountAmount(double originalPrice) {
-            ValidationUtils.requireNonNegative(originalPrice, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
-            return Math.min(discountAmount, originalPrice); // Don't discount more than the price
+        public long getDiscountAmountMinor(long originalPriceMinor) {
+            ValidationUtils.requireNonNegative(originalPriceMinor, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+            return Math.min(discountAmountMinor, originalPriceMinor); // Don't discount more than the price
         }
         
         @Override
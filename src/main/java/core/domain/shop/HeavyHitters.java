@@ -0,0 +1,153 @@
+package core.domain.shop;
+
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top sellers in fixed memory (the weighted Space-Saving algorithm).
+ * At most {@code capacity} products are counted. When an untracked product sells and all counters
+ * are taken, it replaces the product with the smallest count and inherits that count as its error bound.
+ * Every product that sold more than {@code total / capacity} units is guaranteed to be tracked, and
+ * estimates never undercount. Counters form a min-heap, so each sale costs O(log capacity).
+ */
+public class HeavyHitters {
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<Long, Integer> positions;
+    private int size;
+    private long total;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param capacity the number of counters (must be positive)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public HeavyHitters(int capacity) {
+        ValidationUtils.requirePositive(capacity, "Місткість має бути позитивною.");
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Counts units sold of a product.
+     *
+     * @param productId the numeric ID of the product
+     * @param quantity the number of units (must be positive)
+     */
+    public synchronized void add(long productId, int quantity) {
+        ValidationUtils.requirePositive(quantity, "Кількість завжди додатня.");
+        total += quantity;
+        Integer position = positions.get(productId);
+        if (position != null) {
+            counts[position] += quantity;
+            siftDown(position);
+        } else if (size < keys.length) {
+            keys[size] = productId;
+            counts[size] = quantity;
+            errors[size] = 0;
+            positions.put(productId, size);
+            siftUp(size++);
+        } else {
+            positions.remove(keys[0]);
+            long floor = counts[0];
+            keys[0] = productId;
+            errors[0] = floor;
+            counts[0] = floor + quantity;
+            positions.put(productId, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Gets the products with the highest estimated sales.
+     *
+     * @param k the maximum number of products (must be positive)
+     * @return up to k products, best seller first
+     */
+    public synchronized List<Estimate> top(int k) {
+        ValidationUtils.requirePositive(k, "Кількість має бути позитивною.");
+        List<Estimate> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(new Estimate(keys[i], counts[i], errors[i]));
+        }
+        all.sort(Comparator.comparingLong(Estimate::count).reversed()
+                .thenComparingLong(Estimate::productId));
+        return List.copyOf(all.subList(0, Math.min(k, all.size())));
+    }
+
+    /**
+     * Gets the total number of units counted, including units of evicted products.
+     *
+     * @return the total
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        long count = counts[a];
+        long error = errors[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        keys[b] = key;
+        counts[b] = count;
+        errors[b] = error;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+
+    /**
+     * Estimated sales of a product.
+     *
+     * @param productId the numeric ID of the product
+     * @param count the estimated units sold; never less than the true number
+     * @param error the maximum overestimate; the true number is at least {@code count - error}
+     */
+    public record Estimate(long productId, long count, long error) {
+    }
+}
@@ -6,19 +6,31 @@ import core.event.Observer;
 import core.exceptions.ProductOutOfStockException;
 import core.event.Event;
 import core.event.Observable;
+import core.event.StockEvent;
 import core.util.Constants;
+import core.util.Money;
 import core.util.ValidationUtils;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages the inventory of products in the fitness club shop.
- * Tracks stock levels and notifies observers of low stock events.
+ * Tracks stock levels and notifies observers of every sale ({@code PRODUCT_SOLD})
+ * and of low stock events.
+ * <p>
+ * All operations are thread-safe. Every change of a stock level is reported to the attached
+ * {@link StockIndex}, in the order the changes happened, with a version that grows with each change.
  */
 @Component
 public class Inventory {
+    private static final AtomicLong LOCK_ORDER = new AtomicLong();
+
     private final Map<ProductOperation, Integer> stock;
     private final Observable<Event> eventObservable;
+    private final long lockOrder = LOCK_ORDER.incrementAndGet();
+    private StockListener listener; // guarded by this
+    private long version; // guarded by this
 
     /**
      * Creates a new empty inventory.
@@ -43,16 +55,35 @@ public class Inventory {
      * @param quantity the quantity to add (must be positive)
      * @throws IllegalArgumentException if product is null or quantity is not positive
      */
-    public void addProduct(ProductOperation product, int quantity) {
+    public synchronized void addProduct(ProductOperation product, int quantity) {
         ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
         ValidationUtils.requirePositive(quantity, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
-        stock.put(product, stock.getOrDefault(product, 0) + quantity);
+        setStock(product, stock.getOrDefault(product, 0) + quantity);
+    }
+
+    /**
+     * Adds several products at once, e.g. a batch of a supplier delivery.
+     * All quantities are validated before any stock changes.
+     *
+     * @param deltas the quantity to add per product (must not be null; quantities must be positive)
+     * @throws IllegalArgumentException if deltas is null or contains a null product or non-positive quantity
+     */
+    public synchronized void addProducts(Map<? extends ProductOperation, Integer> deltas) {
+        ValidationUtils.requireNonNull(deltas, "Список товарів не може бути null.");
+        for (Map.Entry<? extends ProductOperation, Integer> entry : deltas.entrySet()) {
+            ValidationUtils.requireNonNull(entry.getKey(), Constants.ERROR_PRODUCT_NULL);
+            ValidationUtils.requireNonNull(entry.getValue(), Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+            ValidationUtils.requirePositive(entry.getValue(), Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        }
+        for (Map.Entry<? extends ProductOperation, Integer> entry : deltas.entrySet()) {
+            setStock(entry.getKey(), stock.getOrDefault(entry.getKey(), 0) + entry.getValue());
+        }
     }
 
     /**
      * Removes a product from the inventory with the specified quantity.
      * Throws an exception if insufficient stock is available.
-     * Notifies observers if stock falls below the low stock threshold.
+     * Notifies observers of the sale, and of low stock if stock falls below the low stock threshold.
      *
      * @param product the product to remove (must not be null)
      * @param quantity the quantity to remove (must be positive)
@@ -62,20 +93,48 @@ public class Inventory {
     public void removeProduct(ProductOperation product, int quantity) throws ProductOutOfStockException {
         ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
         ValidationUtils.requirePositive(quantity, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
-        
-        int currentStock = getStockLevel(product);
-        if (currentStock < quantity) {
-            throw new ProductOutOfStockException(
-                    "Недостатньо товару '" + product.getName() + "' на складі. В наявності: " + currentStock + ", запитано: " + quantity
-            );
+
+        int newStock;
+        synchronized (this) {
+            newStock = debit(product, quantity);
         }
-        int newStock = currentStock - quantity;
-        stock.put(product, newStock);
-        
-        if (newStock <= Constants.LOW_STOCK_THRESHOLD && newStock > 0) {
-            eventObservable.notifyObservers(new Event(Event.EventType.LOW_INVENTORY, 
-                "Низький залишок товару '" + product.getName() + "': " + newStock + " од.", this));
+
+        // observers are notified outside the lock, so they may use other inventories
+        eventObservable.notifyObservers(new StockEvent(Event.EventType.PRODUCT_SOLD,
+            "Товар '" + product.getName() + "': " + quantity + " од.", this, product, quantity, newStock));
+        notifyIfLow(product, quantity, newStock);
+    }
+
+    /**
+     * Moves stock of a product to another inventory, e.g. from one club to another.
+     * The debit and the credit happen atomically: no thread sees the stock in neither or in both
+     * inventories. Both inventories are locked in a fixed global order, so concurrent transfers in
+     * opposite directions cannot deadlock. A transfer is not a sale and is not reported as one.
+     *
+     * @param target the inventory that receives the stock (must not be null or this inventory)
+     * @param product the product to move (must not be null)
+     * @param quantity the quantity to move (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws ProductOutOfStockException if this inventory has insufficient stock
+     */
+    public void transferTo(Inventory target, ProductOperation product, int quantity) throws ProductOutOfStockException {
+        ValidationUtils.requireNonNull(target, "Склад не може бути null.");
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        ValidationUtils.requirePositive(quantity, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        if (target == this) {
+            throw new IllegalArgumentException("Неможливо перемістити товар на той самий склад.");
         }
+
+        Inventory first = lockOrder < target.lockOrder ? this : target;
+        Inventory second = first == this ? target : this;
+        int newStock;
+        synchronized (first) {
+            synchronized (second) {
+                newStock = debit(product, quantity);
+                target.setStock(product, target.stock.getOrDefault(product, 0) + quantity);
+            }
+        }
+        notifyIfLow(product, quantity, newStock);
     }
 
     /**
@@ -85,7 +144,7 @@ public class Inventory {
      * @param quantity the required quantity
      * @return true if sufficient stock is available, false otherwise
      */
-    public boolean hasEnoughStock(ProductOperation product, int quantity) {
+    public synchronized boolean hasEnoughStock(ProductOperation product, int quantity) {
         if (product == null) {
             return false;
         }
@@ -98,7 +157,7 @@ public class Inventory {
      * @param product the product to check
      * @return the stock level, or 0 if product is null or not in stock
      */
-    public int getStockLevel(ProductOperation product) {
+    public synchronized int getStockLevel(ProductOperation product) {
         if (product == null) {
             return 0;
         }
@@ -110,7 +169,97 @@ public class Inventory {
      *
      * @return an immutable copy of the stock map
      */
-    public Map<ProductOperation, Integer> getStock() {
+    public synchronized Map<ProductOperation, Integer> getStock() {
         return Map.copyOf(stock);
     }
+
+    /**
+     * Gets the total number of units in stock.
+     *
+     * @return the number of units of all products
+     */
+    public synchronized long getTotalUnits() {
+        long units = 0;
+        for (int quantity : stock.values()) {
+            units += quantity;
+        }
+        return units;
+    }
+
+    /**
+     * Gets the value of the stock at current prices, without copying the stock.
+     *
+     * @return the value in minor units
+     */
+    public synchronized long getStockValueMinor() {
+        long value = 0;
+        for (Map.Entry<ProductOperation, Integer> entry : stock.entrySet()) {
+            value = Math.addExact(value, Money.times(entry.getKey().getPriceMinor(), entry.getValue()));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the version of the inventory; it grows with every change of a stock level.
+     *
+     * @return the version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Registers the listener of a stock index and reports the current stock levels to it.
+     *
+     * @param newListener the listener
+     * @throws IllegalArgumentException if the inventory already has a listener
+     */
+    synchronized void attach(StockListener newListener) {
+        if (listener != null) {
+            throw new IllegalArgumentException("Склад вже відстежується.");
+        }
+        listener = newListener;
+        for (Map.Entry<ProductOperation, Integer> entry : stock.entrySet()) {
+            newListener.onStockChanged(entry.getKey(), entry.getValue(), ++version);
+        }
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param oldListener the listener to remove
+     */
+    synchronized void detach(StockListener oldListener) {
+        if (listener == oldListener) {
+            listener = null;
+        }
+    }
+
+    private int debit(ProductOperation product, int quantity) throws ProductOutOfStockException {
+        int currentStock = stock.getOrDefault(product, 0);
+        if (currentStock < quantity) {
+            throw new ProductOutOfStockException(
+                    "Недостатньо товару '" + product.getName() + "' на складі. В наявності: " + currentStock + ", запитано: " + quantity
+            );
+        }
+        int newStock = currentStock - quantity;
+        setStock(product, newStock);
+        return newStock;
+    }
+
+    private void setStock(ProductOperation product, int level) {
+        stock.put(product, level);
+        version++;
+        if (listener != null) {
+            listener.onStockChanged(product, level, version);
+        }
+    }
+
+    private void notifyIfLow(ProductOperation product, int quantity, int newStock) {
+        if (newStock <= Constants.LOW_STOCK_THRESHOLD && newStock > 0) {
+            eventObservable.notifyObservers(new StockEvent(Event.EventType.LOW_INVENTORY, 
+                "Низький залишок товару '" + product.getName() + "': " + newStock + " од.", this,
+                product, quantity, newStock));
+        }
+    }
 }
\ No newline at end of file
@@ -1,22 +1,32 @@
 package core.domain.shop;
 
 import core.domain.client.Client;
+import core.domain.client.Membership;
+import core.domain.client.MembershipType;
+import core.util.LazyId;
+import core.util.Money;
 import core.util.ValidationUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents an order placed by a client in the fitness club shop.
  * Contains order items and calculates the total price.
+ * Prices are snapshotted when the order is placed: line totals and the order totals are computed
+ * in a single pass at construction by a {@link PricingOperation}, so later price, discount or
+ * campaign changes do not alter the order and reading the totals costs nothing.
  */
 public class Order {
-    private final String id;
+    private final LazyId id;
     private final Client client;
     private final List<OrderItem> items;
     private final LocalDateTime orderDate;
-    private final double totalPrice;
+    private final MembershipType pricingTier;
+    private final long[] itemTotalsMinor;
+    private final long[] itemOriginalTotalsMinor;
+    private final long totalPriceMinor;
+    private final long originalTotalPriceMinor;
 
     /**
      * Creates a new order for a client with the specified items.
@@ -26,33 +36,125 @@ public class Order {
      * @throws IllegalArgumentException if client is null or items is null/empty
      */
     public Order(Client client, List<OrderItem> items) {
-        this.id = UUID.randomUUID().toString();
+        this(client, items, LocalDateTime.now(), PricingOperation.STANDARD);
+    }
+
+    /**
+     * Creates a new order for a client, priced by the specified pricing, e.g. running campaigns.
+     *
+     * @param client the client placing the order (must not be null)
+     * @param items the list of order items (must not be null or empty)
+     * @param pricing the pricing of the order lines (must not be null)
+     * @throws IllegalArgumentException if any parameter is null or items is empty
+     */
+    public Order(Client client, List<OrderItem> items, PricingOperation pricing) {
+        this(client, items, LocalDateTime.now(), pricing);
+    }
+
+    /**
+     * Creates a new order placed at the specified time, e.g. when importing historical orders.
+     *
+     * @param client the client placing the order (must not be null)
+     * @param items the list of order items (must not be null or empty)
+     * @param orderDate the date and time the order was placed (must not be null)
+     * @throws IllegalArgumentException if any parameter is null or items is empty
+     */
+    public Order(Client client, List<OrderItem> items, LocalDateTime orderDate) {
+        this(client, items, orderDate, PricingOperation.STANDARD);
+    }
+
+    /**
+     * Creates a new order placed at the specified time and priced by the specified pricing.
+     *
+     * @param client the client placing the order (must not be null)
+     * @param items the list of order items (must not be null or empty)
+     * @param orderDate the date and time the order was placed (must not be null)
+     * @param pricing the pricing of the order lines (must not be null)
+     * @throws IllegalArgumentException if any parameter is null or items is empty
+     */
+    public Order(Client client, List<OrderItem> items, LocalDateTime orderDate, PricingOperation pricing) {
+        this.id = LazyId.next();
         this.client = ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
         ValidationUtils.requireNonNull(items, "Список товарів не може бути null.");
         if (items.isEmpty()) {
             throw new IllegalArgumentException("Замовлення не може бути порожнім.");
         }
         this.items = List.copyOf(items);
-        this.orderDate = LocalDateTime.now();
-        this.totalPrice = calculateTotalPrice();
-    }
+        this.orderDate = ValidationUtils.requireNonNull(orderDate, "Дата замовлення не може бути null.");
+        ValidationUtils.requireNonNull(pricing, "Ціноутворення не може бути null.");
+        Membership membership = client.getMembership();
+        this.pricingTier = membership != null && membership.isActive() ? membership.getType() : null;
 
-    private double calculateTotalPrice() {
-        return items.stream()
-                .mapToDouble(OrderItem::getTotalPrice)
-                .sum();
+        int count = this.items.size();
+        this.itemTotalsMinor = new long[count];
+        this.itemOriginalTotalsMinor = new long[count];
+        long total = 0;
+        long originalTotal = 0;
+        for (int i = 0; i < count; i++) {
+            OrderItem item = this.items.get(i);
+            itemTotalsMinor[i] = pricing.getTotalPriceMinor(item.product(), item.quantity(), pricingTier);
+            itemOriginalTotalsMinor[i] = item.getOriginalTotalPriceMinor();
+            total = Math.addExact(total, itemTotalsMinor[i]);
+            originalTotal = Math.addExact(originalTotal, itemOriginalTotalsMinor[i]);
+        }
+        this.totalPriceMinor = total;
+        this.originalTotalPriceMinor = originalTotal;
     }
 
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
     public String getId() {
-        return id;
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
     }
 
     public Client getClient() {
         return client;
     }
 
+    /**
+     * Gets the order items. The list is immutable and shared, so no copy is made.
+     *
+     * @return the unmodifiable list of items
+     */
     public List<OrderItem> getItems() {
-        return List.copyOf(items);
+        return items;
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public OrderItem getItem(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * Gets the total of an item (after discounts) as priced when the order was placed.
+     *
+     * @param index the index of the item
+     * @return the item total in minor units
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long getItemTotalPriceMinor(int index) {
+        return itemTotalsMinor[index];
+    }
+
+    /**
+     * Gets the total of an item before discounts as priced when the order was placed.
+     *
+     * @param index the index of the item
+     * @return the original item total in minor units
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long getItemOriginalTotalPriceMinor(int index) {
+        return itemOriginalTotalsMinor[index];
     }
 
     /**
@@ -64,34 +166,70 @@ public class Order {
         return orderDate;
     }
 
+    /**
+     * Gets the membership type the order was priced for.
+     * Without campaigns, item totals calculated with {@link OrderItem#getTotalPriceMinor(MembershipType)}
+     * for this tier add up to the order total; {@link #getItemTotalPriceMinor(int)} always does.
+     *
+     * @return the membership type of the client's active membership when the order was placed,
+     *         or null if the client had none
+     */
+    public MembershipType getPricingTier() {
+        return pricingTier;
+    }
+
     /**
      * Gets the total price of the order (after discounts).
+     * Membership tier discounts of the client's active membership are included.
      *
      * @return the total price after applying discounts
      */
     public double getTotalPrice() {
-        return totalPrice;
+        return Money.toMajor(totalPriceMinor);
+    }
+
+    /**
+     * Gets the total price of the order (after discounts) in minor units.
+     *
+     * @return the total price in minor units
+     */
+    public long getTotalPriceMinor() {
+        return totalPriceMinor;
     }
     
     /**
-     * Calculates the original total price of all items before discounts.
+     * Gets the original total price of all items before discounts.
      *
      * @return the original total price before discounts
      */
     public double getOriginalTotalPrice() {
-        return items.stream()
-                .mapToDouble(OrderItem::getOriginalTotalPrice)
-                .sum();
+        return Money.toMajor(originalTotalPriceMinor);
+    }
+
+    /**
+     * Gets the original total price of all items before discounts in minor units.
+     *
+     * @return the original total price in minor units
+     */
+    public long getOriginalTotalPriceMinor() {
+        return originalTotalPriceMinor;
     }
     
     /**
-     * Calculates the total discount amount applied to the order.
+     * Gets the total discount amount applied to the order.
      *
      * @return the total discount amount
      */
     public double getTotalDiscountAmount() {
-        return items.stream()
-                .mapToDouble(OrderItem::getTotalDiscountAmount)
-                .sum();
+        return Money.toMajor(getTotalDiscountAmountMinor());
+    }
+
+    /**
+     * Gets the total discount amount applied to the order in minor units.
+     *
+     * @return the total discount amount in minor units
+     */
+    public long getTotalDiscountAmountMinor() {
+        return originalTotalPriceMinor - totalPriceMinor;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package core.domain.shop;
 
+import core.domain.client.MembershipType;
 import core.util.Constants;
+import core.util.Money;
 import core.util.ValidationUtils;
 
 /**
@@ -30,7 +32,26 @@ public record OrderItem(Product product, int quantity) {
      * @return the total price (discounted product price * quantity)
      */
     public double getTotalPrice() {
-        return product.getPrice() * quantity;
+        return Money.toMajor(getTotalPriceMinor());
+    }
+    
+    /**
+     * Calculates the total price for this order item (after discount) in minor units.
+     *
+     * @return the total price in minor units
+     */
+    public long getTotalPriceMinor() {
+        return product.getTotalPriceMinor(quantity, null);
+    }
+
+    /**
+     * Calculates the total price for this order item for a buyer with the specified membership type.
+     *
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the total price in minor units
+     */
+    public long getTotalPriceMinor(MembershipType tier) {
+        return product.getTotalPriceMinor(quantity, tier);
     }
     
     /**
@@ -39,7 +60,16 @@ public record OrderItem(Product product, int quantity) {
      * @return the original total price (original product price * quantity)
      */
     public double getOriginalTotalPrice() {
-        return product.getOriginalPrice() * quantity;
+        return Money.toMajor(getOriginalTotalPriceMinor());
+    }
+    
+    /**
+     * Calculates the original total price for this order item (before discount) in minor units.
+     *
+     * @return the original total price in minor units
+     */
+    public long getOriginalTotalPriceMinor() {
+        return Money.times(product.getOriginalPriceMinor(), quantity);
     }
     
     /**
@@ -48,6 +78,15 @@ public record OrderItem(Product product, int quantity) {
      * @return the total discount amount
      */
     public double getTotalDiscountAmount() {
-        return product.getDiscountAmount() * quantity;
+        return Money.toMajor(getTotalDiscountAmountMinor());
+    }
+    
+    /**
+     * Calculates the total discount amount for this order item in minor units.
+     *
+     * @return the total discount amount in minor units
+     */
+    public long getTotalDiscountAmountMinor() {
+        return getOriginalTotalPriceMinor() - getTotalPriceMinor();
     }
-}
\ No newline at end of file
+}
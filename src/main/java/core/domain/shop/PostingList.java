@@ -0,0 +1,46 @@
+package core.domain.shop;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document numbers used by {@link ProductCatalog} indexes.
+ * Documents are numbered in insertion order, so appending keeps the list sorted.
+ */
+final class PostingList {
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    /**
+     * Finds the first position at or after {@code from} whose document is not less than {@code doc},
+     * galloping first and then searching binarily, so intersecting a short list with a long one
+     * costs O(short * log long).
+     */
+    int advance(int from, int doc) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && docs[high] < doc) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        int index = Arrays.binarySearch(docs, low, high, doc);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,114 @@
+package core.domain.shop;
+
+import core.domain.client.MembershipType;
+import core.util.Money;
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, precompiled prices of a product.
+ * The discount rules are folded once, in order, into a unit price per membership tier
+ * (plus one for buyers without a membership); bundle rules are kept as a small list
+ * that only depends on the quantity. Looking up a price is an array read.
+ */
+public final class PricePlan {
+    private static final int NO_TIER = MembershipType.values().length;
+
+    private final long originalPriceMinor;
+    private final long[] unitPricesMinor; // indexed by MembershipType ordinal, NO_TIER last
+    private final DiscountRule[] bundleRules;
+    private final List<DiscountRule> rules;
+
+    private PricePlan(long originalPriceMinor, long[] unitPricesMinor, DiscountRule[] bundleRules,
+                      List<DiscountRule> rules) {
+        this.originalPriceMinor = originalPriceMinor;
+        this.unitPricesMinor = unitPricesMinor;
+        this.bundleRules = bundleRules;
+        this.rules = rules;
+    }
+
+    /**
+     * Compiles discount rules over a base price.
+     *
+     * @param originalPriceMinor the base unit price in minor units (must be non-negative)
+     * @param rules the rules, applied in order (must not be null)
+     * @return the compiled plan
+     */
+    public static PricePlan compile(long originalPriceMinor, List<DiscountRule> rules) {
+        ValidationUtils.requireNonNull(rules, "Список правил знижок не може бути null.");
+        long[] prices = new long[NO_TIER + 1];
+        MembershipType[] tiers = MembershipType.values();
+        for (int i = 0; i <= NO_TIER; i++) {
+            MembershipType tier = i == NO_TIER ? null : tiers[i];
+            long price = originalPriceMinor;
+            for (DiscountRule rule : rules) {
+                price = rule.applyToUnitPrice(price, tier);
+            }
+            prices[i] = price;
+        }
+
+        List<DiscountRule> bundles = new ArrayList<>();
+        for (DiscountRule rule : rules) {
+            if (rule.getFreeUnits(Integer.MAX_VALUE) > 0) {
+                bundles.add(rule);
+            }
+        }
+        return new PricePlan(originalPriceMinor, prices, bundles.toArray(new DiscountRule[0]), List.copyOf(rules));
+    }
+
+    public long getOriginalPriceMinor() {
+        return originalPriceMinor;
+    }
+
+    /**
+     * Gets the unit price for buyers without a membership.
+     *
+     * @return the unit price in minor units
+     */
+    public long getPriceMinor() {
+        return unitPricesMinor[NO_TIER];
+    }
+
+    /**
+     * Gets the unit price for holders of a membership type.
+     *
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the unit price in minor units
+     */
+    public long getPriceMinor(MembershipType tier) {
+        return unitPricesMinor[tier == null ? NO_TIER : tier.ordinal()];
+    }
+
+    /**
+     * Gets the total price of a quantity, with bundle rules applied.
+     * When several bundle rules apply, the one giving the most free units wins.
+     *
+     * @param quantity the quantity bought
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the total price in minor units
+     */
+    public long getTotalPriceMinor(int quantity, MembershipType tier) {
+        return Money.times(getPriceMinor(tier), quantity - getFreeUnits(quantity));
+    }
+
+    /**
+     * Gets the number of units given away by bundle rules.
+     * When several bundle rules apply, the one giving the most free units wins.
+     *
+     * @param quantity the quantity bought
+     * @return the number of free units
+     */
+    public int getFreeUnits(int quantity) {
+        int freeUnits = 0;
+        for (DiscountRule bundle : bundleRules) {
+            freeUnits = Math.max(freeUnits, bundle.getFreeUnits(quantity));
+        }
+        return freeUnits;
+    }
+
+    public List<DiscountRule> getRules() {
+        return rules;
+    }
+}
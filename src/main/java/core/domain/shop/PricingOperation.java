@@ -0,0 +1,26 @@
+package core.domain.shop;
+
+import core.domain.client.MembershipType;
+
+/**
+ * Prices order lines at checkout.
+ * {@link #STANDARD} charges the product's own {@link PricePlan}; implementations such as
+ * promotional campaigns adjust that price, and {@link Order} snapshots whatever they return.
+ */
+@FunctionalInterface
+public interface PricingOperation {
+    /**
+     * Prices products by their own price plan only.
+     */
+    PricingOperation STANDARD = (product, quantity, tier) -> product.getTotalPriceMinor(quantity, tier);
+
+    /**
+     * Calculates the total price of an order line.
+     *
+     * @param product the product (never null)
+     * @param quantity the quantity bought (positive)
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the total price in minor units
+     */
+    long getTotalPriceMinor(Product product, int quantity, MembershipType tier);
+}
@@ -1,18 +1,27 @@
 package core.domain.shop;
 
+import core.domain.client.MembershipType;
 import core.util.Constants;
+import core.util.LazyId;
+import core.util.Money;
 import core.util.ValidationUtils;
-import java.util.UUID;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base class representing a product in the fitness club shop.
  * All products (clothes, supplements) extend this class.
+ * The discount strategy and any additional discount rules are compiled into a {@link PricePlan}
+ * when they change, so reading a price never re-evaluates discounts.
  */
 public abstract class Product implements ProductOperation {
-    protected final String id;
+    protected final LazyId id;
     protected String name;
-    protected double price;
+    protected long priceMinor;
     protected DiscountOperation discountStrategy;
+    private final List<DiscountRule> discountRules = new ArrayList<>();
+    private volatile PricePlan pricePlan;
 
     /**
      * Creates a new product with the specified name and price.
@@ -22,17 +31,44 @@ public abstract class Product implements ProductOperation {
      * @throws IllegalArgumentException if name is null/blank or price is negative
      */
     public Product(String name, double price) {
-        this.id = UUID.randomUUID().toString();
+        this.id = LazyId.next();
         this.name = ValidationUtils.requireNonBlank(name, "Назва продукту не може бути порожньою.");
-        this.price = ValidationUtils.requireNonNegative(price, Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+        this.priceMinor = Money.ofMajor(ValidationUtils.requireNonNegative(price, Constants.ERROR_PRODUCT_PRICE_NEGATIVE));
         this.discountStrategy = DiscountStrategy.noDiscount();
+        this.pricePlan = PricePlan.compile(priceMinor, List.of());
     }
 
     public abstract String getDetails();
 
+    /**
+     * Gets the type of the product.
+     *
+     * @return the product type
+     */
+    public abstract ProductType getType();
+
+    /**
+     * Gets the value of an attribute of the product.
+     *
+     * @param attribute the attribute
+     * @return the attribute value, or null if the product does not have the attribute
+     */
+    public String getAttribute(ProductAttribute attribute) {
+        return null;
+    }
+
+    /**
+     * Gets the identifier in its string form, for display and string-keyed lookups.
+     *
+     * @return the identifier as a string
+     */
     @Override
     public String getId() {
-        return id;
+        return id.asString();
+    }
+
+    public long getNumericId() {
+        return id.value();
     }
 
     @Override
@@ -41,44 +77,121 @@ public abstract class Product implements ProductOperation {
     }
 
     public double getOriginalPrice() {
-        return price;
+        return Money.toMajor(priceMinor);
+    }
+
+    public long getOriginalPriceMinor() {
+        return priceMinor;
     }
     
     @Override
     public double getPrice() {
-        if (discountStrategy == null) {
-            return price;
-        }
-        return discountStrategy.applyDiscount(price);
+        return Money.toMajor(getPriceMinor());
+    }
+
+    @Override
+    public long getPriceMinor() {
+        return pricePlan.getPriceMinor();
+    }
+
+    /**
+     * Gets the unit price for holders of a membership type.
+     *
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the unit price in minor units
+     */
+    public long getPriceMinor(MembershipType tier) {
+        return pricePlan.getPriceMinor(tier);
+    }
+
+    /**
+     * Gets the total price of a quantity of this product, with bundle rules applied.
+     *
+     * @param quantity the quantity bought
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the total price in minor units
+     */
+    public long getTotalPriceMinor(int quantity, MembershipType tier) {
+        return pricePlan.getTotalPriceMinor(quantity, tier);
     }
     
     public double getDiscountAmount() {
-        if (discountStrategy == null) {
-            return 0.0;
-        }
-        return discountStrategy.getDiscountAmount(price);
+        return Money.toMajor(getDiscountAmountMinor());
+    }
+
+    public long getDiscountAmountMinor() {
+        return priceMinor - pricePlan.getPriceMinor();
     }
     
-    public void setDiscountStrategy(DiscountOperation discountStrategy) {
+    public synchronized void setDiscountStrategy(DiscountOperation discountStrategy) {
         this.discountStrategy = discountStrategy != null 
             ? discountStrategy 
             : DiscountStrategy.noDiscount();
+        recompilePricePlan();
     }
     
     public DiscountOperation getDiscountStrategy() {
         return discountStrategy;
     }
 
+    /**
+     * Adds a discount rule. Rules stack: they are applied in the order they were added,
+     * after the discount strategy.
+     *
+     * @param rule the rule to add (must not be null)
+     * @throws IllegalArgumentException if rule is null
+     */
+    public synchronized void addDiscountRule(DiscountRule rule) {
+        ValidationUtils.requireNonNull(rule, "Правило знижки не може бути null.");
+        discountRules.add(rule);
+        recompilePricePlan();
+    }
+
+    public synchronized boolean removeDiscountRule(DiscountRule rule) {
+        if (!discountRules.remove(rule)) {
+            return false;
+        }
+        recompilePricePlan();
+        return true;
+    }
+
+    public synchronized void clearDiscountRules() {
+        discountRules.clear();
+        recompilePricePlan();
+    }
+
+    public synchronized List<DiscountRule> getDiscountRules() {
+        return List.copyOf(discountRules);
+    }
+
+    /**
+     * Gets the compiled prices of the product.
+     *
+     * @return the current price plan
+     */
+    public PricePlan getPricePlan() {
+        return pricePlan;
+    }
+
+    private void recompilePricePlan() {
+        List<DiscountRule> rules = new ArrayList<>(discountRules.size() + 1);
+        if (!(discountStrategy instanceof DiscountStrategy.NoDiscount)) {
+            rules.add(DiscountRules.of(discountStrategy));
+        }
+        rules.addAll(discountRules);
+        this.pricePlan = PricePlan.compile(priceMinor, rules);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Product product = (Product) o;
-        return id.equals(product.id);
+        return id.value() == product.id.value();
     }
 
     @Override
     public int hashCode() {
-        return id.hashCode();
+        return Long.hashCode(id.value());
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package core.domain.shop;
+
+import java.util.Locale;
+
+/**
+ * Enumeration of product attributes that can be used to select products,
+ * e.g. as the target of a campaign.
+ */
+public enum ProductAttribute {
+    /** Size of a clothing item */
+    SIZE,
+
+    /** Color of a clothing item */
+    COLOR,
+
+    /** Flavor of a supplement */
+    FLAVOR;
+
+    /**
+     * Normalizes an attribute value for comparison, so that values match ignoring case and surrounding spaces.
+     *
+     * @param value the attribute value (must not be null)
+     * @return the trimmed, lower-case value
+     */
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
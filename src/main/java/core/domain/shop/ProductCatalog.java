@@ -0,0 +1,296 @@
+package core.domain.shop;
+
+import core.util.Constants;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Searchable catalog of shop products.
+ * Every product gets a dense document number in insertion order. Secondary indexes on product type,
+ * attribute values and name words map to ascending posting lists of document numbers, and queries
+ * intersect them starting with the shortest list. Per-document columns of type and attribute value
+ * numbers make facet counting a pass over primitive arrays. Removed products are masked out and
+ * never returned.
+ */
+@Component
+public class ProductCatalog {
+    private static final int NONE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Product> products = new ArrayList<>();
+    private final Map<String, Integer> docsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final PostingList[] byType = new PostingList[ProductType.values().length];
+    private final Map<ProductAttribute, Map<String, PostingList>> byAttribute = new EnumMap<>(ProductAttribute.class);
+    private final Map<String, PostingList> byNameToken = new HashMap<>();
+
+    // Columns, indexed by document number
+    private byte[] typeColumn = new byte[16];
+    private final int[][] attributeColumns = new int[ProductAttribute.values().length][16];
+    private final List<List<String>> attributeDictionaries = new ArrayList<>();
+    private final List<Map<String, Integer>> attributeValueIds = new ArrayList<>();
+
+    /**
+     * Creates a new empty catalog.
+     */
+    public ProductCatalog() {
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new PostingList();
+        }
+        for (ProductAttribute attribute : ProductAttribute.values()) {
+            byAttribute.put(attribute, new HashMap<>());
+            attributeDictionaries.add(new ArrayList<>());
+            attributeValueIds.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds a product to the catalog.
+     *
+     * @param product the product to add (must not be null)
+     * @return true if the product was added, false if a product with the same ID is already in the catalog
+     * @throws IllegalArgumentException if product is null
+     */
+    public boolean addProduct(Product product) {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        lock.writeLock().lock();
+        try {
+            if (docsById.containsKey(product.getId())) {
+                return false;
+            }
+            int doc = products.size();
+            products.add(product);
+            docsById.put(product.getId(), doc);
+            live.set(doc);
+            ensureCapacity(doc + 1);
+
+            typeColumn[doc] = (byte) product.getType().ordinal();
+            byType[product.getType().ordinal()].add(doc);
+            for (ProductAttribute attribute : ProductAttribute.values()) {
+                String value = product.getAttribute(attribute);
+                if (value == null) {
+                    attributeColumns[attribute.ordinal()][doc] = NONE;
+                    continue;
+                }
+                String normalized = ProductAttribute.normalize(value);
+                attributeColumns[attribute.ordinal()][doc] = valueId(attribute, normalized, value);
+                byAttribute.get(attribute).computeIfAbsent(normalized, v -> new PostingList()).add(doc);
+            }
+            for (String token : tokenize(product.getName())) {
+                byNameToken.computeIfAbsent(token, t -> new PostingList()).add(doc);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the catalog.
+     *
+     * @param productId the ID of the product
+     * @return true if the product was removed
+     */
+    public boolean removeProduct(String productId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = productId == null ? null : docsById.remove(productId);
+            if (doc == null) {
+                return false;
+            }
+            live.clear(doc);
+            products.set(doc, null);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Product> findById(String productId) {
+        lock.readLock().lock();
+        try {
+            Integer doc = productId == null ? null : docsById.get(productId);
+            return doc == null ? Optional.empty() : Optional.of(products.get(doc));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the catalog.
+     *
+     * @param query the query (must not be null)
+     * @return the requested page of matches with facet counts over all matches
+     * @throws IllegalArgumentException if query is null
+     */
+    public CatalogPage search(CatalogQuery query) {
+        ValidationUtils.requireNonNull(query, "Запит не може бути null.");
+        lock.readLock().lock();
+        try {
+            int[] matches = match(query);
+
+            int from = Math.min(query.getOffset(), matches.length);
+            int to = (int) Math.min((long) from + query.getLimit(), matches.length);
+            List<Product> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                items.add(products.get(matches[i]));
+            }
+            return new CatalogPage(List.copyOf(items), matches.length, query.getOffset(), query.getLimit(),
+                    countTypes(matches), countAttributes(matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] match(CatalogQuery query) {
+        List<PostingList> lists = new ArrayList<>();
+        if (query.getType() != null) {
+            lists.add(byType[query.getType().ordinal()]);
+        }
+        for (Map.Entry<ProductAttribute, String> entry : query.getAttributes().entrySet()) {
+            PostingList list = byAttribute.get(entry.getKey()).get(entry.getValue());
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        for (String token : query.getNameTokens()) {
+            PostingList list = byNameToken.get(token);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+
+        if (lists.isEmpty()) {
+            return live.stream().toArray();
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList shortest = lists.get(0);
+        int[] result = new int[shortest.size()];
+        int count = 0;
+        int[] positions = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < shortest.size(); i++) {
+            int doc = shortest.get(i);
+            if (!live.get(doc)) {
+                continue;
+            }
+            for (int l = 1; l < lists.size(); l++) {
+                PostingList other = lists.get(l);
+                positions[l] = other.advance(positions[l], doc);
+                if (positions[l] >= other.size()) {
+                    break candidates;
+                }
+                if (other.get(positions[l]) != doc) {
+                    continue candidates;
+                }
+            }
+            result[count++] = doc;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private Map<ProductType, Integer> countTypes(int[] matches) {
+        int[] counts = new int[ProductType.values().length];
+        for (int doc : matches) {
+            counts[typeColumn[doc]]++;
+        }
+        Map<ProductType, Integer> result = new EnumMap<>(ProductType.class);
+        for (ProductType type : ProductType.values()) {
+            if (counts[type.ordinal()] > 0) {
+                result.put(type, counts[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    private Map<ProductAttribute, Map<String, Integer>> countAttributes(int[] matches) {
+        Map<ProductAttribute, Map<String, Integer>> result = new EnumMap<>(ProductAttribute.class);
+        for (ProductAttribute attribute : ProductAttribute.values()) {
+            int[] column = attributeColumns[attribute.ordinal()];
+            List<String> dictionary = attributeDictionaries.get(attribute.ordinal());
+            int[] counts = new int[dictionary.size()];
+            for (int doc : matches) {
+                int valueId = column[doc];
+                if (valueId != NONE) {
+                    counts[valueId]++;
+                }
+            }
+            Map<String, Integer> values = new HashMap<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    values.put(dictionary.get(id), counts[id]);
+                }
+            }
+            if (!values.isEmpty()) {
+                result.put(attribute, values);
+            }
+        }
+        return result;
+    }
+
+    private int valueId(ProductAttribute attribute, String normalized, String original) {
+        Map<String, Integer> ids = attributeValueIds.get(attribute.ordinal());
+        Integer id = ids.get(normalized);
+        if (id == null) {
+            List<String> dictionary = attributeDictionaries.get(attribute.ordinal());
+            id = dictionary.size();
+            dictionary.add(original); // the first spelling seen is used for display
+            ids.put(normalized, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= typeColumn.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, typeColumn.length * 2);
+        typeColumn = Arrays.copyOf(typeColumn, newCapacity);
+        for (int i = 0; i < attributeColumns.length; i++) {
+            attributeColumns[i] = Arrays.copyOf(attributeColumns[i], newCapacity);
+        }
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits.
+     *
+     * @param text the text to split
+     * @return the distinct words, in order of appearance
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
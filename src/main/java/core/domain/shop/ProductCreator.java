@@ -3,6 +3,8 @@ package core.domain.shop;
 /**
  * Functional interface for creating products.
  * Used by the ProductFactory to create different types of products.
+ * The fixed-arity methods let the factory create products without allocating a parameter
+ * array; they delegate to the varargs method unless a creator overrides them.
  */
 @FunctionalInterface
 public interface ProductCreator {
@@ -15,5 +17,16 @@ public interface ProductCreator {
      * @return a new Product instance
      */
     Product create(String name, double price, String... params);
-}
 
+    default Product create(String name, double price) {
+        return create(name, price, new String[0]);
+    }
+
+    default Product create(String name, double price, String first) {
+        return create(name, price, new String[]{first});
+    }
+
+    default Product create(String name, double price, String first, String second) {
+        return create(name, price, new String[]{first, second});
+    }
+}
@@ -3,33 +3,26 @@ package core.domain.shop;
 import core.util.Constants;
 import core.util.ValidationUtils;
 import org.springframework.stereotype.Component;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Factory class for creating products of different types.
  * Uses the Factory pattern with registered creators for each product type.
+ * The registry is an immutable {@link EnumMap} snapshot that {@link #register} replaces
+ * as a whole, so products can be created from any thread while creators are registered.
  */
 @Component
 public class ProductFactory {
     
-    private static final Map<ProductType, ProductCreator> creators = new HashMap<>();
+    private static volatile Map<ProductType, ProductCreator> creators =
+            Collections.unmodifiableMap(new EnumMap<>(ProductType.class));
     
     static {
         // Register product creators
-        register(ProductType.CLOTHES, (name, price, params) -> {
-            if (params.length < 2) {
-                throw new IllegalArgumentException(Constants.ERROR_CLOTHES_PARAMS_INSUFFICIENT);
-            }
-            return new Clothes(name, price, params[0], params[1]);
-        });
-        
-        register(ProductType.SUPPLEMENT, (name, price, params) -> {
-            if (params.length < 1) {
-                throw new IllegalArgumentException(Constants.ERROR_SUPPLEMENT_PARAMS_INSUFFICIENT);
-            }
-            return new Supplement(name, price, params[0]);
-        });
+        register(ProductType.CLOTHES, new ClothesCreator());
+        register(ProductType.SUPPLEMENT, new SupplementCreator());
     }
     
     /**
@@ -42,7 +35,12 @@ public class ProductFactory {
     public static void register(ProductType type, ProductCreator creator) {
         ValidationUtils.requireNonNull(type, Constants.ERROR_FACTORY_TYPE_NULL);
         ValidationUtils.requireNonNull(creator, Constants.ERROR_FACTORY_TYPE_NULL);
-        creators.put(type, creator);
+        synchronized (ProductFactory.class) {
+            Map<ProductType, ProductCreator> updated = new EnumMap<>(ProductType.class);
+            updated.putAll(creators);
+            updated.put(type, creator);
+            creators = Collections.unmodifiableMap(updated);
+        }
     }
     
     /**
@@ -59,6 +57,18 @@ public class ProductFactory {
         ProductType type = ProductType.fromCode(typeCode);
         return createProduct(type, name, price, params);
     }
+
+    public Product createProduct(String typeCode, String name, double price) {
+        return creatorFor(ProductType.fromCode(typeCode)).create(name, price);
+    }
+
+    public Product createProduct(String typeCode, String name, double price, String first) {
+        return creatorFor(ProductType.fromCode(typeCode)).create(name, price, first);
+    }
+
+    public Product createProduct(String typeCode, String name, double price, String first, String second) {
+        return creatorFor(ProductType.fromCode(typeCode)).create(name, price, first, second);
+    }
     
     /**
      * Creates a product of the specified type.
@@ -71,13 +81,78 @@ public class ProductFactory {
      * @throws IllegalArgumentException if type is null, not registered, or parameters are insufficient
      */
     public Product createProduct(ProductType type, String name, double price, String... params) {
+        return creatorFor(type).create(name, price, params);
+    }
+
+    public Product createProduct(ProductType type, String name, double price) {
+        return creatorFor(type).create(name, price);
+    }
+
+    public Product createProduct(ProductType type, String name, double price, String first) {
+        return creatorFor(type).create(name, price, first);
+    }
+
+    public Product createProduct(ProductType type, String name, double price, String first, String second) {
+        return creatorFor(type).create(name, price, first, second);
+    }
+
+    private static ProductCreator creatorFor(ProductType type) {
         ValidationUtils.requireNonNull(type, Constants.ERROR_PRODUCT_TYPE_NULL);
         
         ProductCreator creator = creators.get(type);
         if (creator == null) {
             throw new IllegalArgumentException(String.format(Constants.ERROR_PRODUCT_TYPE_NOT_REGISTERED, type));
         }
-        
-        return creator.create(name, price, params);
+        return creator;
+    }
+
+    private static final class ClothesCreator implements ProductCreator {
+        @Override
+        public Product create(String name, double price, String... params) {
+            if (params.length < 2) {
+                throw new IllegalArgumentException(Constants.ERROR_CLOTHES_PARAMS_INSUFFICIENT);
+            }
+            return new Clothes(name, price, params[0], params[1]);
+        }
+
+        @Override
+        public Product create(String name, double price) {
+            throw new IllegalArgumentException(Constants.ERROR_CLOTHES_PARAMS_INSUFFICIENT);
+        }
+
+        @Override
+        public Product create(String name, double price, String first) {
+            throw new IllegalArgumentException(Constants.ERROR_CLOTHES_PARAMS_INSUFFICIENT);
+        }
+
+        @Override
+        public Product create(String name, double price, String size, String color) {
+            return new Clothes(name, price, size, color);
+        }
+    }
+
+    private static final class SupplementCreator implements ProductCreator {
+        @Override
+        public Product create(String name, double price, String... params) {
+            if (params.length < 1) {
+                throw new IllegalArgumentException(Constants.ERROR_SUPPLEMENT_PARAMS_INSUFFICIENT);
+            }
+            return new Supplement(name, price, params[0]);
+        }
+
+        @Override
+        public Product create(String name, double price) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPPLEMENT_PARAMS_INSUFFICIENT);
+        }
+
+        @Override
+        public Product create(String name, double price, String flavor) {
+            return new Supplement(name, price, flavor);
+        }
+
+        @Override
+        public Product create(String name, double price, String flavor, String second) {
+            return new Supplement(name, price, flavor);
+        }
     }
-}
\ No newline at end of file
+}
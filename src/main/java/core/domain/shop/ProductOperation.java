@@ -26,6 +26,13 @@ public interface ProductOperation {
      */
     double getPrice();
     
+    /**
+     * Gets the price of the product in minor units.
+     *
+     * @return the price in minor units
+     */
+    long getPriceMinor();
+    
     /**
      * Gets detailed information about the product.
      *
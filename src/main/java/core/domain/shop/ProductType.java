@@ -2,6 +2,10 @@ package core.domain.shop;
 
 import core.util.ValidationUtils;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enumeration of product types available in the fitness club shop.
  */
@@ -9,6 +13,14 @@ public enum ProductType {
     CLOTHES("CLOSE"),
     SUPPLEMENT("SUPPLEMENT");
     
+    private static final Map<String, ProductType> BY_CODE = new HashMap<>();
+
+    static {
+        for (ProductType type : values()) {
+            BY_CODE.put(type.code.toUpperCase(Locale.ROOT), type);
+        }
+    }
+
     private final String code;
     
     /**
@@ -30,7 +42,8 @@ public enum ProductType {
     }
     
     /**
-     * Converts a code string to a ProductType.
+     * Converts a code string to a ProductType, ignoring case.
+     * Uses a lookup table built once when the enum is initialized.
      *
      * @param code the code string to convert (must not be null or blank)
      * @return the corresponding ProductType
@@ -39,12 +52,14 @@ public enum ProductType {
     public static ProductType fromCode(String code) {
         ValidationUtils.requireNonBlank(code, "Код типу продукту не може бути порожнім.");
         
-        for (ProductType type : values()) {
-            if (type.code.equalsIgnoreCase(code)) {
-                return type;
-            }
+        ProductType type = BY_CODE.get(code);
+        if (type == null) {
+            type = BY_CODE.get(code.toUpperCase(Locale.ROOT));
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Невідомий тип продукту: " + code);
         }
-        throw new IllegalArgumentException("Невідомий тип продукту: " + code);
+        return type;
     }
 }
 
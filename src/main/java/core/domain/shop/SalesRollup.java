@@ -0,0 +1,196 @@
+package core.domain.shop;
+
+import core.util.ValidationUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sales aggregates over fixed-width time buckets, kept in a ring of primitive columns.
+ * Recording a sale adds to one bucket, and a bucket slot is reused once its period has scrolled
+ * out of the ring, so memory is fixed and queries cost O(buckets) no matter how many orders were recorded.
+ * Sales older than the ring are ignored.
+ */
+public class SalesRollup {
+
+    /**
+     * Width of the buckets of a rollup.
+     */
+    public enum Resolution {
+        MINUTE(60),
+        HOUR(60 * 60),
+        DAY(24 * 60 * 60);
+
+        private final long seconds;
+
+        Resolution(long seconds) {
+            this.seconds = seconds;
+        }
+
+        public long getSeconds() {
+            return seconds;
+        }
+
+        long bucketOf(LocalDateTime time) {
+            return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), seconds);
+        }
+
+        LocalDateTime startOf(long bucket) {
+            return LocalDateTime.ofEpochSecond(bucket * seconds, 0, ZoneOffset.UTC);
+        }
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Resolution resolution;
+    private final long[] bucketIds;
+    private final long[] orders;
+    private final long[] units;
+    private final long[] revenueMinor;
+    private final long[] discountMinor;
+    private long latestBucket = EMPTY;
+
+    /**
+     * Creates an empty rollup.
+     *
+     * @param resolution the bucket width (must not be null)
+     * @param buckets the number of buckets kept (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public SalesRollup(Resolution resolution, int buckets) {
+        this.resolution = ValidationUtils.requireNonNull(resolution, "Роздільність не може бути null.");
+        ValidationUtils.requirePositive(buckets, "Кількість інтервалів має бути позитивною.");
+        this.bucketIds = new long[buckets];
+        this.orders = new long[buckets];
+        this.units = new long[buckets];
+        this.revenueMinor = new long[buckets];
+        this.discountMinor = new long[buckets];
+        Arrays.fill(bucketIds, EMPTY);
+    }
+
+    /**
+     * Adds sales to the bucket of the specified time.
+     *
+     * @param time the time of the sale (must not be null)
+     * @param orderCount the number of orders
+     * @param unitCount the number of units sold
+     * @param revenue the revenue after discounts in minor units
+     * @param discount the discount given in minor units
+     * @return true if the sale was recorded, false if it is older than the ring
+     */
+    public synchronized boolean add(LocalDateTime time, long orderCount, long unitCount, long revenue, long discount) {
+        ValidationUtils.requireNonNull(time, "Час не може бути null.");
+        long bucket = resolution.bucketOf(time);
+        if (latestBucket != EMPTY && bucket <= latestBucket - bucketIds.length) {
+            return false;
+        }
+        int slot = slotOf(bucket);
+        if (bucketIds[slot] != bucket) {
+            bucketIds[slot] = bucket;
+            orders[slot] = 0;
+            units[slot] = 0;
+            revenueMinor[slot] = 0;
+            discountMinor[slot] = 0;
+        }
+        orders[slot] += orderCount;
+        units[slot] += unitCount;
+        revenueMinor[slot] += revenue;
+        discountMinor[slot] += discount;
+        if (bucket > latestBucket) {
+            latestBucket = bucket;
+        }
+        return true;
+    }
+
+    /**
+     * Sums the buckets overlapping a period.
+     * Buckets are included whole; only buckets still kept by the ring are counted.
+     *
+     * @param from the start of the period, inclusive (must not be null)
+     * @param to the end of the period, exclusive (must not be null)
+     * @return the totals of the period
+     */
+    public synchronized SalesTotals getTotals(LocalDateTime from, LocalDateTime to) {
+        ValidationUtils.requireNonNull(from, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата не може бути null.");
+        if (latestBucket == EMPTY) {
+            return SalesTotals.ZERO;
+        }
+        long first = Math.max(resolution.bucketOf(from), latestBucket - bucketIds.length + 1);
+        long last = Math.min(resolution.bucketOf(to.minusNanos(1)), latestBucket);
+        long orderSum = 0;
+        long unitSum = 0;
+        long revenueSum = 0;
+        long discountSum = 0;
+        for (long bucket = first; bucket <= last; bucket++) {
+            int slot = slotOf(bucket);
+            if (bucketIds[slot] == bucket) {
+                orderSum += orders[slot];
+                unitSum += units[slot];
+                revenueSum += revenueMinor[slot];
+                discountSum += discountMinor[slot];
+            }
+        }
+        return new SalesTotals(orderSum, unitSum, revenueSum, discountSum);
+    }
+
+    /**
+     * Gets the last buckets up to and including the bucket of the specified time, oldest first.
+     * Buckets without sales are returned with zero totals.
+     *
+     * @param end a time within the last bucket (must not be null)
+     * @param count the number of buckets (must be positive; capped at the ring size)
+     * @return the buckets in chronological order
+     */
+    public synchronized List<SalesBucket> getSeries(LocalDateTime end, int count) {
+        ValidationUtils.requireNonNull(end, "Дата не може бути null.");
+        ValidationUtils.requirePositive(count, "Кількість інтервалів має бути позитивною.");
+        long last = resolution.bucketOf(end);
+        int size = Math.min(count, bucketIds.length);
+        List<SalesBucket> series = new ArrayList<>(size);
+        for (long bucket = last - size + 1; bucket <= last; bucket++) {
+            int slot = slotOf(bucket);
+            SalesTotals totals = bucketIds[slot] == bucket
+                    ? new SalesTotals(orders[slot], units[slot], revenueMinor[slot], discountMinor[slot])
+                    : SalesTotals.ZERO;
+            series.add(new SalesBucket(resolution.startOf(bucket), totals));
+        }
+        return series;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public int getBucketCount() {
+        return bucketIds.length;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketIds.length);
+    }
+
+    /**
+     * Sales totals of a period.
+     *
+     * @param orders the number of orders
+     * @param units the number of units sold
+     * @param revenueMinor the revenue after discounts in minor units
+     * @param discountMinor the discount given in minor units
+     */
+    public record SalesTotals(long orders, long units, long revenueMinor, long discountMinor) {
+        public static final SalesTotals ZERO = new SalesTotals(0, 0, 0, 0);
+    }
+
+    /**
+     * One bucket of a series.
+     *
+     * @param start the start of the bucket
+     * @param totals the totals of the bucket
+     */
+    public record SalesBucket(LocalDateTime start, SalesTotals totals) {
+    }
+}
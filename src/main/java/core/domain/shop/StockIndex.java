@@ -0,0 +1,211 @@
+package core.domain.shop;
+
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Network-wide stock availability, updated by the club inventories as their stock changes.
+ * For every product the index keeps the level of every club, the clubs grouped by level and the
+ * network total, so "which clubs have at least 3 of this product" is one lookup instead of a scan of
+ * every inventory.
+ * <p>
+ * Every club level is written by one inventory only and carries that inventory's version, so an
+ * entry is a last-writer-wins register. Indexes of different nodes of a sharded deployment can
+ * therefore exchange {@link #snapshot()}s and {@link #merge(Collection)} them in any order, any
+ * number of times, and still converge to the same levels.
+ */
+public class StockIndex {
+    private final Map<ProductOperation, ProductStock> products = new ConcurrentHashMap<>();
+    private final Map<String, Attachment> attachments = new HashMap<>(); // guarded by this
+
+    /**
+     * Starts indexing an inventory and indexes its current stock.
+     *
+     * @param clubId the ID of the club that owns the inventory (must not be null or blank)
+     * @param inventory the inventory (must not be null)
+     * @throws IllegalArgumentException if any parameter is invalid, the club is already indexed
+     *         or the inventory is indexed by another index
+     */
+    public synchronized void attach(String clubId, Inventory inventory) {
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        ValidationUtils.requireNonNull(inventory, "Склад не може бути null.");
+        if (attachments.containsKey(clubId)) {
+            throw new IllegalArgumentException("Клуб '" + clubId + "' вже відстежується.");
+        }
+        StockListener listener = (product, level, version) -> update(clubId, product, level, version);
+        inventory.attach(listener);
+        attachments.put(clubId, new Attachment(inventory, listener));
+    }
+
+    /**
+     * Stops indexing the inventory of a club and removes the club from the index.
+     *
+     * @param clubId the club ID
+     */
+    public synchronized void detach(String clubId) {
+        Attachment attachment = attachments.remove(clubId);
+        if (attachment == null) {
+            return;
+        }
+        attachment.inventory().detach(attachment.listener());
+        for (ProductStock productStock : products.values()) {
+            productStock.remove(clubId);
+        }
+    }
+
+    /**
+     * Gets the total stock of a product in all clubs.
+     *
+     * @param product the product
+     * @return the total, or 0 if product is null or not in stock
+     */
+    public long getTotal(ProductOperation product) {
+        ProductStock productStock = product == null ? null : products.get(product);
+        return productStock == null ? 0 : productStock.getTotal();
+    }
+
+    /**
+     * Gets the stock level of a product in a club.
+     *
+     * @param clubId the club ID
+     * @param product the product
+     * @return the stock level, or 0 if unknown
+     */
+    public int getLevel(String clubId, ProductOperation product) {
+        ProductStock productStock = product == null ? null : products.get(product);
+        return productStock == null ? 0 : productStock.getLevel(clubId);
+    }
+
+    /**
+     * Finds the clubs that have at least the specified quantity of a product.
+     *
+     * @param product the product (must not be null)
+     * @param quantity the required quantity (must be positive)
+     * @return the club IDs, clubs with the most stock first
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public List<String> findClubs(ProductOperation product, int quantity) {
+        ValidationUtils.requireNonNull(product, "Продукт не може бути null.");
+        ValidationUtils.requirePositive(quantity, "Кількість завжди додатня.");
+        ProductStock productStock = products.get(product);
+        return productStock == null ? List.of() : productStock.findClubs(quantity);
+    }
+
+    /**
+     * Gets all entries of the index for replication to other nodes.
+     *
+     * @return the entries
+     */
+    public List<StockEntry> snapshot() {
+        List<StockEntry> entries = new ArrayList<>();
+        for (Map.Entry<ProductOperation, ProductStock> product : products.entrySet()) {
+            product.getValue().collect(product.getKey(), entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Merges entries replicated from another node. Entries older than the known ones are ignored.
+     *
+     * @param entries the entries (must not be null)
+     * @throws IllegalArgumentException if entries is null
+     */
+    public void merge(Collection<StockEntry> entries) {
+        ValidationUtils.requireNonNull(entries, "Список записів не може бути null.");
+        for (StockEntry entry : entries) {
+            update(entry.clubId(), entry.product(), entry.level(), entry.version());
+        }
+    }
+
+    private void update(String clubId, ProductOperation product, int level, long version) {
+        products.computeIfAbsent(product, key -> new ProductStock()).update(clubId, level, version);
+    }
+
+    private record Attachment(Inventory inventory, StockListener listener) {
+    }
+
+    /**
+     * The stock of one product in all clubs.
+     */
+    private static final class ProductStock {
+        private final Map<String, long[]> byClub = new HashMap<>(); // club -> {level, version}
+        private final TreeMap<Integer, Set<String>> clubsByLevel = new TreeMap<>();
+        private long total;
+
+        private synchronized void update(String clubId, int level, long version) {
+            long[] current = byClub.get(clubId);
+            if (current != null && current[1] >= version) {
+                return;
+            }
+            if (current == null) {
+                current = new long[2];
+                byClub.put(clubId, current);
+            }
+            unindex(clubId, (int) current[0]);
+            total += level - current[0];
+            current[0] = level;
+            current[1] = version;
+            if (level > 0) {
+                clubsByLevel.computeIfAbsent(level, key -> new LinkedHashSet<>()).add(clubId);
+            }
+        }
+
+        private synchronized void remove(String clubId) {
+            long[] current = byClub.remove(clubId);
+            if (current != null) {
+                unindex(clubId, (int) current[0]);
+                total -= current[0];
+            }
+        }
+
+        private synchronized long getTotal() {
+            return total;
+        }
+
+        private synchronized int getLevel(String clubId) {
+            long[] current = clubId == null ? null : byClub.get(clubId);
+            return current == null ? 0 : (int) current[0];
+        }
+
+        private synchronized List<String> findClubs(int quantity) {
+            List<String> clubs = new ArrayList<>();
+            for (Set<String> level : clubsByLevel.tailMap(quantity, true).descendingMap().values()) {
+                clubs.addAll(level);
+            }
+            return clubs;
+        }
+
+        private synchronized void collect(ProductOperation product, List<StockEntry> entries) {
+            for (Map.Entry<String, long[]> club : byClub.entrySet()) {
+                entries.add(new StockEntry(club.getKey(), product, (int) club.getValue()[0], club.getValue()[1]));
+            }
+        }
+
+        private void unindex(String clubId, int level) {
+            Set<String> clubs = clubsByLevel.get(level);
+            if (clubs != null && clubs.remove(clubId) && clubs.isEmpty()) {
+                clubsByLevel.remove(level);
+            }
+        }
+    }
+
+    /**
+     * The replicated stock level of a product in a club.
+     *
+     * @param clubId the club ID
+     * @param product the product
+     * @param level the stock level
+     * @param version the version of the club's inventory that wrote the level
+     */
+    public record StockEntry(String clubId, ProductOperation product, int level, long version) {
+    }
+}
@@ -0,0 +1,17 @@
+package core.domain.shop;
+
+/**
+ * Receives every change of the stock levels of an inventory, so that views over many inventories
+ * can be maintained incrementally instead of being recounted.
+ */
+interface StockListener {
+
+    /**
+     * Called, while the inventory is locked, after the stock level of a product changed.
+     *
+     * @param product the product
+     * @param level the new stock level
+     * @param version the version of the inventory after the change; grows with every change
+     */
+    void onStockChanged(ProductOperation product, int level, long version);
+}
@@ -32,6 +32,16 @@ public class Supplement extends Product {
         return "Добавка: " + name + ", Смак: " + flavor;
     }
 
+    @Override
+    public ProductType getType() {
+        return ProductType.SUPPLEMENT;
+    }
+
+    @Override
+    public String getAttribute(ProductAttribute attribute) {
+        return attribute == ProductAttribute.FLAVOR ? flavor : null;
+    }
+
     /**
      * Gets the flavor of the supplement.
      *
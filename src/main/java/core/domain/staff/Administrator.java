@@ -4,6 +4,8 @@ import core.domain.client.Membership;
 import core.util.Constants;
 import core.util.ValidationUtils;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Represents an administrator who manages club operations.
@@ -59,6 +61,34 @@ public class Administrator extends Employee {
         return true;
     }
 
+    /**
+     * Approves a batch of memberships without any console output.
+     * Each membership is checked independently, so the batch is evaluated in parallel.
+     * A membership is rejected if its dates are invalid or it would already be expired.
+     *
+     * @param memberships the memberships to approve (must not be null, elements may be null)
+     * @return approval flags aligned with the input list
+     * @throws IllegalArgumentException if memberships is null
+     */
+    public boolean[] approveMemberships(List<Membership> memberships) {
+        ValidationUtils.requireNonNull(memberships, "Список абонементів не може бути null.");
+        
+        LocalDate today = LocalDate.now();
+        boolean[] approved = new boolean[memberships.size()];
+        IntStream.range(0, approved.length)
+                .parallel()
+                .forEach(i -> approved[i] = isApprovable(memberships.get(i), today));
+        return approved;
+    }
+
+    private static boolean isApprovable(Membership membership, LocalDate today) {
+        if (membership == null || membership.getStartDate() == null || membership.getEndDate() == null) {
+            return false;
+        }
+        return !membership.getEndDate().isBefore(membership.getStartDate())
+                && !membership.getEndDate().isBefore(today);
+    }
+
     public void manageSchedule() {
         System.out.println("Адміністратор " + fullName + " погодив розклад.");
     }
@@ -2,14 +2,16 @@ package core.domain.staff;
 
 import core.util.Constants;
 import core.util.ValidationUtils;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a cleaner who maintains cleanliness in assigned zones of the fitness club.
+ * Zones are kept in a hash set, so checking an assignment is O(1).
  */
 public class Cleaner extends Employee {
-    private final List<String> assignedZones;
+    private final Set<String> assignedZones;
 
     /**
      * Creates a new cleaner with the specified name, salary, and assigned zones.
@@ -22,7 +24,7 @@ public class Cleaner extends Employee {
     public Cleaner(String fullName, double salary, List<String> assignedZones) {
         super(fullName, salary);
         ValidationUtils.requireNonNull(assignedZones, "Список зон не може бути null.");
-        this.assignedZones = new ArrayList<>(assignedZones);
+        this.assignedZones = new LinkedHashSet<>(assignedZones);
     }
 
     /**
@@ -38,12 +40,22 @@ public class Cleaner extends Employee {
     /**
      * Gets the list of zones assigned to this cleaner.
      *
-     * @return an immutable copy of the assigned zones list
+     * @return an immutable copy of the assigned zones list, in the order they were assigned
      */
     public List<String> getAssignedZones() {
         return List.copyOf(assignedZones);
     }
 
+    /**
+     * Checks whether a zone is assigned to this cleaner, without copying the zones.
+     *
+     * @param zone the zone
+     * @return true if the zone is assigned
+     */
+    public boolean isAssignedTo(String zone) {
+        return zone != null && assignedZones.contains(zone);
+    }
+
     /**
      * Adds a zone to the cleaner's assigned zones.
      *
@@ -3,6 +3,9 @@ package core.domain.staff;
 import core.util.Constants;
 import core.util.ValidationUtils;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Abstract base class representing an employee of the fitness club.
  * All staff members (trainers, administrators, cleaners) extend this class.
@@ -10,6 +13,7 @@ import core.util.ValidationUtils;
 public abstract class Employee implements EmployeeOperation {
     protected String fullName;
     protected double salary;
+    private final List<StaffDirectory> directories = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a new employee with the specified name and salary.
@@ -32,7 +36,11 @@ public abstract class Employee implements EmployeeOperation {
 
     @Override
     public void setFullName(String fullName) {
+        String oldName = this.fullName;
         this.fullName = ValidationUtils.requireNonBlank(fullName, Constants.ERROR_EMPLOYEE_NAME_BLANK);
+        for (StaffDirectory directory : directories) {
+            directory.renamed(this, oldName);
+        }
     }
 
     @Override
@@ -44,4 +52,21 @@ public abstract class Employee implements EmployeeOperation {
     public void setSalary(double salary) {
         this.salary = ValidationUtils.requireNonNegative(salary, Constants.ERROR_EMPLOYEE_SALARY_NEGATIVE);
     }
+
+    /**
+     * Gets the directories that list this employee, so they can be told about changed index keys.
+     *
+     * @return the directories
+     */
+    List<StaffDirectory> getDirectories() {
+        return directories;
+    }
+
+    void join(StaffDirectory directory) {
+        directories.add(directory);
+    }
+
+    void leave(StaffDirectory directory) {
+        directories.remove(directory);
+    }
 }
\ No newline at end of file
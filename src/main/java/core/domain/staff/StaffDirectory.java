@@ -0,0 +1,272 @@
+package core.domain.staff;
+
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Staff of a club or a network, indexed by name, job title, trainer specialization and employee type.
+ * Every index maps a key to an immutable list that is replaced when an employee joins or leaves, so
+ * lookups are a single hash lookup that neither locks nor copies. Employees that change their name or
+ * specialization update the directories they belong to.
+ * <p>
+ * An employee may be added several times, e.g. once per club of a network; it is listed once and
+ * leaves the directory when it has been removed as many times as it was added.
+ */
+public class StaffDirectory {
+    private final Map<String, List<EmployeeOperation>> byName = new ConcurrentHashMap<>();
+    private final Map<String, List<EmployeeOperation>> byJobTitle = new ConcurrentHashMap<>();
+    private final Map<String, List<Trainer>> bySpecialization = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<EmployeeOperation>> byType = new ConcurrentHashMap<>();
+    private final Map<EmployeeOperation, Integer> memberships = new IdentityHashMap<>(); // guarded by this
+    private volatile List<EmployeeOperation> all = List.of();
+
+    /**
+     * Adds an employee.
+     *
+     * @param employee the employee (must not be null)
+     * @throws IllegalArgumentException if employee is null
+     */
+    public void add(EmployeeOperation employee) {
+        ValidationUtils.requireNonNull(employee, "Працівник не може бути null.");
+        addAll(List.of(employee));
+    }
+
+    /**
+     * Adds several employees, e.g. the staff of a club that joins a network.
+     * Every index is copied once per batch, not once per employee.
+     *
+     * @param employees the employees (must not be null or contain null)
+     * @throws IllegalArgumentException if employees is null or contains null
+     */
+    public synchronized void addAll(Collection<? extends EmployeeOperation> employees) {
+        ValidationUtils.requireNonNull(employees, "Список працівників не може бути null.");
+        for (EmployeeOperation employee : employees) {
+            ValidationUtils.requireNonNull(employee, "Працівник не може бути null.");
+        }
+        List<EmployeeOperation> joined = new ArrayList<>();
+        for (EmployeeOperation employee : employees) {
+            if (memberships.merge(employee, 1, Integer::sum) == 1) {
+                joined.add(employee);
+            }
+        }
+        if (joined.isEmpty()) {
+            return;
+        }
+        all = with(all, joined);
+        addTo(byName, joined, EmployeeOperation::getFullName);
+        addTo(byJobTitle, joined, EmployeeOperation::getJobTitle);
+        addTo(byType, joined, EmployeeOperation::getClass);
+        List<Trainer> trainers = new ArrayList<>();
+        for (EmployeeOperation employee : joined) {
+            if (employee instanceof Trainer trainer) {
+                trainers.add(trainer);
+            }
+            if (employee instanceof Employee tracked) {
+                tracked.join(this);
+            }
+        }
+        addTo(bySpecialization, trainers, Trainer::getSpecialization);
+    }
+
+    /**
+     * Removes an employee.
+     *
+     * @param employee the employee
+     * @return true if the employee left the directory
+     */
+    public boolean remove(EmployeeOperation employee) {
+        return employee != null && removeAll(List.of(employee)) == 1;
+    }
+
+    /**
+     * Removes several employees.
+     *
+     * @param employees the employees (must not be null)
+     * @return the number of employees that left the directory
+     * @throws IllegalArgumentException if employees is null
+     */
+    public synchronized int removeAll(Collection<? extends EmployeeOperation> employees) {
+        ValidationUtils.requireNonNull(employees, "Список працівників не може бути null.");
+        Set<EmployeeOperation> left = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EmployeeOperation employee : employees) {
+            Integer count = employee == null ? null : memberships.get(employee);
+            if (count == null) {
+                continue;
+            }
+            if (count > 1) {
+                memberships.put(employee, count - 1);
+            } else {
+                memberships.remove(employee);
+                left.add(employee);
+            }
+        }
+        if (left.isEmpty()) {
+            return 0;
+        }
+        all = without(all, left);
+        List<Trainer> trainers = new ArrayList<>();
+        for (EmployeeOperation employee : left) {
+            if (employee instanceof Trainer trainer) {
+                trainers.add(trainer);
+            }
+            if (employee instanceof Employee tracked) {
+                tracked.leave(this);
+            }
+        }
+        removeFrom(byName, left, EmployeeOperation::getFullName);
+        removeFrom(byJobTitle, left, EmployeeOperation::getJobTitle);
+        removeFrom(byType, left, EmployeeOperation::getClass);
+        removeFrom(bySpecialization, trainers, Trainer::getSpecialization);
+        return left.size();
+    }
+
+    /**
+     * Finds employees by full name.
+     *
+     * @param fullName the full name
+     * @return the employees with this name, in the order they were added
+     */
+    public List<EmployeeOperation> findByName(String fullName) {
+        return fullName == null ? List.of() : byName.getOrDefault(fullName, List.of());
+    }
+
+    /**
+     * Finds employees by job title.
+     *
+     * @param jobTitle the job title, e.g. {@code Constants.JOB_TITLE_TRAINER}
+     * @return the employees with this title, in the order they were added
+     */
+    public List<EmployeeOperation> findByJobTitle(String jobTitle) {
+        return jobTitle == null ? List.of() : byJobTitle.getOrDefault(jobTitle, List.of());
+    }
+
+    /**
+     * Finds trainers by specialization.
+     *
+     * @param specialization the specialization
+     * @return the trainers with this specialization, in the order they were added
+     */
+    public List<Trainer> findTrainers(String specialization) {
+        return specialization == null ? List.of() : bySpecialization.getOrDefault(specialization, List.of());
+    }
+
+    /**
+     * Finds employees of a type.
+     *
+     * @param type the exact class of the employees (must not be null)
+     * @param <T> the type
+     * @return the employees of this class, in the order they were added
+     * @throws IllegalArgumentException if type is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends EmployeeOperation> List<T> findByType(Class<T> type) {
+        ValidationUtils.requireNonNull(type, "Тип не може бути null.");
+        return (List<T>) byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Finds the first employee of a type.
+     *
+     * @param type the exact class of the employee (must not be null)
+     * @param <T> the type
+     * @return the employee added first, or empty if there is none
+     * @throws IllegalArgumentException if type is null
+     */
+    public <T extends EmployeeOperation> Optional<T> first(Class<T> type) {
+        List<T> employees = findByType(type);
+        return employees.isEmpty() ? Optional.empty() : Optional.of(employees.get(0));
+    }
+
+    /**
+     * Gets all employees.
+     *
+     * @return an immutable snapshot in the order employees were added; not copied on each call
+     */
+    public List<EmployeeOperation> getAll() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    synchronized void renamed(Employee employee, String oldName) {
+        if (memberships.containsKey(employee)) {
+            moveKey(byName, oldName, employee.getFullName(), employee);
+        }
+    }
+
+    synchronized void specializationChanged(Trainer trainer, String oldSpecialization) {
+        if (memberships.containsKey(trainer)) {
+            moveKey(bySpecialization, oldSpecialization, trainer.getSpecialization(), trainer);
+        }
+    }
+
+    private static <K, T> void moveKey(Map<K, List<T>> index, K oldKey, K newKey, T employee) {
+        Set<T> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        moved.add(employee);
+        shrink(index, oldKey, moved);
+        index.put(newKey, with(index.getOrDefault(newKey, List.of()), List.of(employee)));
+    }
+
+    private static <K, T> void addTo(Map<K, List<T>> index, List<T> employees, Function<T, K> key) {
+        Map<K, List<T>> groups = new LinkedHashMap<>();
+        for (T employee : employees) {
+            groups.computeIfAbsent(key.apply(employee), k -> new ArrayList<>()).add(employee);
+        }
+        for (Map.Entry<K, List<T>> group : groups.entrySet()) {
+            index.put(group.getKey(), with(index.getOrDefault(group.getKey(), List.of()), group.getValue()));
+        }
+    }
+
+    private static <K, T> void removeFrom(Map<K, List<T>> index, Collection<? extends T> employees,
+                                          Function<T, K> key) {
+        Set<T> left = Collections.newSetFromMap(new IdentityHashMap<>());
+        left.addAll(employees);
+        Set<K> keys = new HashSet<>();
+        for (T employee : left) {
+            keys.add(key.apply(employee));
+        }
+        for (K affected : keys) {
+            shrink(index, affected, left);
+        }
+    }
+
+    private static <K, T> void shrink(Map<K, List<T>> index, K key, Set<T> left) {
+        List<T> remaining = without(index.getOrDefault(key, List.of()), left);
+        if (remaining.isEmpty()) {
+            index.remove(key);
+        } else {
+            index.put(key, remaining);
+        }
+    }
+
+    private static <T> List<T> with(List<T> list, List<? extends T> added) {
+        List<T> copy = new ArrayList<>(list.size() + added.size());
+        copy.addAll(list);
+        copy.addAll(added);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static <T> List<T> without(List<T> list, Set<? extends T> left) {
+        List<T> copy = new ArrayList<>(list.size());
+        for (T element : list) {
+            if (!left.contains(element)) {
+                copy.add(element);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+}
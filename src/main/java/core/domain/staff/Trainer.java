@@ -33,6 +33,10 @@ public class Trainer extends Employee {
     }
 
     public void setSpecialization(String specialization) {
+        String oldSpecialization = this.specialization;
         this.specialization = ValidationUtils.requireNonBlank(specialization, "Спеціалізація не може бути порожньою.");
+        for (StaffDirectory directory : getDirectories()) {
+            directory.specializationChanged(this, oldSpecialization);
+        }
     }
 }
\ No newline at end of file
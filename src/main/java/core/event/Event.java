@@ -8,7 +8,9 @@ public class Event {
         CLASS_FULL,
         LOW_INVENTORY,
         MEMBERSHIP_EXPIRED,
-        BOOKING_CONFIRMED
+        BOOKING_CONFIRMED,
+        BOOKING_CANCELLED,
+        PRODUCT_SOLD
     }
     
     private final EventType type;
@@ -12,6 +12,9 @@ public class NotificationService implements Observer<Event> {
     
     @Override
     public void update(Event event) {
+        if (event.getType() == Event.EventType.PRODUCT_SOLD) {
+            return; // every sale is reported; too frequent to notify about
+        }
         String notification = formatNotification(event);
         notifications.add(notification);
         System.out.println("🔔 [СПОВІЩЕННЯ] " + notification);
@@ -24,6 +27,8 @@ public class NotificationService implements Observer<Event> {
             case LOW_INVENTORY -> "📦 Низький залишок: " + event.getMessage();
             case MEMBERSHIP_EXPIRED -> "⏰ Абонемент закінчився: " + event.getMessage();
             case BOOKING_CONFIRMED -> "✅ Бронювання підтверджено: " + event.getMessage();
+            case BOOKING_CANCELLED -> "↩️ Бронювання скасовано: " + event.getMessage();
+            case PRODUCT_SOLD -> "🛒 Продано: " + event.getMessage();
         };
     }
     
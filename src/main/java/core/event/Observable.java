@@ -1,10 +1,10 @@
 package core.event;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Observable<T> {
-    private final List<Observer<T>> observers = new ArrayList<>();
+    private final List<Observer<T>> observers = new CopyOnWriteArrayList<>();
     
     public void addObserver(Observer<T> observer) {
         if (observer == null) {
@@ -0,0 +1,33 @@
+package core.event;
+
+import core.domain.shop.ProductOperation;
+
+/**
+ * Event about a stock change of one product, carrying the product, the quantity
+ * and the resulting stock level so that consumers do not have to query the inventory.
+ */
+public class StockEvent extends Event {
+    private final ProductOperation product;
+    private final int quantity;
+    private final int stockLevel;
+
+    public StockEvent(EventType type, String message, Object source,
+                      ProductOperation product, int quantity, int stockLevel) {
+        super(type, message, source);
+        this.product = product;
+        this.quantity = quantity;
+        this.stockLevel = stockLevel;
+    }
+
+    public ProductOperation getProduct() {
+        return product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getStockLevel() {
+        return stockLevel;
+    }
+}
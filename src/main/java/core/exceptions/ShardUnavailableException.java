@@ -0,0 +1,7 @@
+package core.exceptions;
+
+public class ShardUnavailableException extends FitnessClubException {
+    public ShardUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package core.infrastructure;
+
+import core.util.ValidationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maps keys to nodes with consistent hashing.
+ * Every node is placed on a 64-bit ring at several points (virtual nodes), and a key belongs to the
+ * first point at or after its own hash. Adding or removing a node therefore moves only the keys of the
+ * ring segments that node gains or loses, about {@code 1 / nodes} of all keys, and virtual nodes keep
+ * the segments of every node close to equal.
+ * <p>
+ * The ring is not thread-safe; callers synchronize changes with lookups.
+ */
+public class ConsistentHashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final int virtualNodes;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes = new TreeSet<>();
+
+    /**
+     * Creates an empty ring with the default number of virtual nodes.
+     */
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param virtualNodes the number of points of every node on the ring (must be positive)
+     * @throws IllegalArgumentException if virtualNodes is not positive
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = ValidationUtils.requirePositive(virtualNodes, "Кількість віртуальних вузлів має бути позитивною.");
+    }
+
+    /**
+     * Adds a node to the ring.
+     *
+     * @param nodeId the node ID (must not be null or blank)
+     * @return true if the node was added, false if it is already on the ring
+     * @throws IllegalArgumentException if nodeId is blank
+     */
+    public boolean addNode(String nodeId) {
+        ValidationUtils.requireNonBlank(nodeId, "ID вузла не може бути порожнім.");
+        if (!nodes.add(nodeId)) {
+            return false;
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            // on the rare hash collision the earlier node keeps the point
+            ring.putIfAbsent(hash(nodeId + "#" + i), nodeId);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a node from the ring; its keys move to the following nodes.
+     *
+     * @param nodeId the node ID
+     * @return true if the node was removed, false if it was not on the ring
+     */
+    public boolean removeNode(String nodeId) {
+        if (nodeId == null || !nodes.remove(nodeId)) {
+            return false;
+        }
+        ring.values().removeIf(nodeId::equals);
+        return true;
+    }
+
+    /**
+     * Gets the node that owns a key.
+     *
+     * @param key the key (must not be null)
+     * @return the node ID
+     * @throws IllegalArgumentException if key is null
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public String nodeFor(String key) {
+        ValidationUtils.requireNonNull(key, "Ключ не може бути null.");
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("Немає жодного вузла.");
+        }
+        SortedMap<Long, String> tail = ring.tailMap(hash(key));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    public Set<String> getNodes() {
+        return Collections.unmodifiableSet(nodes);
+    }
+
+    public boolean contains(String nodeId) {
+        return nodes.contains(nodeId);
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Gets the share of the ring owned by every node.
+     *
+     * @return node ID to its share of all keys, between 0 and 1
+     */
+    public Map<String, Double> getOwnership() {
+        Map<String, Double> shares = new TreeMap<>();
+        if (ring.isEmpty()) {
+            return shares;
+        }
+        long previous = ring.lastKey();
+        for (Map.Entry<Long, String> point : ring.entrySet()) {
+            // unsigned distance from the previous point; the first point wraps around the ring
+            shares.merge(point.getValue(), unsignedToDouble(point.getKey() - previous) / 0x1p64, Double::sum);
+            previous = point.getKey();
+        }
+        if (ring.size() == 1) {
+            shares.put(ring.firstEntry().getValue(), 1.0);
+        }
+        return shares;
+    }
+
+    private static double unsignedToDouble(long value) {
+        return value >= 0 ? value : (value >>> 1) * 2.0 + (value & 1);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, followed by a finalizer so that similar keys
+     * ("club#1", "club#2") spread over the whole ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -340,11 +340,7 @@ public class ConsoleMenu {
     private Administrator getAdministrator() {
         if (currentClub == null) return null;
         
-        return currentClub.getStaff().stream()
-                .filter(employee -> employee instanceof Administrator)
-                .map(employee -> (Administrator) employee)
-                .findFirst()
-                .orElse(null);
+        return currentClub.getStaffDirectory().first(Administrator.class).orElse(null);
     }
     
     private void manageBookings() {
@@ -504,7 +500,7 @@ public class ConsoleMenu {
         }
         
         GroupClass selectedClass = classes.get(choice - 1);
-        bookingService.cancelBooking(client, selectedClass);
+        bookingService.cancelBooking(client, selectedClass, currentClub);
         System.out.println("Бронювання скасовано.");
     }
     
@@ -533,11 +529,7 @@ public class ConsoleMenu {
     private Trainer getTrainer() {
         if (currentClub == null) return null;
         
-        return currentClub.getStaff().stream()
-                .filter(employee -> employee instanceof Trainer)
-                .map(employee -> (Trainer) employee)
-                .findFirst()
-                .orElse(null);
+        return currentClub.getStaffDirectory().first(Trainer.class).orElse(null);
     }
     
     private void manageInventory() {
@@ -753,17 +745,9 @@ public class ConsoleMenu {
     private void viewNetworkInfo() {
         System.out.println("\n=== ІНФОРМАЦІЯ ПРО МЕРЕЖУ ===");
         System.out.println("Назва: " + fitnessNetwork.getName());
-        System.out.println("Кількість клубів: " + fitnessNetwork.getClubs().size());
-        
-        int totalStudios = 0;
-        int totalStaff = 0;
-        for (FitnessClub club : fitnessNetwork.getClubs()) {
-            totalStudios += club.getStudios().size();
-            totalStaff += club.getStaff().size();
-        }
-        
-        System.out.println("Всього студій: " + totalStudios);
-        System.out.println("Всього персоналу: " + totalStaff);
+        System.out.println("Кількість клубів: " + fitnessNetwork.getClubCount());
+        System.out.println("Всього студій: " + fitnessNetwork.getTotalStudios());
+        System.out.println("Всього персоналу: " + fitnessNetwork.getTotalStaff());
     }
     
     // Utility methods for input
@@ -0,0 +1,113 @@
+package core.infrastructure;
+
+import core.exceptions.FitnessClubException;
+import core.exceptions.ShardUnavailableException;
+import core.util.ValidationUtils;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Transport that hosts all shard nodes in the current process, for tests and single-machine clusters.
+ * Every node has its own request thread and handles requests one at a time, in arrival order, like a
+ * remote node reading its socket, so club state is only ever touched by its node's thread.
+ * Unregistering a node behaves like the node going down: later calls fail with
+ * {@link ShardUnavailableException}.
+ */
+public class LoopbackTransport implements ShardTransport, Closeable {
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Starts serving a node.
+     *
+     * @param node the node (must not be null)
+     * @throws IllegalArgumentException if node is null or a node with the same ID is registered
+     */
+    public void register(ShardNode node) {
+        ValidationUtils.requireNonNull(node, "Вузол не може бути null.");
+        Endpoint endpoint = new Endpoint(node);
+        if (endpoints.putIfAbsent(node.getId(), endpoint) != null) {
+            endpoint.executor.shutdown();
+            throw new IllegalArgumentException("Вузол '" + node.getId() + "' вже зареєстрований.");
+        }
+    }
+
+    /**
+     * Stops serving a node; requests already accepted still complete.
+     *
+     * @param nodeId the node ID
+     * @return true if the node was registered
+     */
+    public boolean unregister(String nodeId) {
+        Endpoint endpoint = nodeId == null ? null : endpoints.remove(nodeId);
+        if (endpoint == null) {
+            return false;
+        }
+        endpoint.executor.shutdown();
+        return true;
+    }
+
+    @Override
+    public <T> T call(String nodeId, ShardRequest<T> request) throws FitnessClubException {
+        ValidationUtils.requireNonNull(request, "Запит не може бути null.");
+        Endpoint endpoint = nodeId == null ? null : endpoints.get(nodeId);
+        if (endpoint == null) {
+            throw new ShardUnavailableException("Вузол '" + nodeId + "' недоступний.");
+        }
+        if (Thread.currentThread() == endpoint.thread) {
+            // a request calling its own node would wait for itself
+            return request.execute(endpoint.node);
+        }
+        try {
+            return endpoint.executor.submit(() -> request.execute(endpoint.node)).get();
+        } catch (RejectedExecutionException e) {
+            throw new ShardUnavailableException("Вузол '" + nodeId + "' недоступний.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShardUnavailableException("Запит до вузла '" + nodeId + "' перервано.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FitnessClubException failure) {
+                throw failure;
+            }
+            if (cause instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (cause instanceof Error failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Stops serving all nodes.
+     */
+    @Override
+    public void close() {
+        for (String nodeId : endpoints.keySet()) {
+            unregister(nodeId);
+        }
+    }
+
+    private static final class Endpoint {
+        private final ShardNode node;
+        private final ExecutorService executor;
+        private volatile Thread thread;
+
+        private Endpoint(ShardNode node) {
+            this.node = node;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread worker = new Thread(runnable, "shard-" + node.getId());
+                worker.setDaemon(true);
+                thread = worker;
+                return worker;
+            });
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package core.infrastructure;
+
+import core.domain.client.Client;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only history of placed orders, partitioned by order day.
+ * Every partition keeps its orders as a compact binary log and two in-memory indexes: record offsets
+ * per client and running sales totals per product. Product sales over a period therefore cost one
+ * lookup per day, and a client's orders are decoded directly from their offsets, without scanning
+ * other orders. Retention drops whole partitions.
+ * <p>
+ * When created with a directory, every partition is also appended to its own file
+ * ({@code orders-yyyy-MM-dd.bin}) and the ledger is rebuilt from those files on startup.
+ * A record whose write failed is cut off the file before the next append.
+ * Records store the numeric IDs of clients, products and orders as they were when the order was placed.
+ * Those IDs are generated anew for objects created in another run, so records loaded from files are
+ * reachable only by the raw IDs ({@link #getClientOrders(long, LocalDate, LocalDate)},
+ * {@link #getProductSales(long, LocalDate, LocalDate)}); the overloads taking a {@link Client} or
+ * {@link Product} find only orders of that very object.
+ */
+@Component
+public class OrderLedger implements Closeable {
+    private static final String FILE_PREFIX = "orders-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    // Record layout: length, order ID, client ID, timestamp, total, line count, then the lines
+    private static final int HEADER_BYTES = Integer.BYTES + 4 * Long.BYTES + Integer.BYTES;
+    // Line layout: product ID, quantity, line total
+    private static final int LINE_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Partition> partitions = new TreeMap<>();
+    private final Path directory;
+    private final Clock clock;
+
+    /**
+     * Creates an in-memory ledger that follows the system clock.
+     */
+    public OrderLedger() {
+        this.directory = null;
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    /**
+     * Creates an in-memory ledger that follows the specified clock.
+     *
+     * @param clock the clock that defines "today" for relative queries (must not be null)
+     */
+    public OrderLedger(Clock clock) {
+        this.directory = null;
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+    }
+
+    /**
+     * Opens a ledger persisted in the specified directory, loading the partitions already stored there.
+     * An incomplete record at the end of a file, left by an interrupted write, is discarded.
+     *
+     * @param directory the directory of the partition files (must not be null); created if missing
+     * @param clock the clock that defines "today" for relative queries (must not be null)
+     * @throws IOException if the directory cannot be created or read
+     */
+    public OrderLedger(Path directory, Clock clock) throws IOException {
+        this.directory = ValidationUtils.requireNonNull(directory, "Каталог не може бути null.");
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                LocalDate day = LocalDate.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+                Partition partition = new Partition(day.toEpochDay());
+                partition.load(Files.readAllBytes(file));
+                partition.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                partition.channel.truncate(partition.size);
+                partition.channel.position(partition.size);
+                partitions.put(partition.day, partition);
+            }
+        }
+    }
+
+    /**
+     * Appends an order to the partition of its order day.
+     * Line totals are recorded as priced when the order was placed.
+     *
+     * @param order the order (must not be null)
+     * @throws IllegalArgumentException if order is null
+     * @throws UncheckedIOException if the order cannot be written to the partition file
+     */
+    public void append(Order order) {
+        ValidationUtils.requireNonNull(order, "Замовлення не може бути null.");
+        byte[] record = encode(order);
+        long day = order.getOrderDate().toLocalDate().toEpochDay();
+        lock.writeLock().lock();
+        try {
+            Partition partition = partitions.get(day);
+            if (partition == null) {
+                partition = openPartition(day);
+            }
+            partition.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the sales of a product over a period.
+     *
+     * @param productId the numeric ID of the product
+     * @param from the first day of the period, inclusive (must not be null)
+     * @param to the last day of the period, inclusive (must not be null)
+     * @return the sales totals; all zero if the product was not sold in the period
+     */
+    public ProductSales getProductSales(long productId, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(from, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата не може бути null.");
+        long quantity = 0;
+        long revenue = 0;
+        long orders = 0;
+        lock.readLock().lock();
+        try {
+            for (Partition partition : partitions.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                long[] sales = partition.salesByProduct.get(productId);
+                if (sales != null) {
+                    quantity += sales[0];
+                    revenue += sales[1];
+                    orders += sales[2];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ProductSales(quantity, revenue, orders);
+    }
+
+    /**
+     * Gets the sales of a product over the last days, including today.
+     * Only orders of this product object are counted, not orders reloaded from an earlier run.
+     *
+     * @param product the product (must not be null)
+     * @param days the number of days (must be positive)
+     * @return the sales totals
+     */
+    public ProductSales getProductSalesLastDays(Product product, int days) {
+        ValidationUtils.requireNonNull(product, "Продукт не може бути null.");
+        ValidationUtils.requirePositive(days, "Кількість днів має бути позитивною.");
+        LocalDate today = LocalDate.now(clock);
+        return getProductSales(product.getNumericId(), today.minusDays(days - 1L), today);
+    }
+
+    /**
+     * Gets all recorded orders of a client in chronological order.
+     * Only orders of this client object are found, not orders reloaded from an earlier run.
+     *
+     * @param client the client (must not be null)
+     * @return the client's orders
+     */
+    public List<OrderRecord> getClientOrders(Client client) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        return getClientOrders(client.getNumericId(), LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Gets the orders of a client placed in a period, in chronological order.
+     *
+     * @param clientId the numeric ID of the client
+     * @param from the first day of the period, inclusive (must not be null)
+     * @param to the last day of the period, inclusive (must not be null)
+     * @return the client's orders in the period
+     */
+    public List<OrderRecord> getClientOrders(long clientId, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(from, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата не може бути null.");
+        List<OrderRecord> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Partition partition : partitions.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+                OffsetList offsets = partition.offsetsByClient.get(clientId);
+                if (offsets != null) {
+                    for (int i = 0; i < offsets.size; i++) {
+                        result.add(decode(partition.data, offsets.values[i]));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort((a, b) -> a.placedAt().compareTo(b.placedAt()));
+        return result;
+    }
+
+    /**
+     * Drops all partitions of days before the specified day, together with their files.
+     *
+     * @param day the first day to keep (must not be null)
+     * @return the number of dropped partitions
+     * @throws UncheckedIOException if a partition file cannot be deleted
+     */
+    public int dropPartitionsBefore(LocalDate day) {
+        ValidationUtils.requireNonNull(day, "Дата не може бути null.");
+        lock.writeLock().lock();
+        try {
+            NavigableMap<Long, Partition> expired = partitions.headMap(day.toEpochDay(), false);
+            int dropped = expired.size();
+            for (Partition partition : expired.values()) {
+                partition.delete();
+            }
+            expired.clear();
+            return dropped;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps only the partitions of the last days, including today.
+     *
+     * @param days the number of days to keep (must be positive)
+     * @return the number of dropped partitions
+     */
+    public int retainLastDays(int days) {
+        ValidationUtils.requirePositive(days, "Кількість днів має бути позитивною.");
+        return dropPartitionsBefore(LocalDate.now(clock).minusDays(days - 1L));
+    }
+
+    public int getPartitionCount() {
+        lock.readLock().lock();
+        try {
+            return partitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of recorded orders.
+     *
+     * @return the number of orders in all partitions
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (Partition partition : partitions.values()) {
+                total += partition.orders;
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the partition files. The in-memory data stays readable.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (Partition partition : partitions.values()) {
+                if (partition.channel != null) {
+                    partition.channel.close();
+                    partition.channel = null;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Partition openPartition(long day) throws IOException {
+        Partition partition = new Partition(day);
+        if (directory != null) {
+            partition.channel = FileChannel.open(partitionFile(day),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        partitions.put(day, partition);
+        return partition;
+    }
+
+    private Path partitionFile(long day) {
+        return directory.resolve(FILE_PREFIX + LocalDate.ofEpochDay(day) + FILE_SUFFIX);
+    }
+
+    private static byte[] encode(Order order) {
+        int itemCount = order.getItemCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + itemCount * LINE_BYTES);
+        buffer.putInt(buffer.capacity());
+        buffer.putLong(order.getNumericId());
+        buffer.putLong(order.getClient().getNumericId());
+        buffer.putLong(toEpochMilli(order.getOrderDate()));
+        buffer.putLong(order.getTotalPriceMinor());
+        buffer.putInt(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = order.getItem(i);
+            buffer.putLong(item.product().getNumericId());
+            buffer.putInt(item.quantity());
+            buffer.putLong(order.getItemTotalPriceMinor(i));
+        }
+        return buffer.array();
+    }
+
+    private static OrderRecord decode(byte[] data, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, data.length - offset);
+        buffer.getInt();
+        long orderId = buffer.getLong();
+        long clientId = buffer.getLong();
+        long timestamp = buffer.getLong();
+        long total = buffer.getLong();
+        int lineCount = buffer.getInt();
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine(buffer.getLong(), buffer.getInt(), buffer.getLong()));
+        }
+        return new OrderRecord(orderId, clientId, fromEpochMilli(timestamp), total, List.copyOf(lines));
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMilli(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+                Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Orders of one day: the binary log and its indexes.
+     */
+    private final class Partition {
+        private final long day;
+        private byte[] data = new byte[4096];
+        private int size;
+        private long orders;
+        private final Map<Long, OffsetList> offsetsByClient = new HashMap<>();
+        // productId -> {quantity, revenue, orders}
+        private final Map<Long, long[]> salesByProduct = new HashMap<>();
+        private FileChannel channel;
+
+        private Partition(long day) {
+            this.day = day;
+        }
+
+        private void write(byte[] record) throws IOException {
+            if (channel != null) {
+                // drop the tail of a record whose write failed earlier, so later records stay readable
+                if (channel.size() != size) {
+                    channel.truncate(size);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                try {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    try {
+                        channel.truncate(size);
+                    } catch (IOException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                    throw e;
+                }
+            }
+            add(record, 0, record.length);
+        }
+
+        private void load(byte[] contents) {
+            int offset = 0;
+            while (offset + Integer.BYTES <= contents.length) {
+                int length = ByteBuffer.wrap(contents, offset, Integer.BYTES).getInt();
+                if (length < HEADER_BYTES || offset + length > contents.length) {
+                    break;
+                }
+                add(contents, offset, length);
+                offset += length;
+            }
+        }
+
+        private void add(byte[] record, int from, int length) {
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+            int offset = size;
+            System.arraycopy(record, from, data, offset, length);
+            size += length;
+            orders++;
+
+            ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+            buffer.getInt();
+            buffer.getLong();
+            long clientId = buffer.getLong();
+            buffer.getLong();
+            buffer.getLong();
+            int lineCount = buffer.getInt();
+            offsetsByClient.computeIfAbsent(clientId, id -> new OffsetList()).add(offset);
+            for (int i = 0; i < lineCount; i++) {
+                long[] sales = salesByProduct.computeIfAbsent(buffer.getLong(), id -> new long[3]);
+                sales[0] += buffer.getInt();
+                sales[1] += buffer.getLong();
+                sales[2]++;
+            }
+        }
+
+        private void delete() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            if (directory != null) {
+                Files.deleteIfExists(partitionFile(day));
+            }
+        }
+    }
+
+    private static final class OffsetList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Sales totals of a product.
+     *
+     * @param quantity the number of units sold
+     * @param revenueMinor the revenue after discounts in minor units
+     * @param orders the number of order lines the product appeared in
+     */
+    public record ProductSales(long quantity, long revenueMinor, long orders) {
+    }
+
+    /**
+     * A recorded order, decoded from the ledger.
+     *
+     * @param orderId the numeric ID of the order
+     * @param clientId the numeric ID of the client
+     * @param placedAt the date and time the order was placed
+     * @param totalPriceMinor the total after discounts in minor units
+     * @param lines the order lines
+     */
+    public record OrderRecord(long orderId, long clientId, LocalDateTime placedAt, long totalPriceMinor,
+                              List<OrderLine> lines) {
+    }
+
+    /**
+     * A recorded order line.
+     *
+     * @param productId the numeric ID of the product
+     * @param quantity the quantity
+     * @param totalPriceMinor the line total after discounts in minor units
+     */
+    public record OrderLine(long productId, int quantity, long totalPriceMinor) {
+    }
+}
@@ -0,0 +1,146 @@
+package core.infrastructure;
+
+import core.domain.club.FitnessClub;
+import core.exceptions.ShardUnavailableException;
+import core.services.BookingService;
+import core.services.InventoryService;
+import core.services.MembershipService;
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One shard of a distributed network: the clubs a node owns together with the services that work on them.
+ * Membership checks need only the client's membership, which travels with every request, so a node
+ * decides NETWORK_WIDE and SINGLE_CLUB access on its own without asking other nodes.
+ */
+public class ShardNode {
+    private final String id;
+    private final Map<String, FitnessClub> clubs = new ConcurrentHashMap<>();
+    private final Map<String, InventoryService> inventories = new ConcurrentHashMap<>();
+    private final MembershipService membershipService;
+    private final BookingService bookingService;
+
+    /**
+     * Creates an empty node.
+     *
+     * @param id the node ID (must not be null or blank)
+     * @throws IllegalArgumentException if id is blank
+     */
+    public ShardNode(String id) {
+        this.id = ValidationUtils.requireNonBlank(id, "ID вузла не може бути порожнім.");
+        this.membershipService = new MembershipService();
+        this.bookingService = new BookingService(membershipService);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public MembershipService getMembershipService() {
+        return membershipService;
+    }
+
+    public BookingService getBookingService() {
+        return bookingService;
+    }
+
+    /**
+     * Finds a club owned by this node.
+     *
+     * @param clubId the club ID
+     * @return the club, or empty if this node does not own it
+     */
+    public Optional<FitnessClub> findClub(String clubId) {
+        return clubId == null ? Optional.empty() : Optional.ofNullable(clubs.get(clubId));
+    }
+
+    /**
+     * Gets a club owned by this node.
+     *
+     * @param clubId the club ID
+     * @return the club
+     * @throws ShardUnavailableException if this node does not own the club
+     */
+    public FitnessClub requireClub(String clubId) throws ShardUnavailableException {
+        FitnessClub club = clubId == null ? null : clubs.get(clubId);
+        if (club == null) {
+            throw new ShardUnavailableException("Клуб '" + clubId + "' не належить вузлу '" + id + "'.");
+        }
+        return club;
+    }
+
+    /**
+     * Gets the inventory service of a club owned by this node.
+     *
+     * @param clubId the club ID
+     * @return the inventory service
+     * @throws ShardUnavailableException if this node does not own the club
+     */
+    public InventoryService getInventoryService(String clubId) throws ShardUnavailableException {
+        FitnessClub club = requireClub(clubId);
+        return inventories.computeIfAbsent(clubId, key -> new InventoryService(club.getInventory()));
+    }
+
+    /**
+     * Takes ownership of clubs.
+     *
+     * @param moved the clubs (must not be null)
+     */
+    public void addClubs(Collection<FitnessClub> moved) {
+        ValidationUtils.requireNonNull(moved, "Список клубів не може бути null.");
+        for (FitnessClub club : moved) {
+            clubs.put(club.getId(), club);
+        }
+    }
+
+    /**
+     * Gets clubs owned by this node without giving them up, e.g. to copy them to another node.
+     *
+     * @param clubIds the IDs of the clubs (must not be null)
+     * @return the clubs that are owned by this node
+     */
+    public List<FitnessClub> getClubs(Collection<String> clubIds) {
+        ValidationUtils.requireNonNull(clubIds, "Список клубів не може бути null.");
+        List<FitnessClub> owned = new ArrayList<>();
+        for (String clubId : clubIds) {
+            FitnessClub club = clubs.get(clubId);
+            if (club != null) {
+                owned.add(club);
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Gives up ownership of clubs.
+     *
+     * @param clubIds the IDs of the clubs (must not be null)
+     * @return the clubs that were owned by this node
+     */
+    public List<FitnessClub> removeClubs(Collection<String> clubIds) {
+        ValidationUtils.requireNonNull(clubIds, "Список клубів не може бути null.");
+        List<FitnessClub> removed = new ArrayList<>();
+        for (String clubId : clubIds) {
+            FitnessClub club = clubs.remove(clubId);
+            inventories.remove(clubId);
+            if (club != null) {
+                removed.add(club);
+            }
+        }
+        return removed;
+    }
+
+    public List<String> getClubIds() {
+        return List.copyOf(clubs.keySet());
+    }
+
+    public int getClubCount() {
+        return clubs.size();
+    }
+}
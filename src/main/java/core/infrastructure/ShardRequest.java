@@ -0,0 +1,21 @@
+package core.infrastructure;
+
+import core.exceptions.FitnessClubException;
+
+/**
+ * A unit of work executed on the shard node that owns the data it touches.
+ *
+ * @param <T> the result type
+ */
+@FunctionalInterface
+public interface ShardRequest<T> {
+
+    /**
+     * Executes the request on a node.
+     *
+     * @param node the node the request was delivered to
+     * @return the result
+     * @throws FitnessClubException if the operation fails
+     */
+    T execute(ShardNode node) throws FitnessClubException;
+}
@@ -0,0 +1,355 @@
+package core.infrastructure;
+
+import core.domain.client.Client;
+import core.domain.club.FitnessClub;
+import core.domain.scheduling.GroupClass;
+import core.domain.shop.ProductOperation;
+import core.exceptions.BookingException;
+import core.exceptions.FitnessClubException;
+import core.exceptions.ShardUnavailableException;
+import core.util.Constants;
+import core.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Routes club operations to the shard node that owns the club.
+ * Clubs are assigned to nodes by their ID on a {@link ConsistentHashRing}. Adding or removing a node
+ * moves only the clubs whose owner changes; requests wait while clubs move, so no request ever reaches
+ * a node that has not yet received its club. A club is copied to its new node before the old node gives
+ * it up, and if any step of a move fails, the ring change is undone and the moved clubs are put back,
+ * so a node going down during a rebalance loses no clubs.
+ * <p>
+ * Bookings and inventory operations run entirely on the owning node. The client's membership is sent
+ * with the request, so access checks, including NETWORK_WIDE ones, never contact other nodes.
+ */
+public class ShardRouter {
+    private final ShardTransport transport;
+    private final ConsistentHashRing ring;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates a router with the default number of virtual nodes.
+     *
+     * @param transport the transport that reaches the nodes (must not be null)
+     * @throws IllegalArgumentException if transport is null
+     */
+    public ShardRouter(ShardTransport transport) {
+        this(transport, ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Creates a router.
+     *
+     * @param transport the transport that reaches the nodes (must not be null)
+     * @param virtualNodes the number of ring points of every node (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public ShardRouter(ShardTransport transport, int virtualNodes) {
+        this.transport = ValidationUtils.requireNonNull(transport, "Транспорт не може бути null.");
+        this.ring = new ConsistentHashRing(virtualNodes);
+    }
+
+    /**
+     * Adds a node to the cluster and moves to it the clubs it now owns.
+     *
+     * @param nodeId the node ID; the node must be reachable through the transport
+     * @throws IllegalArgumentException if nodeId is blank or the node is already in the cluster
+     * @throws ShardUnavailableException if the node or a node that gives up clubs cannot be reached
+     * @throws FitnessClubException if moving clubs fails
+     */
+    public void addNode(String nodeId) throws FitnessClubException {
+        ValidationUtils.requireNonBlank(nodeId, "ID вузла не може бути порожнім.");
+        lock.writeLock().lock();
+        try {
+            if (ring.contains(nodeId)) {
+                throw new IllegalArgumentException("Вузол '" + nodeId + "' вже входить до кластера.");
+            }
+            transport.call(nodeId, ShardNode::getId);
+            Map<String, List<String>> ownedBefore = new HashMap<>();
+            for (String existing : ring.getNodes()) {
+                ownedBefore.put(existing, transport.call(existing, ShardNode::getClubIds));
+            }
+            ring.addNode(nodeId);
+            List<Move> done = new ArrayList<>();
+            try {
+                for (Map.Entry<String, List<String>> owned : ownedBefore.entrySet()) {
+                    List<String> moving = new ArrayList<>();
+                    for (String clubId : owned.getValue()) {
+                        if (ring.nodeFor(clubId).equals(nodeId)) {
+                            moving.add(clubId);
+                        }
+                    }
+                    if (!moving.isEmpty()) {
+                        Move move = copy(owned.getKey(), nodeId, moving, done);
+                        transport.call(move.from(), node -> node.removeClubs(move.clubIds()));
+                    }
+                }
+            } catch (FitnessClubException | RuntimeException e) {
+                ring.removeNode(nodeId);
+                undo(done, e);
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a node from the cluster and hands its clubs to the nodes that now own them.
+     * The node gives up its clubs only after all receiving nodes have taken them.
+     *
+     * @param nodeId the node ID
+     * @return true if the node was removed, false if it was not in the cluster
+     * @throws ShardUnavailableException if the node or a receiving node cannot be reached
+     * @throws FitnessClubException if moving clubs fails
+     */
+    public boolean removeNode(String nodeId) throws FitnessClubException {
+        lock.writeLock().lock();
+        try {
+            if (!ring.contains(nodeId)) {
+                return false;
+            }
+            List<String> owned = transport.call(nodeId, ShardNode::getClubIds);
+            if (!owned.isEmpty() && ring.getNodes().size() == 1) {
+                throw new IllegalStateException("Неможливо видалити останній вузол, що має клуби.");
+            }
+            ring.removeNode(nodeId);
+            List<Move> done = new ArrayList<>();
+            try {
+                Map<String, List<String>> targets = new HashMap<>();
+                for (String clubId : owned) {
+                    targets.computeIfAbsent(ring.nodeFor(clubId), key -> new ArrayList<>()).add(clubId);
+                }
+                for (Map.Entry<String, List<String>> target : targets.entrySet()) {
+                    copy(nodeId, target.getKey(), target.getValue(), done);
+                }
+                transport.call(nodeId, node -> node.removeClubs(owned));
+            } catch (FitnessClubException | RuntimeException e) {
+                ring.addNode(nodeId);
+                undo(done, e);
+                throw e;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Places a club on the node that owns its ID.
+     *
+     * @param club the club (must not be null)
+     * @return the ID of the owning node
+     * @throws IllegalArgumentException if club is null
+     * @throws IllegalStateException if the cluster has no nodes
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the node rejects the club
+     */
+    public String registerClub(FitnessClub club) throws FitnessClubException {
+        ValidationUtils.requireNonNull(club, Constants.ERROR_CLUB_NULL);
+        lock.readLock().lock();
+        try {
+            String owner = ring.nodeFor(club.getId());
+            transport.call(owner, node -> {
+                node.addClubs(List.of(club));
+                return null;
+            });
+            return owner;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the node that owns a club.
+     *
+     * @param clubId the club ID (must not be null)
+     * @return the node ID
+     * @throws IllegalStateException if the cluster has no nodes
+     */
+    public String ownerOf(String clubId) {
+        lock.readLock().lock();
+        try {
+            return ring.nodeFor(clubId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> getNodes() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(ring.getNodes());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Executes a request on the node that owns a club.
+     *
+     * @param clubId the club ID (must not be null or blank)
+     * @param request the request (must not be null)
+     * @param <T> the result type
+     * @return the result of the request
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public <T> T execute(String clubId, ShardRequest<T> request) throws FitnessClubException {
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        ValidationUtils.requireNonNull(request, "Запит не може бути null.");
+        lock.readLock().lock();
+        try {
+            return transport.call(ring.nodeFor(clubId), request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books a client for a class of a club on the club's node.
+     *
+     * @param client the client (must not be null)
+     * @param clubId the club ID (must not be null or blank)
+     * @param classId the class ID (must not be null or blank)
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws BookingException if the class does not exist, is full or the client has no access
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public void bookClass(Client client, String clubId, String classId) throws FitnessClubException {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        ValidationUtils.requireNonBlank(classId, "ID заняття не може бути порожнім.");
+        execute(clubId, node -> {
+            FitnessClub club = node.requireClub(clubId);
+            node.getBookingService().bookClass(client, findClass(club, classId), club);
+            return null;
+        });
+    }
+
+    /**
+     * Cancels a booking on the club's node and returns the visit it used.
+     *
+     * @param client the client (must not be null)
+     * @param clubId the club ID (must not be null or blank)
+     * @param classId the class ID (must not be null or blank)
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws BookingException if the class does not exist
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public void cancelBooking(Client client, String clubId, String classId) throws FitnessClubException {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        ValidationUtils.requireNonBlank(classId, "ID заняття не може бути порожнім.");
+        execute(clubId, node -> {
+            FitnessClub club = node.requireClub(clubId);
+            node.getBookingService().cancelBooking(client, findClass(club, classId), club);
+            return null;
+        });
+    }
+
+    /**
+     * Adds stock to a club's inventory on the club's node.
+     *
+     * @param clubId the club ID (must not be null or blank)
+     * @param product the product (must not be null)
+     * @param quantity the quantity (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public void addProduct(String clubId, ProductOperation product, int quantity) throws FitnessClubException {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        execute(clubId, node -> {
+            node.getInventoryService(clubId).addProduct(product, quantity);
+            return null;
+        });
+    }
+
+    /**
+     * Removes stock from a club's inventory on the club's node.
+     *
+     * @param clubId the club ID (must not be null or blank)
+     * @param product the product (must not be null)
+     * @param quantity the quantity (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws core.exceptions.ProductOutOfStockException if there is not enough stock
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public void removeProduct(String clubId, ProductOperation product, int quantity) throws FitnessClubException {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        execute(clubId, node -> {
+            node.getInventoryService(clubId).removeProduct(product, quantity);
+            return null;
+        });
+    }
+
+    /**
+     * Gets the stock level of a product in a club.
+     *
+     * @param clubId the club ID (must not be null or blank)
+     * @param product the product
+     * @return the stock level, or 0 if product is null or not in stock
+     * @throws ShardUnavailableException if the owning node cannot be reached
+     * @throws FitnessClubException if the request fails
+     */
+    public int getStockLevel(String clubId, ProductOperation product) throws FitnessClubException {
+        return execute(clubId, node -> node.getInventoryService(clubId).getStockLevel(product));
+    }
+
+    /**
+     * Copies clubs from one node to another, leaving them on the source node.
+     * The move is recorded before the target is called, so a failed call is undone as well.
+     */
+    private Move copy(String from, String to, List<String> clubIds, List<Move> done) throws FitnessClubException {
+        List<FitnessClub> clubs = transport.call(from, node -> node.getClubs(clubIds));
+        Move move = new Move(from, to, clubIds, clubs);
+        done.add(move);
+        transport.call(to, node -> {
+            node.addClubs(clubs);
+            return null;
+        });
+        return move;
+    }
+
+    /**
+     * Takes moved clubs off their targets and puts them back on their sources, latest move first.
+     * Failures are attached to the exception that caused the rollback.
+     */
+    private void undo(List<Move> done, Exception cause) {
+        for (int i = done.size() - 1; i >= 0; i--) {
+            Move move = done.get(i);
+            try {
+                transport.call(move.to(), node -> node.removeClubs(move.clubIds()));
+            } catch (FitnessClubException | RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+            try {
+                transport.call(move.from(), node -> {
+                    node.addClubs(move.clubs());
+                    return null;
+                });
+            } catch (FitnessClubException | RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private static GroupClass findClass(FitnessClub club, String classId) throws BookingException {
+        return club.getSchedule().findClass(classId)
+                .orElseThrow(() -> new BookingException("Заняття '" + classId + "' не знайдено."));
+    }
+
+    /**
+     * Clubs copied from one node to another, kept so the copy can be undone.
+     */
+    private record Move(String from, String to, List<String> clubIds, List<FitnessClub> clubs) {
+    }
+}
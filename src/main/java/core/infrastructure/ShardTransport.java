@@ -0,0 +1,25 @@
+package core.infrastructure;
+
+import core.exceptions.FitnessClubException;
+import core.exceptions.ShardUnavailableException;
+
+/**
+ * Delivers requests to shard nodes.
+ * Implementations decide where nodes live; {@link LoopbackTransport} keeps every node in the current
+ * process, a network implementation would forward requests to other processes.
+ */
+public interface ShardTransport {
+
+    /**
+     * Executes a request on a node and waits for the result.
+     * Exceptions thrown by the request are rethrown to the caller unchanged.
+     *
+     * @param nodeId the ID of the target node
+     * @param request the request (must not be null)
+     * @param <T> the result type
+     * @return the result of the request
+     * @throws ShardUnavailableException if the node cannot be reached
+     * @throws FitnessClubException if the request fails on the node
+     */
+    <T> T call(String nodeId, ShardRequest<T> request) throws FitnessClubException;
+}
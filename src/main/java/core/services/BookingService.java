@@ -30,7 +30,8 @@ public class BookingService {
     
     /**
      * Books a client for a group class.
-     * Validates membership access before adding the participant.
+     * Validates membership access and records the booking as a visit before adding the participant.
+     * Booking a class the client is already in does not use another visit.
      *
      * @param client the client to book (must not be null)
      * @param groupClass the class to book (must not be null)
@@ -46,17 +47,55 @@ public class BookingService {
         ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
         ValidationUtils.requireNonNull(club, Constants.ERROR_CLUB_NULL);
         
+        if (groupClass.hasParticipant(client)) {
+            // the visit is already recorded, so only the membership itself is checked
+            membershipService.requireMembership(client, club.getId());
+            return;
+        }
+
         // Validate membership access
         membershipService.validateClubAccess(client, club.getId());
-        
-        // Add participant to class
-        groupClass.addParticipant(client);
+
+        // Record the visit, then add participant to class
+        membershipService.checkIn(client, club.getId());
+        try {
+            groupClass.addParticipant(client);
+        } catch (BookingException e) {
+            membershipService.releaseVisit(client, club.getId());
+            throw e;
+        }
     }
     
+    /**
+     * Cancels a booking without returning the visit it used.
+     *
+     * @param client the client whose booking is cancelled (must not be null)
+     * @param groupClass the booked class (must not be null)
+     * @throws IllegalArgumentException if any parameter is null
+     * @deprecated the visit stays used; use {@link #cancelBooking(Client, GroupClass, FitnessClub)}
+     */
+    @Deprecated
     public void cancelBooking(Client client, GroupClass groupClass) {
         ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
         ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
         groupClass.removeParticipant(client);
     }
+
+    /**
+     * Cancels a booking and returns the visit it used to the client's membership.
+     *
+     * @param client the client whose booking is cancelled (must not be null)
+     * @param groupClass the booked class (must not be null)
+     * @param club the club where the class takes place (must not be null)
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public void cancelBooking(Client client, GroupClass groupClass, FitnessClub club) {
+        ValidationUtils.requireNonNull(club, Constants.ERROR_CLUB_NULL);
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        if (groupClass.removeParticipant(client)) {
+            membershipService.releaseVisit(client, club.getId());
+        }
+    }
 }
 
@@ -0,0 +1,295 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.client.MembershipType;
+import core.domain.shop.Campaign;
+import core.domain.shop.CampaignTarget;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.PricePlan;
+import core.domain.shop.PricingOperation;
+import core.domain.shop.Product;
+import core.domain.shop.ProductAttribute;
+import core.domain.shop.ProductType;
+import core.util.Constants;
+import core.util.Money;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for time-windowed promotional campaigns across the product catalog.
+ * Campaigns never modify products. Instead, the campaigns running now are compiled into an
+ * immutable index keyed by product type, attribute value and product ID, holding the winning
+ * campaign of every key. The index is rebuilt only when a campaign is added or removed, or when
+ * the schedule reaches the next start or end of a campaign, so activating a campaign costs the
+ * same regardless of the number of products and a price lookup is a few hash lookups.
+ * <p>
+ * The service is a {@link PricingOperation}: orders created with it, e.g. by
+ * {@link #createOrder(Client, List)}, charge the campaign price at checkout.
+ */
+@Service
+public class CampaignService implements PricingOperation {
+
+    private final Clock clock;
+    private final List<Campaign> campaigns;
+    private volatile CampaignIndex index;
+
+    /**
+     * Creates a new campaign service that follows the system clock.
+     */
+    public CampaignService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a new campaign service that follows the specified clock.
+     *
+     * @param clock the clock that defines the current time (must not be null)
+     * @throws IllegalArgumentException if clock is null
+     */
+    public CampaignService(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        this.campaigns = new ArrayList<>();
+        this.index = CampaignIndex.build(List.of(), LocalDateTime.now(clock));
+    }
+
+    /**
+     * Adds a campaign. It starts and ends automatically according to its time window.
+     *
+     * @param campaign the campaign to add (must not be null)
+     * @throws IllegalArgumentException if campaign is null
+     */
+    public synchronized void addCampaign(Campaign campaign) {
+        ValidationUtils.requireNonNull(campaign, Constants.ERROR_CAMPAIGN_NULL);
+        campaigns.add(campaign);
+        rebuild(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Removes a campaign, ending it immediately.
+     *
+     * @param campaignId the ID of the campaign
+     * @return true if the campaign was removed
+     */
+    public synchronized boolean removeCampaign(String campaignId) {
+        if (!campaigns.removeIf(campaign -> campaign.getId().equals(campaignId))) {
+            return false;
+        }
+        rebuild(LocalDateTime.now(clock));
+        return true;
+    }
+
+    public synchronized List<Campaign> getCampaigns() {
+        return List.copyOf(campaigns);
+    }
+
+    /**
+     * Gets the campaigns running now.
+     *
+     * @return the active campaigns
+     */
+    public List<Campaign> getActiveCampaigns() {
+        return currentIndex().active;
+    }
+
+    /**
+     * Finds the campaign that applies to a product now.
+     *
+     * @param product the product (must not be null)
+     * @return the winning campaign, or empty if no running campaign selects the product
+     */
+    public Optional<Campaign> getWinningCampaign(Product product) {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        return Optional.ofNullable(currentIndex().lookup(product));
+    }
+
+    /**
+     * Gets the unit price of a product with the winning campaign applied on top of its own price plan.
+     *
+     * @param product the product (must not be null)
+     * @return the unit price in minor units
+     */
+    public long getPriceMinor(Product product) {
+        return getPriceMinor(product, null);
+    }
+
+    /**
+     * Gets the unit price of a product for a membership tier with the winning campaign applied.
+     *
+     * @param product the product (must not be null)
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the unit price in minor units
+     */
+    public long getPriceMinor(Product product, MembershipType tier) {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        return applyCampaign(product, product.getPricePlan().getPriceMinor(tier));
+    }
+
+    /**
+     * Gets the total price of an order line with the winning campaign applied to the unit price.
+     * Bundle rules of the product still give their free units.
+     *
+     * @param product the product (must not be null)
+     * @param quantity the quantity bought (must be positive)
+     * @param tier the membership type of the buyer, or null for buyers without a membership
+     * @return the total price in minor units
+     */
+    @Override
+    public long getTotalPriceMinor(Product product, int quantity, MembershipType tier) {
+        ValidationUtils.requireNonNull(product, Constants.ERROR_PRODUCT_NULL);
+        ValidationUtils.requirePositive(quantity, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        PricePlan plan = product.getPricePlan();
+        long unitPrice = applyCampaign(product, plan.getPriceMinor(tier));
+        return Money.times(unitPrice, quantity - plan.getFreeUnits(quantity));
+    }
+
+    /**
+     * Places an order priced with the campaigns running now.
+     *
+     * @param client the client placing the order (must not be null)
+     * @param items the order items (must not be null or empty)
+     * @return the order
+     * @throws IllegalArgumentException if client is null or items is null/empty
+     */
+    public Order createOrder(Client client, List<OrderItem> items) {
+        return new Order(client, items, this);
+    }
+
+    private long applyCampaign(Product product, long priceMinor) {
+        Campaign winner = currentIndex().lookup(product);
+        return winner == null ? priceMinor : winner.getDiscount().applyDiscountMinor(priceMinor);
+    }
+
+    public double getPrice(Product product) {
+        return Money.toMajor(getPriceMinor(product));
+    }
+
+    private CampaignIndex currentIndex() {
+        CampaignIndex current = index;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.isBefore(current.builtAt) || !now.isBefore(current.validUntil)) {
+            synchronized (this) {
+                current = index;
+                if (now.isBefore(current.builtAt) || !now.isBefore(current.validUntil)) {
+                    rebuild(now);
+                    current = index;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void rebuild(LocalDateTime now) {
+        this.index = CampaignIndex.build(campaigns, now);
+    }
+
+    /**
+     * Immutable index of the campaigns running at one point in time.
+     */
+    private static final class CampaignIndex {
+        private final LocalDateTime builtAt;
+        private final LocalDateTime validUntil;
+        private final List<Campaign> active;
+        private final Campaign[] byType;
+        private final Map<ProductAttribute, Map<String, Campaign>> byAttribute;
+        private final Map<String, Campaign> byProductId;
+        private final Map<Campaign, Integer> order;
+
+        private CampaignIndex(LocalDateTime builtAt, LocalDateTime validUntil, List<Campaign> active) {
+            this.builtAt = builtAt;
+            this.validUntil = validUntil;
+            this.active = List.copyOf(active);
+            this.byType = new Campaign[ProductType.values().length];
+            this.byAttribute = new EnumMap<>(ProductAttribute.class);
+            this.byProductId = new HashMap<>();
+            this.order = new HashMap<>();
+            for (int i = 0; i < active.size(); i++) {
+                order.put(active.get(i), i);
+            }
+        }
+
+        static CampaignIndex build(List<Campaign> campaigns, LocalDateTime now) {
+            List<Campaign> active = new ArrayList<>();
+            LocalDateTime validUntil = LocalDateTime.MAX;
+            for (Campaign campaign : campaigns) {
+                if (campaign.isActiveAt(now)) {
+                    active.add(campaign);
+                    validUntil = min(validUntil, campaign.getEndsAt());
+                } else if (campaign.getStartsAt().isAfter(now)) {
+                    validUntil = min(validUntil, campaign.getStartsAt());
+                }
+            }
+
+            CampaignIndex index = new CampaignIndex(now, validUntil, active);
+            for (Campaign campaign : active) {
+                CampaignTarget target = campaign.getTarget();
+                switch (target.kind()) {
+                    case PRODUCT_TYPE -> {
+                        int slot = target.productType().ordinal();
+                        index.byType[slot] = index.better(index.byType[slot], campaign);
+                    }
+                    case ATTRIBUTE -> index.byAttribute
+                            .computeIfAbsent(target.attribute(), attribute -> new HashMap<>())
+                            .merge(target.attributeValue(), campaign, index::better);
+                    case PRODUCT_IDS -> {
+                        for (String productId : target.productIds()) {
+                            index.byProductId.merge(productId, campaign, index::better);
+                        }
+                    }
+                }
+            }
+            return index;
+        }
+
+        Campaign lookup(Product product) {
+            if (active.isEmpty()) {
+                return null;
+            }
+            Campaign winner = byType[product.getType().ordinal()];
+            for (Map.Entry<ProductAttribute, Map<String, Campaign>> entry : byAttribute.entrySet()) {
+                String value = product.getAttribute(entry.getKey());
+                if (value != null) {
+                    winner = better(winner, entry.getValue().get(ProductAttribute.normalize(value)));
+                }
+            }
+            if (!byProductId.isEmpty()) {
+                winner = better(winner, byProductId.get(product.getId()));
+            }
+            return winner;
+        }
+
+        /**
+         * Picks the winner of two campaigns: higher priority, then more specific target,
+         * then the campaign added first.
+         */
+        private Campaign better(Campaign current, Campaign candidate) {
+            if (current == null) {
+                return candidate;
+            }
+            if (candidate == null) {
+                return current;
+            }
+            if (candidate.getPriority() != current.getPriority()) {
+                return candidate.getPriority() > current.getPriority() ? candidate : current;
+            }
+            int specificity = candidate.getTarget().kind().compareTo(current.getTarget().kind());
+            if (specificity != 0) {
+                return specificity > 0 ? candidate : current;
+            }
+            return order.get(candidate) < order.get(current) ? candidate : current;
+        }
+
+        private static LocalDateTime min(LocalDateTime left, LocalDateTime right) {
+            return left.isBefore(right) ? left : right;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.Cleaner;
+import core.domain.staff.EmployeeOperation;
+import core.util.ValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Plans the cleaning of studios between classes.
+ * After every class the studio needs one cleaning slot that starts when the class ends. The slot is
+ * planned only if it ends before the next class in the same studio starts. Slots are then given, in
+ * order of time, to the least busy free cleaner whose zones include the studio.
+ * <p>
+ * Classes are grouped by studio and sorted once, and cleaners are indexed by zone, so a plan costs
+ * O(n log n) in the number of classes.
+ */
+@Service
+public class CleaningScheduler {
+    public static final Duration DEFAULT_CLEANING_TIME = Duration.ofMinutes(15);
+
+    private final Duration cleaningTime;
+
+    /**
+     * Creates a scheduler with the default cleaning time.
+     */
+    @Autowired
+    public CleaningScheduler() {
+        this(DEFAULT_CLEANING_TIME);
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param cleaningTime the time needed to clean a studio (must not be null or non-positive)
+     * @throws IllegalArgumentException if cleaningTime is invalid
+     */
+    public CleaningScheduler(Duration cleaningTime) {
+        ValidationUtils.requireNonNull(cleaningTime, "Тривалість прибирання не може бути null.");
+        if (cleaningTime.isZero() || cleaningTime.isNegative()) {
+            throw new IllegalArgumentException("Тривалість прибирання має бути позитивною.");
+        }
+        this.cleaningTime = cleaningTime;
+    }
+
+    /**
+     * Plans the cleaning after the classes of a club that start within a date range.
+     * Cancelled classes need no cleaning.
+     *
+     * @param club the club whose schedule and cleaners are used (must not be null)
+     * @param from the first day, inclusive (must not be null)
+     * @param to the last day, inclusive (must not be null or before from)
+     * @return the plan
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public CleaningPlan plan(FitnessClub club, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        ValidationUtils.requireNonNull(from, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата не може бути null.");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Кінцева дата не може бути раніше початкової.");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        Map<Long, List<GroupClass>> byStudio = new HashMap<>();
+        club.getSchedule().forEachClass(groupClass -> {
+            if (!groupClass.isCancelled() && !groupClass.getStartTime().isBefore(start)
+                    && groupClass.getStartTime().isBefore(end)) {
+                byStudio.computeIfAbsent(groupClass.getStudio().getNumericId(), id -> new ArrayList<>()).add(groupClass);
+            }
+        });
+
+        List<Slot> slots = new ArrayList<>();
+        List<CleaningTask> unassigned = new ArrayList<>();
+        long cleaningSeconds = cleaningTime.getSeconds();
+        for (List<GroupClass> classes : byStudio.values()) {
+            classes.sort(Comparator.comparing(GroupClass::getStartTime));
+            for (int i = 0; i < classes.size(); i++) {
+                GroupClass groupClass = classes.get(i);
+                long slotStart = epochSecond(groupClass.getEndTime());
+                long slotEnd = slotStart + cleaningSeconds;
+                if (i + 1 < classes.size() && epochSecond(classes.get(i + 1).getStartTime()) < slotEnd) {
+                    unassigned.add(new CleaningTask(groupClass.getStudio(), groupClass,
+                            groupClass.getEndTime(), groupClass.getEndTime().plus(cleaningTime), null));
+                } else {
+                    slots.add(new Slot(groupClass, slotStart, slotEnd));
+                }
+            }
+        }
+        slots.sort(Comparator.comparingLong(Slot::start));
+
+        List<Cleaner> cleaners = new ArrayList<>();
+        for (EmployeeOperation employee : club.getStaff()) {
+            if (employee instanceof Cleaner cleaner) {
+                cleaners.add(cleaner);
+            }
+        }
+        long[] busyUntil = new long[cleaners.size()];
+        long[] load = new long[cleaners.size()];
+        Map<Long, int[]> cleanersByStudio = new HashMap<>();
+
+        List<CleaningTask> assigned = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            Studio studio = slot.groupClass().getStudio();
+            int[] eligible = cleanersByStudio.computeIfAbsent(studio.getNumericId(),
+                    id -> eligibleCleaners(cleaners, studio.getName()));
+            int chosen = -1;
+            for (int index : eligible) {
+                if (busyUntil[index] <= slot.start() && (chosen < 0 || load[index] < load[chosen])) {
+                    chosen = index;
+                }
+            }
+            GroupClass groupClass = slot.groupClass();
+            LocalDateTime taskEnd = groupClass.getEndTime().plus(cleaningTime);
+            if (chosen < 0) {
+                unassigned.add(new CleaningTask(studio, groupClass, groupClass.getEndTime(), taskEnd, null));
+            } else {
+                busyUntil[chosen] = slot.end();
+                load[chosen] += slot.end() - slot.start();
+                assigned.add(new CleaningTask(studio, groupClass, groupClass.getEndTime(), taskEnd, cleaners.get(chosen)));
+            }
+        }
+        unassigned.sort(Comparator.comparing(CleaningTask::start));
+        return new CleaningPlan(List.copyOf(assigned), List.copyOf(unassigned));
+    }
+
+    /**
+     * Marks the studio of a finished class as needing cleaning.
+     *
+     * @param groupClass the class (must not be null)
+     * @throws IllegalArgumentException if groupClass is null
+     */
+    public void classFinished(GroupClass groupClass) {
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        groupClass.getStudio().setCleanliness(false);
+    }
+
+    /**
+     * Performs a planned cleaning task.
+     *
+     * @param task the task (must not be null)
+     * @return true if the studio was cleaned, false if the task has no cleaner or the cleaner
+     *         is no longer assigned to the studio
+     * @throws IllegalArgumentException if task is null
+     */
+    public boolean perform(CleaningTask task) {
+        ValidationUtils.requireNonNull(task, "Завдання не може бути null.");
+        return task.cleaner() != null && task.studio().clean(task.cleaner());
+    }
+
+    public Duration getCleaningTime() {
+        return cleaningTime;
+    }
+
+    private static int[] eligibleCleaners(List<Cleaner> cleaners, String zone) {
+        return IntStream.range(0, cleaners.size())
+                .filter(i -> cleaners.get(i).isAssignedTo(zone))
+                .toArray();
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Slot(GroupClass groupClass, long start, long end) {
+    }
+
+    /**
+     * A cleaning of a studio after a class.
+     *
+     * @param studio the studio
+     * @param afterClass the class after which the studio is cleaned
+     * @param start the start of the cleaning
+     * @param end the end of the cleaning
+     * @param cleaner the assigned cleaner, or null if none could be assigned
+     */
+    public record CleaningTask(Studio studio, GroupClass afterClass, LocalDateTime start, LocalDateTime end,
+                               Cleaner cleaner) {
+    }
+
+    /**
+     * A cleaning plan.
+     *
+     * @param assigned the tasks with a cleaner, in order of time
+     * @param unassigned the tasks without a cleaner, because the gap before the next class is too short
+     *                   or no cleaner of the zone is free, in order of time
+     */
+    public record CleaningPlan(List<CleaningTask> assigned, List<CleaningTask> unassigned) {
+
+        public boolean isComplete() {
+            return unassigned.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.scheduling.Schedule;
+import core.event.Event;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forecasts the final demand of group classes and recommends studio moves and extra sessions.
+ * Demand is learned per class name, weekday and start hour from {@code BOOKING_CONFIRMED} events
+ * (a seat taken), {@code BOOKING_CANCELLED} events (a seat given back) and {@code CLASS_FULL} events
+ * (a client turned away). A cancellation takes back the latest seat still counted, so a client who
+ * cancels and books again counts once, in the bucket of the new booking. Like
+ * {@link ReplenishmentService}, an event only appends to a lock-free queue, so booking never waits
+ * for training; {@link #train()} drains the queue, either on demand or periodically in the background.
+ * <p>
+ * Events are collected per class until the class starts. The class is then folded into the profile of
+ * its key: an exponentially weighted mean of final demand and the booking curve, i.e. the share of
+ * demand that arrives in each lead-time bucket before the start. Cancelled classes are dropped instead,
+ * since their bookings say nothing about the demand of a class that takes place. Training is
+ * incremental and each event is processed once, so a year of history costs one pass however often
+ * the model is trained.
+ * <p>
+ * The forecast of an upcoming class is the demand booked so far plus the share of the mean demand
+ * that the curve says is still to come.
+ */
+@Service
+public class DemandForecastService {
+    /** Lower bounds of the lead-time buckets in hours, earliest bucket first. */
+    static final int[] LEAD_HOURS = {168, 72, 24, 6, 0};
+    static final double DECAY = 0.95;
+    static final double LOW_DEMAND_RATIO = 0.5;
+
+    private final Clock clock;
+    private final Queue<Observation> observations = new ConcurrentLinkedQueue<>();
+
+    // Training state, guarded by this
+    private final Map<Long, ClassDemand> open = new HashMap<>();
+    private final PriorityQueue<ClassDemand> byStart =
+            new PriorityQueue<>(Comparator.comparing((ClassDemand demand) -> demand.start));
+    private final Map<DemandKey, Profile> profiles = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a new forecaster that follows the system clock.
+     */
+    public DemandForecastService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a new forecaster that follows the specified clock.
+     *
+     * @param clock the clock that decides which classes have started (must not be null)
+     * @throws IllegalArgumentException if clock is null
+     */
+    public DemandForecastService(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+    }
+
+    /**
+     * Starts learning from the bookings of a class.
+     * Classes that receive no bookings are learned as classes with no demand.
+     *
+     * @param groupClass the class (must not be null)
+     * @throws IllegalArgumentException if groupClass is null
+     */
+    public void attach(GroupClass groupClass) {
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        observations.add(new Observation(groupClass, null, LocalDateTime.now(clock)));
+        groupClass.addObserver(event -> {
+            if (isDemandEvent(event.getType())) {
+                observations.add(new Observation(groupClass, event.getType(), event.getTimestamp()));
+            }
+        });
+    }
+
+    /**
+     * Starts learning from the bookings of every class currently in a schedule.
+     * Classes added to the schedule later must be attached separately.
+     *
+     * @param schedule the schedule (must not be null)
+     * @throws IllegalArgumentException if schedule is null
+     */
+    public void attach(Schedule schedule) {
+        ValidationUtils.requireNonNull(schedule, "Розклад не може бути null.");
+        schedule.forEachClass(this::attach);
+    }
+
+    /**
+     * Records a historical event, e.g. when replaying an event log.
+     * All events of a class should be recorded in order, before the first training after the class started.
+     *
+     * @param groupClass the class (must not be null)
+     * @param type {@code BOOKING_CONFIRMED}, {@code BOOKING_CANCELLED} or {@code CLASS_FULL}
+     * @param time the time of the event (must not be null)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public void record(GroupClass groupClass, Event.EventType type, LocalDateTime time) {
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        ValidationUtils.requireNonNull(time, "Час не може бути null.");
+        if (!isDemandEvent(type)) {
+            throw new IllegalArgumentException("Непідтримуваний тип події: " + type);
+        }
+        observations.add(new Observation(groupClass, type, time));
+    }
+
+    /**
+     * Processes the events since the previous training and folds classes that have started into
+     * their profiles. Cancelled classes are discarded without being folded.
+     *
+     * @return the number of classes folded
+     */
+    public synchronized int train() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Observation observation;
+        while ((observation = observations.poll()) != null) {
+            GroupClass groupClass = observation.groupClass();
+            ClassDemand demand = open.get(groupClass.getNumericId());
+            if (demand == null) {
+                if (observation.type() == null && !groupClass.getStartTime().isAfter(observation.time())) {
+                    // attached after it started: its bookings were never seen
+                    continue;
+                }
+                demand = new ClassDemand(groupClass);
+                open.put(groupClass.getNumericId(), demand);
+                byStart.add(demand);
+            }
+            if (observation.type() == Event.EventType.BOOKING_CANCELLED) {
+                demand.release();
+            } else if (observation.type() != null) {
+                demand.add(observation.type(), observation.time());
+            }
+        }
+
+        int folded = 0;
+        while (!byStart.isEmpty() && !byStart.peek().start.isAfter(now)) {
+            ClassDemand demand = byStart.poll();
+            open.remove(demand.id);
+            if (!demand.groupClass.isCancelled()) {
+                profiles.computeIfAbsent(demand.key, key -> new Profile()).fold(demand);
+                folded++;
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * Gets the learned profile of a class key.
+     *
+     * @param key the key (must not be null)
+     * @return the profile, or empty if no class with that key has started yet
+     */
+    public synchronized Optional<DemandProfile> getProfile(DemandKey key) {
+        ValidationUtils.requireNonNull(key, "Ключ не може бути null.");
+        Profile profile = profiles.get(key);
+        return profile == null ? Optional.empty() : Optional.of(profile.snapshot(key));
+    }
+
+    /**
+     * Forecasts the final demand of an upcoming class.
+     *
+     * @param groupClass the class (must not be null)
+     * @return the forecast
+     * @throws IllegalArgumentException if groupClass is null
+     */
+    public synchronized Forecast forecast(GroupClass groupClass) {
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        DemandKey key = DemandKey.of(groupClass);
+        ClassDemand demand = open.get(groupClass.getNumericId());
+        int known = demand == null ? groupClass.getCurrentSize() : Math.max(groupClass.getCurrentSize(), demand.total);
+        Profile profile = profiles.get(key);
+        double predicted = known;
+        if (profile != null) {
+            double hours = Duration.between(LocalDateTime.now(clock), groupClass.getStartTime()).toMinutes() / 60.0;
+            predicted += profile.mean() * (1 - profile.bookedShare(hours));
+        }
+        return new Forecast(groupClass, key, known, Math.max(known, predicted), groupClass.getMaxCapacity());
+    }
+
+    /**
+     * Recommends changes to the classes of a club that start within a period.
+     * A class whose forecast exceeds its capacity is moved to a larger free studio, or gets extra
+     * sessions if there is none. A class whose forecast is below half its capacity is moved to the
+     * smallest free studio that still fits the forecast.
+     *
+     * @param club the club (must not be null)
+     * @param from the start of the period, inclusive (must not be null)
+     * @param to the end of the period, exclusive (must not be null)
+     * @return the recommendations in order of class start
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public List<Recommendation> recommend(FitnessClub club, LocalDateTime from, LocalDateTime to) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        ValidationUtils.requireNonNull(from, "Час не може бути null.");
+        ValidationUtils.requireNonNull(to, "Час не може бути null.");
+        Schedule schedule = club.getSchedule();
+        List<GroupClass> classes = new ArrayList<>();
+        schedule.forEachClass(groupClass -> {
+            if (!groupClass.isCancelled() && !groupClass.getStartTime().isBefore(from)
+                    && groupClass.getStartTime().isBefore(to)) {
+                classes.add(groupClass);
+            }
+        });
+        classes.sort(Comparator.comparing(GroupClass::getStartTime));
+
+        List<Studio> studios = new ArrayList<>(club.getStudios());
+        studios.sort(Comparator.comparingInt(Studio::getCapacity));
+        List<Recommendation> recommendations = new ArrayList<>();
+        for (GroupClass groupClass : classes) {
+            Forecast forecast = forecast(groupClass);
+            int demand = (int) Math.ceil(forecast.predictedDemand());
+            int capacity = forecast.capacity();
+            if (demand > capacity) {
+                Studio larger = findFreeStudio(schedule, studios, groupClass, demand);
+                if (larger != null) {
+                    recommendations.add(new Recommendation(forecast, Action.MOVE_STUDIO, larger, 0));
+                } else {
+                    int extra = (demand - capacity + capacity - 1) / capacity;
+                    recommendations.add(new Recommendation(forecast, Action.ADD_SESSIONS, null, extra));
+                }
+            } else if (demand < capacity * LOW_DEMAND_RATIO) {
+                Studio smaller = findFreeStudio(schedule, studios, groupClass, Math.max(demand, 1));
+                if (smaller != null && smaller.getCapacity() < capacity) {
+                    recommendations.add(new Recommendation(forecast, Action.MOVE_STUDIO, smaller, 0));
+                }
+            }
+        }
+        return recommendations;
+    }
+
+    /**
+     * Runs {@link #train()} periodically on a background thread.
+     *
+     * @param period the time between trainings (must not be null or non-positive)
+     * @throws IllegalArgumentException if period is invalid
+     * @throws IllegalStateException if training is already scheduled
+     */
+    public synchronized void start(Duration period) {
+        ValidationUtils.requireNonNull(period, "Період не може бути null.");
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Період має бути позитивним.");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Навчання вже запущено.");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "demand-forecaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::train, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic training started with {@link #start(Duration)}.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Finds the smallest studio with at least the given capacity that is free during a class.
+     */
+    private static Studio findFreeStudio(Schedule schedule, List<Studio> studios, GroupClass groupClass, int seats) {
+        LocalDate date = groupClass.getStartTime().toLocalDate();
+        for (Studio studio : studios) {
+            if (studio == groupClass.getStudio() || studio.getCapacity() < seats) {
+                continue;
+            }
+            boolean free = schedule.getClassesForDateAndStudio(date, studio).stream()
+                    .noneMatch(other -> !other.isCancelled() && other.overlapsWith(groupClass));
+            if (free) {
+                return studio;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDemandEvent(Event.EventType type) {
+        return type == Event.EventType.BOOKING_CONFIRMED || type == Event.EventType.BOOKING_CANCELLED
+                || type == Event.EventType.CLASS_FULL;
+    }
+
+    private static int bucketOf(double hoursBefore) {
+        for (int i = 0; i < LEAD_HOURS.length - 1; i++) {
+            if (hoursBefore >= LEAD_HOURS[i]) {
+                return i;
+            }
+        }
+        return LEAD_HOURS.length - 1;
+    }
+
+    private record Observation(GroupClass groupClass, Event.EventType type, LocalDateTime time) {
+    }
+
+    /**
+     * Demand events of one class that has not started yet, counted per lead-time bucket.
+     */
+    private static final class ClassDemand {
+        private final long id;
+        private final GroupClass groupClass;
+        private final DemandKey key;
+        private final LocalDateTime start;
+        private final int[] buckets = new int[LEAD_HOURS.length];
+        // seats taken per bucket, the part of buckets a cancellation can give back
+        private final int[] seats = new int[LEAD_HOURS.length];
+        private int total;
+
+        private ClassDemand(GroupClass groupClass) {
+            this.id = groupClass.getNumericId();
+            this.groupClass = groupClass;
+            this.key = DemandKey.of(groupClass);
+            this.start = groupClass.getStartTime();
+        }
+
+        private void add(Event.EventType type, LocalDateTime time) {
+            int bucket = bucketOf(Duration.between(time, start).toMinutes() / 60.0);
+            buckets[bucket]++;
+            if (type == Event.EventType.BOOKING_CONFIRMED) {
+                seats[bucket]++;
+            }
+            total++;
+        }
+
+        /**
+         * Takes back the latest seat still counted; events arrive in order, so it is in the latest
+         * bucket that has seats.
+         */
+        private void release() {
+            for (int i = seats.length - 1; i >= 0; i--) {
+                if (seats[i] > 0) {
+                    seats[i]--;
+                    buckets[i]--;
+                    total--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Exponentially weighted demand of the classes of one key.
+     */
+    private static final class Profile {
+        private final double[] buckets = new double[LEAD_HOURS.length];
+        private double demand;
+        private double weight;
+        private int classes;
+
+        private void fold(ClassDemand classDemand) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = buckets[i] * DECAY + classDemand.buckets[i];
+            }
+            demand = demand * DECAY + classDemand.total;
+            weight = weight * DECAY + 1;
+            classes++;
+        }
+
+        private double mean() {
+            return demand / weight;
+        }
+
+        /**
+         * Gets the share of demand that usually arrives more than the given number of hours before the
+         * start, interpolating linearly within a bucket.
+         */
+        private double bookedShare(double hoursBefore) {
+            if (demand <= 0) {
+                return 1;
+            }
+            if (hoursBefore <= 0) {
+                return 1;
+            }
+            int bucket = bucketOf(hoursBefore);
+            double share = 0;
+            for (int i = 0; i < bucket; i++) {
+                share += buckets[i];
+            }
+            if (bucket > 0) {
+                double upper = LEAD_HOURS[bucket - 1];
+                double lower = LEAD_HOURS[bucket];
+                share += buckets[bucket] * (upper - hoursBefore) / (upper - lower);
+            }
+            return Math.min(1, share / demand);
+        }
+
+        private DemandProfile snapshot(DemandKey key) {
+            double[] curve = new double[buckets.length];
+            double cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                curve[i] = demand <= 0 ? 1 : Math.min(1, cumulative / demand);
+            }
+            return new DemandProfile(key, classes, mean(), curve);
+        }
+    }
+
+    /**
+     * Classes that share a booking pattern: the same name on the same weekday and start hour.
+     *
+     * @param name the class name
+     * @param day the weekday
+     * @param hour the start hour
+     */
+    public record DemandKey(String name, DayOfWeek day, int hour) {
+
+        public DemandKey {
+            ValidationUtils.requireNonBlank(name, "Назва заняття не може бути порожньою.");
+            ValidationUtils.requireNonNull(day, "День тижня не може бути null.");
+        }
+
+        public static DemandKey of(GroupClass groupClass) {
+            LocalDateTime start = groupClass.getStartTime();
+            return new DemandKey(groupClass.getName(), start.getDayOfWeek(), start.getHour());
+        }
+    }
+
+    /**
+     * The learned demand of a class key.
+     *
+     * @param key the key
+     * @param classes the number of classes learned from
+     * @param meanDemand the weighted mean of final demand, seats taken plus clients turned away
+     * @param curve the cumulative share of demand booked by the end of each lead-time bucket,
+     *              see {@link #LEAD_HOURS}
+     */
+    public record DemandProfile(DemandKey key, int classes, double meanDemand, double[] curve) {
+
+        public DemandProfile {
+            curve = curve.clone();
+        }
+
+        @Override
+        public double[] curve() {
+            return curve.clone();
+        }
+    }
+
+    /**
+     * The forecast final demand of a class.
+     *
+     * @param groupClass the class
+     * @param key the key of the class
+     * @param booked the demand seen so far
+     * @param predictedDemand the forecast final demand
+     * @param capacity the capacity of the class
+     */
+    public record Forecast(GroupClass groupClass, DemandKey key, int booked, double predictedDemand, int capacity) {
+    }
+
+    public enum Action {
+        MOVE_STUDIO,
+        ADD_SESSIONS
+    }
+
+    /**
+     * A suggested change to a class.
+     *
+     * @param forecast the forecast behind the recommendation
+     * @param action the change
+     * @param studio the studio to move to, for {@link Action#MOVE_STUDIO}
+     * @param extraSessions the number of extra sessions, for {@link Action#ADD_SESSIONS}
+     */
+    public record Recommendation(Forecast forecast, Action action, Studio studio, int extraSessions) {
+    }
+}
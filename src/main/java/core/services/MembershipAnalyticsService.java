@@ -0,0 +1,139 @@
+package core.services;
+
+import core.domain.client.MembershipStatistics;
+import core.domain.client.MembershipType;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only membership analytics for dashboards.
+ * Active-member counts come from the incrementally maintained counters of {@link MembershipStatistics};
+ * cohort retention is computed with a parallel pass over its columnar snapshot.
+ * Nothing here touches clients or memberships directly, so polling does not slow down bookings.
+ */
+@Service
+public class MembershipAnalyticsService {
+
+    private final MembershipService membershipService;
+
+    /**
+     * Creates a new analytics service over the statistics of the specified membership service.
+     *
+     * @param membershipService the membership service whose statistics are reported (must not be null)
+     * @throws IllegalArgumentException if membershipService is null
+     */
+    public MembershipAnalyticsService(MembershipService membershipService) {
+        this.membershipService = ValidationUtils.requireNonNull(membershipService, "MembershipService не може бути null.");
+    }
+
+    public long getActiveMembers(String clubId) {
+        return membershipService.getStatistics().getActiveMembers(clubId);
+    }
+
+    public long getActiveMembers(MembershipType type) {
+        return membershipService.getStatistics().getActiveMembers(type);
+    }
+
+    public long getTotalActiveMembers() {
+        return membershipService.getStatistics().getTotalActiveMembers();
+    }
+
+    public Map<String, Long> getActiveMembersByClub() {
+        return membershipService.getStatistics().getActiveMembersByClub();
+    }
+
+    /**
+     * Calculates retention of all clients grouped by the month their first membership started.
+     *
+     * @param asOf the day retention is measured on (must not be null)
+     * @return one entry per cohort that started on or before asOf, in chronological order
+     */
+    public List<CohortRetention> getCohortRetention(LocalDate asOf) {
+        return getCohortRetention(asOf, null);
+    }
+
+    /**
+     * Calculates cohort retention counting only clients whose current membership is of the specified type.
+     * A client is retained if their current membership has not ended before asOf.
+     *
+     * @param asOf the day retention is measured on (must not be null)
+     * @param type the membership type to count, or null for all types
+     * @return one entry per cohort that started on or before asOf, in chronological order
+     */
+    public List<CohortRetention> getCohortRetention(LocalDate asOf, MembershipType type) {
+        ValidationUtils.requireNonNull(asOf, "Дата не може бути null.");
+        MembershipStatistics.Snapshot snapshot = membershipService.getStatistics().snapshot();
+        int size = snapshot.size();
+        if (size == 0) {
+            return List.of();
+        }
+
+        int firstMonth = Integer.MAX_VALUE;
+        for (int row = 0; row < size; row++) {
+            firstMonth = Math.min(firstMonth, snapshot.getCohortMonth(row));
+        }
+        int lastMonth = asOf.getYear() * 12 + asOf.getMonthValue() - 1;
+        if (firstMonth > lastMonth) {
+            return List.of();
+        }
+
+        int base = firstMonth;
+        int cohorts = lastMonth - firstMonth + 1;
+        long asOfDay = asOf.toEpochDay();
+        int typeOrdinal = type == null ? -1 : type.ordinal();
+
+        // counts[2 * i] = members of cohort i, counts[2 * i + 1] = retained members of cohort i
+        long[] counts = IntStream.range(0, size).parallel()
+                .filter(row -> snapshot.getCohortMonth(row) <= lastMonth)
+                .filter(row -> typeOrdinal < 0 || snapshot.getTypeOrdinal(row) == typeOrdinal)
+                .collect(() -> new long[2 * cohorts],
+                        (acc, row) -> {
+                            int cohort = snapshot.getCohortMonth(row) - base;
+                            acc[2 * cohort]++;
+                            if (snapshot.getEndDay(row) >= asOfDay) {
+                                acc[2 * cohort + 1]++;
+                            }
+                        },
+                        (left, right) -> {
+                            for (int i = 0; i < left.length; i++) {
+                                left[i] += right[i];
+                            }
+                        });
+
+        List<CohortRetention> result = new ArrayList<>();
+        for (int i = 0; i < cohorts; i++) {
+            if (counts[2 * i] > 0) {
+                int month = base + i;
+                result.add(new CohortRetention(YearMonth.of(month / 12, month % 12 + 1),
+                        counts[2 * i], counts[2 * i + 1]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retention of one cohort.
+     *
+     * @param cohort the month the cohort's first memberships started
+     * @param members the number of clients in the cohort
+     * @param retained the number of clients still holding a membership
+     */
+    public record CohortRetention(YearMonth cohort, long members, long retained) {
+
+        /**
+         * Gets the share of retained clients.
+         *
+         * @return retained divided by members, between 0 and 1
+         */
+        public double getRetentionRate() {
+            return members == 0 ? 0.0 : (double) retained / members;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.client.Membership;
+import core.domain.client.MembershipType;
+import core.domain.staff.Administrator;
+import core.util.Constants;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Service for bulk membership renewals and upgrades.
+ * Runs renewals as a pipeline of three stages: successor memberships are built in bulk,
+ * approved by an administrator as one batch, and then queued atomically per client.
+ * A queued successor takes over when the current membership ends, so renewing early never
+ * cuts a member's access short.
+ */
+@Service
+public class MembershipRenewalService {
+
+    private final MembershipService membershipService;
+
+    /**
+     * Creates a new renewal service with the specified membership service.
+     *
+     * @param membershipService the membership service used to assign renewed memberships (must not be null)
+     * @throws IllegalArgumentException if membershipService is null
+     */
+    public MembershipRenewalService(MembershipService membershipService) {
+        this.membershipService = ValidationUtils.requireNonNull(membershipService, "MembershipService не може бути null.");
+    }
+
+    /**
+     * Renews, with the same terms, every membership that ends on or before the cutoff date.
+     *
+     * @param clients the clients to process (must not be null)
+     * @param endingOnOrBefore the cutoff date for memberships to renew (must not be null)
+     * @param administrator the administrator approving the renewals (must not be null)
+     * @return the renewal report
+     */
+    public RenewalReport renewExpiring(Collection<Client> clients, LocalDate endingOnOrBefore,
+                                       Administrator administrator) {
+        ValidationUtils.requireNonNull(endingOnOrBefore, "Дата не може бути null.");
+        return process(clients, endsOnOrBefore(endingOnOrBefore), Membership::renew, administrator);
+    }
+
+    /**
+     * Renews every membership that ends on or before the cutoff date as a membership of another type.
+     *
+     * @param clients the clients to process (must not be null)
+     * @param endingOnOrBefore the cutoff date for memberships to renew (must not be null)
+     * @param targetType the membership type after the upgrade (must not be null)
+     * @param costMinor the cost of the upgraded membership in minor units, before the carried-over discount
+     * @param administrator the administrator approving the upgrades (must not be null)
+     * @return the renewal report
+     */
+    public RenewalReport upgradeExpiring(Collection<Client> clients, LocalDate endingOnOrBefore,
+                                         MembershipType targetType, long costMinor, Administrator administrator) {
+        ValidationUtils.requireNonNull(endingOnOrBefore, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(targetType, Constants.ERROR_MEMBERSHIP_TYPE_NULL);
+        return process(clients, endsOnOrBefore(endingOnOrBefore),
+                membership -> membership.renewAs(targetType, costMinor), administrator);
+    }
+
+    /**
+     * Runs the renewal pipeline.
+     * Clients without a membership, whose membership is not selected, or who already have a queued
+     * renewal are ignored.
+     * Successors that cannot be built or are not approved are counted as rejected;
+     * clients whose membership changed while the pipeline was running are counted as conflicts.
+     *
+     * @param clients the clients to process (must not be null)
+     * @param selector decides which current memberships are renewed (must not be null)
+     * @param successorFactory builds the successor of a selected membership (must not be null)
+     * @param administrator the administrator approving the successors (must not be null)
+     * @return the renewal report
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public RenewalReport process(Collection<Client> clients, Predicate<Membership> selector,
+                                 UnaryOperator<Membership> successorFactory, Administrator administrator) {
+        ValidationUtils.requireNonNull(clients, "Список клієнтів не може бути null.");
+        ValidationUtils.requireNonNull(selector, "Критерій відбору не може бути null.");
+        ValidationUtils.requireNonNull(successorFactory, "Фабрика абонементів не може бути null.");
+        ValidationUtils.requireNonNull(administrator, Constants.ERROR_ADMINISTRATOR_NULL);
+
+        long started = System.nanoTime();
+
+        // Stage 1: build successors in bulk
+        List<RenewalCandidate> candidates = clients.parallelStream()
+                .filter(Objects::nonNull)
+                .map(client -> buildCandidate(client, selector, successorFactory))
+                .filter(Objects::nonNull)
+                .toList();
+
+        // Stage 2: batched approval
+        List<Membership> successors = new ArrayList<>(candidates.size());
+        for (RenewalCandidate candidate : candidates) {
+            successors.add(candidate.successor());
+        }
+        boolean[] approved = administrator.approveMemberships(successors);
+
+        // Stage 3: atomic assignment per client
+        AtomicInteger renewed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        IntStream.range(0, candidates.size())
+                .parallel()
+                .filter(i -> approved[i])
+                .forEach(i -> {
+                    RenewalCandidate candidate = candidates.get(i);
+                    if (membershipService.scheduleRenewal(candidate.client(), candidate.current(),
+                            candidate.successor(), administrator)) {
+                        renewed.incrementAndGet();
+                    } else {
+                        conflicts.incrementAndGet();
+                    }
+                });
+
+        int rejected = candidates.size() - renewed.get() - conflicts.get();
+        return new RenewalReport(candidates.size(), renewed.get(), rejected, conflicts.get(),
+                System.nanoTime() - started);
+    }
+
+    private RenewalCandidate buildCandidate(Client client, Predicate<Membership> selector,
+                                            UnaryOperator<Membership> successorFactory) {
+        // a renewal queued by an earlier run takes over first, so it can be renewed in turn
+        membershipService.activateRenewal(client);
+        Membership current = client.getMembership();
+        if (current == null || client.getNextMembership() != null || !selector.test(current)) {
+            return null;
+        }
+        Membership successor;
+        try {
+            successor = successorFactory.apply(current);
+        } catch (IllegalArgumentException e) {
+            successor = null;
+        }
+        return new RenewalCandidate(client, current, successor);
+    }
+
+    private static Predicate<Membership> endsOnOrBefore(LocalDate date) {
+        return membership -> !membership.getEndDate().isAfter(date);
+    }
+
+    private record RenewalCandidate(Client client, Membership current, Membership successor) {
+    }
+
+    /**
+     * Result of a renewal run.
+     *
+     * @param candidates the number of selected memberships
+     * @param renewed the number of clients that received a queued successor membership
+     * @param rejected the number of successors that could not be built or were not approved
+     * @param conflicts the number of clients whose membership changed during the run
+     * @param elapsedNanos the wall-clock duration of the run
+     */
+    public record RenewalReport(int candidates, int renewed, int rejected, int conflicts, long elapsedNanos) {
+
+        /**
+         * Gets the throughput of the run.
+         *
+         * @return processed candidates per second
+         */
+        public double getThroughputPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : candidates * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
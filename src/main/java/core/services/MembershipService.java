@@ -1,19 +1,60 @@
 package core.services;
 
 import core.domain.client.Client;
+import core.domain.client.FreezeSchedule;
 import core.domain.client.Membership;
+import core.domain.client.MembershipStatistics;
+import core.domain.client.MembershipType;
 import core.domain.staff.Administrator;
 import core.exceptions.MembershipAccessException;
 import core.util.Constants;
 import core.util.ValidationUtils;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service for managing membership operations.
  * Handles membership assignment and access validation.
+ * Every assignment, replacement and freeze made through this service is reflected
+ * in its {@link MembershipStatistics}. Queued renewals become current through
+ * {@link #activateRenewal(Client)}, which the access checks call before reading the membership.
  */
 @Service
 public class MembershipService {
+    private final Clock clock;
+    private final MembershipStatistics statistics;
+
+    /**
+     * Creates a membership service that follows the system clock.
+     */
+    public MembershipService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a membership service that follows the specified clock.
+     *
+     * @param clock the clock that defines "today" for renewals and statistics (must not be null)
+     * @throws IllegalArgumentException if clock is null
+     */
+    public MembershipService(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        this.statistics = new MembershipStatistics(clock);
+    }
+
+    /**
+     * Gets the active-member counters and cohort data maintained by this service.
+     *
+     * @return the membership statistics
+     */
+    public MembershipStatistics getStatistics() {
+        return statistics;
+    }
 
     /**
      * Assigns a membership to a client after administrator approval.
@@ -36,20 +77,231 @@ public class MembershipService {
         }
 
         // Assign membership after approval
-        client.assignMembership(membership, administrator);
+        activateRenewal(client);
+        Membership previous = client.getMembership();
+        Membership dropped = client.assignMembership(membership, administrator);
+        statistics.recordAssignment(client, previous, membership);
+        if (dropped != null) {
+            statistics.recordRemoval(dropped);
+        }
+    }
+
+    /**
+     * Replaces a client's membership with an already approved successor.
+     * The replacement only happens if the client still holds the expected membership.
+     *
+     * @param client the client whose membership is replaced (must not be null)
+     * @param expected the membership the successor was built from (may be null)
+     * @param replacement the approved successor (must not be null)
+     * @param administrator the administrator who approved the successor (must not be null)
+     * @return true if the membership was replaced, false if it changed concurrently
+     * @throws IllegalArgumentException if client, replacement or administrator is null
+     */
+    public boolean replaceMembership(Client client, Membership expected, Membership replacement,
+                                     Administrator administrator) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        if (!client.replaceMembership(expected, replacement, administrator)) {
+            return false;
+        }
+        statistics.recordAssignment(client, expected, replacement);
+        return true;
+    }
+
+    /**
+     * Queues an already approved renewal of a client's membership.
+     * The client keeps the current membership until it ends; see {@link Client#scheduleRenewal}.
+     *
+     * @param client the client whose membership is renewed (must not be null)
+     * @param expected the membership the renewal was built from (may be null)
+     * @param renewal the approved renewal (must not be null)
+     * @param administrator the administrator who approved the renewal (must not be null)
+     * @return true if the renewal was queued or assigned, false if the membership changed concurrently
+     * @throws IllegalArgumentException if client, renewal or administrator is null
+     */
+    public boolean scheduleRenewal(Client client, Membership expected, Membership renewal,
+                                   Administrator administrator) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        if (!client.scheduleRenewal(expected, renewal, administrator)) {
+            return false;
+        }
+        // a queued renewal follows the current membership, which keeps counting until it ends
+        boolean queued = client.getNextMembership() == renewal;
+        statistics.recordAssignment(client, queued ? null : expected, renewal);
+        return true;
+    }
+
+    /**
+     * Freezes a client's membership for the specified period.
+     *
+     * @param client the client whose membership is frozen (must not be null)
+     * @param from the first frozen day (must not be null)
+     * @param to the last frozen day (must not be null or before from)
+     * @throws IllegalArgumentException if the client has no membership or the period is invalid
+     */
+    public void freezeMembership(Client client, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        activateRenewal(client);
+        Membership membership = ValidationUtils.requireNonNull(client.getMembership(), Constants.ERROR_MEMBERSHIP_NULL);
+        if (statistics.applyFreeze(List.of(membership), FreezeSchedule.of(from, to)) == 0) {
+            throw new IllegalArgumentException(Constants.ERROR_MEMBERSHIP_FREEZE_OUT_OF_RANGE);
+        }
+        followExtendedMembership(client, membership);
     }
 
+    /**
+     * Freezes all SINGLE_CLUB memberships of a club in one pass, e.g. while the club is closed for renovation.
+     * The freeze period is compiled once and shared by all affected memberships.
+     * Memberships of other clubs, network-wide memberships and memberships that do not overlap
+     * the period are left unchanged.
+     *
+     * @param clients the clients to process (must not be null)
+     * @param clubId the ID of the closed club (must not be null or blank)
+     * @param from the first frozen day (must not be null)
+     * @param to the last frozen day (must not be null or before from)
+     * @return the number of frozen memberships
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public int freezeClubMemberships(Collection<Client> clients, String clubId, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(clients, "Список клієнтів не може бути null.");
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        FreezeSchedule period = FreezeSchedule.of(from, to);
+
+        List<Client> owners = new ArrayList<>();
+        List<Membership> affected = new ArrayList<>();
+        for (Client client : clients) {
+            if (client != null) {
+                activateRenewal(client);
+            }
+            Membership membership = client == null ? null : client.getMembership();
+            if (membership != null
+                    && membership.getType() == MembershipType.SINGLE_CLUB
+                    && clubId.equals(membership.getClubId())) {
+                owners.add(client);
+                affected.add(membership);
+            }
+        }
+        int frozen = statistics.applyFreeze(affected, period);
+        for (int i = 0; i < owners.size(); i++) {
+            followExtendedMembership(owners.get(i), affected.get(i));
+        }
+        return frozen;
+    }
+
+    /**
+     * Makes a client's queued renewal current if the current membership has ended.
+     * The statistics already count the renewal from its start date, so they are not changed.
+     *
+     * @param client the client (must not be null)
+     * @return true if the renewal became current
+     * @throws IllegalArgumentException if client is null
+     */
+    public boolean activateRenewal(Client client) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        return client.activateRenewal(LocalDate.now(clock));
+    }
+
+    /**
+     * Makes the queued renewals of all clients whose memberships have ended current,
+     * e.g. from a daily job.
+     *
+     * @param clients the clients to process (must not be null)
+     * @return the number of renewals that became current
+     * @throws IllegalArgumentException if clients is null
+     */
+    public int activateRenewals(Collection<Client> clients) {
+        ValidationUtils.requireNonNull(clients, "Список клієнтів не може бути null.");
+        LocalDate today = LocalDate.now(clock);
+        int activated = 0;
+        for (Client client : clients) {
+            if (client != null && client.activateRenewal(today)) {
+                activated++;
+            }
+        }
+        return activated;
+    }
+
+    /**
+     * Validates that a client may enter the specified club.
+     * Checks that the membership is active, valid for the club and still has visits left.
+     *
+     * @param client the client to check (must not be null)
+     * @param clubId the ID of the club (must not be null or blank)
+     * @throws MembershipAccessException if access is denied
+     * @throws IllegalArgumentException if client is null or clubId is blank
+     */
     public void validateClubAccess(Client client, String clubId) throws MembershipAccessException {
+        requireAccess(client, clubId);
+    }
+
+    /**
+     * Checks a client in at the specified club and records the visit against the membership.
+     *
+     * @param client the client checking in (must not be null)
+     * @param clubId the ID of the club (must not be null or blank)
+     * @throws MembershipAccessException if access is denied or the visit quota is exhausted
+     * @throws IllegalArgumentException if client is null or clubId is blank
+     */
+    public void checkIn(Client client, String clubId) throws MembershipAccessException {
+        Membership membership = requireAccess(client, clubId);
+        if (!membership.tryRecordVisit(clubId)) {
+            throw new MembershipAccessException(Constants.ERROR_MEMBERSHIP_VISITS_EXHAUSTED);
+        }
+    }
+
+    /**
+     * Returns a visit previously recorded for a client at the specified club.
+     *
+     * @param client the client (must not be null)
+     * @param clubId the ID of the club
+     * @return true if a visit was returned
+     * @throws IllegalArgumentException if client is null
+     */
+    public boolean releaseVisit(Client client, String clubId) {
+        ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
+        Membership membership = client.getMembership();
+        return membership != null && membership.releaseVisit(clubId);
+    }
+
+    /**
+     * Moves a queued renewal behind the current membership after a freeze extended it,
+     * so the renewal's days are not spent while the current membership is still running.
+     */
+    private void followExtendedMembership(Client client, Membership current) {
+        Membership queued = client.getNextMembership();
+        if (queued == null || queued.getStartDate().isAfter(current.getEndDate())) {
+            return;
+        }
+        Membership moved = queued.startingOn(current.getEndDate().plusDays(1));
+        if (client.replaceRenewal(queued, moved)) {
+            statistics.recordAssignment(client, queued, moved);
+        }
+    }
+
+    private Membership requireAccess(Client client, String clubId) throws MembershipAccessException {
+        Membership membership = requireMembership(client, clubId);
+        if (!membership.hasRemainingVisits()) {
+            throw new MembershipAccessException(Constants.ERROR_MEMBERSHIP_VISITS_EXHAUSTED);
+        }
+        return membership;
+    }
+
+    /**
+     * Checks that a client's membership is active and valid for a club, ignoring the visit quota,
+     * e.g. for a booking whose visit was already recorded.
+     */
+    Membership requireMembership(Client client, String clubId) throws MembershipAccessException {
         ValidationUtils.requireNonNull(client, "Клієнт не може бути null.");
         ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
 
-        if (!client.hasActiveMembership()) {
+        activateRenewal(client);
+        Membership membership = client.getMembership();
+        if (membership == null || !membership.isActive()) {
             throw new MembershipAccessException(Constants.ERROR_MEMBERSHIP_INACTIVE);
         }
 
-        if (!client.getMembership().hasAccessToClub(clubId)) {
+        if (!membership.hasAccessToClub(clubId)) {
             throw new MembershipAccessException(Constants.ERROR_MEMBERSHIP_INVALID_CLUB);
         }
+        return membership;
     }
 }
-
@@ -0,0 +1,254 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.FitnessNetwork;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.EmployeeOperation;
+import core.util.Money;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Head-office reports over all clubs of a network: class occupancy, stock value and staff cost.
+ * Clubs are reported in parallel on a fork/join pool. Each club is read from a consistent snapshot:
+ * its version is read before and after the club is summarized, and the summary is retried if the
+ * club changed in between. Club summaries are cached with the version they were computed at; the
+ * version changes on every booking, class, stock and staff change event of the club, so unchanged
+ * clubs are never read again.
+ * <p>
+ * Prices and salaries can change without an event, so stock value and staff cost are always summed
+ * from the current prices and salaries.
+ */
+@Service
+public class NetworkReportService {
+    static final int CLUBS_PER_TASK = 8;
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final ForkJoinPool pool;
+    private final Map<String, ClubReport> cache = new ConcurrentHashMap<>();
+    private final AtomicLong summaries = new AtomicLong();
+
+    /**
+     * Creates a report service that runs on the common fork/join pool.
+     */
+    public NetworkReportService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a report service that runs on the specified pool.
+     *
+     * @param pool the pool (must not be null)
+     * @throws IllegalArgumentException if pool is null
+     */
+    public NetworkReportService(ForkJoinPool pool) {
+        this.pool = ValidationUtils.requireNonNull(pool, "Пул потоків не може бути null.");
+    }
+
+    /**
+     * Computes the report of a network.
+     *
+     * @param network the network (must not be null)
+     * @return the report
+     * @throws IllegalArgumentException if network is null
+     */
+    public NetworkReport report(FitnessNetwork network) {
+        ValidationUtils.requireNonNull(network, "Мережа не може бути null.");
+        List<FitnessClub> clubs = network.getClubs();
+        ClubReport[] reports = new ClubReport[clubs.size()];
+        pool.invoke(new ClubTask(clubs, reports, 0, reports.length));
+        return NetworkReport.of(Arrays.asList(reports));
+    }
+
+    /**
+     * Gets the report of one club, from the cache if the club has not changed.
+     *
+     * @param club the club (must not be null)
+     * @return the report
+     * @throws IllegalArgumentException if club is null
+     */
+    public ClubReport report(FitnessClub club) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        ClubReport cached = cache.get(club.getId());
+        if (cached == null || cached.version() != club.getVersion()) {
+            cached = summarize(club);
+            summaries.incrementAndGet();
+            cache.put(club.getId(), cached);
+        }
+        long staffCost = 0;
+        for (EmployeeOperation employee : club.getStaff()) {
+            staffCost += Money.ofMajor(employee.getSalary());
+        }
+        return cached.withCosts(club.getInventory().getStockValueMinor(), staffCost);
+    }
+
+    /**
+     * Drops the cached summaries of clubs that left all networks.
+     *
+     * @param clubId the club ID
+     */
+    public void evict(String clubId) {
+        if (clubId != null) {
+            cache.remove(clubId);
+        }
+    }
+
+    /**
+     * Gets the number of times a club was read instead of taken from the cache.
+     *
+     * @return the number of club summaries computed
+     */
+    long getSummaryCount() {
+        return summaries.get();
+    }
+
+    private static ClubReport summarize(FitnessClub club) {
+        for (int attempt = 1; ; attempt++) {
+            long version = club.getVersion();
+            ClassTotals classes = new ClassTotals();
+            club.getSchedule().forEachClass(classes);
+            ClubReport report = new ClubReport(club.getId(), version, classes.count, classes.booked,
+                    classes.capacity, club.getInventory().getTotalUnits(), 0, club.getStaff().size(), 0);
+            if (club.getVersion() == version || attempt == MAX_READ_ATTEMPTS) {
+                // after the last attempt the report is returned with the version it started at,
+                // so the next report reads the club again
+                return report;
+            }
+        }
+    }
+
+    /**
+     * Reports a range of clubs, splitting it in halves until it is small.
+     */
+    private final class ClubTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<FitnessClub> clubs;
+        private final ClubReport[] reports;
+        private final int from;
+        private final int to;
+
+        private ClubTask(List<FitnessClub> clubs, ClubReport[] reports, int from, int to) {
+            this.clubs = clubs;
+            this.reports = reports;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CLUBS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    reports[i] = report(clubs.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ClubTask(clubs, reports, from, middle), new ClubTask(clubs, reports, middle, to));
+        }
+    }
+
+    /**
+     * Counts classes and seats of the classes that were not cancelled.
+     */
+    private static final class ClassTotals implements Consumer<GroupClass> {
+        private int count;
+        private long booked;
+        private long capacity;
+
+        @Override
+        public void accept(GroupClass groupClass) {
+            if (!groupClass.isCancelled()) {
+                count++;
+                booked += groupClass.getCurrentSize();
+                capacity += groupClass.getMaxCapacity();
+            }
+        }
+    }
+
+    /**
+     * The report of one club.
+     *
+     * @param clubId the club ID
+     * @param version the version of the club the report was computed at
+     * @param classCount the number of classes that were not cancelled
+     * @param bookedSeats the number of booked seats in those classes
+     * @param capacitySeats the number of seats in those classes
+     * @param stockUnits the number of units in stock
+     * @param stockValueMinor the value of the stock in minor units
+     * @param staffCount the number of employees
+     * @param staffCostMinor the sum of the salaries in minor units
+     */
+    public record ClubReport(String clubId, long version, int classCount, long bookedSeats, long capacitySeats,
+                             long stockUnits, long stockValueMinor, int staffCount, long staffCostMinor) {
+
+        /**
+         * Gets the share of booked seats.
+         *
+         * @return the occupancy between 0 and 1, or 0 if there are no classes
+         */
+        public double getOccupancy() {
+            return capacitySeats == 0 ? 0 : bookedSeats / (double) capacitySeats;
+        }
+
+        private ClubReport withCosts(long stockValue, long staffCost) {
+            return new ClubReport(clubId, version, classCount, bookedSeats, capacitySeats, stockUnits,
+                    stockValue, staffCount, staffCost);
+        }
+    }
+
+    /**
+     * The report of a network.
+     *
+     * @param clubs the reports of the clubs in network order
+     * @param classCount the number of classes that were not cancelled
+     * @param bookedSeats the number of booked seats in those classes
+     * @param capacitySeats the number of seats in those classes
+     * @param stockUnits the number of units in stock
+     * @param stockValueMinor the value of the stock in minor units
+     * @param staffCount the number of employees
+     * @param staffCostMinor the sum of the salaries in minor units
+     */
+    public record NetworkReport(List<ClubReport> clubs, long classCount, long bookedSeats, long capacitySeats,
+                                long stockUnits, long stockValueMinor, long staffCount, long staffCostMinor) {
+
+        private static NetworkReport of(List<ClubReport> clubs) {
+            long classCount = 0;
+            long booked = 0;
+            long capacity = 0;
+            long units = 0;
+            long value = 0;
+            long staffCount = 0;
+            long staffCost = 0;
+            for (ClubReport club : clubs) {
+                classCount += club.classCount();
+                booked += club.bookedSeats();
+                capacity += club.capacitySeats();
+                units += club.stockUnits();
+                value += club.stockValueMinor();
+                staffCount += club.staffCount();
+                staffCost += club.staffCostMinor();
+            }
+            return new NetworkReport(List.copyOf(clubs), classCount, booked, capacity, units, value,
+                    staffCount, staffCost);
+        }
+
+        /**
+         * Gets the share of booked seats in the network.
+         *
+         * @return the occupancy between 0 and 1, or 0 if there are no classes
+         */
+        public double getOccupancy() {
+            return capacitySeats == 0 ? 0 : bookedSeats / (double) capacitySeats;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.FitnessNetwork;
+import core.domain.staff.EmployeeOperation;
+import core.util.Money;
+import core.util.ValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Monthly payroll of a network.
+ * An employee earns the monthly base salary plus a fixed pay for every class taught in the month;
+ * cancelled classes are not paid. Clubs are computed in parallel and all amounts are summed in
+ * {@link Money} minor units, so totals are exact whatever the order of summation.
+ * <p>
+ * A trainer teaching in a club is paid there for the classes, even without being on its staff.
+ * An employee of several clubs appears in each of them, but the network payroll pays the base
+ * salary once.
+ */
+@Service
+public class PayrollService {
+    public static final long DEFAULT_CLASS_RATE_MINOR = 300 * Money.MINOR_UNITS_PER_MAJOR;
+
+    private final ForkJoinPool pool;
+    private final long classRateMinor;
+
+    /**
+     * Creates a payroll service with the default class rate that runs on the common fork/join pool.
+     */
+    @Autowired
+    public PayrollService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CLASS_RATE_MINOR);
+    }
+
+    /**
+     * Creates a payroll service.
+     *
+     * @param pool the pool that computes clubs in parallel (must not be null)
+     * @param classRateMinor the pay for one class in minor units (must not be negative)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public PayrollService(ForkJoinPool pool, long classRateMinor) {
+        this.pool = ValidationUtils.requireNonNull(pool, "Пул потоків не може бути null.");
+        if (classRateMinor < 0) {
+            throw new IllegalArgumentException("Оплата за заняття не може бути від'ємною.");
+        }
+        this.classRateMinor = classRateMinor;
+    }
+
+    /**
+     * Computes the payroll of all clubs of a network for a month.
+     *
+     * @param network the network (must not be null)
+     * @param month the month (must not be null)
+     * @return the payroll
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public Payroll run(FitnessNetwork network, YearMonth month) {
+        ValidationUtils.requireNonNull(network, "Мережа не може бути null.");
+        ValidationUtils.requireNonNull(month, "Місяць не може бути null.");
+        List<FitnessClub> clubs = network.getClubs();
+        List<ClubPayroll> clubPayrolls = pool.submit(() -> clubs.parallelStream()
+                .map(club -> run(club, month))
+                .toList()).join();
+
+        Map<EmployeeOperation, long[]> employees = new IdentityHashMap<>();
+        List<EmployeeOperation> order = new ArrayList<>();
+        for (ClubPayroll club : clubPayrolls) {
+            for (PayrollLine line : club.lines()) {
+                long[] totals = employees.get(line.employee());
+                if (totals == null) {
+                    totals = new long[3];
+                    employees.put(line.employee(), totals);
+                    order.add(line.employee());
+                }
+                totals[0] = Math.max(totals[0], line.baseMinor());
+                totals[1] += line.classCount();
+                totals[2] += line.classPayMinor();
+            }
+        }
+        List<PayrollLine> lines = new ArrayList<>(order.size());
+        long total = 0;
+        for (EmployeeOperation employee : order) {
+            long[] totals = employees.get(employee);
+            PayrollLine line = new PayrollLine(employee, totals[0], (int) totals[1], totals[2]);
+            lines.add(line);
+            total = Math.addExact(total, line.getTotalMinor());
+        }
+        return new Payroll(month, clubPayrolls, List.copyOf(lines), total);
+    }
+
+    /**
+     * Computes the payroll of one club for a month.
+     *
+     * @param club the club (must not be null)
+     * @param month the month (must not be null)
+     * @return the payroll of the club
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public ClubPayroll run(FitnessClub club, YearMonth month) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        ValidationUtils.requireNonNull(month, "Місяць не може бути null.");
+        Map<EmployeeOperation, long[]> pay = new LinkedHashMap<>();
+        for (EmployeeOperation employee : club.getStaff()) {
+            pay.computeIfAbsent(employee, key -> new long[2])[0] = Money.ofMajor(employee.getSalary());
+        }
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        club.getSchedule().forEachClass(groupClass -> {
+            LocalDateTime time = groupClass.getStartTime();
+            if (!groupClass.isCancelled() && !time.isBefore(start) && time.isBefore(end)) {
+                pay.computeIfAbsent(groupClass.getTrainer(), key -> new long[2])[1]++;
+            }
+        });
+
+        List<PayrollLine> lines = new ArrayList<>(pay.size());
+        long total = 0;
+        for (Map.Entry<EmployeeOperation, long[]> entry : pay.entrySet()) {
+            long[] amounts = entry.getValue();
+            PayrollLine line = new PayrollLine(entry.getKey(), amounts[0], (int) amounts[1],
+                    Math.multiplyExact(amounts[1], classRateMinor));
+            lines.add(line);
+            total = Math.addExact(total, line.getTotalMinor());
+        }
+        return new ClubPayroll(club.getId(), List.copyOf(lines), total);
+    }
+
+    public long getClassRateMinor() {
+        return classRateMinor;
+    }
+
+    /**
+     * The monthly pay of an employee.
+     *
+     * @param employee the employee
+     * @param baseMinor the base salary in minor units; 0 for trainers not on the staff
+     * @param classCount the number of classes taught
+     * @param classPayMinor the pay for the classes in minor units
+     */
+    public record PayrollLine(EmployeeOperation employee, long baseMinor, int classCount, long classPayMinor) {
+
+        public long getTotalMinor() {
+            return Math.addExact(baseMinor, classPayMinor);
+        }
+    }
+
+    /**
+     * The payroll of a club.
+     *
+     * @param clubId the club ID
+     * @param lines the pay of every employee, staff first
+     * @param totalMinor the total in minor units
+     */
+    public record ClubPayroll(String clubId, List<PayrollLine> lines, long totalMinor) {
+    }
+
+    /**
+     * The payroll of a network.
+     *
+     * @param month the month
+     * @param clubs the payrolls of the clubs in network order
+     * @param employees the pay of every employee of the network, each employee once
+     * @param totalMinor the total in minor units
+     */
+    public record Payroll(YearMonth month, List<ClubPayroll> clubs, List<PayrollLine> employees, long totalMinor) {
+    }
+}
@@ -0,0 +1,303 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.shop.Inventory;
+import core.domain.shop.ProductOperation;
+import core.event.Event;
+import core.event.StockEvent;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests purchases before products run out.
+ * The service listens to {@code PRODUCT_SOLD} events of club inventories. A sale only appends to a
+ * lock-free queue, so selling never waits for planning. {@link #plan()} drains the queue and updates an
+ * exponentially weighted demand rate (units per day) for every product in every club. All rates are
+ * kept in one primitive array per club, indexed by a dense product number, and are updated in a
+ * single pass over those arrays.
+ * <p>
+ * A product is reordered when its stock falls to the reorder point, i.e. the demand over the lead time
+ * plus safety days. The suggested quantity brings stock up to the demand over lead time, safety days
+ * and one review period.
+ */
+@Service
+public class ReplenishmentService {
+    public static final double DEFAULT_SMOOTHING_DAYS = 7;
+    public static final double DEFAULT_LEAD_TIME_DAYS = 3;
+    public static final double DEFAULT_SAFETY_DAYS = 2;
+    public static final double DEFAULT_REVIEW_DAYS = 7;
+
+    private static final double SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final Clock clock;
+    private final double smoothingDays;
+    private final double reorderCoverDays;
+    private final double targetCoverDays;
+    private final Queue<Sale> sales = new ConcurrentLinkedQueue<>();
+
+    // Planner state, guarded by this
+    private final Map<String, ClubDemand> clubs = new LinkedHashMap<>();
+    private final Map<ProductOperation, Integer> productIndex = new HashMap<>();
+    private final List<ProductOperation> products = new ArrayList<>();
+    private int capacity = 16;
+    private Instant lastPlan;
+    private ScheduledExecutorService scheduler;
+
+    private volatile List<PurchaseSuggestion> lastSuggestions = List.of();
+
+    /**
+     * Creates a new planner with default parameters that follows the system clock.
+     */
+    public ReplenishmentService() {
+        this(Clock.systemDefaultZone(), DEFAULT_SMOOTHING_DAYS, DEFAULT_LEAD_TIME_DAYS,
+                DEFAULT_SAFETY_DAYS, DEFAULT_REVIEW_DAYS);
+    }
+
+    /**
+     * Creates a new planner.
+     *
+     * @param clock the clock used to measure time between plans (must not be null)
+     * @param smoothingDays the time constant of the demand average in days (must be positive)
+     * @param leadTimeDays the delivery time of a purchase in days (must not be negative)
+     * @param safetyDays the extra days of demand kept as safety stock (must not be negative)
+     * @param reviewDays the days of demand a purchase should cover (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public ReplenishmentService(Clock clock, double smoothingDays, double leadTimeDays,
+                                double safetyDays, double reviewDays) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        if (!(smoothingDays > 0) || !(reviewDays > 0) || !(leadTimeDays >= 0) || !(safetyDays >= 0)) {
+            throw new IllegalArgumentException("Некоректні параметри поповнення.");
+        }
+        this.smoothingDays = smoothingDays;
+        this.reorderCoverDays = leadTimeDays + safetyDays;
+        this.targetCoverDays = leadTimeDays + safetyDays + reviewDays;
+        this.lastPlan = clock.instant();
+    }
+
+    /**
+     * Starts tracking the sales of a club.
+     *
+     * @param club the club (must not be null)
+     * @throws IllegalArgumentException if club is null or already tracked
+     */
+    public void attach(FitnessClub club) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        attach(club.getId(), club.getInventory());
+    }
+
+    /**
+     * Starts tracking the sales of an inventory.
+     *
+     * @param clubId the ID of the club that owns the inventory (must not be null or blank)
+     * @param inventory the inventory (must not be null)
+     * @throws IllegalArgumentException if any parameter is invalid or the club is already tracked
+     */
+    public synchronized void attach(String clubId, Inventory inventory) {
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        ValidationUtils.requireNonNull(inventory, "Склад не може бути null.");
+        if (clubs.containsKey(clubId)) {
+            throw new IllegalArgumentException("Клуб '" + clubId + "' вже відстежується.");
+        }
+        ClubDemand club = new ClubDemand(clubId, inventory, capacity);
+        clubs.put(clubId, club);
+        inventory.addObserver(event -> {
+            if (event.getType() == Event.EventType.PRODUCT_SOLD && event instanceof StockEvent sale) {
+                sales.add(new Sale(club, sale.getProduct(), sale.getQuantity(), sale.getStockLevel()));
+            }
+        });
+    }
+
+    /**
+     * Updates demand rates with the sales since the previous plan and computes purchase suggestions.
+     *
+     * @return the suggestions, most urgent (fewest days of stock left) first
+     */
+    public synchronized List<PurchaseSuggestion> plan() {
+        Instant now = clock.instant();
+        double elapsedDays = Duration.between(lastPlan, now).toMillis() / 1000.0 / SECONDS_PER_DAY;
+
+        Sale sale;
+        while ((sale = sales.poll()) != null) {
+            int index = indexOf(sale.product());
+            sale.club().pendingUnits[index] += sale.quantity();
+            sale.club().lastStock[index] = sale.stockLevel();
+        }
+
+        int productCount = products.size();
+        if (elapsedDays > 0) {
+            lastPlan = now;
+            double decay = Math.exp(-elapsedDays / smoothingDays);
+            double gain = (1 - decay) / elapsedDays;
+            for (ClubDemand club : clubs.values()) {
+                double[] rates = club.rates;
+                int[] pending = club.pendingUnits;
+                for (int i = 0; i < productCount; i++) {
+                    rates[i] = rates[i] * decay + pending[i] * gain;
+                }
+                Arrays.fill(pending, 0, productCount, 0);
+            }
+        }
+
+        List<PurchaseSuggestion> suggestions = new ArrayList<>();
+        for (ClubDemand club : clubs.values()) {
+            double[] rates = club.rates;
+            int[] lastStock = club.lastStock;
+            for (int i = 0; i < productCount; i++) {
+                double reorderPoint = rates[i] * reorderCoverDays;
+                if (rates[i] > 0 && lastStock[i] <= reorderPoint) {
+                    // the inventory may have been restocked since the last sale
+                    int stock = club.inventory.getStockLevel(products.get(i));
+                    lastStock[i] = stock;
+                    int quantity = (int) Math.ceil(rates[i] * targetCoverDays - stock);
+                    if (stock <= reorderPoint && quantity > 0) {
+                        suggestions.add(new PurchaseSuggestion(club.clubId, products.get(i), stock, rates[i],
+                                (int) Math.ceil(reorderPoint), quantity));
+                    }
+                }
+            }
+        }
+        suggestions.sort(Comparator.comparingDouble(PurchaseSuggestion::getDaysOfStock));
+        lastSuggestions = List.copyOf(suggestions);
+        return lastSuggestions;
+    }
+
+    /**
+     * Gets the suggestions of the most recent plan.
+     *
+     * @return the suggestions, most urgent first
+     */
+    public List<PurchaseSuggestion> getLastSuggestions() {
+        return lastSuggestions;
+    }
+
+    /**
+     * Gets the demand rate of a product in a club as of the most recent plan.
+     *
+     * @param clubId the club ID
+     * @param product the product
+     * @return the smoothed demand in units per day, or 0 if unknown
+     */
+    public synchronized double getDemandRate(String clubId, ProductOperation product) {
+        ClubDemand club = clubs.get(clubId);
+        Integer index = productIndex.get(product);
+        return club == null || index == null ? 0 : club.rates[index];
+    }
+
+    /**
+     * Runs {@link #plan()} periodically on a background thread.
+     *
+     * @param period the time between plans (must not be null or non-positive)
+     * @throws IllegalArgumentException if period is invalid
+     * @throws IllegalStateException if planning is already scheduled
+     */
+    public synchronized void start(Duration period) {
+        ValidationUtils.requireNonNull(period, "Період не може бути null.");
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Період має бути позитивним.");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Планування вже запущено.");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replenishment-planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::plan, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic planning started with {@link #start(Duration)}.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private int indexOf(ProductOperation product) {
+        Integer index = productIndex.get(product);
+        if (index != null) {
+            return index;
+        }
+        int next = products.size();
+        if (next == capacity) {
+            capacity *= 2;
+            for (ClubDemand club : clubs.values()) {
+                club.grow(capacity);
+            }
+        }
+        products.add(product);
+        productIndex.put(product, next);
+        return next;
+    }
+
+    private record Sale(ClubDemand club, ProductOperation product, int quantity, int stockLevel) {
+    }
+
+    /**
+     * Demand columns of one club, indexed by product number.
+     */
+    private static final class ClubDemand {
+        private final String clubId;
+        private final Inventory inventory;
+        private double[] rates;
+        private int[] pendingUnits;
+        private int[] lastStock;
+
+        private ClubDemand(String clubId, Inventory inventory, int capacity) {
+            this.clubId = clubId;
+            this.inventory = inventory;
+            this.rates = new double[capacity];
+            this.pendingUnits = new int[capacity];
+            this.lastStock = new int[capacity];
+        }
+
+        private void grow(int capacity) {
+            rates = Arrays.copyOf(rates, capacity);
+            pendingUnits = Arrays.copyOf(pendingUnits, capacity);
+            lastStock = Arrays.copyOf(lastStock, capacity);
+        }
+    }
+
+    /**
+     * A suggested purchase.
+     *
+     * @param clubId the club that should be restocked
+     * @param product the product
+     * @param stockLevel the current stock level
+     * @param demandPerDay the smoothed demand in units per day
+     * @param reorderPoint the stock level at which the product is reordered
+     * @param quantity the suggested quantity to purchase
+     */
+    public record PurchaseSuggestion(String clubId, ProductOperation product, int stockLevel,
+                                     double demandPerDay, int reorderPoint, int quantity) {
+
+        /**
+         * Gets the number of days the current stock lasts at the current demand.
+         *
+         * @return the days of stock left
+         */
+        public double getDaysOfStock() {
+            return stockLevel / demandPerDay;
+        }
+    }
+}
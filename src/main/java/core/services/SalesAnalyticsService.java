@@ -0,0 +1,182 @@
+package core.services;
+
+import core.domain.shop.HeavyHitters;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.domain.shop.SalesRollup;
+import core.domain.shop.SalesRollup.Resolution;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sales dashboards per club, for the whole network and per product.
+ * Every committed order is folded once into per-minute, per-hour and per-day rollups of its club and
+ * of the network, into per-day rollups of its products, and into a top-sellers sketch. Dashboard
+ * queries read only those rollups, so they cost O(buckets) however many orders were placed.
+ * <p>
+ * Rollups keep the last 24 hours by minute, the last 31 days by hour and the last 366 days by day;
+ * product rollups keep the last 35 days.
+ */
+@Service
+public class SalesAnalyticsService {
+    static final int MINUTE_BUCKETS = 24 * 60;
+    static final int HOUR_BUCKETS = 31 * 24;
+    static final int DAY_BUCKETS = 366;
+    static final int PRODUCT_DAY_BUCKETS = 35;
+    static final int TOP_SELLER_COUNTERS = 256;
+
+    private final Clock clock;
+    private final SalesView network;
+    private final Map<String, SalesView> clubs;
+    private final Map<Long, SalesRollup> products;
+
+    /**
+     * Creates a new analytics service that follows the system clock.
+     */
+    public SalesAnalyticsService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a new analytics service that follows the specified clock.
+     *
+     * @param clock the clock that defines "now" for relative queries (must not be null)
+     * @throws IllegalArgumentException if clock is null
+     */
+    public SalesAnalyticsService(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        this.network = new SalesView();
+        this.clubs = new ConcurrentHashMap<>();
+        this.products = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records a committed order.
+     *
+     * @param order the order (must not be null)
+     * @param clubId the ID of the club where the order was placed (must not be null or blank)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public void recordOrder(Order order, String clubId) {
+        ValidationUtils.requireNonNull(order, "Замовлення не може бути null.");
+        ValidationUtils.requireNonBlank(clubId, "ID клубу не може бути порожнім.");
+        LocalDateTime time = order.getOrderDate();
+        int itemCount = order.getItemCount();
+
+        long units = 0;
+        for (int i = 0; i < itemCount; i++) {
+            units += order.getItem(i).quantity();
+        }
+        long revenue = order.getTotalPriceMinor();
+        long discount = order.getTotalDiscountAmountMinor();
+        SalesView club = clubs.computeIfAbsent(clubId, id -> new SalesView());
+        network.add(time, units, revenue, discount);
+        club.add(time, units, revenue, discount);
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = order.getItem(i);
+            Product product = item.product();
+            long itemRevenue = order.getItemTotalPriceMinor(i);
+            long itemDiscount = order.getItemOriginalTotalPriceMinor(i) - itemRevenue;
+            products.computeIfAbsent(product.getNumericId(), id -> new SalesRollup(Resolution.DAY, PRODUCT_DAY_BUCKETS))
+                    .add(time, 1, item.quantity(), itemRevenue, itemDiscount);
+            network.topSellers.add(product.getNumericId(), item.quantity());
+            club.topSellers.add(product.getNumericId(), item.quantity());
+        }
+    }
+
+    /**
+     * Gets the sales totals of a period.
+     *
+     * @param clubId the club ID, or null for the whole network
+     * @param resolution the rollup to read; periods are widened to whole buckets (must not be null)
+     * @param from the start of the period, inclusive (must not be null)
+     * @param to the end of the period, exclusive (must not be null)
+     * @return the totals
+     */
+    public SalesRollup.SalesTotals getTotals(String clubId, Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        ValidationUtils.requireNonNull(resolution, "Роздільність не може бути null.");
+        SalesView view = viewOf(clubId);
+        return view == null ? SalesRollup.SalesTotals.ZERO : view.rollups.get(resolution).getTotals(from, to);
+    }
+
+    /**
+     * Gets the last buckets up to now, e.g. revenue per hour for the last 24 hours.
+     *
+     * @param clubId the club ID, or null for the whole network
+     * @param resolution the bucket width (must not be null)
+     * @param count the number of buckets (must be positive)
+     * @return the buckets in chronological order
+     */
+    public List<SalesRollup.SalesBucket> getSeries(String clubId, Resolution resolution, int count) {
+        ValidationUtils.requireNonNull(resolution, "Роздільність не може бути null.");
+        SalesView view = viewOf(clubId);
+        SalesRollup rollup = view == null ? network.rollups.get(resolution) : view.rollups.get(resolution);
+        List<SalesRollup.SalesBucket> series = rollup.getSeries(LocalDateTime.now(clock), count);
+        if (view == null) {
+            return series.stream()
+                    .map(bucket -> new SalesRollup.SalesBucket(bucket.start(), SalesRollup.SalesTotals.ZERO))
+                    .toList();
+        }
+        return series;
+    }
+
+    /**
+     * Gets the best-selling products by units sold.
+     * Counts are estimates that never undercount; see {@link HeavyHitters}.
+     *
+     * @param clubId the club ID, or null for the whole network
+     * @param k the maximum number of products (must be positive)
+     * @return up to k products, best seller first
+     */
+    public List<HeavyHitters.Estimate> getTopSellers(String clubId, int k) {
+        SalesView view = viewOf(clubId);
+        return view == null ? List.of() : view.topSellers.top(k);
+    }
+
+    /**
+     * Gets the daily sales totals of a product over a period within the last 35 days.
+     *
+     * @param product the product (must not be null)
+     * @param from the start of the period, inclusive (must not be null)
+     * @param to the end of the period, exclusive (must not be null)
+     * @return the totals; orders counts the order lines of the product
+     */
+    public SalesRollup.SalesTotals getProductTotals(Product product, LocalDateTime from, LocalDateTime to) {
+        ValidationUtils.requireNonNull(product, "Продукт не може бути null.");
+        SalesRollup rollup = products.get(product.getNumericId());
+        return rollup == null ? SalesRollup.SalesTotals.ZERO : rollup.getTotals(from, to);
+    }
+
+    private SalesView viewOf(String clubId) {
+        return clubId == null ? network : clubs.get(clubId);
+    }
+
+    /**
+     * Rollups of all resolutions and the top sellers of one club or of the network.
+     */
+    private static final class SalesView {
+        private final Map<Resolution, SalesRollup> rollups = new EnumMap<>(Resolution.class);
+        private final HeavyHitters topSellers = new HeavyHitters(TOP_SELLER_COUNTERS);
+
+        private SalesView() {
+            rollups.put(Resolution.MINUTE, new SalesRollup(Resolution.MINUTE, MINUTE_BUCKETS));
+            rollups.put(Resolution.HOUR, new SalesRollup(Resolution.HOUR, HOUR_BUCKETS));
+            rollups.put(Resolution.DAY, new SalesRollup(Resolution.DAY, DAY_BUCKETS));
+        }
+
+        private void add(LocalDateTime time, long units, long revenue, long discount) {
+            for (SalesRollup rollup : rollups.values()) {
+                rollup.add(time, 1, units, revenue, discount);
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Studio utilization: which studios, weekdays and hours are over- or under-used.
+ * The final attendance of every completed class is recorded once, against the studio, the day and
+ * the hour the class starts. Each studio keeps primitive columns of classes, attended seats and
+ * offered seats with one cell per day and hour, and the same columns per weekday and hour for
+ * all-time heatmaps.
+ * <p>
+ * Recording a class updates two cells, O(1). An all-time heatmap reads its 7 x 24 cells; a heatmap
+ * of a date range reads the 24 cells of every day in the range.
+ */
+@Service
+public class StudioUtilizationService {
+    static final int HOURS = 24;
+    static final int WEEK_CELLS = 7 * HOURS;
+    private static final int INITIAL_DAYS = 64;
+
+    private final Clock clock;
+    private final Map<Long, StudioGrid> studios = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> sweptUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new service that follows the system clock.
+     */
+    public StudioUtilizationService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a new service that follows the specified clock.
+     *
+     * @param clock the clock that decides whether a class has completed (must not be null)
+     * @throws IllegalArgumentException if clock is null
+     */
+    public StudioUtilizationService(Clock clock) {
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+    }
+
+    /**
+     * Records the final attendance of a completed class.
+     * Callers record each class once; cancelled and unfinished classes are ignored.
+     *
+     * @param groupClass the class (must not be null)
+     * @return true if the class was recorded
+     * @throws IllegalArgumentException if groupClass is null
+     */
+    public boolean recordCompleted(GroupClass groupClass) {
+        ValidationUtils.requireNonNull(groupClass, "Заняття не може бути null.");
+        if (groupClass.isCancelled() || groupClass.getEndTime().isAfter(LocalDateTime.now(clock))) {
+            return false;
+        }
+        Studio studio = groupClass.getStudio();
+        studios.computeIfAbsent(studio.getNumericId(), id -> new StudioGrid(studio))
+                .record(groupClass.getStartTime(), groupClass.getCurrentSize(), groupClass.getMaxCapacity());
+        return true;
+    }
+
+    /**
+     * Records the classes of a club that completed since the previous sweep of the club.
+     * Classes completed before the first sweep are recorded by the first sweep.
+     *
+     * @param club the club (must not be null)
+     * @return the number of classes recorded
+     * @throws IllegalArgumentException if club is null
+     */
+    public int sweep(FitnessClub club) {
+        ValidationUtils.requireNonNull(club, "Клуб не може бути null.");
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime since = sweptUntil.put(club.getId(), now);
+        List<GroupClass> completed = new ArrayList<>();
+        club.getSchedule().forEachClass(groupClass -> {
+            LocalDateTime end = groupClass.getEndTime();
+            if (!end.isAfter(now) && (since == null || end.isAfter(since))) {
+                completed.add(groupClass);
+            }
+        });
+        int recorded = 0;
+        for (GroupClass groupClass : completed) {
+            if (recordCompleted(groupClass)) {
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * Gets the all-time weekday-by-hour heatmap of a studio.
+     *
+     * @param studio the studio (must not be null)
+     * @return the heatmap; empty if nothing was recorded
+     * @throws IllegalArgumentException if studio is null
+     */
+    public Heatmap getHeatmap(Studio studio) {
+        ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
+        StudioGrid grid = studios.get(studio.getNumericId());
+        return grid == null ? Heatmap.empty() : grid.weekHeatmap();
+    }
+
+    /**
+     * Gets the weekday-by-hour heatmap of a studio over a date range.
+     *
+     * @param studio the studio (must not be null)
+     * @param from the first day, inclusive (must not be null)
+     * @param to the last day, inclusive (must not be null or before from)
+     * @return the heatmap
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public Heatmap getHeatmap(Studio studio, LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
+        requireRange(from, to);
+        StudioGrid grid = studios.get(studio.getNumericId());
+        return grid == null ? Heatmap.empty() : grid.rangeHeatmap(from, to);
+    }
+
+    /**
+     * Ranks all studios by utilization over a date range.
+     *
+     * @param from the first day, inclusive (must not be null)
+     * @param to the last day, inclusive (must not be null or before from)
+     * @return the studios with recorded classes in the range, most used first
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public List<StudioUtilization> rankStudios(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        List<StudioUtilization> ranking = new ArrayList<>();
+        for (StudioGrid grid : studios.values()) {
+            Heatmap heatmap = grid.rangeHeatmap(from, to);
+            if (heatmap.getClassCount() > 0) {
+                ranking.add(new StudioUtilization(grid.studio, heatmap.getClassCount(),
+                        heatmap.getAttendance(), heatmap.getCapacity()));
+            }
+        }
+        ranking.sort(Comparator.comparingDouble(StudioUtilization::getUtilization).reversed());
+        return ranking;
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        ValidationUtils.requireNonNull(from, "Дата не може бути null.");
+        ValidationUtils.requireNonNull(to, "Дата не може бути null.");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Кінцева дата не може бути раніше початкової.");
+        }
+    }
+
+    private static int weekCell(DayOfWeek day, int hour) {
+        return (day.getValue() - 1) * HOURS + hour;
+    }
+
+    /**
+     * Utilization columns of one studio.
+     */
+    private static final class StudioGrid {
+        private final Studio studio;
+        private LocalDate origin;
+        private int[] dayClasses = new int[INITIAL_DAYS * HOURS];
+        private int[] dayAttendance = new int[INITIAL_DAYS * HOURS];
+        private int[] dayCapacity = new int[INITIAL_DAYS * HOURS];
+        private final int[] weekClasses = new int[WEEK_CELLS];
+        private final long[] weekAttendance = new long[WEEK_CELLS];
+        private final long[] weekCapacity = new long[WEEK_CELLS];
+
+        private StudioGrid(Studio studio) {
+            this.studio = studio;
+        }
+
+        private synchronized void record(LocalDateTime start, int attendance, int capacity) {
+            LocalDate date = start.toLocalDate();
+            if (origin == null) {
+                origin = date;
+            }
+            long day = ChronoUnit.DAYS.between(origin, date);
+            if (day < 0) {
+                shift((int) -day);
+                day = 0;
+            }
+            ensureDays((int) day + 1);
+            int cell = (int) day * HOURS + start.getHour();
+            dayClasses[cell]++;
+            dayAttendance[cell] += attendance;
+            dayCapacity[cell] += capacity;
+
+            int week = weekCell(date.getDayOfWeek(), start.getHour());
+            weekClasses[week]++;
+            weekAttendance[week] += attendance;
+            weekCapacity[week] += capacity;
+        }
+
+        private synchronized Heatmap weekHeatmap() {
+            return new Heatmap(weekClasses.clone(), weekAttendance.clone(), weekCapacity.clone());
+        }
+
+        private synchronized Heatmap rangeHeatmap(LocalDate from, LocalDate to) {
+            int[] classes = new int[WEEK_CELLS];
+            long[] attendance = new long[WEEK_CELLS];
+            long[] capacity = new long[WEEK_CELLS];
+            if (origin != null) {
+                int days = dayClasses.length / HOURS;
+                long first = Math.max(0, ChronoUnit.DAYS.between(origin, from));
+                long last = Math.min(days - 1, ChronoUnit.DAYS.between(origin, to));
+                for (long day = first; day <= last; day++) {
+                    int weekBase = (origin.plusDays(day).getDayOfWeek().getValue() - 1) * HOURS;
+                    int dayBase = (int) day * HOURS;
+                    for (int hour = 0; hour < HOURS; hour++) {
+                        classes[weekBase + hour] += dayClasses[dayBase + hour];
+                        attendance[weekBase + hour] += dayAttendance[dayBase + hour];
+                        capacity[weekBase + hour] += dayCapacity[dayBase + hour];
+                    }
+                }
+            }
+            return new Heatmap(classes, attendance, capacity);
+        }
+
+        private void ensureDays(int days) {
+            if (days * HOURS <= dayClasses.length) {
+                return;
+            }
+            int length = Math.max(days, dayClasses.length / HOURS * 2) * HOURS;
+            dayClasses = Arrays.copyOf(dayClasses, length);
+            dayAttendance = Arrays.copyOf(dayAttendance, length);
+            dayCapacity = Arrays.copyOf(dayCapacity, length);
+        }
+
+        /**
+         * Moves the origin back for a class older than every recorded class.
+         */
+        private void shift(int days) {
+            int offset = days * HOURS;
+            int length = dayClasses.length + offset;
+            dayClasses = shifted(dayClasses, offset, length);
+            dayAttendance = shifted(dayAttendance, offset, length);
+            dayCapacity = shifted(dayCapacity, offset, length);
+            origin = origin.minusDays(days);
+        }
+
+        private static int[] shifted(int[] column, int offset, int length) {
+            int[] copy = new int[length];
+            System.arraycopy(column, 0, copy, offset, column.length);
+            return copy;
+        }
+    }
+
+    /**
+     * Utilization by weekday and hour of the day, by the hour classes start.
+     */
+    public static final class Heatmap {
+        private final int[] classes;
+        private final long[] attendance;
+        private final long[] capacity;
+
+        private Heatmap(int[] classes, long[] attendance, long[] capacity) {
+            this.classes = classes;
+            this.attendance = attendance;
+            this.capacity = capacity;
+        }
+
+        private static Heatmap empty() {
+            return new Heatmap(new int[WEEK_CELLS], new long[WEEK_CELLS], new long[WEEK_CELLS]);
+        }
+
+        public int getClassCount(DayOfWeek day, int hour) {
+            return classes[cell(day, hour)];
+        }
+
+        public long getAttendance(DayOfWeek day, int hour) {
+            return attendance[cell(day, hour)];
+        }
+
+        public long getCapacity(DayOfWeek day, int hour) {
+            return capacity[cell(day, hour)];
+        }
+
+        /**
+         * Gets the share of seats used in a cell.
+         *
+         * @param day the weekday (must not be null)
+         * @param hour the hour of the day, 0 to 23
+         * @return the utilization between 0 and 1, or 0 if no class started in the cell
+         */
+        public double getUtilization(DayOfWeek day, int hour) {
+            int cell = cell(day, hour);
+            return capacity[cell] == 0 ? 0 : attendance[cell] / (double) capacity[cell];
+        }
+
+        public int getClassCount() {
+            return Arrays.stream(classes).sum();
+        }
+
+        public long getAttendance() {
+            return Arrays.stream(attendance).sum();
+        }
+
+        public long getCapacity() {
+            return Arrays.stream(capacity).sum();
+        }
+
+        /**
+         * Gets the share of seats used in all cells.
+         *
+         * @return the utilization between 0 and 1, or 0 if nothing was recorded
+         */
+        public double getUtilization() {
+            long seats = getCapacity();
+            return seats == 0 ? 0 : getAttendance() / (double) seats;
+        }
+
+        private static int cell(DayOfWeek day, int hour) {
+            ValidationUtils.requireNonNull(day, "День тижня не може бути null.");
+            if (hour < 0 || hour >= HOURS) {
+                throw new IllegalArgumentException("Година має бути від 0 до 23.");
+            }
+            return weekCell(day, hour);
+        }
+    }
+
+    /**
+     * The utilization of a studio over a period.
+     *
+     * @param studio the studio
+     * @param classCount the number of completed classes
+     * @param attendance the number of attended seats
+     * @param capacity the number of offered seats
+     */
+    public record StudioUtilization(Studio studio, int classCount, long attendance, long capacity) {
+
+        /**
+         * Gets the share of seats used.
+         *
+         * @return the utilization between 0 and 1
+         */
+        public double getUtilization() {
+            return capacity == 0 ? 0 : attendance / (double) capacity;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package core.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import core.domain.shop.ProductType;
+import core.util.Constants;
+import core.util.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line formats of supplier feeds.
+ * Parsing is stateless and thread-safe, so lines can be parsed in parallel.
+ */
+public enum SupplierFeedFormat {
+    /**
+     * Comma-separated values: {@code sku,type,name,price,quantity[,param...]}.
+     * Fields may be quoted with double quotes; an optional header line whose first field is "sku" is skipped.
+     */
+    CSV {
+        @Override
+        SupplierFeedLine parse(String line) {
+            List<String> fields = splitCsv(line);
+            if (fields.size() < 5) {
+                throw new IllegalArgumentException("Рядок CSV має містити щонайменше 5 полів.");
+            }
+            List<String> params = new ArrayList<>();
+            for (int i = 5; i < fields.size(); i++) {
+                if (!fields.get(i).isBlank()) {
+                    params.add(fields.get(i).trim());
+                }
+            }
+            return new SupplierFeedLine(fields.get(0).trim(), ProductType.fromCode(fields.get(1).trim()),
+                    fields.get(2).trim(), Money.parse(fields.get(3)), parseQuantity(fields.get(4)), params);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            List<String> fields = splitCsv(line);
+            return !fields.isEmpty() && fields.get(0).trim().equalsIgnoreCase("sku");
+        }
+    },
+
+    /**
+     * JSON Lines: one object per line with the fields
+     * {@code sku}, {@code type}, {@code name}, {@code price}, {@code quantity} and optional {@code params}.
+     */
+    JSON_LINES {
+        @Override
+        SupplierFeedLine parse(String line) {
+            JsonFeedLine json;
+            try {
+                json = JSON_READER.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Некоректний JSON: " + e.getOriginalMessage());
+            }
+            if (json.type() == null || json.price() == null || json.quantity() == null) {
+                throw new IllegalArgumentException("Рядок JSON має містити type, price та quantity.");
+            }
+            return new SupplierFeedLine(json.sku(), ProductType.fromCode(json.type()), json.name(),
+                    Money.parse(json.price().toPlainString()), json.quantity(), json.params());
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+    };
+
+    private static final ObjectReader JSON_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(JsonFeedLine.class);
+
+    /**
+     * Parses and validates one line.
+     *
+     * @param line the line
+     * @return the validated feed line
+     * @throws IllegalArgumentException if the line is malformed or invalid
+     */
+    abstract SupplierFeedLine parse(String line);
+
+    abstract boolean isHeader(String line);
+
+    private static int parseQuantity(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакриті лапки в рядку CSV.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    record JsonFeedLine(String sku, String type, String name, BigDecimal price, Integer quantity,
+                        List<String> params) {
+    }
+}
@@ -0,0 +1,32 @@
+package core.services;
+
+import core.domain.shop.ProductType;
+import core.util.Constants;
+import core.util.ValidationUtils;
+
+import java.util.List;
+
+/**
+ * One validated line of a supplier feed: a stock delivery of a product identified by the supplier's SKU.
+ *
+ * @param sku the supplier's stock keeping unit (must not be blank)
+ * @param type the product type (must not be null)
+ * @param name the product name (must not be blank)
+ * @param priceMinor the unit price in minor units (must be non-negative)
+ * @param quantity the delivered quantity (must be positive)
+ * @param params the type-specific product parameters, e.g. size and color
+ */
+public record SupplierFeedLine(String sku, ProductType type, String name, long priceMinor, int quantity,
+                               List<String> params) {
+
+    public SupplierFeedLine {
+        ValidationUtils.requireNonBlank(sku, "SKU постачальника не може бути порожнім.");
+        ValidationUtils.requireNonNull(type, Constants.ERROR_PRODUCT_TYPE_NULL);
+        ValidationUtils.requireNonBlank(name, "Назва продукту не може бути порожньою.");
+        if (priceMinor < 0) {
+            throw new IllegalArgumentException(Constants.ERROR_PRODUCT_PRICE_NEGATIVE);
+        }
+        ValidationUtils.requirePositive(quantity, Constants.ERROR_PRODUCT_QUANTITY_INVALID);
+        params = params == null ? List.of() : List.copyOf(params);
+    }
+}
@@ -0,0 +1,262 @@
+package core.services;
+
+import core.domain.shop.Inventory;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.util.Money;
+import core.util.ValidationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service for restocking from supplier feeds.
+ * A feed is streamed through a three-stage pipeline: lines are read sequentially and cut into batches,
+ * batches are parsed and validated in parallel, and validated batches are applied in feed order on the
+ * calling thread. Only a bounded number of batches is in flight at any time, so memory does not grow
+ * with the size of the feed. Supplier SKUs are deduplicated: the first delivery of a SKU creates the
+ * product through {@link ProductFactory}, later deliveries only add stock.
+ */
+@Service
+public class SupplierFeedService {
+
+    /** Default number of lines per parse batch. */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ProductFactory productFactory;
+    private final Inventory inventory;
+    private final int parallelism;
+    private final int batchSize;
+    private final Map<String, Product> productsBySku;
+
+    /**
+     * Creates a new feed service that parses on all available processors.
+     *
+     * @param productFactory the factory used to create new products (must not be null)
+     * @param inventory the inventory to restock (must not be null)
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    @Autowired
+    public SupplierFeedService(ProductFactory productFactory, Inventory inventory) {
+        this(productFactory, inventory, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new feed service with the specified pipeline settings.
+     *
+     * @param productFactory the factory used to create new products (must not be null)
+     * @param inventory the inventory to restock (must not be null)
+     * @param parallelism the number of parser threads (must be positive)
+     * @param batchSize the number of lines per parse batch (must be positive)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public SupplierFeedService(ProductFactory productFactory, Inventory inventory, int parallelism, int batchSize) {
+        this.productFactory = ValidationUtils.requireNonNull(productFactory, "ProductFactory не може бути null.");
+        this.inventory = ValidationUtils.requireNonNull(inventory, "Склад не може бути null.");
+        this.parallelism = ValidationUtils.requirePositive(parallelism, "Кількість потоків має бути позитивною.");
+        this.batchSize = ValidationUtils.requirePositive(batchSize, "Розмір пакета має бути позитивним.");
+        this.productsBySku = new HashMap<>();
+    }
+
+    /**
+     * Imports a supplier feed. Invalid lines are skipped and reported; they do not stop the import.
+     *
+     * @param source the feed contents (must not be null); closed when the import finishes
+     * @param format the line format of the feed (must not be null)
+     * @return the import report
+     * @throws IOException if reading the feed fails or the import is interrupted
+     * @throws IllegalArgumentException if source or format is null
+     */
+    public synchronized ImportReport importFeed(Reader source, SupplierFeedFormat format) throws IOException {
+        ValidationUtils.requireNonNull(source, "Джерело не може бути null.");
+        ValidationUtils.requireNonNull(format, "Формат не може бути null.");
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism);
+        Deque<Future<ParsedBatch>> inFlight = new ArrayDeque<>();
+        int maxInFlight = parallelism * 2;
+
+        try (BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            long batchStart = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && format.isHeader(line)) {
+                    batchStart = 2;
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    submit(parsers, inFlight, format, batch, batchStart);
+                    batch = new ArrayList<>(batchSize);
+                    batchStart = lineNumber + 1;
+                    if (inFlight.size() >= maxInFlight) {
+                        apply(await(inFlight.poll()), progress);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(parsers, inFlight, format, batch, batchStart);
+            }
+            while (!inFlight.isEmpty()) {
+                apply(await(inFlight.poll()), progress);
+            }
+        } finally {
+            parsers.shutdownNow();
+        }
+        return progress.toReport(System.nanoTime() - start);
+    }
+
+    /**
+     * Finds the product created for a supplier SKU.
+     *
+     * @param sku the supplier SKU
+     * @return the product, or empty if the SKU was never imported
+     */
+    public synchronized Optional<Product> findBySku(String sku) {
+        return Optional.ofNullable(productsBySku.get(sku));
+    }
+
+    public synchronized int getKnownSkuCount() {
+        return productsBySku.size();
+    }
+
+    private static void submit(ExecutorService parsers, Deque<Future<ParsedBatch>> inFlight,
+                               SupplierFeedFormat format, List<String> lines, long firstLineNumber) {
+        inFlight.add(parsers.submit(() -> parse(format, lines, firstLineNumber)));
+    }
+
+    private static ParsedBatch parse(SupplierFeedFormat format, List<String> lines, long firstLineNumber) {
+        List<SupplierFeedLine> valid = new ArrayList<>(lines.size());
+        List<String> errors = new ArrayList<>();
+        int invalid = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                valid.add(format.parse(line));
+            } catch (IllegalArgumentException e) {
+                invalid++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Рядок " + (firstLineNumber + i) + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ParsedBatch(valid, invalid, errors);
+    }
+
+    private static ParsedBatch await(Future<ParsedBatch> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Імпорт перервано.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Помилка розбору фіду постачальника.", e.getCause());
+        }
+    }
+
+    private void apply(ParsedBatch batch, ImportProgress progress) {
+        progress.invalid += batch.invalid();
+        progress.addErrors(batch.errors());
+
+        Map<Product, Integer> deltas = new LinkedHashMap<>();
+        for (SupplierFeedLine line : batch.lines()) {
+            Product product = productsBySku.get(line.sku());
+            if (product == null) {
+                try {
+                    product = create(line);
+                } catch (IllegalArgumentException e) {
+                    progress.invalid++;
+                    progress.addErrors(List.of("SKU " + line.sku() + ": " + e.getMessage()));
+                    continue;
+                }
+                productsBySku.put(line.sku(), product);
+                progress.productsCreated++;
+            }
+            deltas.merge(product, line.quantity(), Math::addExact);
+            progress.applied++;
+        }
+        if (!deltas.isEmpty()) {
+            inventory.addProducts(deltas);
+        }
+    }
+
+    private Product create(SupplierFeedLine line) {
+        double price = Money.toMajor(line.priceMinor());
+        List<String> params = line.params();
+        return switch (params.size()) {
+            case 0 -> productFactory.createProduct(line.type(), line.name(), price);
+            case 1 -> productFactory.createProduct(line.type(), line.name(), price, params.get(0));
+            case 2 -> productFactory.createProduct(line.type(), line.name(), price, params.get(0), params.get(1));
+            default -> productFactory.createProduct(line.type(), line.name(), price, params.toArray(new String[0]));
+        };
+    }
+
+    private record ParsedBatch(List<SupplierFeedLine> lines, int invalid, List<String> errors) {
+    }
+
+    private static final class ImportProgress {
+        private long applied;
+        private long invalid;
+        private int productsCreated;
+        private final List<String> errors = new ArrayList<>();
+
+        void addErrors(List<String> newErrors) {
+            for (String error : newErrors) {
+                if (errors.size() >= MAX_REPORTED_ERRORS) {
+                    return;
+                }
+                errors.add(error);
+            }
+        }
+
+        ImportReport toReport(long elapsedNanos) {
+            return new ImportReport(applied, invalid, productsCreated, List.copyOf(errors), elapsedNanos);
+        }
+    }
+
+    /**
+     * Result of a feed import.
+     *
+     * @param appliedLines the number of lines whose stock was added
+     * @param invalidLines the number of skipped lines
+     * @param productsCreated the number of products created for SKUs seen for the first time
+     * @param errors descriptions of the first invalid lines (at most 100)
+     * @param elapsedNanos the wall-clock duration of the import
+     */
+    public record ImportReport(long appliedLines, long invalidLines, int productsCreated, List<String> errors,
+                               long elapsedNanos) {
+
+        /**
+         * Gets the throughput of the import.
+         *
+         * @return processed lines per second
+         */
+        public double getLinesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : (appliedLines + invalidLines) * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package core.services;
+
+import core.domain.club.FitnessNetwork;
+import core.util.IdGenerators;
+import core.util.SnowflakeIdGenerator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One hosted network brand: its own {@link FitnessNetwork} with clubs, schedules and inventories,
+ * its own worker pool and its own identifier node.
+ * Work submitted to a tenant runs only on that tenant's threads, and those threads issue entity
+ * identifiers from the tenant's generator, so tenants share no mutable structures.
+ */
+public final class Tenant {
+    private final String id;
+    private final FitnessNetwork network;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ExecutorService executor;
+
+    Tenant(String id, String networkName, SnowflakeIdGenerator idGenerator, int threads) {
+        this.id = id;
+        this.network = FitnessNetwork.create(networkName);
+        this.idGenerator = idGenerator;
+        this.executor = Executors.newFixedThreadPool(threads, new TenantThreadFactory());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public FitnessNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Gets the identifier node of the tenant; identifiers created by tenant work carry it.
+     *
+     * @return the node ID
+     */
+    public int getNodeId() {
+        return idGenerator.getNodeId();
+    }
+
+    SnowflakeIdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Runs a task on the tenant's worker pool.
+     *
+     * @param task the task (must not be null)
+     * @param <T> the result type
+     * @return the future result
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Runs a task on the tenant's worker pool.
+     *
+     * @param task the task (must not be null)
+     * @return the future completion
+     */
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private final class TenantThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                IdGenerators.setThreadGenerator(idGenerator);
+                runnable.run();
+            }, "tenant-" + id + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
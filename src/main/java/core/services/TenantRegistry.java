@@ -0,0 +1,158 @@
+package core.services;
+
+import core.util.IdGenerators;
+import core.util.SnowflakeIdGenerator;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts several isolated network brands in one process.
+ * Every tenant gets its own network, worker pool and identifier node (1 to
+ * {@link SnowflakeIdGenerator#MAX_NODE_ID}), so up to 1023 tenants can run side by side with
+ * globally unique identifiers. Nodes are allocated process-wide, shared by all registries, and skip
+ * node 0 and the node of the generator installed in {@link IdGenerators}; install that generator
+ * before registering tenants. A released node is handed out again together with its generator, so
+ * identifiers of the next tenant continue after those of the previous one.
+ * Looking up a tenant is a lock-free read; only registration and removal synchronize.
+ */
+@Service
+public class TenantRegistry {
+    public static final int DEFAULT_THREADS_PER_TENANT = 2;
+
+    private static final Deque<SnowflakeIdGenerator> freeNodes = new ArrayDeque<>();
+    private static int nextNode = 1;
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a tenant with the default pool size.
+     *
+     * @param tenantId the tenant ID (must not be null or blank)
+     * @param networkName the name of the tenant's network (must not be null or blank)
+     * @return the new tenant
+     * @throws IllegalArgumentException if any parameter is invalid or the tenant exists
+     * @throws IllegalStateException if all identifier nodes are taken
+     */
+    public Tenant register(String tenantId, String networkName) {
+        return register(tenantId, networkName, DEFAULT_THREADS_PER_TENANT);
+    }
+
+    /**
+     * Registers a tenant.
+     *
+     * @param tenantId the tenant ID (must not be null or blank)
+     * @param networkName the name of the tenant's network (must not be null or blank)
+     * @param threads the size of the tenant's worker pool (must be positive)
+     * @return the new tenant
+     * @throws IllegalArgumentException if any parameter is invalid or the tenant exists
+     * @throws IllegalStateException if all identifier nodes are taken
+     */
+    public synchronized Tenant register(String tenantId, String networkName, int threads) {
+        ValidationUtils.requireNonBlank(tenantId, "ID тенанта не може бути порожнім.");
+        ValidationUtils.requireNonBlank(networkName, "Назва мережі не може бути порожньою.");
+        ValidationUtils.requirePositive(threads, "Кількість потоків має бути позитивною.");
+        if (tenants.containsKey(tenantId)) {
+            throw new IllegalArgumentException("Тенант '" + tenantId + "' вже зареєстрований.");
+        }
+        Tenant tenant = new Tenant(tenantId, networkName, allocateNode(), threads);
+        tenants.put(tenantId, tenant);
+        return tenant;
+    }
+
+    /**
+     * Finds a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the tenant, or empty if not registered
+     */
+    public Optional<Tenant> find(String tenantId) {
+        return tenantId == null ? Optional.empty() : Optional.ofNullable(tenants.get(tenantId));
+    }
+
+    /**
+     * Gets a tenant.
+     *
+     * @param tenantId the tenant ID
+     * @return the tenant
+     * @throws IllegalArgumentException if the tenant is not registered
+     */
+    public Tenant get(String tenantId) {
+        return find(tenantId).orElseThrow(
+                () -> new IllegalArgumentException("Тенант '" + tenantId + "' не зареєстрований."));
+    }
+
+    public List<Tenant> getTenants() {
+        return List.copyOf(tenants.values());
+    }
+
+    public int size() {
+        return tenants.size();
+    }
+
+    /**
+     * Removes a tenant and shuts its worker pool down after queued work completes.
+     * Its identifier node is reused only once the pool has terminated.
+     *
+     * @param tenantId the tenant ID
+     * @return true if the tenant was removed
+     * @throws InterruptedException if interrupted while waiting for the pool to finish
+     */
+    public boolean remove(String tenantId) throws InterruptedException {
+        Tenant tenant;
+        synchronized (this) {
+            tenant = tenantId == null ? null : tenants.remove(tenantId);
+        }
+        if (tenant == null) {
+            return false;
+        }
+        tenant.shutdown();
+        if (tenant.awaitTermination(1, TimeUnit.MINUTES)) {
+            releaseNode(tenant.getIdGenerator());
+        }
+        return true;
+    }
+
+    /**
+     * Shuts down the worker pools of all tenants and removes them.
+     * Their identifier nodes are released at once; a node reused while old work is still running
+     * shares the same generator, so identifiers stay unique.
+     */
+    public synchronized void shutdown() {
+        for (Tenant tenant : tenants.values()) {
+            tenant.shutdown();
+            releaseNode(tenant.getIdGenerator());
+        }
+        tenants.clear();
+    }
+
+    private static SnowflakeIdGenerator allocateNode() {
+        int reserved = IdGenerators.getGenerator() instanceof SnowflakeIdGenerator shared ? shared.getNodeId() : 0;
+        synchronized (freeNodes) {
+            freeNodes.removeIf(generator -> generator.getNodeId() == reserved);
+            if (!freeNodes.isEmpty()) {
+                return freeNodes.pop();
+            }
+            if (nextNode == reserved) {
+                nextNode++;
+            }
+            if (nextNode > SnowflakeIdGenerator.MAX_NODE_ID) {
+                throw new IllegalStateException("Досягнуто максимальну кількість тенантів.");
+            }
+            return new SnowflakeIdGenerator(nextNode++);
+        }
+    }
+
+    private static void releaseNode(SnowflakeIdGenerator generator) {
+        synchronized (freeNodes) {
+            freeNodes.push(generator);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package core.services;
+
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.scheduling.Schedule;
+import core.domain.staff.Trainer;
+import core.util.Constants;
+import core.util.ValidationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Assigns trainers to the class slots of a timetable.
+ * An assignment is valid if the trainer is available for the whole slot and teaches no other class at
+ * the same time. Among valid assignments the optimizer prefers trainers whose specialization matches
+ * the slot, then an even number of classes per trainer.
+ * <p>
+ * A greedy pass assigns the most constrained slots first to the cheapest free trainer. Local search
+ * then moves slots to other trainers, or swaps the trainers of two slots, while that lowers the cost,
+ * for at most {@link #MAX_PASSES} passes. The cost is {@value #MISMATCH_COST} per mismatched
+ * specialization plus the sum of the squared class counts of the trainers.
+ */
+@Service
+public class TrainerAssignmentService {
+    static final long MISMATCH_COST = 100;
+    static final int MAX_PASSES = 20;
+
+    /**
+     * Assigns trainers to slots.
+     *
+     * @param slots the slots (must not be null)
+     * @param availability the weekly availability of every trainer that may be assigned; a trainer
+     *                     with an empty list is always available (must not be null)
+     * @return the plan
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public AssignmentPlan assign(List<ClassSlot> slots, Map<Trainer, List<Availability>> availability) {
+        return assign(slots, availability, List.of());
+    }
+
+    /**
+     * Assigns trainers to slots that will be added to a schedule.
+     * Trainers stay free of the classes they already teach in the schedule, unless those are cancelled.
+     *
+     * @param slots the slots (must not be null)
+     * @param availability the weekly availability of every trainer that may be assigned; a trainer
+     *                     with an empty list is always available (must not be null)
+     * @param schedule the schedule the plan is meant for (must not be null)
+     * @return the plan
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public AssignmentPlan assign(List<ClassSlot> slots, Map<Trainer, List<Availability>> availability,
+                                 Schedule schedule) {
+        ValidationUtils.requireNonNull(schedule, "Розклад не може бути null.");
+        List<GroupClass> existing = new ArrayList<>();
+        schedule.forEachClass(groupClass -> {
+            if (!groupClass.isCancelled()) {
+                existing.add(groupClass);
+            }
+        });
+        return assign(slots, availability, existing);
+    }
+
+    /**
+     * Adds the classes of a plan to a schedule.
+     * A class is skipped if its studio is taken at that time or its trainer already teaches another
+     * class that overlaps it, e.g. one added after the plan was made.
+     *
+     * @param plan the plan (must not be null)
+     * @param schedule the schedule (must not be null)
+     * @return the added classes, and the slots of the plan that have no class: those the plan left
+     *         unassigned followed by the skipped ones
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public AppliedPlan apply(AssignmentPlan plan, Schedule schedule) {
+        ValidationUtils.requireNonNull(plan, "План не може бути null.");
+        ValidationUtils.requireNonNull(schedule, "Розклад не може бути null.");
+        List<GroupClass> added = new ArrayList<>();
+        List<ClassSlot> unassigned = new ArrayList<>(plan.unassigned());
+        // the schedule's own lock keeps the trainer check and the insertion together
+        synchronized (schedule) {
+            for (Assignment assignment : plan.assignments()) {
+                ClassSlot slot = assignment.slot();
+                GroupClass groupClass = new GroupClass(slot.name(), assignment.trainer(), slot.studio(),
+                        slot.start(), slot.durationMinutes());
+                if (!teachesDuring(schedule, groupClass) && schedule.addClass(groupClass)) {
+                    added.add(groupClass);
+                } else {
+                    unassigned.add(slot);
+                }
+            }
+        }
+        return new AppliedPlan(List.copyOf(added), List.copyOf(unassigned));
+    }
+
+    private static AssignmentPlan assign(List<ClassSlot> slots, Map<Trainer, List<Availability>> availability,
+                                         List<GroupClass> existing) {
+        ValidationUtils.requireNonNull(slots, "Список занять не може бути null.");
+        ValidationUtils.requireNonNull(availability, "Доступність тренерів не може бути null.");
+        Solver solver = new Solver(List.copyOf(slots), new ArrayList<>(availability.keySet()), availability,
+                existing);
+        solver.greedy();
+        solver.improve();
+        return solver.toPlan();
+    }
+
+    private static boolean teachesDuring(Schedule schedule, GroupClass newClass) {
+        for (GroupClass existing : schedule.getClassesForDate(newClass.getStartTime().toLocalDate())) {
+            if (!existing.isCancelled() && existing.getTrainer().equals(newClass.getTrainer())
+                    && existing.overlapsWith(newClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Search state: slots and trainers are numbered, assignments are kept in primitive arrays.
+     */
+    private static final class Solver {
+        private final List<ClassSlot> slots;
+        private final List<Trainer> trainers;
+        private final long[] starts;
+        private final long[] ends;
+        private final int[][] candidates;
+        private final boolean[][] matches;
+        private final int[] assigned;
+        private final int[] load;
+        private final List<TreeMap<Long, Integer>> busy;
+
+        private Solver(List<ClassSlot> slots, List<Trainer> trainers, Map<Trainer, List<Availability>> availability,
+                       List<GroupClass> existing) {
+            this.slots = slots;
+            this.trainers = trainers;
+            int n = slots.size();
+            // existing classes follow the slots in starts and ends; they are busy but never moved
+            this.starts = new long[n + existing.size()];
+            this.ends = new long[n + existing.size()];
+            this.candidates = new int[n][];
+            this.matches = new boolean[n][];
+            this.assigned = new int[n];
+            this.load = new int[trainers.size()];
+            this.busy = new ArrayList<>(trainers.size());
+            for (int t = 0; t < trainers.size(); t++) {
+                busy.add(new TreeMap<>());
+            }
+            Arrays.fill(assigned, -1);
+
+            Map<Trainer, Integer> trainerIndex = new HashMap<>();
+            for (int t = 0; t < trainers.size(); t++) {
+                trainerIndex.put(trainers.get(t), t);
+            }
+            for (int e = 0; e < existing.size(); e++) {
+                GroupClass groupClass = existing.get(e);
+                Integer t = trainerIndex.get(groupClass.getTrainer());
+                if (t != null) {
+                    int index = n + e;
+                    starts[index] = groupClass.getStartTime().toEpochSecond(ZoneOffset.UTC);
+                    ends[index] = groupClass.getEndTime().toEpochSecond(ZoneOffset.UTC);
+                    busy.get(t).merge(starts[index], index, (a, b) -> ends[a] >= ends[b] ? a : b);
+                }
+            }
+
+            for (int s = 0; s < n; s++) {
+                ClassSlot slot = ValidationUtils.requireNonNull(slots.get(s), "Заняття не може бути null.");
+                starts[s] = slot.start().toEpochSecond(ZoneOffset.UTC);
+                ends[s] = slot.end().toEpochSecond(ZoneOffset.UTC);
+                int[] found = new int[trainers.size()];
+                boolean[] matched = new boolean[trainers.size()];
+                int count = 0;
+                for (int t = 0; t < trainers.size(); t++) {
+                    List<Availability> windows = availability.get(trainers.get(t));
+                    if (windows == null || windows.isEmpty() || covers(windows, slot)) {
+                        matched[count] = trainers.get(t).getSpecialization().equals(slot.specialization());
+                        found[count++] = t;
+                    }
+                }
+                candidates[s] = Arrays.copyOf(found, count);
+                matches[s] = Arrays.copyOf(matched, count);
+            }
+        }
+
+        private void greedy() {
+            Integer[] order = new Integer[slots.size()];
+            for (int s = 0; s < order.length; s++) {
+                order[s] = s;
+            }
+            Arrays.sort(order, Comparator.comparingInt((Integer s) -> matchCount(s))
+                    .thenComparingInt(s -> candidates[s].length)
+                    .thenComparingLong(s -> starts[s]));
+            for (int s : order) {
+                int best = -1;
+                long bestCost = Long.MAX_VALUE;
+                for (int c = 0; c < candidates[s].length; c++) {
+                    int t = candidates[s][c];
+                    long cost = (matches[s][c] ? 0 : MISMATCH_COST) + 2L * load[t] + 1;
+                    if (cost < bestCost && isFree(t, s, -1)) {
+                        best = t;
+                        bestCost = cost;
+                    }
+                }
+                if (best >= 0) {
+                    place(s, best);
+                }
+            }
+        }
+
+        private void improve() {
+            Map<Long, List<Integer>> byStart = new HashMap<>();
+            for (int s = 0; s < slots.size(); s++) {
+                byStart.computeIfAbsent(starts[s], key -> new ArrayList<>()).add(s);
+            }
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                boolean improved = false;
+                for (int s = 0; s < slots.size(); s++) {
+                    improved |= relocate(s);
+                }
+                for (List<Integer> group : byStart.values()) {
+                    for (int i = 0; i < group.size(); i++) {
+                        for (int j = i + 1; j < group.size(); j++) {
+                            improved |= swap(group.get(i), group.get(j));
+                        }
+                    }
+                }
+                if (!improved) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Moves a slot to the trainer that lowers the cost the most; assigns unassigned slots if possible.
+         */
+        private boolean relocate(int s) {
+            int current = assigned[s];
+            long currentCost = current < 0 ? Long.MAX_VALUE : mismatch(s, current);
+            int best = -1;
+            long bestDelta = 0;
+            for (int c = 0; c < candidates[s].length; c++) {
+                int t = candidates[s][c];
+                if (t == current || !isFree(t, s, -1)) {
+                    continue;
+                }
+                long delta;
+                if (current < 0) {
+                    delta = Long.MIN_VALUE + (matches[s][c] ? 0 : MISMATCH_COST) + load[t];
+                } else {
+                    // squared loads: (a - 1)^2 - a^2 + (b + 1)^2 - b^2
+                    delta = (matches[s][c] ? 0 : MISMATCH_COST) - currentCost + 2L * (load[t] - load[current]) + 2;
+                }
+                if (delta < bestDelta) {
+                    best = t;
+                    bestDelta = delta;
+                }
+            }
+            if (best < 0) {
+                return false;
+            }
+            if (current >= 0) {
+                unplace(s);
+            }
+            place(s, best);
+            return true;
+        }
+
+        /**
+         * Exchanges the trainers of two slots if both stay valid and the mismatch cost falls.
+         */
+        private boolean swap(int a, int b) {
+            int ta = assigned[a];
+            int tb = assigned[b];
+            if (ta < 0 || tb < 0 || ta == tb) {
+                return false;
+            }
+            long before = mismatch(a, ta) + mismatch(b, tb);
+            long after = mismatch(a, tb) + mismatch(b, ta);
+            if (after >= before || !isCandidate(a, tb) || !isCandidate(b, ta)
+                    || !isFree(tb, a, b) || !isFree(ta, b, a)) {
+                return false;
+            }
+            unplace(a);
+            unplace(b);
+            place(a, tb);
+            place(b, ta);
+            return true;
+        }
+
+        private long mismatch(int s, int t) {
+            for (int c = 0; c < candidates[s].length; c++) {
+                if (candidates[s][c] == t) {
+                    return matches[s][c] ? 0 : MISMATCH_COST;
+                }
+            }
+            return Long.MAX_VALUE / 4;
+        }
+
+        private boolean isCandidate(int s, int t) {
+            for (int candidate : candidates[s]) {
+                if (candidate == t) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int matchCount(int s) {
+            int count = 0;
+            for (boolean match : matches[s]) {
+                if (match) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Checks that a trainer teaches nothing during a slot, ignoring one slot that is being swapped away.
+         */
+        private boolean isFree(int t, int s, int ignored) {
+            TreeMap<Long, Integer> classes = busy.get(t);
+            Entry<Long, Integer> before = classes.lowerEntry(ends[s]);
+            while (before != null && before.getValue() == ignored) {
+                before = classes.lowerEntry(before.getKey());
+            }
+            return before == null || ends[before.getValue()] <= starts[s];
+        }
+
+        private void place(int s, int t) {
+            assigned[s] = t;
+            load[t]++;
+            busy.get(t).put(starts[s], s);
+        }
+
+        private void unplace(int s) {
+            int t = assigned[s];
+            busy.get(t).remove(starts[s]);
+            load[t]--;
+            assigned[s] = -1;
+        }
+
+        private AssignmentPlan toPlan() {
+            List<Assignment> assignments = new ArrayList<>();
+            List<ClassSlot> unassigned = new ArrayList<>();
+            int mismatched = 0;
+            for (int s = 0; s < slots.size(); s++) {
+                if (assigned[s] < 0) {
+                    unassigned.add(slots.get(s));
+                    continue;
+                }
+                boolean match = mismatch(s, assigned[s]) == 0;
+                if (!match) {
+                    mismatched++;
+                }
+                assignments.add(new Assignment(slots.get(s), trainers.get(assigned[s]), match));
+            }
+            int maxLoad = Arrays.stream(load).max().orElse(0);
+            int minLoad = Arrays.stream(load).min().orElse(0);
+            return new AssignmentPlan(List.copyOf(assignments), List.copyOf(unassigned), mismatched, minLoad, maxLoad);
+        }
+
+        private static boolean covers(List<Availability> windows, ClassSlot slot) {
+            for (Availability window : windows) {
+                if (window.covers(slot.start(), slot.end())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A class to be given a trainer.
+     *
+     * @param name the name of the class
+     * @param studio the studio
+     * @param start the start time
+     * @param durationMinutes the duration in minutes
+     * @param specialization the preferred specialization of the trainer
+     */
+    public record ClassSlot(String name, Studio studio, LocalDateTime start, int durationMinutes,
+                            String specialization) {
+
+        public ClassSlot {
+            ValidationUtils.requireNonBlank(name, "Назва заняття не може бути порожньою.");
+            ValidationUtils.requireNonNull(studio, "Студія не може бути null.");
+            ValidationUtils.requireNonNull(start, "Час початку не може бути null.");
+            ValidationUtils.requirePositive(durationMinutes, Constants.ERROR_CLASS_DURATION_INVALID);
+            ValidationUtils.requireNonBlank(specialization, "Спеціалізація не може бути порожньою.");
+        }
+
+        public LocalDateTime end() {
+            return start.plusMinutes(durationMinutes);
+        }
+    }
+
+    /**
+     * A weekly window in which a trainer can teach.
+     *
+     * @param day the weekday
+     * @param from the start of the window
+     * @param to the end of the window, after from
+     */
+    public record Availability(DayOfWeek day, LocalTime from, LocalTime to) {
+
+        public Availability {
+            ValidationUtils.requireNonNull(day, "День тижня не може бути null.");
+            ValidationUtils.requireNonNull(from, "Час не може бути null.");
+            ValidationUtils.requireNonNull(to, "Час не може бути null.");
+            if (!to.isAfter(from)) {
+                throw new IllegalArgumentException("Кінець вікна має бути пізніше початку.");
+            }
+        }
+
+        private boolean covers(LocalDateTime start, LocalDateTime end) {
+            return start.getDayOfWeek() == day && end.toLocalDate().equals(start.toLocalDate())
+                    && !start.toLocalTime().isBefore(from) && !end.toLocalTime().isAfter(to);
+        }
+    }
+
+    /**
+     * A trainer given to a slot.
+     *
+     * @param slot the slot
+     * @param trainer the trainer
+     * @param specializationMatch whether the trainer has the preferred specialization
+     */
+    public record Assignment(ClassSlot slot, Trainer trainer, boolean specializationMatch) {
+    }
+
+    /**
+     * The result of an assignment.
+     *
+     * @param assignments the assigned slots, in input order
+     * @param unassigned the slots no available trainer could take, in input order
+     * @param mismatched the number of assignments without a specialization match
+     * @param minLoad the smallest number of classes of a trainer
+     * @param maxLoad the largest number of classes of a trainer
+     */
+    public record AssignmentPlan(List<Assignment> assignments, List<ClassSlot> unassigned, int mismatched,
+                                 int minLoad, int maxLoad) {
+
+        public boolean isComplete() {
+            return unassigned.isEmpty();
+        }
+    }
+
+    /**
+     * The result of adding a plan to a schedule.
+     *
+     * @param added the classes added to the schedule, in plan order
+     * @param unassigned the slots that got no class: unassigned by the plan, then skipped when applied
+     */
+    public record AppliedPlan(List<GroupClass> added, List<ClassSlot> unassigned) {
+
+        public boolean isComplete() {
+            return unassigned.isEmpty();
+        }
+    }
+}
@@ -20,6 +20,9 @@ public final class Constants {
     public static final String ERROR_MEMBERSHIP_NOT_APPROVED = "Абонемент не було затверджено адміністратором.";
     public static final String ERROR_MEMBERSHIP_INACTIVE = "Абонемент неактивний.";
     public static final String ERROR_MEMBERSHIP_INVALID_CLUB = "Абонемент не дійсний для цього клубу.";
+    public static final String ERROR_MEMBERSHIP_VISIT_QUOTA_INVALID = "Ліміт відвідувань не може бути від'ємним.";
+    public static final String ERROR_MEMBERSHIP_FREEZE_OUT_OF_RANGE = "Період заморозки не перетинається з терміном дії абонемента.";
+    public static final String ERROR_MEMBERSHIP_VISITS_EXHAUSTED = "Ліміт відвідувань за абонементом вичерпано.";
     
     // Error Messages - Client
     public static final String ERROR_CLIENT_PHONE_BLANK = "Номер телефону не може бути порожнім.";
@@ -33,6 +36,11 @@ public final class Constants {
     public static final String ERROR_CLOTHES_PARAMS_INSUFFICIENT = "Одяг потребує розмір та колір.";
     public static final String ERROR_SUPPLEMENT_PARAMS_INSUFFICIENT = "Добавка потребує смак.";
     
+    // Error Messages - Campaign
+    public static final String ERROR_CAMPAIGN_NULL = "Кампанія не може бути null.";
+    public static final String ERROR_CAMPAIGN_TARGET_NULL = "Ціль кампанії не може бути null.";
+    public static final String ERROR_CAMPAIGN_PERIOD_INVALID = "Кінець кампанії має бути пізніше за її початок.";
+    
     // Error Messages - Employee
     public static final String ERROR_EMPLOYEE_NULL = "Співробітник не може бути null.";
     public static final String ERROR_EMPLOYEE_NAME_BLANK = "Ім'я не може бути пустим.";
@@ -0,0 +1,14 @@
+package core.util;
+
+/**
+ * Source of unique 64-bit entity identifiers.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+    /**
+     * Generates the next identifier.
+     *
+     * @return a unique identifier
+     */
+    long nextId();
+}
@@ -0,0 +1,65 @@
+package core.util;
+
+/**
+ * Holder of the identifier generator used by all entities.
+ * Defaults to a {@link SnowflakeIdGenerator} for node 0; deployments with several nodes
+ * install a generator with their own node ID at startup. A thread can override the generator
+ * for itself, e.g. tenant worker threads that issue identifiers from their tenant's node
+ * without contending with other tenants.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator generator = new SnowflakeIdGenerator(0);
+    private static final ThreadLocal<IdGenerator> threadGenerator = new ThreadLocal<>();
+
+    private IdGenerators() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Generates the next entity identifier.
+     *
+     * @return a unique identifier
+     */
+    public static long nextId() {
+        IdGenerator local = threadGenerator.get();
+        return (local != null ? local : generator).nextId();
+    }
+
+    public static IdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Replaces the identifier generator.
+     *
+     * @param newGenerator the generator to use from now on (must not be null)
+     * @throws IllegalArgumentException if newGenerator is null
+     */
+    public static void setGenerator(IdGenerator newGenerator) {
+        generator = ValidationUtils.requireNonNull(newGenerator, "Генератор ID не може бути null.");
+    }
+
+    /**
+     * Overrides the identifier generator for the current thread.
+     *
+     * @param threadLocalGenerator the generator for this thread, or null to use the shared generator again
+     */
+    public static void setThreadGenerator(IdGenerator threadLocalGenerator) {
+        if (threadLocalGenerator == null) {
+            threadGenerator.remove();
+        } else {
+            threadGenerator.set(threadLocalGenerator);
+        }
+    }
+
+    /**
+     * Formats an identifier for display.
+     *
+     * @param id the identifier
+     * @return the decimal string form of the identifier
+     */
+    public static String format(long id) {
+        return Long.toString(id);
+    }
+}
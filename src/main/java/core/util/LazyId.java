@@ -0,0 +1,48 @@
+package core.util;
+
+/**
+ * An entity identifier with its display form computed on first use.
+ * Entities keep the numeric identifier for lookups and equality; the string form is only
+ * needed for display and string-keyed lookups, so it is formatted once, when first asked for.
+ * The cached string is immutable, so an unsynchronized race at worst formats it twice.
+ */
+public final class LazyId {
+    private final long value;
+    private String text;
+
+    private LazyId(long value) {
+        this.value = value;
+    }
+
+    /**
+     * Creates an identifier from the current generator, see {@link IdGenerators#nextId()}.
+     *
+     * @return a new identifier
+     */
+    public static LazyId next() {
+        return new LazyId(IdGenerators.nextId());
+    }
+
+    public long value() {
+        return value;
+    }
+
+    /**
+     * Gets the identifier in its string form.
+     *
+     * @return the formatted identifier, see {@link IdGenerators#format(long)}
+     */
+    public String asString() {
+        String cached = text;
+        if (cached == null) {
+            cached = IdGenerators.format(value);
+            text = cached;
+        }
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
@@ -0,0 +1,115 @@
+package core.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (kopecks).
+ * Amounts are plain primitives, so calculations do not allocate, and all rounding rules
+ * of the system are defined here: conversions from decimal amounts and percentages
+ * are rounded half-up to whole minor units.
+ */
+public final class Money {
+
+    /** Number of decimal places of the currency. */
+    public static final int SCALE = 2;
+
+    /** Number of minor units in one major unit. */
+    public static final long MINOR_UNITS_PER_MAJOR = 100;
+
+    private static final long BASIS_POINTS_PER_WHOLE = 10_000;
+
+    private Money() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Converts a decimal amount to minor units, rounding half-up.
+     * The decimal representation of the double is used, so 0.1 converts to exactly 10 minor units.
+     *
+     * @param amount the amount in major units
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the amount is not finite
+     */
+    public static long ofMajor(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Сума має бути скінченним числом.");
+        }
+        return BigDecimal.valueOf(amount)
+                .setScale(SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /**
+     * Parses a decimal amount, e.g. "1234.50", to minor units, rounding half-up.
+     * Parsing is exact: the text is not converted to a double first.
+     *
+     * @param amount the amount in major units (must not be null)
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the text is not a valid amount
+     */
+    public static long parse(String amount) {
+        ValidationUtils.requireNonNull(amount, "Сума не може бути null.");
+        try {
+            return new BigDecimal(amount.trim())
+                    .setScale(SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Некоректна сума: " + amount);
+        }
+    }
+
+    /**
+     * Converts minor units to a decimal amount for display or legacy APIs.
+     *
+     * @param minorUnits the amount in minor units
+     * @return the amount in major units
+     */
+    public static double toMajor(long minorUnits) {
+        return minorUnits / (double) MINOR_UNITS_PER_MAJOR;
+    }
+
+    /**
+     * Converts a percentage to basis points (hundredths of a percent), rounding half-up.
+     *
+     * @param percent the percentage, e.g. 12.5
+     * @return the percentage in basis points, e.g. 1250
+     */
+    public static long toBasisPoints(double percent) {
+        return Math.round(percent * 100);
+    }
+
+    /**
+     * Calculates a share of an amount, rounding half-up to whole minor units.
+     *
+     * @param amountMinor the amount in minor units (must be non-negative)
+     * @param basisPoints the share in basis points (10000 is the whole amount)
+     * @return the share in minor units
+     */
+    public static long percentOf(long amountMinor, long basisPoints) {
+        return (Math.multiplyExact(amountMinor, basisPoints) + BASIS_POINTS_PER_WHOLE / 2) / BASIS_POINTS_PER_WHOLE;
+    }
+
+    /**
+     * Multiplies a unit amount by a quantity, failing on overflow instead of wrapping.
+     *
+     * @param unitMinor the unit amount in minor units
+     * @param quantity the quantity
+     * @return the total in minor units
+     */
+    public static long times(long unitMinor, int quantity) {
+        return Math.multiplyExact(unitMinor, quantity);
+    }
+
+    /**
+     * Formats an amount of minor units with two decimal places, e.g. "1234.50".
+     *
+     * @param minorUnits the amount in minor units
+     * @return the formatted amount
+     */
+    public static String format(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE).toPlainString();
+    }
+}
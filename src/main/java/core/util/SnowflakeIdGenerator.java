@@ -0,0 +1,96 @@
+package core.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit identifiers in the Snowflake layout:
+ * 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node ID and 12 bits of sequence.
+ * Identifiers of one generator are strictly increasing. When more than 4096 identifiers are
+ * requested within one millisecond, or the clock moves backwards, the generator keeps counting
+ * from the last issued timestamp instead of waiting, so it never blocks.
+ */
+public final class SnowflakeIdGenerator implements IdGenerator {
+
+    /** Start of the timestamp range: 2024-01-01T00:00:00Z. */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    /** Largest allowed node ID. */
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final int nodeId;
+    private final Clock clock;
+    private final long epochMillis;
+    private final AtomicLong lastState; // timestamp << SEQUENCE_BITS | sequence
+
+    /**
+     * Creates a generator for the specified node using the system clock.
+     *
+     * @param nodeId the node ID (0 to {@link #MAX_NODE_ID})
+     * @throws IllegalArgumentException if nodeId is out of range
+     */
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a generator for the specified node using the specified clock.
+     *
+     * @param nodeId the node ID (0 to {@link #MAX_NODE_ID})
+     * @param clock the clock (must not be null)
+     * @throws IllegalArgumentException if nodeId is out of range or clock is null
+     */
+    public SnowflakeIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ID вузла має бути від 0 до " + MAX_NODE_ID + ".");
+        }
+        this.nodeId = nodeId;
+        this.clock = ValidationUtils.requireNonNull(clock, "Годинник не може бути null.");
+        this.epochMillis = EPOCH.toEpochMilli();
+        this.lastState = new AtomicLong();
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long now = clock.millis() - epochMillis;
+            long last = lastState.get();
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                        | ((long) nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Extracts the node ID from an identifier.
+     *
+     * @param id the identifier
+     * @return the node ID
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * Extracts the creation time from an identifier.
+     *
+     * @param id the identifier
+     * @return the time the identifier was generated
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+}
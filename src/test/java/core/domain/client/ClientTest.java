@@ -40,6 +40,61 @@ class ClientTest {
         assertTrue(client.hasActiveMembership());
     }
 
+    @Test
+    void testScheduleRenewalKeepsCurrentMembership() {
+        Membership current = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .build();
+        client.assignMembership(current, admin);
+        Membership renewal = current.renew();
+
+        assertTrue(client.scheduleRenewal(current, renewal, admin));
+        assertFalse(client.scheduleRenewal(current, current.renew(), admin));
+
+        assertSame(current, client.getMembership());
+        assertSame(renewal, client.getNextMembership());
+        assertTrue(client.hasActiveMembership());
+    }
+
+    @Test
+    void testAssignMembershipDropsQueuedRenewal() {
+        Membership current = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500).build();
+        client.assignMembership(current, admin);
+        client.scheduleRenewal(current, current.renew(), admin);
+
+        client.assignMembership(new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 700).build(), admin);
+
+        assertNull(client.getNextMembership());
+    }
+
+    @Test
+    void testAssignMembershipReturnsDroppedRenewal() {
+        Membership current = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500).build();
+        Membership renewal = current.renew();
+        client.assignMembership(current, admin);
+        client.scheduleRenewal(current, renewal, admin);
+
+        assertSame(renewal, client.assignMembership(current.renew(), admin));
+        assertNull(client.assignMembership(current, admin));
+    }
+
+    @Test
+    void testRenewalBecomesCurrentOnlyWhenActivated() {
+        Membership current = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .build();
+        Membership renewal = current.renew();
+        client.assignMembership(current, admin);
+        client.scheduleRenewal(current, renewal, admin);
+
+        assertFalse(client.activateRenewal(current.getEndDate()));
+        assertSame(current, client.getMembership());
+
+        assertTrue(client.activateRenewal(current.getEndDate().plusDays(1)));
+        assertSame(renewal, client.getMembership());
+        assertNull(client.getNextMembership());
+    }
+
     @Test
     void testAssignMembershipThrowsWhenNull() {
         assertThrows(IllegalArgumentException.class, () -> 
@@ -0,0 +1,58 @@
+package core.domain.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreezeScheduleTest {
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void testSinglePeriod() {
+        FreezeSchedule schedule = FreezeSchedule.of(BASE, BASE.plusDays(4));
+
+        assertEquals(5, schedule.getTotalFrozenDays());
+        assertTrue(schedule.isFrozen(BASE));
+        assertTrue(schedule.isFrozen(BASE.plusDays(4)));
+        assertFalse(schedule.isFrozen(BASE.minusDays(1)));
+        assertFalse(schedule.isFrozen(BASE.plusDays(5)));
+    }
+
+    @Test
+    void testMergeJoinsOverlappingAndAdjacentPeriods() {
+        FreezeSchedule schedule = FreezeSchedule.of(BASE, BASE.plusDays(4))
+                .merge(FreezeSchedule.of(BASE.plusDays(3), BASE.plusDays(6)))
+                .merge(FreezeSchedule.of(BASE.plusDays(7), BASE.plusDays(8)))
+                .merge(FreezeSchedule.of(BASE.plusDays(20), BASE.plusDays(21)));
+
+        assertEquals(2, schedule.size());
+        assertEquals(BASE, schedule.getStart(0));
+        assertEquals(BASE.plusDays(8), schedule.getEnd(0));
+        assertEquals(11, schedule.getTotalFrozenDays());
+        assertFalse(schedule.isFrozen(BASE.plusDays(15)));
+        assertTrue(schedule.isFrozen(BASE.plusDays(21)));
+    }
+
+    @Test
+    void testMergeKeepsPeriodsSorted() {
+        FreezeSchedule schedule = FreezeSchedule.of(BASE.plusDays(30), BASE.plusDays(31))
+                .merge(FreezeSchedule.of(BASE, BASE));
+
+        assertEquals(BASE, schedule.getStart(0));
+        assertEquals(BASE.plusDays(30), schedule.getStart(1));
+    }
+
+    @Test
+    void testEmptySchedule() {
+        assertTrue(FreezeSchedule.EMPTY.isEmpty());
+        assertFalse(FreezeSchedule.EMPTY.isFrozen(BASE));
+        assertEquals(0, FreezeSchedule.EMPTY.getTotalFrozenDays());
+    }
+
+    @Test
+    void testOfThrowsWhenEndBeforeStart() {
+        assertThrows(IllegalArgumentException.class, () -> FreezeSchedule.of(BASE, BASE.minusDays(1)));
+    }
+}
@@ -0,0 +1,194 @@
+package core.domain.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembershipStatisticsTest {
+    private MutableClock clock;
+    private MembershipStatistics statistics;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        clock = new MutableClock(today);
+        statistics = new MembershipStatistics(clock);
+    }
+
+    private Membership singleClub(String clubId, LocalDate start, int days) {
+        return new Membership.Builder(MembershipType.SINGLE_CLUB, start, 500)
+                .withDurationInDays(days)
+                .forClub(clubId)
+                .build();
+    }
+
+    private Membership networkWide(LocalDate start, int days) {
+        return new Membership.Builder(MembershipType.NETWORK_WIDE, start, 900)
+                .withDurationInDays(days)
+                .build();
+    }
+
+    @Test
+    void testCountsActiveMembersPerClubAndType() {
+        statistics.recordAssignment(new Client("A", "+380991111111"), null, singleClub("club-1", today, 30));
+        statistics.recordAssignment(new Client("B", "+380992222222"), null, singleClub("club-1", today, 30));
+        statistics.recordAssignment(new Client("C", "+380993333333"), null, singleClub("club-2", today, 30));
+        statistics.recordAssignment(new Client("D", "+380994444444"), null, networkWide(today, 30));
+
+        assertEquals(2, statistics.getActiveMembers("club-1"));
+        assertEquals(1, statistics.getActiveMembers("club-2"));
+        assertEquals(0, statistics.getActiveMembers("club-3"));
+        assertEquals(3, statistics.getActiveMembers(MembershipType.SINGLE_CLUB));
+        assertEquals(1, statistics.getActiveMembers(MembershipType.NETWORK_WIDE));
+        assertEquals(4, statistics.getTotalActiveMembers());
+        assertEquals(Map.of("club-1", 2L, "club-2", 1L), statistics.getActiveMembersByClub());
+    }
+
+    @Test
+    void testMembershipCountedFromStartUntilExpiry() {
+        Membership membership = singleClub("club-1", today.plusDays(2), 10);
+        statistics.recordAssignment(new Client("A", "+380991111111"), null, membership);
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+
+        clock.setDate(today.plusDays(2));
+        assertEquals(1, statistics.getActiveMembers("club-1"));
+
+        clock.setDate(membership.getEndDate());
+        assertEquals(1, statistics.getActiveMembers("club-1"));
+
+        clock.setDate(membership.getEndDate().plusDays(1));
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+        assertEquals(0, statistics.getTotalActiveMembers());
+    }
+
+    @Test
+    void testExpiredMembershipIsNotCounted() {
+        statistics.recordAssignment(new Client("A", "+380991111111"), null, singleClub("club-1", today.minusDays(60), 30));
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+    }
+
+    @Test
+    void testReplacementMovesMemberBetweenClubsAndTypes() {
+        Client client = new Client("A", "+380991111111");
+        Membership first = singleClub("club-1", today, 30);
+        Membership upgraded = networkWide(today, 30);
+        statistics.recordAssignment(client, null, first);
+        statistics.recordAssignment(client, first, upgraded);
+
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+        assertEquals(0, statistics.getActiveMembers(MembershipType.SINGLE_CLUB));
+        assertEquals(1, statistics.getActiveMembers(MembershipType.NETWORK_WIDE));
+    }
+
+    @Test
+    void testRemovedRenewalIsNeverCounted() {
+        Client client = new Client("A", "+380991111111");
+        Membership current = singleClub("club-1", today, 30);
+        Membership renewal = current.renew();
+        Membership reassigned = networkWide(today, 90);
+        statistics.recordAssignment(client, null, current);
+        statistics.recordAssignment(client, null, renewal);
+
+        statistics.recordAssignment(client, current, reassigned);
+        statistics.recordRemoval(renewal);
+
+        clock.setDate(renewal.getStartDate().plusDays(1));
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+        assertEquals(1, statistics.getTotalActiveMembers());
+        clock.setDate(reassigned.getEndDate().plusDays(1));
+        assertEquals(0, statistics.getTotalActiveMembers());
+    }
+
+    @Test
+    void testFreezeRemovesMemberForFrozenDays() {
+        Membership membership = singleClub("club-1", today, 30);
+        statistics.recordAssignment(new Client("A", "+380991111111"), null, membership);
+
+        int frozen = statistics.applyFreeze(List.of(membership), FreezeSchedule.of(today, today.plusDays(4)));
+
+        assertEquals(1, frozen);
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+        clock.setDate(today.plusDays(5));
+        assertEquals(1, statistics.getActiveMembers("club-1"));
+        clock.setDate(membership.getEndDate());
+        assertEquals(1, statistics.getActiveMembers("club-1"));
+        clock.setDate(membership.getEndDate().plusDays(1));
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+    }
+
+    @Test
+    void testFreezeOfUnregisteredMembershipDoesNotChangeCounters() {
+        Membership membership = singleClub("club-1", today, 30);
+
+        assertEquals(1, statistics.applyFreeze(List.of(membership), FreezeSchedule.of(today, today.plusDays(4))));
+        assertTrue(membership.isFrozen());
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+        clock.setDate(today.plusDays(10));
+        assertEquals(0, statistics.getActiveMembers("club-1"));
+    }
+
+    @Test
+    void testSnapshotHasOneRowPerClientAndKeepsFirstCohort() {
+        Client client = new Client("A", "+380991111111");
+        Membership first = singleClub("club-1", today.minusMonths(3), 30);
+        Membership second = first.renew();
+        statistics.recordAssignment(client, null, first);
+        statistics.recordAssignment(client, first, second);
+
+        MembershipStatistics.Snapshot snapshot = statistics.snapshot();
+
+        assertEquals(1, snapshot.size());
+        LocalDate cohort = first.getStartDate();
+        assertEquals(cohort.getYear() * 12 + cohort.getMonthValue() - 1, snapshot.getCohortMonth(0));
+        assertEquals(second.getEndDate().toEpochDay(), snapshot.getEndDay(0));
+        assertEquals(MembershipType.SINGLE_CLUB, snapshot.getType(0));
+    }
+
+    @Test
+    void testSnapshotIsCachedUntilMembershipsChange() {
+        statistics.recordAssignment(new Client("A", "+380991111111"), null, singleClub("club-1", today, 30));
+        MembershipStatistics.Snapshot snapshot = statistics.snapshot();
+        assertSame(snapshot, statistics.snapshot());
+
+        statistics.recordAssignment(new Client("B", "+380992222222"), null, singleClub("club-1", today, 30));
+        assertNotSame(snapshot, statistics.snapshot());
+        assertEquals(2, statistics.snapshot().size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            this.instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -4,6 +4,10 @@ import core.domain.shop.DiscountStrategy;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -188,5 +192,200 @@ class MembershipTest {
         assertNotNull(membership.getDiscountStrategy().getDescription());
         assertTrue(membership.getDiscountStrategy().getDescription().contains("20"));
     }
-}
 
+    @Test
+    void testRenewStartsAfterEndDateWithSameTerms() {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 1000)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .withDiscount(DiscountStrategy.percentageDiscount(10))
+                .build();
+
+        Membership successor = membership.renew();
+
+        assertEquals(membership.getEndDate().plusDays(1), successor.getStartDate());
+        assertEquals(30, successor.getDurationInDays());
+        assertEquals("club-123", successor.getClubId());
+        assertEquals(membership.getCost(), successor.getCost(), 0.01f);
+    }
+
+    @Test
+    void testRenewAsUpgradesToNetworkWide() {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        Membership upgraded = membership.renewAs(MembershipType.NETWORK_WIDE, 90_000);
+
+        assertEquals(MembershipType.NETWORK_WIDE, upgraded.getType());
+        assertNull(upgraded.getClubId());
+        assertEquals(90_000, upgraded.getCostMinor());
+    }
+
+    @Test
+    void testRenewAsKeepsDiscount() {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withDiscount(DiscountStrategy.percentageDiscount(10))
+                .build();
+
+        Membership upgraded = membership.renewAs(MembershipType.NETWORK_WIDE, 90_000);
+
+        assertSame(membership.getDiscountStrategy(), upgraded.getDiscountStrategy());
+        assertEquals(81_000, upgraded.getCostMinor());
+    }
+
+    @Test
+    void testVisitQuotaIsEnforced() {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withVisitQuota(2)
+                .build();
+
+        assertTrue(membership.hasVisitQuota());
+        assertTrue(membership.tryRecordVisit("club-1"));
+        assertTrue(membership.tryRecordVisit("club-2"));
+        assertFalse(membership.tryRecordVisit("club-1"));
+        assertFalse(membership.hasRemainingVisits());
+        assertEquals(1, membership.getVisitsAtClub("club-1"));
+        assertEquals(2, membership.getReconciledVisits());
+    }
+
+    @Test
+    void testReleaseVisitReturnsQuota() {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withVisitQuota(1)
+                .build();
+        membership.tryRecordVisit("club-1");
+
+        assertFalse(membership.releaseVisit("club-2"));
+        assertTrue(membership.releaseVisit("club-1"));
+        assertEquals(1, membership.getRemainingVisits());
+    }
+
+    @Test
+    void testConcurrentReleasesNeverReturnExtraVisits() throws InterruptedException {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .withVisitQuota(10)
+                .build();
+        for (int i = 0; i < 5; i++) {
+            membership.tryRecordVisit("club-1");
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger released = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (membership.releaseVisit("club-1")) {
+                        released.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(5, released.get());
+        assertEquals(0, membership.getUsedVisits());
+        assertEquals(0, membership.getVisitsAtClub("club-1"));
+        assertEquals(10, membership.getRemainingVisits());
+    }
+
+    @Test
+    void testMembershipWithoutQuotaIsUnlimited() {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(membership.tryRecordVisit("club-1"));
+        }
+        assertFalse(membership.hasVisitQuota());
+        assertEquals(100, membership.getUsedVisits());
+    }
+
+    @Test
+    void testMembershipBuilderThrowsWhenVisitQuotaNegative() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 500)
+                    .withVisitQuota(-1)
+                    .build());
+    }
+
+    @Test
+    void testFreezeExtendsEndDateAndSuspendsAccess() {
+        LocalDate start = LocalDate.now().minusDays(5);
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, start, 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        membership.freeze(LocalDate.now().minusDays(1), LocalDate.now().plusDays(8));
+
+        assertTrue(membership.isFrozen());
+        assertFalse(membership.isActive());
+        assertFalse(membership.canBook());
+        assertEquals("Заморожено", membership.getStatusDescription());
+        assertEquals(start.plusDays(40), membership.getEndDate());
+        assertEquals(start.plusDays(30), membership.getScheduledEndDate());
+    }
+
+    @Test
+    void testFreezeInFutureKeepsMembershipActive() {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        membership.freeze(LocalDate.now().plusDays(10), LocalDate.now().plusDays(12));
+
+        assertTrue(membership.isActive());
+        assertEquals(LocalDate.now().plusDays(33), membership.getEndDate());
+        assertEquals(membership.getEndDate().plusDays(1), membership.renew().getStartDate());
+    }
+
+    @Test
+    void testFreezeThrowsWhenPeriodOutsideMembership() {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            membership.freeze(LocalDate.now().plusDays(40), LocalDate.now().plusDays(45)));
+    }
+
+    @Test
+    void testFreezeBeforeStartDateIsClipped() {
+        LocalDate start = LocalDate.now().plusDays(5);
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, start, 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        membership.freeze(LocalDate.now(), start.plusDays(1));
+
+        assertEquals(2, membership.getFreezeSchedule().getTotalFrozenDays());
+        assertEquals(start.plusDays(32), membership.getEndDate());
+    }
+
+    @Test
+    void testMembershipCostInMinorUnits() {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 999.99f)
+                .withDiscount(DiscountStrategy.percentageDiscount(15))
+                .build();
+
+        assertEquals(99999, membership.getOriginalCostMinor());
+        assertEquals(15000, membership.getDiscountAmountMinor()); // 149.9985 -> 150.00
+        assertEquals(84999, membership.getCostMinor());
+        assertEquals(84999, membership.renew().getCostMinor());
+    }
+}
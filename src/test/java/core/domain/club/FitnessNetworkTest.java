@@ -1,5 +1,11 @@
 package core.domain.club;
 
+import core.domain.shop.ProductFactory;
+import core.domain.shop.ProductOperation;
+import core.domain.shop.StockIndex;
+import core.domain.staff.Administrator;
+import core.domain.staff.Trainer;
+import core.exceptions.ProductOutOfStockException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -101,5 +107,150 @@ class FitnessNetworkTest {
         
         assertEquals(10, network.getClubs().size());
     }
-}
 
+    @Test
+    void testLookupByIdAndIndex() {
+        FitnessNetwork network = FitnessNetwork.getInstance("MyFitness");
+        FitnessClub club1 = new FitnessClub("Address 1");
+        FitnessClub club2 = new FitnessClub("Address 2");
+        FitnessClub club3 = new FitnessClub("Address 3");
+        network.addClub(club1);
+        network.addClub(club2);
+        network.addClub(club3);
+
+        assertSame(club2, network.findClub(club2.getId()).orElseThrow());
+        assertTrue(network.findClub("missing").isEmpty());
+        assertSame(club3, network.getClub(2));
+        assertEquals(1, network.indexOf(club2));
+
+        network.removeClub(club2);
+
+        assertTrue(network.findClub(club2.getId()).isEmpty());
+        assertEquals(-1, network.indexOf(club2));
+        assertEquals(1, network.indexOf(club3));
+        assertSame(club3, network.getClub(1));
+        assertEquals(2, network.getClubCount());
+    }
+
+    @Test
+    void testGetClubsDoesNotCopy() {
+        FitnessNetwork network = FitnessNetwork.getInstance("MyFitness");
+        network.addClub(new FitnessClub("Address 1"));
+
+        List<FitnessClub> snapshot = network.getClubs();
+        assertSame(snapshot, network.getClubs());
+
+        network.addClub(new FitnessClub("Address 2"));
+        assertEquals(1, snapshot.size(), "Earlier snapshots are not affected by changes");
+        assertEquals(2, network.getClubs().size());
+    }
+
+    @Test
+    void testAggregatesFollowClubChanges() {
+        FitnessNetwork network = FitnessNetwork.getInstance("MyFitness");
+        FitnessClub club1 = new FitnessClub("Address 1");
+        club1.addStudio(new Studio("Зал 1", 20, true));
+        club1.addStaff(new Trainer("Анна Шевченко", 25000, "Йога"));
+        FitnessClub club2 = new FitnessClub("Address 2");
+
+        network.addClub(club1);
+        network.addClub(club2);
+        club2.addStudio(new Studio("Зал 2", 10, true));
+        club2.addStudio(new Studio("Басейн", 30, true));
+        club2.addStaff(new Administrator("Петро Іваненко", 30000));
+
+        assertEquals(3, network.getTotalStudios());
+        assertEquals(2, network.getTotalStaff());
+
+        network.removeClub(club1);
+        club1.addStudio(new Studio("Зал 3", 10, true));
+
+        assertEquals(2, network.getTotalStudios());
+        assertEquals(1, network.getTotalStaff());
+    }
+
+    @Test
+    void testAddClubTwiceThrows() {
+        FitnessNetwork network = FitnessNetwork.getInstance("MyFitness");
+        FitnessClub club = new FitnessClub("Address 1");
+        network.addClub(club);
+
+        assertThrows(IllegalArgumentException.class, () -> network.addClub(club));
+        assertEquals(1, network.getClubCount());
+    }
+
+    @Test
+    void testConcurrentAggregates() throws InterruptedException {
+        FitnessNetwork network = FitnessNetwork.getInstance("Test");
+        FitnessClub[] clubs = new FitnessClub[8];
+        for (int i = 0; i < clubs.length; i++) {
+            clubs[i] = new FitnessClub("Address " + i);
+            network.addClub(clubs[i]);
+        }
+
+        Thread[] threads = new Thread[clubs.length];
+        for (int i = 0; i < clubs.length; i++) {
+            FitnessClub club = clubs[i];
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    club.addStudio(new Studio("Зал " + j, 10, true));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(clubs.length * 500, network.getTotalStudios());
+    }
+
+    @Test
+    void testTransferStockUpdatesNetworkIndex() throws Exception {
+        FitnessNetwork network = FitnessNetwork.create("MyFitness");
+        FitnessClub first = new FitnessClub("м. Київ, пр. Оболонський, 1");
+        FitnessClub second = new FitnessClub("м. Київ, вул. Хрещатик, 22");
+        ProductOperation product = new ProductFactory().createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        first.getInventory().addProduct(product, 10);
+        network.addClub(first);
+        network.addClub(second);
+
+        network.transferStock(first.getId(), second.getId(), product, 4);
+
+        StockIndex index = network.getStockIndex();
+        assertEquals(6, index.getLevel(first.getId(), product));
+        assertEquals(4, index.getLevel(second.getId(), product));
+        assertEquals(10, index.getTotal(product));
+        assertEquals(List.of(first.getId()), index.findClubs(product, 5));
+        assertThrows(ProductOutOfStockException.class,
+                () -> network.transferStock(second.getId(), first.getId(), product, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> network.transferStock(first.getId(), "missing", product, 1));
+
+        network.removeClub(second);
+        assertEquals(6, index.getTotal(product));
+    }
+
+    @Test
+    void testNetworkStaffDirectoryFollowsClubs() {
+        FitnessNetwork network = FitnessNetwork.create("MyFitness");
+        FitnessClub first = new FitnessClub("м. Київ, пр. Оболонський, 1");
+        FitnessClub second = new FitnessClub("м. Київ, вул. Хрещатик, 22");
+        Trainer shared = new Trainer("Анна Шевченко", 25000, "Йога");
+        first.addStaff(shared);
+        network.addClub(first);
+        network.addClub(second);
+
+        second.addStaff(shared);
+        second.addStaff(new Administrator("Петро Іваненко", 30000));
+
+        assertEquals(2, network.getStaffDirectory().size());
+        assertEquals(List.of(shared), network.getStaffDirectory().findTrainers("Йога"));
+        assertEquals(List.of(shared), second.getStaffDirectory().findTrainers("Йога"));
+
+        network.removeClub(second);
+        assertEquals(List.of(shared), network.getStaffDirectory().getAll());
+        network.removeClub(first);
+        assertEquals(0, network.getStaffDirectory().size());
+    }
+}
@@ -102,5 +102,19 @@ class StudioTest {
         studio.setCleanliness(true);
         assertTrue(studio.isClean());
     }
-}
 
+    @Test
+    void testCleanFollowsZoneChanges() {
+        Studio studio = new Studio("Басейн", 50, false);
+        Cleaner cleaner = new Cleaner("Марія Сидоренко", 15000, List.of("Басейн", "Басейн"));
+
+        assertEquals(List.of("Басейн"), cleaner.getAssignedZones());
+        assertTrue(cleaner.isAssignedTo("Басейн"));
+        cleaner.removeAssignedZone("Басейн");
+
+        assertFalse(cleaner.isAssignedTo("Басейн"));
+        assertFalse(cleaner.isAssignedTo(null));
+        assertFalse(studio.clean(cleaner));
+        assertFalse(studio.isClean());
+    }
+}
@@ -129,6 +129,19 @@ class GroupClassTest {
         assertEquals(Event.EventType.BOOKING_CONFIRMED, event.getType());
     }
 
+    @Test
+    void testBookingCancelledEvent() throws BookingException {
+        TestObserver observer = new TestObserver();
+        Client client = new Client("Олена Ковальчук", "+380991234567");
+        groupClass.addParticipant(client);
+        groupClass.addObserver(observer);
+
+        assertTrue(groupClass.removeParticipant(client));
+        assertEquals(Event.EventType.BOOKING_CANCELLED, observer.getLastEvent().getType());
+
+        assertFalse(groupClass.removeParticipant(client));
+    }
+
     @Test
     void testClassFullEvent() throws BookingException {
         Studio smallStudio = new Studio("Small Studio", 1, true);
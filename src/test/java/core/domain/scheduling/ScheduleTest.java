@@ -146,5 +146,17 @@ class ScheduleTest {
         List<GroupClass> classes = schedule.getClassesForDate(futureDate);
         assertTrue(classes.isEmpty());
     }
-}
 
+    @Test
+    void testFindClassById() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0);
+        GroupClass yogaClass = new GroupClass("Вечірня йога", trainer, studio1, startTime, 60);
+        schedule.addClass(yogaClass);
+
+        assertSame(yogaClass, schedule.findClass(yogaClass.getId()).orElseThrow());
+
+        schedule.removeClass(yogaClass);
+        assertTrue(schedule.findClass(yogaClass.getId()).isEmpty());
+        assertTrue(schedule.findClass(null).isEmpty());
+    }
+}
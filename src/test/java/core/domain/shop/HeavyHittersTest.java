@@ -0,0 +1,66 @@
+package core.domain.shop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void testExactWhileUnderCapacity() {
+        HeavyHitters sketch = new HeavyHitters(10);
+        sketch.add(1, 5);
+        sketch.add(2, 3);
+        sketch.add(1, 2);
+        sketch.add(3, 10);
+
+        List<HeavyHitters.Estimate> top = sketch.top(2);
+
+        assertEquals(List.of(new HeavyHitters.Estimate(3, 10, 0), new HeavyHitters.Estimate(1, 7, 0)), top);
+        assertEquals(20, sketch.getTotal());
+        assertEquals(3, sketch.top(10).size());
+    }
+
+    @Test
+    void testFindsHeavyHittersInLongTail() {
+        HeavyHitters sketch = new HeavyHitters(50);
+        Random random = new Random(42);
+        long[] truth = new long[10_000];
+        for (int i = 0; i < 200_000; i++) {
+            int product;
+            int roll = random.nextInt(100);
+            if (roll < 10) {
+                product = 7;
+            } else if (roll < 18) {
+                product = 42;
+            } else if (roll < 24) {
+                product = 99;
+            } else {
+                product = 100 + random.nextInt(9_900);
+            }
+            int quantity = 1 + random.nextInt(3);
+            truth[product] += quantity;
+            sketch.add(product, quantity);
+        }
+
+        List<HeavyHitters.Estimate> top = sketch.top(3);
+
+        assertEquals(List.of(7L, 42L, 99L), top.stream().map(HeavyHitters.Estimate::productId).toList());
+        for (HeavyHitters.Estimate estimate : top) {
+            long actual = truth[(int) estimate.productId()];
+            assertTrue(estimate.count() >= actual);
+            assertTrue(estimate.count() - estimate.error() <= actual);
+        }
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(0));
+        HeavyHitters sketch = new HeavyHitters(1);
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> sketch.top(0));
+    }
+}
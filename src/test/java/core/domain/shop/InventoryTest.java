@@ -3,8 +3,13 @@ package core.domain.shop;
 import core.exceptions.ProductOutOfStockException;
 import core.event.Event;
 import core.event.Observer;
+import core.event.StockEvent;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class InventoryTest {
@@ -27,6 +32,61 @@ class InventoryTest {
         assertTrue(event.getMessage().contains(product.getName()));
     }
 
+    @Test
+    void transferMovesStockAtomically() throws ProductOutOfStockException {
+        Inventory source = new Inventory();
+        Inventory target = new Inventory();
+        Product product = new ProductFactory().createProduct("CLOSE", "Килимок для йоги", 800, "M", "Blue");
+        TestObserver observer = new TestObserver();
+        source.addObserver(observer);
+        source.addProduct(product, 10);
+
+        source.transferTo(target, product, 7);
+
+        assertEquals(3, source.getStockLevel(product));
+        assertEquals(7, target.getStockLevel(product));
+        assertEquals(Event.EventType.LOW_INVENTORY, observer.getLastEvent().getType());
+        assertThrows(ProductOutOfStockException.class, () -> source.transferTo(target, product, 4));
+        assertEquals(3, source.getStockLevel(product));
+        assertEquals(7, target.getStockLevel(product));
+        assertThrows(IllegalArgumentException.class, () -> source.transferTo(source, product, 1));
+    }
+
+    @Test
+    void opposingTransfersDoNotDeadlock() throws Exception {
+        Inventory first = new Inventory();
+        Inventory second = new Inventory();
+        Product product = new ProductFactory().createProduct("CLOSE", "Килимок для йоги", 800, "M", "Blue");
+        first.addProduct(product, 1_000);
+        second.addProduct(product, 1_000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Inventory from = t % 2 == 0 ? first : second;
+            Inventory to = from == first ? second : first;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        from.transferTo(to, product, 1);
+                        to.transferTo(from, product, 1);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse(thread.isAlive(), "Transfers should not deadlock");
+        }
+
+        assertEquals(2_000, first.getStockLevel(product) + second.getStockLevel(product));
+    }
+
     @Test
     void removeProductThrowsWhenStockInsufficient() {
         Inventory inventory = new Inventory();
@@ -37,6 +97,24 @@ class InventoryTest {
         assertThrows(ProductOutOfStockException.class, () -> inventory.removeProduct(product, 5));
     }
 
+    @Test
+    void removeProductEmitsSaleEvent() throws ProductOutOfStockException {
+        Inventory inventory = new Inventory();
+        ProductFactory factory = new ProductFactory();
+        Product product = factory.createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        TestObserver observer = new TestObserver();
+        inventory.addObserver(observer);
+        inventory.addProduct(product, 20);
+
+        inventory.removeProduct(product, 3);
+
+        StockEvent event = assertInstanceOf(StockEvent.class, observer.getLastEvent());
+        assertEquals(Event.EventType.PRODUCT_SOLD, event.getType());
+        assertEquals(product, event.getProduct());
+        assertEquals(3, event.getQuantity());
+        assertEquals(17, event.getStockLevel());
+    }
+
     private static final class TestObserver implements Observer<Event> {
         private Event lastEvent;
 
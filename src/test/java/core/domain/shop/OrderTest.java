@@ -166,5 +166,30 @@ class OrderTest {
         assertEquals(originalTotal, order.getOriginalTotalPrice(), 0.01);
         assertEquals(discountAmount, order.getTotalDiscountAmount(), 0.01);
     }
-}
 
+    @Test
+    void testTotalsAreSnapshottedAtOrderTime() {
+        product1.setDiscountStrategy(DiscountStrategy.percentageDiscount(20)); // 500 -> 400
+        Order order = new Order(client, List.of(new OrderItem(product1, 2), new OrderItem(product2, 1)));
+
+        product1.setDiscountStrategy(DiscountStrategy.percentageDiscount(50));
+        product2.addDiscountRule(DiscountRules.fixed(200));
+
+        assertEquals(200000, order.getTotalPriceMinor());
+        assertEquals(220000, order.getOriginalTotalPriceMinor());
+        assertEquals(20000, order.getTotalDiscountAmountMinor());
+        assertEquals(80000, order.getItemTotalPriceMinor(0));
+        assertEquals(100000, order.getItemOriginalTotalPriceMinor(0));
+        assertEquals(120000, order.getItemTotalPriceMinor(1));
+    }
+
+    @Test
+    void testItemAccessWithoutCopying() {
+        Order order = new Order(client, List.of(new OrderItem(product1, 1), new OrderItem(product2, 3)));
+
+        assertSame(order.getItems(), order.getItems());
+        assertEquals(2, order.getItemCount());
+        assertEquals(product2, order.getItem(1).product());
+        assertThrows(IndexOutOfBoundsException.class, () -> order.getItemTotalPriceMinor(2));
+    }
+}
@@ -0,0 +1,136 @@
+package core.domain.shop;
+
+import core.domain.client.MembershipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricePlanTest {
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        ProductFactory factory = new ProductFactory();
+        product = factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue");
+    }
+
+    @Test
+    void testPlanWithoutRulesKeepsOriginalPrice() {
+        PricePlan plan = PricePlan.compile(50_000, List.of());
+
+        assertEquals(50_000, plan.getPriceMinor());
+        assertEquals(50_000, plan.getPriceMinor(MembershipType.NETWORK_WIDE));
+        assertEquals(150_000, plan.getTotalPriceMinor(3, null));
+    }
+
+    @Test
+    void testRulesStackInOrder() {
+        product.addDiscountRule(DiscountRules.percentage(10)); // 500 -> 450
+        product.addDiscountRule(DiscountRules.fixed(50));      // 450 -> 400
+
+        assertEquals(40_000, product.getPriceMinor());
+        assertEquals(10_000, product.getDiscountAmountMinor());
+        assertEquals(2, product.getDiscountRules().size());
+    }
+
+    @Test
+    void testDiscountStrategyIsAppliedBeforeRules() {
+        product.setDiscountStrategy(DiscountStrategy.fixedDiscount(100)); // 500 -> 400
+        product.addDiscountRule(DiscountRules.percentage(50));           // 400 -> 200
+
+        assertEquals(200.0, product.getPrice(), 0.001);
+    }
+
+    @Test
+    void testMemberTierDiscountOnlyForThatTier() {
+        product.addDiscountRule(DiscountRules.memberTier(MembershipType.NETWORK_WIDE, 20));
+
+        assertEquals(50_000, product.getPriceMinor());
+        assertEquals(50_000, product.getPriceMinor(MembershipType.SINGLE_CLUB));
+        assertEquals(40_000, product.getPriceMinor(MembershipType.NETWORK_WIDE));
+    }
+
+    @Test
+    void testBuyXGetYGivesFreeUnitsPerBundle() {
+        product.addDiscountRule(DiscountRules.buyXGetY(2, 1));
+
+        assertEquals(100_000, product.getTotalPriceMinor(2, null));
+        assertEquals(100_000, product.getTotalPriceMinor(3, null));
+        assertEquals(150_000, product.getTotalPriceMinor(4, null));
+        assertEquals(200_000, product.getTotalPriceMinor(6, null));
+        assertEquals(50_000, product.getPriceMinor());
+    }
+
+    @Test
+    void testBestBundleWinsWhenSeveralApply() {
+        product.addDiscountRule(DiscountRules.buyXGetY(3, 1));
+        product.addDiscountRule(DiscountRules.buyXGetY(1, 1));
+
+        assertEquals(100_000, product.getTotalPriceMinor(4, null));
+    }
+
+    @Test
+    void testRemoveAndClearRulesRecompilePlan() {
+        DiscountRule rule = DiscountRules.percentage(10);
+        product.addDiscountRule(rule);
+        assertEquals(45_000, product.getPriceMinor());
+
+        assertTrue(product.removeDiscountRule(rule));
+        assertFalse(product.removeDiscountRule(rule));
+        assertEquals(50_000, product.getPriceMinor());
+
+        product.addDiscountRule(DiscountRules.fixed(10));
+        product.clearDiscountRules();
+        assertEquals(50_000, product.getPriceMinor());
+        assertTrue(product.getDiscountRules().isEmpty());
+    }
+
+    @Test
+    void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> product.addDiscountRule(null));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.buyXGetY(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.buyXGetY(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.memberTier(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> DiscountRules.percentage(120));
+    }
+
+    @Test
+    void testReadingPricesDoesNotEvaluateRules() {
+        AtomicInteger evaluations = new AtomicInteger();
+        DiscountRule countingRule = new DiscountRule() {
+            @Override
+            public long applyToUnitPrice(long unitPriceMinor, MembershipType tier) {
+                evaluations.incrementAndGet();
+                return unitPriceMinor - 100;
+            }
+
+            @Override
+            public String getDescription() {
+                return "test";
+            }
+        };
+
+        ProductFactory factory = new ProductFactory();
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            Product item = factory.createProduct("SUPPLEMENT", "Протеїн " + i, 1000 + i % 100, "Ваніль");
+            item.addDiscountRule(countingRule);
+            catalog.add(item);
+        }
+        int afterCompile = evaluations.get();
+
+        long total = 0;
+        for (Product item : catalog) {
+            total += item.getPriceMinor() + item.getDiscountAmountMinor();
+            total += new OrderItem(item, 2).getTotalPriceMinor();
+        }
+
+        assertEquals(afterCompile, evaluations.get());
+        assertTrue(total > 0);
+    }
+}
@@ -0,0 +1,139 @@
+package core.domain.shop;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogTest {
+    private ProductCatalog catalog;
+    private ProductFactory factory;
+    private Product vanillaProtein;
+    private Product chocolateProtein;
+    private Product vanillaBar;
+    private Product blueShirt;
+    private Product redShirt;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ProductCatalog();
+        factory = new ProductFactory();
+        vanillaProtein = factory.createProduct("SUPPLEMENT", "Протеїн Whey", 1200, "Ваніль");
+        chocolateProtein = factory.createProduct("SUPPLEMENT", "Протеїн Casein", 1300, "Шоколад");
+        vanillaBar = factory.createProduct("SUPPLEMENT", "Батончик", 60, "ваніль");
+        blueShirt = factory.createProduct("CLOSE", "Футболка спортивна", 500, "M", "Blue");
+        redShirt = factory.createProduct("CLOSE", "Футболка", 500, "L", "Red");
+        for (Product product : List.of(vanillaProtein, chocolateProtein, vanillaBar, blueShirt, redShirt)) {
+            assertTrue(catalog.addProduct(product));
+        }
+    }
+
+    @Test
+    void testAddAndFindById() {
+        assertEquals(5, catalog.size());
+        assertSame(blueShirt, catalog.findById(blueShirt.getId()).orElseThrow());
+        assertTrue(catalog.findById("unknown").isEmpty());
+        assertFalse(catalog.addProduct(blueShirt));
+        assertThrows(IllegalArgumentException.class, () -> catalog.addProduct(null));
+    }
+
+    @Test
+    void testSearchByTypeAndAttribute() {
+        CatalogPage page = catalog.search(new CatalogQuery.Builder()
+                .ofType(ProductType.SUPPLEMENT)
+                .withAttribute(ProductAttribute.FLAVOR, "ВАНІЛЬ")
+                .build());
+
+        assertEquals(2, page.totalMatches());
+        assertEquals(List.of(vanillaProtein, vanillaBar), page.items());
+    }
+
+    @Test
+    void testSearchByNameWords() {
+        CatalogPage page = catalog.search(new CatalogQuery.Builder().withNameWords("протеїн").build());
+        assertEquals(List.of(vanillaProtein, chocolateProtein), page.items());
+
+        page = catalog.search(new CatalogQuery.Builder().withNameWords("футболка, спортивна").build());
+        assertEquals(List.of(blueShirt), page.items());
+
+        page = catalog.search(new CatalogQuery.Builder().withNameWords("штани").build());
+        assertEquals(0, page.totalMatches());
+        assertTrue(page.items().isEmpty());
+    }
+
+    @Test
+    void testFacetCountsCoverAllMatches() {
+        CatalogPage page = catalog.search(new CatalogQuery.Builder().page(0, 1).build());
+
+        assertEquals(5, page.totalMatches());
+        assertEquals(1, page.items().size());
+        assertTrue(page.hasNextPage());
+        assertEquals(3, page.typeCounts().get(ProductType.SUPPLEMENT));
+        assertEquals(2, page.typeCounts().get(ProductType.CLOTHES));
+        assertEquals(2, page.attributeCounts().get(ProductAttribute.FLAVOR).get("Ваніль"));
+        assertEquals(1, page.attributeCounts().get(ProductAttribute.FLAVOR).get("Шоколад"));
+        assertEquals(1, page.attributeCounts().get(ProductAttribute.SIZE).get("M"));
+    }
+
+    @Test
+    void testPaging() {
+        CatalogPage first = catalog.search(new CatalogQuery.Builder().page(0, 2).build());
+        CatalogPage last = catalog.search(new CatalogQuery.Builder().page(4, 2).build());
+        CatalogPage beyond = catalog.search(new CatalogQuery.Builder().page(10, 2).build());
+
+        assertEquals(List.of(vanillaProtein, chocolateProtein), first.items());
+        assertEquals(List.of(redShirt), last.items());
+        assertFalse(last.hasNextPage());
+        assertTrue(beyond.items().isEmpty());
+        assertEquals(5, beyond.totalMatches());
+        assertThrows(IllegalArgumentException.class, () -> new CatalogQuery.Builder().page(-1, 10).build());
+        assertThrows(IllegalArgumentException.class, () -> new CatalogQuery.Builder().page(0, 0).build());
+    }
+
+    @Test
+    void testRemovedProductsAreNotReturned() {
+        assertTrue(catalog.removeProduct(vanillaProtein.getId()));
+        assertFalse(catalog.removeProduct(vanillaProtein.getId()));
+
+        CatalogPage page = catalog.search(new CatalogQuery.Builder()
+                .withAttribute(ProductAttribute.FLAVOR, "Ваніль")
+                .build());
+
+        assertEquals(List.of(vanillaBar), page.items());
+        assertEquals(4, catalog.size());
+        assertTrue(catalog.findById(vanillaProtein.getId()).isEmpty());
+    }
+
+    @Test
+    void testSearchOverLargeCatalog() {
+        ProductCatalog large = new ProductCatalog();
+        String[] flavors = {"Ваніль", "Шоколад", "Полуниця", "Банан"};
+        int size = 200_000;
+        for (int i = 0; i < size; i++) {
+            Product product = i % 3 == 0
+                    ? factory.createProduct("CLOSE", "Футболка " + (i % 100), 500, i % 2 == 0 ? "M" : "L", "Blue")
+                    : factory.createProduct("SUPPLEMENT", "Протеїн " + (i % 100), 1000, flavors[i % 4]);
+            large.addProduct(product);
+        }
+
+        CatalogQuery query = new CatalogQuery.Builder()
+                .ofType(ProductType.SUPPLEMENT)
+                .withAttribute(ProductAttribute.FLAVOR, "ваніль")
+                .withNameWords("протеїн 8")
+                .page(0, 20)
+                .build();
+        CatalogPage page = large.search(query);
+
+        long expected = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % 3 != 0 && i % 4 == 0 && i % 100 == 8) {
+                expected++;
+            }
+        }
+        assertEquals(expected, page.totalMatches());
+        assertTrue(page.items().stream().allMatch(p -> p.getAttribute(ProductAttribute.FLAVOR).equals("Ваніль")));
+        assertEquals(expected, page.attributeCounts().get(ProductAttribute.FLAVOR).get("Ваніль").longValue());
+    }
+}
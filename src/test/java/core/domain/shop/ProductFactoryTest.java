@@ -3,6 +3,13 @@ package core.domain.shop;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProductFactoryTest {
@@ -97,5 +104,113 @@ class ProductFactoryTest {
         assertThrows(IllegalArgumentException.class, () -> 
             ProductFactory.register(ProductType.CLOTHES, null));
     }
-}
 
+    @Test
+    void testProductTypeAndAttributes() {
+        Product clothes = factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue");
+        Product supplement = factory.createProduct("SUPPLEMENT", "Протеїн", 1200, "Ваніль");
+
+        assertEquals(ProductType.CLOTHES, clothes.getType());
+        assertEquals("M", clothes.getAttribute(ProductAttribute.SIZE));
+        assertEquals("Blue", clothes.getAttribute(ProductAttribute.COLOR));
+        assertNull(clothes.getAttribute(ProductAttribute.FLAVOR));
+        assertEquals(ProductType.SUPPLEMENT, supplement.getType());
+        assertEquals("Ваніль", supplement.getAttribute(ProductAttribute.FLAVOR));
+        assertNull(supplement.getAttribute(ProductAttribute.SIZE));
+    }
+
+    @Test
+    void testProductsGetDistinctNumericIds() {
+        Product first = factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue");
+        Product second = factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue");
+
+        assertNotEquals(first.getNumericId(), second.getNumericId());
+        assertEquals(Long.toString(first.getNumericId()), first.getId());
+        assertSame(first.getId(), first.getId());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void testFromCodeIgnoresCase() {
+        assertEquals(ProductType.CLOTHES, ProductType.fromCode("close"));
+        assertEquals(ProductType.SUPPLEMENT, ProductType.fromCode("Supplement"));
+        assertThrows(IllegalArgumentException.class, () -> ProductType.fromCode("CLOTHES"));
+        assertThrows(IllegalArgumentException.class, () -> ProductType.fromCode(" "));
+    }
+
+    @Test
+    void testFixedArityAndVarargsPathsAgree() {
+        Product typed = factory.createProduct(ProductType.CLOTHES, "Шорти", 300, "S", "Red");
+        Product varargs = factory.createProduct(ProductType.CLOTHES, "Шорти", 300, new String[]{"S", "Red"});
+
+        assertEquals(typed.getDetails(), varargs.getDetails());
+        assertThrows(IllegalArgumentException.class, () ->
+            factory.createProduct(ProductType.CLOTHES, "Шорти", 300, "S"));
+        assertThrows(IllegalArgumentException.class, () ->
+            factory.createProduct(ProductType.SUPPLEMENT, "Протеїн", 300));
+    }
+
+    @Test
+    void testConcurrentCreateWhileRegistering() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        Product product = i % 2 == 0
+                                ? factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue")
+                                : factory.createProduct("SUPPLEMENT", "Протеїн", 1200, "Ваніль");
+                        if (product.getType() != (i % 2 == 0 ? ProductType.CLOTHES : ProductType.SUPPLEMENT)) {
+                            throw new AssertionError("Wrong product type");
+                        }
+                        created.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        executor.submit(() -> {
+            try {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    ProductFactory.register(ProductType.SUPPLEMENT, (name, price, params) -> {
+                        if (params.length < 1) {
+                            throw new IllegalArgumentException("Need flavor");
+                        }
+                        return new Supplement(name, price, params[0]);
+                    });
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals(threads * perThread, created.get());
+    }
+
+    @Test
+    void testBulkCreationThroughput() {
+        int count = 200_000;
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+            checksum += factory.createProduct(ProductType.SUPPLEMENT, "Протеїн", 1000, "Ваніль").getPriceMinor();
+        }
+        double perSecond = count * 1_000_000_000.0 / (System.nanoTime() - start);
+
+        assertEquals(count * 100_000L, checksum);
+        assertTrue(perSecond > 10_000, "throughput " + perSecond + " products/s");
+    }
+}
@@ -0,0 +1,60 @@
+package core.domain.shop;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesRollupTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 5, 10, 12, 0);
+
+    @Test
+    void testTotalsOverWholeBuckets() {
+        SalesRollup rollup = new SalesRollup(SalesRollup.Resolution.HOUR, 24);
+        rollup.add(NOON.plusMinutes(5), 1, 2, 1000, 100);
+        rollup.add(NOON.plusMinutes(55), 1, 1, 500, 0);
+        rollup.add(NOON.plusHours(1), 1, 3, 700, 50);
+
+        assertEquals(new SalesRollup.SalesTotals(2, 3, 1500, 100), rollup.getTotals(NOON, NOON.plusHours(1)));
+        assertEquals(new SalesRollup.SalesTotals(3, 6, 2200, 150), rollup.getTotals(NOON.minusDays(1), NOON.plusHours(2)));
+        // partial buckets are widened to whole ones
+        assertEquals(2, rollup.getTotals(NOON.plusMinutes(30), NOON.plusMinutes(31)).orders());
+    }
+
+    @Test
+    void testOldBucketsAreRecycled() {
+        SalesRollup rollup = new SalesRollup(SalesRollup.Resolution.MINUTE, 60);
+        rollup.add(NOON, 1, 1, 100, 0);
+        rollup.add(NOON.plusMinutes(60), 1, 1, 200, 0); // same slot, next lap
+
+        assertEquals(200, rollup.getTotals(NOON.minusHours(1), NOON.plusHours(2)).revenueMinor());
+        assertFalse(rollup.add(NOON.plusSeconds(30), 1, 1, 300, 0)); // scrolled out of the ring
+        assertTrue(rollup.add(NOON.plusMinutes(1), 1, 1, 300, 0));
+        assertEquals(500, rollup.getTotals(NOON.minusHours(1), NOON.plusHours(2)).revenueMinor());
+    }
+
+    @Test
+    void testSeriesIncludesEmptyBuckets() {
+        SalesRollup rollup = new SalesRollup(SalesRollup.Resolution.DAY, 7);
+        rollup.add(NOON.minusDays(2), 1, 4, 4000, 0);
+        rollup.add(NOON, 2, 1, 1000, 0);
+
+        List<SalesRollup.SalesBucket> series = rollup.getSeries(NOON, 3);
+
+        assertEquals(3, series.size());
+        assertEquals(NOON.toLocalDate().minusDays(2).atStartOfDay(), series.get(0).start());
+        assertEquals(4000, series.get(0).totals().revenueMinor());
+        assertEquals(SalesRollup.SalesTotals.ZERO, series.get(1).totals());
+        assertEquals(2, series.get(2).totals().orders());
+        assertEquals(7, rollup.getSeries(NOON, 100).size());
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SalesRollup(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SalesRollup(SalesRollup.Resolution.DAY, 0));
+    }
+}
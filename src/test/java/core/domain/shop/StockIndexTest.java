@@ -0,0 +1,119 @@
+package core.domain.shop;
+
+import core.exceptions.ProductOutOfStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockIndexTest {
+    private StockIndex index;
+    private Product mat;
+    private Product protein;
+
+    @BeforeEach
+    void setUp() {
+        index = new StockIndex();
+        ProductFactory factory = new ProductFactory();
+        mat = factory.createProduct("CLOSE", "Килимок для йоги", 800, "M", "Blue");
+        protein = factory.createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+    }
+
+    @Test
+    void testAttachIndexesCurrentStock() {
+        Inventory inventory = new Inventory();
+        inventory.addProduct(mat, 5);
+
+        index.attach("club-a", inventory);
+
+        assertEquals(5, index.getLevel("club-a", mat));
+        assertEquals(5, index.getTotal(mat));
+        assertEquals(0, index.getTotal(protein));
+    }
+
+    @Test
+    void testFollowsInventoryChanges() throws ProductOutOfStockException {
+        Inventory a = new Inventory();
+        Inventory b = new Inventory();
+        index.attach("club-a", a);
+        index.attach("club-b", b);
+
+        a.addProduct(mat, 2);
+        b.addProduct(mat, 8);
+        b.removeProduct(mat, 4);
+        a.transferTo(b, mat, 1);
+
+        assertEquals(1, index.getLevel("club-a", mat));
+        assertEquals(5, index.getLevel("club-b", mat));
+        assertEquals(6, index.getTotal(mat));
+        assertEquals(a.getStockLevel(mat), index.getLevel("club-a", mat));
+    }
+
+    @Test
+    void testFindClubsWithEnoughStock() {
+        Inventory a = new Inventory();
+        Inventory b = new Inventory();
+        Inventory c = new Inventory();
+        index.attach("club-a", a);
+        index.attach("club-b", b);
+        index.attach("club-c", c);
+        a.addProduct(mat, 3);
+        b.addProduct(mat, 10);
+        c.addProduct(mat, 2);
+
+        assertEquals(List.of("club-b", "club-a"), index.findClubs(mat, 3));
+        assertEquals(List.of("club-b", "club-a", "club-c"), index.findClubs(mat, 1));
+        assertTrue(index.findClubs(mat, 11).isEmpty());
+        assertTrue(index.findClubs(protein, 1).isEmpty());
+    }
+
+    @Test
+    void testDetachRemovesClub() {
+        Inventory inventory = new Inventory();
+        index.attach("club-a", inventory);
+        inventory.addProduct(mat, 4);
+
+        index.detach("club-a");
+        inventory.addProduct(mat, 4);
+
+        assertEquals(0, index.getTotal(mat));
+        assertTrue(index.findClubs(mat, 1).isEmpty());
+        new StockIndex().attach("club-a", inventory);
+    }
+
+    @Test
+    void testInventoryBelongsToOneIndex() {
+        Inventory inventory = new Inventory();
+        index.attach("club-a", inventory);
+
+        assertThrows(IllegalArgumentException.class, () -> new StockIndex().attach("club-x", inventory));
+        assertThrows(IllegalArgumentException.class, () -> index.attach("club-a", new Inventory()));
+    }
+
+    @Test
+    void testReplicasConvergeInAnyOrder() throws ProductOutOfStockException {
+        Inventory a = new Inventory();
+        Inventory b = new Inventory();
+        StockIndex nodeA = new StockIndex();
+        StockIndex nodeB = new StockIndex();
+        nodeA.attach("club-a", a);
+        nodeB.attach("club-b", b);
+        a.addProduct(mat, 6);
+        List<StockIndex.StockEntry> stale = nodeA.snapshot();
+        a.removeProduct(mat, 2);
+        b.addProduct(mat, 5);
+
+        StockIndex replica = new StockIndex();
+        replica.merge(nodeB.snapshot());
+        replica.merge(nodeA.snapshot());
+        replica.merge(stale);
+        replica.merge(nodeA.snapshot());
+
+        assertEquals(4, replica.getLevel("club-a", mat));
+        assertEquals(5, replica.getLevel("club-b", mat));
+        assertEquals(9, replica.getTotal(mat));
+        assertEquals(List.of("club-b", "club-a"), replica.findClubs(mat, 4));
+    }
+}
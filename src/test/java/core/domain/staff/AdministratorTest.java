@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,5 +63,26 @@ class AdministratorTest {
         // Test that method doesn't throw
         assertDoesNotThrow(() -> admin.manageSchedule());
     }
-}
 
+    @Test
+    void testApproveMembershipsBatch() {
+        Membership valid = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+        Membership expired = new Membership.Builder(MembershipType.SINGLE_CLUB,
+                LocalDate.now().minusDays(60), 500)
+                .withDurationInDays(30)
+                .forClub("club-123")
+                .build();
+
+        boolean[] approved = admin.approveMemberships(Arrays.asList(valid, expired, null));
+
+        assertArrayEquals(new boolean[]{true, false, false}, approved);
+    }
+
+    @Test
+    void testApproveMembershipsEmptyBatch() {
+        assertEquals(0, admin.approveMemberships(List.of()).length);
+    }
+}
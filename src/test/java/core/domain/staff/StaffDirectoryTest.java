@@ -0,0 +1,82 @@
+package core.domain.staff;
+
+import core.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaffDirectoryTest {
+    private StaffDirectory directory;
+    private Trainer yoga;
+    private Trainer strength;
+    private Administrator admin;
+    private Cleaner cleaner;
+
+    @BeforeEach
+    void setUp() {
+        directory = new StaffDirectory();
+        yoga = new Trainer("Анна Шевченко", 25000, "Йога");
+        strength = new Trainer("Ігор Мельник", 27000, "Силові тренування");
+        admin = new Administrator("Петро Іваненко", 30000);
+        cleaner = new Cleaner("Марія Сидоренко", 15000, List.of("Басейн"));
+        directory.addAll(List.of(yoga, admin, strength, cleaner));
+    }
+
+    @Test
+    void testIndexes() {
+        assertEquals(4, directory.size());
+        assertEquals(List.of(yoga, strength), directory.findByJobTitle(Constants.JOB_TITLE_TRAINER));
+        assertEquals(List.of(yoga), directory.findTrainers("Йога"));
+        assertEquals(List.of(admin), directory.findByName("Петро Іваненко"));
+        assertEquals(List.of(cleaner), directory.findByType(Cleaner.class));
+        assertSame(yoga, directory.first(Trainer.class).orElseThrow());
+        assertSame(admin, directory.first(Administrator.class).orElseThrow());
+        assertTrue(directory.findByName("Невідомий").isEmpty());
+        assertTrue(directory.findTrainers(null).isEmpty());
+    }
+
+    @Test
+    void testIndexesFollowRenames() {
+        yoga.setFullName("Анна Коваль");
+        yoga.setSpecialization("Пілатес");
+
+        assertTrue(directory.findByName("Анна Шевченко").isEmpty());
+        assertEquals(List.of(yoga), directory.findByName("Анна Коваль"));
+        assertTrue(directory.findTrainers("Йога").isEmpty());
+        assertEquals(List.of(yoga), directory.findTrainers("Пілатес"));
+    }
+
+    @Test
+    void testRemove() {
+        assertTrue(directory.remove(yoga));
+        assertFalse(directory.remove(yoga));
+
+        assertEquals(List.of(strength), directory.findByJobTitle(Constants.JOB_TITLE_TRAINER));
+        assertTrue(directory.findTrainers("Йога").isEmpty());
+        assertSame(strength, directory.first(Trainer.class).orElseThrow());
+
+        yoga.setFullName("Анна Коваль");
+        assertTrue(directory.findByName("Анна Коваль").isEmpty());
+    }
+
+    @Test
+    void testEmployeeAddedTwiceIsListedOnce() {
+        directory.add(yoga);
+
+        assertEquals(4, directory.size());
+        assertFalse(directory.remove(yoga));
+        assertEquals(List.of(yoga), directory.findTrainers("Йога"));
+        assertTrue(directory.remove(yoga));
+        assertTrue(directory.findTrainers("Йога").isEmpty());
+    }
+
+    @Test
+    void testRejectsNull() {
+        assertThrows(IllegalArgumentException.class, () -> directory.add(null));
+        assertThrows(IllegalArgumentException.class, () -> directory.findByType(null));
+        assertFalse(directory.remove(null));
+    }
+}
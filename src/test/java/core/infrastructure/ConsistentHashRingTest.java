@@ -0,0 +1,97 @@
+package core.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    @Test
+    void testEmptyRingHasNoOwner() {
+        ConsistentHashRing ring = new ConsistentHashRing();
+
+        assertThrows(IllegalStateException.class, () -> ring.nodeFor("club-1"));
+    }
+
+    @Test
+    void testLookupIsStable() {
+        ConsistentHashRing ring = new ConsistentHashRing();
+        ring.addNode("a");
+        ring.addNode("b");
+        ring.addNode("c");
+
+        String owner = ring.nodeFor("club-42");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(owner, ring.nodeFor("club-42"));
+        }
+        assertFalse(ring.addNode("a"));
+        assertEquals(3, ring.getNodes().size());
+    }
+
+    @Test
+    void testKeysSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing();
+        for (int n = 0; n < 4; n++) {
+            ring.addNode("node-" + n);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            counts.merge(ring.nodeFor("club-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > 3_500 && count < 6_500, "Нерівномірний розподіл: " + counts);
+        }
+        double shares = ring.getOwnership().values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(1.0, shares, 1e-9);
+    }
+
+    @Test
+    void testAddingNodeMovesOnlyItsKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing();
+        ring.addNode("a");
+        ring.addNode("b");
+        ring.addNode("c");
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            before.put("club-" + i, ring.nodeFor("club-" + i));
+        }
+
+        ring.addNode("d");
+
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = ring.nodeFor(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "Переміщено " + moved);
+    }
+
+    @Test
+    void testRemovingNodeReturnsKeysToOthers() {
+        ConsistentHashRing ring = new ConsistentHashRing(16);
+        ring.addNode("a");
+        ring.addNode("b");
+
+        assertTrue(ring.removeNode("b"));
+        assertFalse(ring.removeNode("b"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("a", ring.nodeFor("club-" + i));
+        }
+        assertEquals(1.0, ring.getOwnership().get("a"), 1e-9);
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing().addNode(" "));
+    }
+}
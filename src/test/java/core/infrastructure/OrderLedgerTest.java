@@ -0,0 +1,177 @@
+package core.infrastructure;
+
+import core.domain.client.Client;
+import core.domain.shop.DiscountStrategy;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLedgerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 31);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private ProductFactory factory;
+    private Product protein;
+    private Product shirt;
+    private Client alice;
+    private Client bob;
+
+    @BeforeEach
+    void setUp() {
+        factory = new ProductFactory();
+        protein = factory.createProduct("SUPPLEMENT", "Протеїн", 1000, "Шоколад");
+        shirt = factory.createProduct("CLOSE", "Футболка", 500, "M", "Чорна");
+        alice = new Client("Аліса Коваль", "+380501111111");
+        bob = new Client("Богдан Мельник", "+380502222222");
+    }
+
+    @Test
+    void testProductSalesOverPeriod() {
+        OrderLedger ledger = new OrderLedger(CLOCK);
+        ledger.append(order(alice, TODAY.minusDays(40), new OrderItem(protein, 5)));
+        ledger.append(order(alice, TODAY.minusDays(29), new OrderItem(protein, 2), new OrderItem(shirt, 1)));
+        ledger.append(order(bob, TODAY, new OrderItem(protein, 1)));
+
+        OrderLedger.ProductSales lastMonth = ledger.getProductSalesLastDays(protein, 30);
+        assertEquals(3, lastMonth.quantity());
+        assertEquals(300000, lastMonth.revenueMinor());
+        assertEquals(2, lastMonth.orders());
+
+        OrderLedger.ProductSales all = ledger.getProductSales(protein.getNumericId(), LocalDate.MIN, LocalDate.MAX);
+        assertEquals(8, all.quantity());
+        assertEquals(new OrderLedger.ProductSales(0, 0, 0),
+                ledger.getProductSales(factory.createProduct("SUPPLEMENT", "Креатин", 1, "Без смаку").getNumericId(),
+                        LocalDate.MIN, LocalDate.MAX));
+    }
+
+    @Test
+    void testLineRevenueIncludesDiscounts() {
+        OrderLedger ledger = new OrderLedger(CLOCK);
+        shirt.setDiscountStrategy(DiscountStrategy.percentageDiscount(10));
+        Order order = order(alice, TODAY, new OrderItem(shirt, 2), new OrderItem(protein, 1));
+        ledger.append(order);
+
+        OrderLedger.OrderRecord stored = ledger.getClientOrders(alice).get(0);
+        assertEquals(order.getTotalPriceMinor(), stored.totalPriceMinor());
+        assertEquals(order.getTotalPriceMinor(),
+                stored.lines().stream().mapToLong(OrderLedger.OrderLine::totalPriceMinor).sum());
+        assertEquals(90000, ledger.getProductSalesLastDays(shirt, 1).revenueMinor());
+    }
+
+    @Test
+    void testClientOrdersAreChronologicalAndIsolated() {
+        OrderLedger ledger = new OrderLedger(CLOCK);
+        Order second = order(alice, TODAY, new OrderItem(shirt, 1));
+        Order first = order(alice, TODAY.minusDays(3), new OrderItem(protein, 2));
+        ledger.append(second);
+        ledger.append(order(bob, TODAY, new OrderItem(protein, 1)));
+        ledger.append(first);
+
+        List<OrderLedger.OrderRecord> orders = ledger.getClientOrders(alice);
+        assertEquals(2, orders.size());
+        assertEquals(first.getNumericId(), orders.get(0).orderId());
+        assertEquals(second.getNumericId(), orders.get(1).orderId());
+        assertEquals(first.getOrderDate(), orders.get(0).placedAt());
+        assertEquals(List.of(new OrderLedger.OrderLine(protein.getNumericId(), 2, 200000)), orders.get(0).lines());
+
+        assertEquals(1, ledger.getClientOrders(alice.getNumericId(), TODAY, TODAY).size());
+        assertEquals(1, ledger.getClientOrders(bob).size());
+        assertTrue(ledger.getClientOrders(new Client("Нова Клієнтка", "+380503333333")).isEmpty());
+    }
+
+    @Test
+    void testRetentionDropsWholePartitions() {
+        OrderLedger ledger = new OrderLedger(CLOCK);
+        for (int day = 0; day < 10; day++) {
+            ledger.append(order(alice, TODAY.minusDays(day), new OrderItem(protein, 1)));
+            ledger.append(order(bob, TODAY.minusDays(day), new OrderItem(protein, 1)));
+        }
+        assertEquals(10, ledger.getPartitionCount());
+        assertEquals(20, ledger.size());
+
+        assertEquals(3, ledger.retainLastDays(7));
+
+        assertEquals(7, ledger.getPartitionCount());
+        assertEquals(14, ledger.size());
+        assertEquals(7, ledger.getClientOrders(alice).size());
+        assertEquals(14, ledger.getProductSales(protein.getNumericId(), LocalDate.MIN, LocalDate.MAX).quantity());
+        assertEquals(0, ledger.dropPartitionsBefore(TODAY.minusDays(6)));
+    }
+
+    @Test
+    void testPersistedLedgerIsReloaded(@TempDir Path directory) throws IOException {
+        Order kept;
+        try (OrderLedger ledger = new OrderLedger(directory, CLOCK)) {
+            ledger.append(order(alice, TODAY.minusDays(100), new OrderItem(protein, 4)));
+            kept = order(alice, TODAY, new OrderItem(protein, 1), new OrderItem(shirt, 3));
+            ledger.append(kept);
+            assertEquals(1, ledger.dropPartitionsBefore(TODAY.minusDays(30)));
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        // simulate a write interrupted in the middle of a record
+        Path file = directory.resolve("orders-" + TODAY + ".bin");
+        Files.write(file, new byte[]{0, 0, 0, 60, 1, 2}, StandardOpenOption.APPEND);
+
+        try (OrderLedger reloaded = new OrderLedger(directory, CLOCK)) {
+            assertEquals(1, reloaded.size());
+            OrderLedger.OrderRecord record = reloaded.getClientOrders(alice.getNumericId(), LocalDate.MIN, LocalDate.MAX).get(0);
+            assertEquals(kept.getNumericId(), record.orderId());
+            assertEquals(kept.getTotalPriceMinor(), record.totalPriceMinor());
+            assertEquals(3, reloaded.getProductSales(shirt.getNumericId(), TODAY, TODAY).quantity());
+
+            reloaded.append(order(bob, TODAY, new OrderItem(shirt, 1)));
+        }
+        try (OrderLedger reloaded = new OrderLedger(directory, CLOCK)) {
+            assertEquals(2, reloaded.size());
+            assertEquals(4, reloaded.getProductSales(shirt.getNumericId(), TODAY, TODAY).quantity());
+        }
+    }
+
+    @Test
+    void testTornRecordIsCutBeforeNextAppend(@TempDir Path directory) throws IOException {
+        try (OrderLedger ledger = new OrderLedger(directory, CLOCK)) {
+            ledger.append(order(alice, TODAY, new OrderItem(protein, 1)));
+            // simulate a write that failed in the middle of a record
+            Files.write(directory.resolve("orders-" + TODAY + ".bin"), new byte[]{0, 0, 0, 60, 1, 2},
+                    StandardOpenOption.APPEND);
+            ledger.append(order(bob, TODAY, new OrderItem(shirt, 2)));
+        }
+
+        try (OrderLedger reloaded = new OrderLedger(directory, CLOCK)) {
+            assertEquals(2, reloaded.size());
+            assertEquals(2, reloaded.getProductSales(shirt.getNumericId(), TODAY, TODAY).quantity());
+        }
+    }
+
+    @Test
+    void testValidation() {
+        OrderLedger ledger = new OrderLedger(CLOCK);
+        assertThrows(IllegalArgumentException.class, () -> ledger.append(null));
+        assertThrows(IllegalArgumentException.class, () -> ledger.getProductSalesLastDays(protein, 0));
+        assertThrows(IllegalArgumentException.class, () -> ledger.retainLastDays(0));
+    }
+
+    private static Order order(Client client, LocalDate day, OrderItem... items) {
+        return new Order(client, List.of(items), LocalDateTime.of(day, LocalTime.of(10, 30)));
+    }
+}
@@ -0,0 +1,321 @@
+package core.infrastructure;
+
+import core.domain.client.Client;
+import core.domain.client.Membership;
+import core.domain.client.MembershipType;
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.domain.staff.Administrator;
+import core.domain.staff.Trainer;
+import core.exceptions.BookingException;
+import core.exceptions.FitnessClubException;
+import core.exceptions.MembershipAccessException;
+import core.exceptions.ProductOutOfStockException;
+import core.exceptions.ShardUnavailableException;
+import core.services.MembershipService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+    private LoopbackTransport transport;
+    private FailingTransport failing;
+    private ShardRouter router;
+    private Map<String, ShardNode> nodes;
+    private List<FitnessClub> clubs;
+
+    @BeforeEach
+    void setUp() throws FitnessClubException {
+        transport = new LoopbackTransport();
+        failing = new FailingTransport(transport);
+        router = new ShardRouter(failing);
+        nodes = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            startNode("node-" + i);
+        }
+        clubs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            FitnessClub club = new FitnessClub("м. Київ, вул. Спортивна, " + i);
+            clubs.add(club);
+            router.registerClub(club);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    @Test
+    void testClubsArePlacedOnTheirOwners() {
+        int total = 0;
+        for (ShardNode node : nodes.values()) {
+            total += node.getClubCount();
+            for (String clubId : node.getClubIds()) {
+                assertEquals(node.getId(), router.ownerOf(clubId));
+            }
+        }
+        assertEquals(clubs.size(), total);
+    }
+
+    @Test
+    void testBookingRunsOnOwningNode() throws FitnessClubException {
+        FitnessClub club = clubs.get(0);
+        GroupClass groupClass = scheduleClass(club);
+        Client client = clientWith(MembershipType.SINGLE_CLUB, club.getId());
+
+        router.bookClass(client, club.getId(), groupClass.getId());
+        router.bookClass(client, club.getId(), groupClass.getId());
+
+        assertEquals(1, groupClass.getCurrentSize());
+        assertEquals(1, client.getMembership().getUsedVisits());
+
+        router.cancelBooking(client, club.getId(), groupClass.getId());
+        assertEquals(0, groupClass.getCurrentSize());
+        assertEquals(0, client.getMembership().getUsedVisits());
+    }
+
+    @Test
+    void testNetworkWideMembershipWorksOnEveryShard() throws FitnessClubException {
+        Client client = clientWith(MembershipType.NETWORK_WIDE, null);
+        Client local = clientWith(MembershipType.SINGLE_CLUB, clubs.get(0).getId());
+
+        for (FitnessClub club : clubs) {
+            GroupClass groupClass = scheduleClass(club);
+            router.bookClass(client, club.getId(), groupClass.getId());
+            assertTrue(groupClass.hasParticipant(client));
+            if (club != clubs.get(0)) {
+                assertThrows(MembershipAccessException.class,
+                        () -> router.bookClass(local, club.getId(), groupClass.getId()));
+            }
+        }
+    }
+
+    @Test
+    void testUnknownClassIsRejected() {
+        Client client = clientWith(MembershipType.NETWORK_WIDE, null);
+
+        assertThrows(BookingException.class, () -> router.bookClass(client, clubs.get(0).getId(), "missing"));
+    }
+
+    @Test
+    void testInventoryCallsReachOwningNode() throws FitnessClubException {
+        Product product = new ProductFactory().createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        FitnessClub club = clubs.get(5);
+
+        router.addProduct(club.getId(), product, 10);
+        router.removeProduct(club.getId(), product, 4);
+
+        assertEquals(6, router.getStockLevel(club.getId(), product));
+        assertEquals(6, club.getInventory().getStockLevel(product));
+        assertEquals(0, router.getStockLevel(clubs.get(6).getId(), product));
+        assertThrows(ProductOutOfStockException.class, () -> router.removeProduct(club.getId(), product, 7));
+    }
+
+    @Test
+    void testAddingNodeMovesClubsWithTheirState() throws FitnessClubException {
+        Product product = new ProductFactory().createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        for (FitnessClub club : clubs) {
+            router.addProduct(club.getId(), product, 3);
+        }
+
+        startNode("node-3");
+
+        int total = 0;
+        for (ShardNode node : nodes.values()) {
+            total += node.getClubCount();
+            for (String clubId : node.getClubIds()) {
+                assertEquals(node.getId(), router.ownerOf(clubId));
+            }
+        }
+        assertEquals(clubs.size(), total);
+        assertTrue(nodes.get("node-3").getClubCount() > 0);
+        for (FitnessClub club : clubs) {
+            assertEquals(3, router.getStockLevel(club.getId(), product));
+        }
+    }
+
+    @Test
+    void testRemovingNodeHandsOverItsClubs() throws FitnessClubException {
+        assertTrue(router.removeNode("node-1"));
+        assertFalse(router.removeNode("node-1"));
+
+        assertEquals(0, nodes.get("node-1").getClubCount());
+        assertEquals(clubs.size(), nodes.get("node-0").getClubCount() + nodes.get("node-2").getClubCount());
+        for (FitnessClub club : clubs) {
+            assertNotEquals("node-1", router.ownerOf(club.getId()));
+        }
+    }
+
+    @Test
+    void testUnreachableNodeIsReported() {
+        FitnessClub club = clubs.stream()
+                .filter(c -> router.ownerOf(c.getId()).equals("node-2"))
+                .findFirst().orElseThrow();
+        transport.unregister("node-2");
+
+        assertThrows(ShardUnavailableException.class, () -> router.getStockLevel(club.getId(), null));
+        assertThrows(ShardUnavailableException.class, () -> router.addNode("node-9"));
+    }
+
+    @Test
+    void testTargetGoingDownWhileAddingNodeLosesNoClubs() throws FitnessClubException {
+        Product product = new ProductFactory().createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        for (FitnessClub club : clubs) {
+            router.addProduct(club.getId(), product, 3);
+        }
+        String nodeId = nodeTakingFromTwoOwners();
+        ShardNode node = new ShardNode(nodeId);
+        transport.register(node);
+        // the node answers the ping and accepts the first batch, then goes down
+        failing.dropAfter(nodeId, 2);
+
+        assertThrows(ShardUnavailableException.class, () -> router.addNode(nodeId));
+
+        assertFalse(router.getNodes().contains(nodeId));
+        int total = 0;
+        for (ShardNode existing : nodes.values()) {
+            total += existing.getClubCount();
+        }
+        assertEquals(clubs.size(), total);
+        for (FitnessClub club : clubs) {
+            assertEquals(3, router.getStockLevel(club.getId(), product));
+        }
+    }
+
+    @Test
+    void testTargetGoingDownWhileRemovingNodeLosesNoClubs() throws FitnessClubException {
+        List<String> owned = nodes.get("node-1").getClubIds();
+        transport.unregister("node-0");
+
+        assertThrows(ShardUnavailableException.class, () -> router.removeNode("node-1"));
+
+        assertTrue(router.getNodes().contains("node-1"));
+        assertEquals(owned.size(), nodes.get("node-1").getClubCount());
+        for (String clubId : owned) {
+            assertEquals("node-1", router.ownerOf(clubId));
+            assertEquals(0, router.getStockLevel(clubId, null));
+        }
+        for (String clubId : nodes.get("node-2").getClubIds()) {
+            assertEquals("node-2", router.ownerOf(clubId));
+        }
+    }
+
+    @Test
+    void testConcurrentBookingsOnManyShards() throws Exception {
+        Client client = clientWith(MembershipType.NETWORK_WIDE, null);
+        List<GroupClass> classes = new ArrayList<>();
+        for (FitnessClub club : clubs) {
+            classes.add(scheduleClass(club));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int index = i % clubs.size();
+                results.add(pool.submit(() -> {
+                    router.bookClass(client, clubs.get(index).getId(), classes.get(index).getId());
+                    return null;
+                }));
+            }
+            for (Future<Object> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (GroupClass groupClass : classes) {
+            assertEquals(1, groupClass.getCurrentSize());
+        }
+        assertEquals(clubs.size(), client.getMembership().getUsedVisits());
+    }
+
+    private String nodeTakingFromTwoOwners() {
+        for (int i = 3; ; i++) {
+            String candidate = "node-" + i;
+            ConsistentHashRing ring = new ConsistentHashRing();
+            for (String existing : nodes.keySet()) {
+                ring.addNode(existing);
+            }
+            ring.addNode(candidate);
+            long sources = clubs.stream()
+                    .filter(club -> ring.nodeFor(club.getId()).equals(candidate))
+                    .map(club -> router.ownerOf(club.getId()))
+                    .distinct()
+                    .count();
+            if (sources >= 2) {
+                return candidate;
+            }
+        }
+    }
+
+    private void startNode(String nodeId) throws FitnessClubException {
+        ShardNode node = new ShardNode(nodeId);
+        nodes.put(nodeId, node);
+        transport.register(node);
+        router.addNode(nodeId);
+    }
+
+    private GroupClass scheduleClass(FitnessClub club) {
+        Trainer trainer = new Trainer("Анна Шевченко", 25000, "Йога");
+        Studio studio = new Studio("Зал для йоги", 20, true);
+        GroupClass groupClass = new GroupClass("Вечірня йога", trainer, studio,
+                LocalDateTime.now().plusDays(1).withHour(18).withMinute(0), 60);
+        club.getSchedule().addClass(groupClass);
+        return groupClass;
+    }
+
+    private Client clientWith(MembershipType type, String clubId) {
+        Client client = new Client("Олена Ковальчук", "+380991234567");
+        Membership.Builder builder = new Membership.Builder(type, LocalDate.now(), 500).withDurationInDays(30);
+        if (clubId != null) {
+            builder.forClub(clubId);
+        }
+        new MembershipService().assignMembership(client, builder.build(),
+                new Administrator("Петро Іваненко", 30000));
+        return client;
+    }
+
+    /**
+     * Passes calls to the loopback transport and takes a node down after a number of calls to it.
+     */
+    private static final class FailingTransport implements ShardTransport {
+        private final LoopbackTransport delegate;
+        private String nodeId;
+        private int remainingCalls;
+
+        private FailingTransport(LoopbackTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        void dropAfter(String nodeId, int calls) {
+            this.nodeId = nodeId;
+            this.remainingCalls = calls;
+        }
+
+        @Override
+        public <T> T call(String target, ShardRequest<T> request) throws FitnessClubException {
+            T result = delegate.call(target, request);
+            if (target.equals(nodeId) && --remainingCalls == 0) {
+                delegate.unregister(nodeId);
+            }
+            return result;
+        }
+    }
+}
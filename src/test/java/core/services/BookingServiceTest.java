@@ -88,6 +88,18 @@ class BookingServiceTest {
         assertEquals(1, groupClass.getCurrentSize());
     }
 
+    @Test
+    void testRebookingChecksAccessFirst() throws BookingException, MembershipAccessException {
+        membershipService.assignMembership(client, new Membership.Builder(MembershipType.SINGLE_CLUB,
+                LocalDate.now(), 500).forClub(club.getId()).build(), admin);
+        bookingService.bookClass(client, groupClass, club);
+
+        membershipService.assignMembership(client, new Membership.Builder(MembershipType.SINGLE_CLUB,
+                LocalDate.now().minusDays(60), 500).withDurationInDays(30).forClub(club.getId()).build(), admin);
+
+        assertThrows(MembershipAccessException.class, () -> bookingService.bookClass(client, groupClass, club));
+    }
+
     @Test
     void testCancelBooking() throws BookingException {
         groupClass.addParticipant(client);
@@ -103,5 +115,21 @@ class BookingServiceTest {
         bookingService.cancelBooking(client, groupClass);
         assertEquals(0, groupClass.getCurrentSize());
     }
-}
 
+    @Test
+    void testBookClassUsesVisitAndCancelReturnsIt() throws BookingException, MembershipAccessException {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .forClub(club.getId())
+                .withVisitQuota(1)
+                .build();
+        membershipService.assignMembership(client, membership, admin);
+
+        bookingService.bookClass(client, groupClass, club);
+        bookingService.bookClass(client, groupClass, club);
+        assertEquals(1, membership.getUsedVisits());
+
+        bookingService.cancelBooking(client, groupClass, club);
+        assertEquals(0, membership.getUsedVisits());
+        assertEquals(0, groupClass.getCurrentSize());
+    }
+}
@@ -0,0 +1,245 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.client.MembershipType;
+import core.domain.shop.Campaign;
+import core.domain.shop.CampaignTarget;
+import core.domain.shop.DiscountRules;
+import core.domain.shop.DiscountStrategy;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.domain.shop.ProductAttribute;
+import core.domain.shop.ProductFactory;
+import core.domain.shop.ProductType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampaignServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private MutableClock clock;
+    private CampaignService campaignService;
+    private Product tshirt;
+    private Product vanillaProtein;
+    private Product chocolateProtein;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        campaignService = new CampaignService(clock);
+        ProductFactory factory = new ProductFactory();
+        tshirt = factory.createProduct("CLOSE", "Футболка", 500, "M", "Blue");
+        vanillaProtein = factory.createProduct("SUPPLEMENT", "Протеїн", 1000, "Ваніль");
+        chocolateProtein = factory.createProduct("SUPPLEMENT", "Протеїн", 1000, "Шоколад");
+    }
+
+    @Test
+    void testTypeCampaignAppliesToAllProductsOfType() {
+        campaignService.addCampaign(new Campaign.Builder("Весна", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.SUPPLEMENT))
+                .build());
+
+        assertEquals(90_000, campaignService.getPriceMinor(vanillaProtein));
+        assertEquals(90_000, campaignService.getPriceMinor(chocolateProtein));
+        assertEquals(50_000, campaignService.getPriceMinor(tshirt));
+        assertEquals(100_000, vanillaProtein.getPriceMinor()); // products are not modified
+    }
+
+    @Test
+    void testAttributeCampaignMatchesIgnoringCase() {
+        campaignService.addCampaign(new Campaign.Builder("Ваніль", DiscountStrategy.fixedDiscount(100))
+                .target(CampaignTarget.forAttribute(ProductAttribute.FLAVOR, "ваніль"))
+                .build());
+        campaignService.addCampaign(new Campaign.Builder("Сині футболки", DiscountStrategy.fixedDiscount(50))
+                .target(CampaignTarget.forAttribute(ProductAttribute.COLOR, "blue"))
+                .build());
+
+        assertEquals(900.0, campaignService.getPrice(vanillaProtein), 0.001);
+        assertEquals(1000.0, campaignService.getPrice(chocolateProtein), 0.001);
+        assertEquals(450.0, campaignService.getPrice(tshirt), 0.001);
+    }
+
+    @Test
+    void testProductIdCampaign() {
+        campaignService.addCampaign(new Campaign.Builder("Вибрані", DiscountStrategy.percentageDiscount(50))
+                .target(CampaignTarget.forProducts(Set.of(chocolateProtein.getId())))
+                .build());
+
+        assertEquals(50_000, campaignService.getPriceMinor(chocolateProtein));
+        assertEquals(100_000, campaignService.getPriceMinor(vanillaProtein));
+    }
+
+    @Test
+    void testWinnerByPriorityThenSpecificity() {
+        Campaign typeWide = new Campaign.Builder("Всі добавки", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.SUPPLEMENT))
+                .build();
+        Campaign flavor = new Campaign.Builder("Ваніль", DiscountStrategy.percentageDiscount(20))
+                .target(CampaignTarget.forAttribute(ProductAttribute.FLAVOR, "Ваніль"))
+                .build();
+        campaignService.addCampaign(typeWide);
+        campaignService.addCampaign(flavor);
+
+        assertSame(flavor, campaignService.getWinningCampaign(vanillaProtein).orElseThrow());
+        assertSame(typeWide, campaignService.getWinningCampaign(chocolateProtein).orElseThrow());
+
+        Campaign urgent = new Campaign.Builder("Розпродаж", DiscountStrategy.percentageDiscount(5))
+                .target(CampaignTarget.forType(ProductType.SUPPLEMENT))
+                .withPriority(10)
+                .build();
+        campaignService.addCampaign(urgent);
+
+        assertSame(urgent, campaignService.getWinningCampaign(vanillaProtein).orElseThrow());
+        assertTrue(campaignService.getWinningCampaign(tshirt).isEmpty());
+    }
+
+    @Test
+    void testCampaignActivatesAndEndsOnSchedule() {
+        campaignService.addCampaign(new Campaign.Builder("Вихідні", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.CLOTHES))
+                .between(NOW.plusDays(1), NOW.plusDays(3))
+                .build());
+
+        assertEquals(50_000, campaignService.getPriceMinor(tshirt));
+        assertTrue(campaignService.getActiveCampaigns().isEmpty());
+
+        clock.setTime(NOW.plusDays(1));
+        assertEquals(45_000, campaignService.getPriceMinor(tshirt));
+        assertEquals(1, campaignService.getActiveCampaigns().size());
+
+        clock.setTime(NOW.plusDays(3));
+        assertEquals(50_000, campaignService.getPriceMinor(tshirt));
+    }
+
+    @Test
+    void testRemoveCampaignEndsItImmediately() {
+        Campaign campaign = new Campaign.Builder("Весна", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.CLOTHES))
+                .build();
+        campaignService.addCampaign(campaign);
+
+        assertTrue(campaignService.removeCampaign(campaign.getId()));
+        assertFalse(campaignService.removeCampaign(campaign.getId()));
+        assertEquals(50_000, campaignService.getPriceMinor(tshirt));
+    }
+
+    @Test
+    void testCampaignStacksOnProductPricePlan() {
+        tshirt.addDiscountRule(DiscountRules.memberTier(MembershipType.NETWORK_WIDE, 20)); // 500 -> 400
+        campaignService.addCampaign(new Campaign.Builder("Весна", DiscountStrategy.fixedDiscount(100))
+                .target(CampaignTarget.forType(ProductType.CLOTHES))
+                .build());
+
+        assertEquals(40_000, campaignService.getPriceMinor(tshirt));
+        assertEquals(30_000, campaignService.getPriceMinor(tshirt, MembershipType.NETWORK_WIDE));
+    }
+
+    @Test
+    void testOrderChargesCampaignPrice() {
+        campaignService.addCampaign(new Campaign.Builder("Весна", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forType(ProductType.SUPPLEMENT))
+                .between(NOW, NOW.plusDays(1))
+                .build());
+        Client client = new Client("Іван Петренко", "+380991111111");
+        List<OrderItem> items = List.of(new OrderItem(vanillaProtein, 2), new OrderItem(tshirt, 1));
+
+        Order order = campaignService.createOrder(client, items);
+
+        assertEquals(180_000, order.getItemTotalPriceMinor(0));
+        assertEquals(50_000, order.getItemTotalPriceMinor(1));
+        assertEquals(230_000, order.getTotalPriceMinor());
+        assertEquals(250_000, order.getOriginalTotalPriceMinor());
+        assertEquals(20_000, order.getTotalDiscountAmountMinor());
+        assertEquals(250_000, new Order(client, items).getTotalPriceMinor());
+
+        // the order keeps its price after the campaign ends
+        clock.setTime(NOW.plusDays(2));
+        assertEquals(230_000, order.getTotalPriceMinor());
+        assertEquals(250_000, campaignService.createOrder(client, items).getTotalPriceMinor());
+    }
+
+    @Test
+    void testOrderKeepsBundleUnitsFreeUnderCampaign() {
+        tshirt.addDiscountRule(DiscountRules.buyXGetY(2, 1));
+        campaignService.addCampaign(new Campaign.Builder("Весна", DiscountStrategy.fixedDiscount(100))
+                .target(CampaignTarget.forType(ProductType.CLOTHES))
+                .build());
+
+        Order order = campaignService.createOrder(new Client("Іван Петренко", "+380991111111"),
+                List.of(new OrderItem(tshirt, 3)));
+
+        assertEquals(80_000, order.getTotalPriceMinor());
+    }
+
+    @Test
+    void testInvalidCampaignsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> campaignService.addCampaign(null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new Campaign.Builder("Без цілі", DiscountStrategy.percentageDiscount(10)).build());
+        assertThrows(IllegalArgumentException.class, () ->
+                new Campaign.Builder("Навпаки", DiscountStrategy.percentageDiscount(10))
+                        .target(CampaignTarget.forType(ProductType.CLOTHES))
+                        .between(NOW, NOW.minusDays(1))
+                        .build());
+        assertThrows(IllegalArgumentException.class, () -> CampaignTarget.forAttribute(ProductAttribute.SIZE, " "));
+    }
+
+    @Test
+    void testActivationOverLargeCatalogDoesNotTouchProducts() {
+        ProductFactory factory = new ProductFactory();
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            catalog.add(factory.createProduct("SUPPLEMENT", "Протеїн " + i, 1000, i % 2 == 0 ? "Ваніль" : "Шоколад"));
+        }
+
+        long start = System.nanoTime();
+        campaignService.addCampaign(new Campaign.Builder("Ваніль", DiscountStrategy.percentageDiscount(10))
+                .target(CampaignTarget.forAttribute(ProductAttribute.FLAVOR, "Ваніль"))
+                .build());
+        long activationNanos = System.nanoTime() - start;
+
+        long discounted = catalog.stream().filter(p -> campaignService.getPriceMinor(p) == 90_000).count();
+        assertEquals(50_000, discounted);
+        assertTrue(catalog.stream().allMatch(p -> p.getPriceMinor() == 100_000));
+        assertTrue(activationNanos < 1_000_000_000L, "activation took " + activationNanos + " ns");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDateTime time) {
+            setTime(time);
+        }
+
+        void setTime(LocalDateTime time) {
+            this.instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.Cleaner;
+import core.domain.staff.Trainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CleaningSchedulerTest {
+    private CleaningScheduler scheduler;
+    private FitnessClub club;
+    private Trainer trainer;
+    private Studio yoga;
+    private Studio pool;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new CleaningScheduler(Duration.ofMinutes(15));
+        club = new FitnessClub("м. Київ, пр. Оболонський, 1");
+        trainer = new Trainer("Анна Шевченко", 25000, "Йога");
+        yoga = new Studio("Зал для йоги", 20, true);
+        pool = new Studio("Басейн", 30, true);
+        club.addStudio(yoga);
+        club.addStudio(pool);
+        day = LocalDate.now().plusDays(7);
+    }
+
+    @Test
+    void testPlansSlotAfterEveryClass() {
+        club.addStaff(new Cleaner("Марія Сидоренко", 15000, List.of("Зал для йоги")));
+        GroupClass morning = addClass(yoga, day.atTime(9, 0));
+        GroupClass noon = addClass(yoga, day.atTime(12, 0));
+
+        CleaningScheduler.CleaningPlan plan = scheduler.plan(club, day, day);
+
+        assertTrue(plan.isComplete());
+        assertEquals(2, plan.assigned().size());
+        CleaningScheduler.CleaningTask first = plan.assigned().get(0);
+        assertSame(morning, first.afterClass());
+        assertEquals(day.atTime(10, 0), first.start());
+        assertEquals(day.atTime(10, 15), first.end());
+        assertSame(noon, plan.assigned().get(1).afterClass());
+    }
+
+    @Test
+    void testShortGapIsNotPlanned() {
+        club.addStaff(new Cleaner("Марія Сидоренко", 15000, List.of("Зал для йоги")));
+        GroupClass first = addClass(yoga, day.atTime(9, 0));
+        addClass(yoga, day.atTime(10, 10));
+
+        CleaningScheduler.CleaningPlan plan = scheduler.plan(club, day, day);
+
+        assertEquals(1, plan.assigned().size());
+        assertEquals(1, plan.unassigned().size());
+        assertSame(first, plan.unassigned().get(0).afterClass());
+        assertNull(plan.unassigned().get(0).cleaner());
+    }
+
+    @Test
+    void testCleanersOnlyCleanTheirZones() {
+        Cleaner poolCleaner = new Cleaner("Марія Сидоренко", 15000, List.of("Басейн"));
+        club.addStaff(poolCleaner);
+        addClass(yoga, day.atTime(9, 0));
+        addClass(pool, day.atTime(9, 0));
+
+        CleaningScheduler.CleaningPlan plan = scheduler.plan(club, day, day);
+
+        assertEquals(1, plan.assigned().size());
+        assertSame(pool, plan.assigned().get(0).studio());
+        assertSame(poolCleaner, plan.assigned().get(0).cleaner());
+        assertSame(yoga, plan.unassigned().get(0).studio());
+    }
+
+    @Test
+    void testSimultaneousSlotsNeedDifferentCleaners() {
+        Cleaner first = new Cleaner("Марія Сидоренко", 15000, List.of("Зал для йоги", "Басейн"));
+        Cleaner second = new Cleaner("Ольга Бондар", 15000, List.of("Зал для йоги", "Басейн"));
+        club.addStaff(first);
+        club.addStaff(second);
+        addClass(yoga, day.atTime(9, 0));
+        addClass(pool, day.atTime(9, 0));
+        addClass(yoga, day.atTime(11, 0));
+        addClass(pool, day.atTime(11, 0));
+
+        CleaningScheduler.CleaningPlan plan = scheduler.plan(club, day, day);
+
+        assertTrue(plan.isComplete());
+        assertNotSame(plan.assigned().get(0).cleaner(), plan.assigned().get(1).cleaner());
+        assertNotSame(plan.assigned().get(2).cleaner(), plan.assigned().get(3).cleaner());
+    }
+
+    @Test
+    void testCancelledAndOutOfRangeClassesAreSkipped() {
+        club.addStaff(new Cleaner("Марія Сидоренко", 15000, List.of("Зал для йоги")));
+        addClass(yoga, day.atTime(9, 0)).cancel();
+        addClass(yoga, day.plusDays(1).atTime(9, 0));
+
+        CleaningScheduler.CleaningPlan plan = scheduler.plan(club, day, day);
+
+        assertTrue(plan.assigned().isEmpty());
+        assertTrue(plan.unassigned().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> scheduler.plan(club, day, day.minusDays(1)));
+    }
+
+    @Test
+    void testStudioIsDirtyUntilTaskIsPerformed() {
+        club.addStaff(new Cleaner("Марія Сидоренко", 15000, List.of("Зал для йоги")));
+        GroupClass groupClass = addClass(yoga, day.atTime(9, 0));
+        CleaningScheduler.CleaningTask task = scheduler.plan(club, day, day).assigned().get(0);
+
+        scheduler.classFinished(groupClass);
+        assertFalse(yoga.isClean());
+
+        assertTrue(scheduler.perform(task));
+        assertTrue(yoga.isClean());
+    }
+
+    private GroupClass addClass(Studio studio, LocalDateTime start) {
+        GroupClass groupClass = new GroupClass("Заняття", trainer, studio, start, 60);
+        assertTrue(club.getSchedule().addClass(groupClass));
+        return groupClass;
+    }
+}
@@ -0,0 +1,287 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.Trainer;
+import core.event.Event;
+import core.exceptions.BookingException;
+import core.services.DemandForecastService.Action;
+import core.services.DemandForecastService.DemandKey;
+import core.services.DemandForecastService.DemandProfile;
+import core.services.DemandForecastService.Forecast;
+import core.services.DemandForecastService.Recommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DemandForecastServiceTest {
+    private MutableClock clock;
+    private DemandForecastService service;
+    private Trainer trainer;
+    private Studio small;
+    private Studio large;
+    private LocalDateTime firstClass;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        firstClass = monday.atTime(18, 0);
+        clock = new MutableClock(monday.minusWeeks(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        service = new DemandForecastService(clock);
+        trainer = new Trainer("Анна Шевченко", 25000, "Йога");
+        small = new Studio("Малий зал", 10, true);
+        large = new Studio("Великий зал", 30, true);
+    }
+
+    @Test
+    void testLearnsMeanDemandAndBookingCurve() {
+        for (int week = 0; week < 4; week++) {
+            recordHistory(new GroupClass("Йога", trainer, small, firstClass.plusWeeks(week), 60));
+        }
+        assertEquals(0, service.train());
+        assertTrue(service.getProfile(new DemandKey("Йога", DayOfWeek.MONDAY, 18)).isEmpty());
+
+        clock.set(firstClass.plusWeeks(4));
+        assertEquals(4, service.train());
+
+        DemandProfile profile = service.getProfile(new DemandKey("Йога", DayOfWeek.MONDAY, 18)).orElseThrow();
+        assertEquals(4, profile.classes());
+        assertEquals(10.0, profile.meanDemand(), 1e-9);
+        assertArrayEquals(new double[]{0.4, 0.4, 0.8, 0.8, 1.0}, profile.curve(), 1e-9);
+        assertTrue(service.getProfile(new DemandKey("Йога", DayOfWeek.MONDAY, 9)).isEmpty());
+    }
+
+    @Test
+    void testForecastAddsDemandStillToCome() {
+        learnYoga(small);
+        GroupClass next = new GroupClass("Йога", trainer, small, firstClass.plusWeeks(5), 60);
+        clock.set(next.getStartTime().minusHours(48));
+        for (int i = 0; i < 4; i++) {
+            service.record(next, Event.EventType.BOOKING_CONFIRMED, next.getStartTime().minusHours(200));
+        }
+        service.train();
+
+        Forecast forecast = service.forecast(next);
+
+        // 60% of demand usually arrives by 48 hours before the start
+        assertEquals(4, forecast.booked());
+        assertEquals(8.0, forecast.predictedDemand(), 1e-9);
+        assertEquals(10, forecast.capacity());
+    }
+
+    @Test
+    void testLiveEventsAreLearnedOnTraining() throws BookingException {
+        Studio tiny = new Studio("Кабінет", 2, true);
+        GroupClass groupClass = new GroupClass("Пілатес", trainer, tiny, firstClass, 60);
+        service.attach(groupClass);
+        groupClass.addParticipant(new Client("Клієнт 1", "+380991234561"));
+        groupClass.addParticipant(new Client("Клієнт 2", "+380991234562"));
+        assertThrows(BookingException.class,
+                () -> groupClass.addParticipant(new Client("Клієнт 3", "+380991234563")));
+
+        clock.set(firstClass.plusHours(1));
+        assertEquals(1, service.train());
+
+        DemandProfile profile = service.getProfile(DemandKey.of(groupClass)).orElseThrow();
+        assertEquals(3.0, profile.meanDemand(), 1e-9);
+    }
+
+    @Test
+    void testClassWithoutBookingsIsLearnedAsNoDemand() {
+        service.attach(new GroupClass("Бокс", trainer, small, firstClass, 60));
+        clock.set(firstClass.plusHours(1));
+        service.train();
+
+        DemandProfile profile = service.getProfile(new DemandKey("Бокс", DayOfWeek.MONDAY, 18)).orElseThrow();
+        assertEquals(1, profile.classes());
+        assertEquals(0.0, profile.meanDemand());
+    }
+
+    @Test
+    void testCancelledBookingIsTakenBack() throws BookingException {
+        GroupClass groupClass = new GroupClass("Пілатес", trainer, small, firstClass, 60);
+        Client client = new Client("Клієнт 1", "+380991234561");
+        service.attach(groupClass);
+        groupClass.addParticipant(client);
+        groupClass.addParticipant(new Client("Клієнт 2", "+380991234562"));
+        groupClass.removeParticipant(client);
+        groupClass.addParticipant(client);
+        groupClass.removeParticipant(client);
+        service.train();
+
+        assertEquals(1, service.forecast(groupClass).booked());
+
+        clock.set(firstClass.plusHours(1));
+        assertEquals(1, service.train());
+        assertEquals(1.0, service.getProfile(DemandKey.of(groupClass)).orElseThrow().meanDemand(), 1e-9);
+    }
+
+    @Test
+    void testReplayedCancellationLeavesTurnedAwayClients() {
+        GroupClass groupClass = new GroupClass("Йога", trainer, small, firstClass, 60);
+        service.record(groupClass, Event.EventType.BOOKING_CONFIRMED, firstClass.minusHours(200));
+        service.record(groupClass, Event.EventType.CLASS_FULL, firstClass.minusHours(2));
+        service.record(groupClass, Event.EventType.BOOKING_CANCELLED, firstClass.minusHours(1));
+        clock.set(firstClass.plusHours(1));
+        service.train();
+
+        DemandProfile profile = service.getProfile(DemandKey.of(groupClass)).orElseThrow();
+        assertEquals(1.0, profile.meanDemand(), 1e-9);
+        assertArrayEquals(new double[]{0, 0, 0, 0, 1.0}, profile.curve(), 1e-9);
+    }
+
+    @Test
+    void testCancelledClassesAreNotLearned() throws BookingException {
+        GroupClass cancelled = new GroupClass("Йога", trainer, small, firstClass, 60);
+        GroupClass held = new GroupClass("Йога", trainer, small, firstClass.plusWeeks(1), 60);
+        service.attach(cancelled);
+        service.attach(held);
+        for (int i = 0; i < 4; i++) {
+            held.addParticipant(new Client("Клієнт " + i, "+38099123456" + i));
+        }
+        cancelled.cancel();
+
+        clock.set(held.getStartTime().plusHours(1));
+        assertEquals(1, service.train());
+
+        DemandProfile profile = service.getProfile(DemandKey.of(held)).orElseThrow();
+        assertEquals(1, profile.classes());
+        assertEquals(4.0, profile.meanDemand(), 1e-9);
+    }
+
+    @Test
+    void testRecommendsLargerStudioThenExtraSessions() {
+        FitnessClub club = new FitnessClub("м. Київ, вул. Хрещатик, 1");
+        club.addStudio(small);
+        club.addStudio(large);
+        learnYoga(small, 20);
+        GroupClass next = new GroupClass("Йога", trainer, small, firstClass.plusWeeks(5), 60);
+        club.getSchedule().addClass(next);
+        clock.set(next.getStartTime().minusWeeks(1));
+        LocalDateTime from = next.getStartTime().minusDays(1);
+        LocalDateTime to = next.getStartTime().plusDays(1);
+
+        List<Recommendation> recommendations = service.recommend(club, from, to);
+        assertEquals(1, recommendations.size());
+        assertEquals(Action.MOVE_STUDIO, recommendations.get(0).action());
+        assertSame(large, recommendations.get(0).studio());
+
+        club.getSchedule().addClass(new GroupClass("Бокс", trainer, large, next.getStartTime(), 60));
+        recommendations = service.recommend(club, from, to);
+        Recommendation extra = recommendations.stream()
+                .filter(r -> r.forecast().groupClass() == next).findFirst().orElseThrow();
+        assertEquals(Action.ADD_SESSIONS, extra.action());
+        assertEquals(1, extra.extraSessions());
+    }
+
+    @Test
+    void testRecommendsSmallerStudioForLowDemand() {
+        FitnessClub club = new FitnessClub("м. Київ, вул. Хрещатик, 1");
+        club.addStudio(small);
+        club.addStudio(large);
+        learnYoga(large, 5);
+        GroupClass next = new GroupClass("Йога", trainer, large, firstClass.plusWeeks(5), 60);
+        club.getSchedule().addClass(next);
+        clock.set(next.getStartTime().minusWeeks(1));
+
+        List<Recommendation> recommendations = service.recommend(club, next.getStartTime().minusDays(1),
+                next.getStartTime().plusDays(1));
+
+        assertEquals(1, recommendations.size());
+        assertEquals(Action.MOVE_STUDIO, recommendations.get(0).action());
+        assertSame(small, recommendations.get(0).studio());
+    }
+
+    @Test
+    void testBackgroundTrainingCanBeStartedOnce() {
+        service.start(Duration.ofMinutes(1));
+        try {
+            assertThrows(IllegalStateException.class, () -> service.start(Duration.ofMinutes(1)));
+        } finally {
+            service.stop();
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.start(Duration.ZERO));
+    }
+
+    @Test
+    void testRejectsUnsupportedEvents() {
+        GroupClass groupClass = new GroupClass("Йога", trainer, small, firstClass, 60);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.record(groupClass, Event.EventType.CLASS_CANCELLED, firstClass));
+        assertThrows(IllegalArgumentException.class, () -> service.record(groupClass, null, firstClass));
+        assertThrows(IllegalArgumentException.class, () -> service.forecast(null));
+    }
+
+    private void learnYoga(Studio studio) {
+        for (int week = 0; week < 4; week++) {
+            recordHistory(new GroupClass("Йога", trainer, studio, firstClass.plusWeeks(week), 60));
+        }
+        clock.set(firstClass.plusWeeks(4));
+        service.train();
+    }
+
+    private void learnYoga(Studio studio, int demand) {
+        for (int week = 0; week < 4; week++) {
+            GroupClass groupClass = new GroupClass("Йога", trainer, studio, firstClass.plusWeeks(week), 60);
+            for (int i = 0; i < demand; i++) {
+                service.record(groupClass, Event.EventType.BOOKING_CONFIRMED, groupClass.getStartTime().minusDays(10));
+            }
+        }
+        clock.set(firstClass.plusWeeks(4));
+        service.train();
+    }
+
+    /**
+     * Four bookings a week ahead, four the day before and two clients turned away just before the start.
+     */
+    private void recordHistory(GroupClass groupClass) {
+        LocalDateTime start = groupClass.getStartTime();
+        for (int i = 0; i < 4; i++) {
+            service.record(groupClass, Event.EventType.BOOKING_CONFIRMED, start.minusHours(200));
+            service.record(groupClass, Event.EventType.BOOKING_CONFIRMED, start.minusHours(30));
+        }
+        service.record(groupClass, Event.EventType.CLASS_FULL, start.minusHours(2));
+        service.record(groupClass, Event.EventType.CLASS_FULL, start.minusHours(2));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.client.Membership;
+import core.domain.client.MembershipType;
+import core.domain.staff.Administrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembershipAnalyticsServiceTest {
+    private MembershipService membershipService;
+    private MembershipAnalyticsService analyticsService;
+    private Administrator admin;
+
+    @BeforeEach
+    void setUp() {
+        membershipService = new MembershipService();
+        analyticsService = new MembershipAnalyticsService(membershipService);
+        admin = new Administrator("Петро Іваненко", 30000);
+    }
+
+    private Membership singleClub(String clubId, LocalDate start, int days) {
+        return new Membership.Builder(MembershipType.SINGLE_CLUB, start, 500)
+                .withDurationInDays(days)
+                .forClub(clubId)
+                .build();
+    }
+
+    @Test
+    void testConstructorThrowsWhenMembershipServiceNull() {
+        assertThrows(IllegalArgumentException.class, () -> new MembershipAnalyticsService(null));
+    }
+
+    @Test
+    void testActiveMembersFollowAssignmentsAndFreezes() {
+        LocalDate today = LocalDate.now();
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Client client = new Client("Клієнт " + i, "+38099000000" + i);
+            membershipService.assignMembership(client, singleClub("club-1", today, 30), admin);
+            clients.add(client);
+        }
+        Client networkClient = new Client("Мережа", "+380990000009");
+        membershipService.assignMembership(networkClient,
+                new Membership.Builder(MembershipType.NETWORK_WIDE, today, 900).build(), admin);
+
+        assertEquals(3, analyticsService.getActiveMembers("club-1"));
+        assertEquals(1, analyticsService.getActiveMembers(MembershipType.NETWORK_WIDE));
+        assertEquals(4, analyticsService.getTotalActiveMembers());
+
+        membershipService.freezeMembership(clients.get(0), today, today.plusDays(3));
+        assertEquals(2, analyticsService.getActiveMembers("club-1"));
+
+        assertEquals(3, membershipService.freezeClubMemberships(clients, "club-1", today, today.plusDays(3)));
+        assertEquals(0, analyticsService.getActiveMembers("club-1"));
+        assertEquals(1, analyticsService.getTotalActiveMembers());
+    }
+
+    @Test
+    void testRenewalKeepsActiveCountConsistent() {
+        LocalDate today = LocalDate.now();
+        Client client = new Client("Олена Ковальчук", "+380991234567");
+        Membership current = singleClub("club-1", today, 30);
+        membershipService.assignMembership(client, current, admin);
+
+        MembershipRenewalService renewalService = new MembershipRenewalService(membershipService);
+        renewalService.upgradeExpiring(List.of(client), today.plusDays(60), MembershipType.NETWORK_WIDE, 90_000, admin);
+
+        // the member keeps counting in club-1 until the current membership ends
+        assertEquals(1, analyticsService.getActiveMembers("club-1"));
+        assertEquals(0, analyticsService.getActiveMembers(MembershipType.NETWORK_WIDE));
+        assertEquals(1, analyticsService.getTotalActiveMembers());
+    }
+
+    @Test
+    void testCohortRetentionByStartMonth() {
+        LocalDate asOf = LocalDate.now();
+        LocalDate oldStart = asOf.minusMonths(2).withDayOfMonth(1);
+
+        // Two clients from the old cohort: one expired, one still holding a membership
+        membershipService.getStatistics().recordAssignment(new Client("A", "+380991111111"), null, singleClub("club-1", oldStart, 10));
+        membershipService.getStatistics().recordAssignment(new Client("B", "+380992222222"), null, singleClub("club-1", oldStart, 365));
+        // One client from the current month
+        membershipService.getStatistics().recordAssignment(new Client("C", "+380993333333"), null, singleClub("club-1", asOf, 30));
+
+        List<MembershipAnalyticsService.CohortRetention> retention = analyticsService.getCohortRetention(asOf);
+
+        assertEquals(2, retention.size());
+        assertEquals(YearMonth.from(oldStart), retention.get(0).cohort());
+        assertEquals(2, retention.get(0).members());
+        assertEquals(1, retention.get(0).retained());
+        assertEquals(0.5, retention.get(0).getRetentionRate(), 1e-9);
+        assertEquals(YearMonth.from(asOf), retention.get(1).cohort());
+        assertEquals(1.0, retention.get(1).getRetentionRate(), 1e-9);
+
+        assertTrue(analyticsService.getCohortRetention(asOf, MembershipType.NETWORK_WIDE).isEmpty());
+        assertTrue(analyticsService.getCohortRetention(oldStart.minusMonths(1)).isEmpty());
+    }
+
+    @Test
+    void testCohortRetentionOverLargeSnapshot() {
+        LocalDate asOf = LocalDate.now();
+        int clients = 50_000;
+        for (int i = 0; i < clients; i++) {
+            LocalDate start = asOf.minusMonths(i % 12).withDayOfMonth(1);
+            int duration = i % 2 == 0 ? 10 : 400;
+            membershipService.getStatistics().recordAssignment(
+                    new Client("Клієнт " + i, "+380990000000"), null, singleClub("club-" + (i % 7), start, duration));
+        }
+
+        List<MembershipAnalyticsService.CohortRetention> retention = analyticsService.getCohortRetention(asOf);
+
+        assertEquals(12, retention.size());
+        assertEquals(clients, retention.stream().mapToLong(MembershipAnalyticsService.CohortRetention::members).sum());
+        long retained = retention.stream().mapToLong(MembershipAnalyticsService.CohortRetention::retained).sum();
+        assertTrue(retained >= clients / 2);
+    }
+}
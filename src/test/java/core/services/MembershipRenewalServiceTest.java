@@ -0,0 +1,152 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.client.Membership;
+import core.domain.client.MembershipType;
+import core.domain.staff.Administrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembershipRenewalServiceTest {
+    private MembershipRenewalService renewalService;
+    private Administrator admin;
+
+    @BeforeEach
+    void setUp() {
+        renewalService = new MembershipRenewalService(new MembershipService());
+        admin = new Administrator("Петро Іваненко", 30000);
+    }
+
+    @Test
+    void testRenewExpiringQueuesSuccessors() {
+        LocalDate start = LocalDate.now().minusDays(25);
+        List<Client> clients = createClients(3, start);
+        Membership before = clients.get(0).getMembership();
+
+        MembershipRenewalService.RenewalReport report =
+                renewalService.renewExpiring(clients, LocalDate.now().plusDays(10), admin);
+
+        assertEquals(3, report.candidates());
+        assertEquals(3, report.renewed());
+        assertEquals(0, report.rejected());
+        // the member keeps the current membership until its end date
+        assertSame(before, clients.get(0).getMembership());
+        assertTrue(clients.get(0).hasActiveMembership());
+        Membership next = clients.get(0).getNextMembership();
+        assertEquals(before.getEndDate().plusDays(1), next.getStartDate());
+    }
+
+    @Test
+    void testRenewExpiringDoesNotQueueTwice() {
+        List<Client> clients = createClients(2, LocalDate.now().minusDays(25));
+        renewalService.renewExpiring(clients, LocalDate.now().plusDays(10), admin);
+
+        MembershipRenewalService.RenewalReport report =
+                renewalService.renewExpiring(clients, LocalDate.now().plusDays(10), admin);
+
+        assertEquals(0, report.candidates());
+    }
+
+    @Test
+    void testEndedMembershipIsReplacedImmediately() {
+        // ended two days ago; the successor has already started
+        List<Client> clients = createClients(1, LocalDate.now().minusDays(32));
+        Membership before = clients.get(0).getMembership();
+
+        renewalService.renewExpiring(clients, LocalDate.now(), admin);
+
+        Membership after = clients.get(0).getMembership();
+        assertNotSame(before, after);
+        assertNull(clients.get(0).getNextMembership());
+        assertTrue(clients.get(0).hasActiveMembership());
+    }
+
+    @Test
+    void testRenewExpiringSkipsMembershipsEndingAfterCutoff() {
+        List<Client> clients = createClients(2, LocalDate.now());
+        clients.add(new Client("Без абонемента", "+380990000000"));
+
+        MembershipRenewalService.RenewalReport report =
+                renewalService.renewExpiring(clients, LocalDate.now(), admin);
+
+        assertEquals(0, report.candidates());
+        assertEquals(0, report.renewed());
+    }
+
+    @Test
+    void testRenewalRejectsSuccessorsThatWouldAlreadyBeExpired() {
+        List<Client> clients = createClients(2, LocalDate.now().minusDays(120));
+
+        MembershipRenewalService.RenewalReport report =
+                renewalService.renewExpiring(clients, LocalDate.now(), admin);
+
+        assertEquals(2, report.candidates());
+        assertEquals(0, report.renewed());
+        assertEquals(2, report.rejected());
+    }
+
+    @Test
+    void testUpgradeExpiringToNetworkWide() {
+        List<Client> clients = createClients(2, LocalDate.now().minusDays(25));
+
+        MembershipRenewalService.RenewalReport report = renewalService.upgradeExpiring(
+                clients, LocalDate.now().plusDays(10), MembershipType.NETWORK_WIDE, 90_000, admin);
+
+        assertEquals(2, report.renewed());
+        assertEquals(MembershipType.SINGLE_CLUB, clients.get(1).getMembership().getType());
+        assertEquals(MembershipType.NETWORK_WIDE, clients.get(1).getNextMembership().getType());
+        assertTrue(clients.get(1).getNextMembership().hasAccessToClub("other-club"));
+        assertEquals(90_000, clients.get(1).getNextMembership().getCostMinor());
+    }
+
+    @Test
+    void testReplacementDoesNotOverwriteConcurrentlyAssignedMembership() {
+        Client client = createClients(1, LocalDate.now()).get(0);
+        Membership original = client.getMembership();
+        Membership concurrent = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 1000)
+                .build();
+        client.assignMembership(concurrent, admin);
+
+        assertFalse(new MembershipService().replaceMembership(client, original, original.renew(), admin));
+        assertSame(concurrent, client.getMembership());
+    }
+
+    @Test
+    void testBulkRenewal() {
+        List<Client> clients = createClients(100_000, LocalDate.now().minusDays(25));
+
+        MembershipRenewalService.RenewalReport report =
+                renewalService.renewExpiring(clients, LocalDate.now().plusDays(10), admin);
+
+        assertEquals(100_000, report.renewed());
+        assertTrue(report.getThroughputPerSecond() > 0);
+        assertTrue(clients.stream().allMatch(Client::hasActiveMembership));
+        assertTrue(clients.stream().allMatch(c -> c.getNextMembership().getStartDate().isAfter(LocalDate.now())));
+    }
+
+    @Test
+    void testProcessThrowsWhenAdministratorNull() {
+        assertThrows(IllegalArgumentException.class, () ->
+                renewalService.renewExpiring(List.of(), LocalDate.now(), null));
+    }
+
+    private static List<Client> createClients(int count, LocalDate start) {
+        List<Client> clients = new ArrayList<>(count);
+        Administrator admin = new Administrator("Адмін", 1000);
+        for (int i = 0; i < count; i++) {
+            Client client = new Client("Клієнт " + i, "+38099" + i);
+            client.assignMembership(new Membership.Builder(MembershipType.SINGLE_CLUB, start, 500)
+                    .withDurationInDays(30)
+                    .forClub("club-123")
+                    .build(), admin);
+            clients.add(client);
+        }
+        return clients;
+    }
+}
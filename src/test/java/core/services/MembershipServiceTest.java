@@ -2,13 +2,25 @@ package core.services;
 
 import core.domain.client.Client;
 import core.domain.client.Membership;
+import core.domain.client.MembershipStatistics;
 import core.domain.client.MembershipType;
 import core.domain.staff.Administrator;
 import core.exceptions.MembershipAccessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -116,5 +128,181 @@ class MembershipServiceTest {
         assertDoesNotThrow(() -> 
             membershipService.validateClubAccess(client, "any-club-id"));
     }
-}
 
+    @Test
+    void testValidateClubAccessThrowsWhenVisitQuotaExhausted() throws MembershipAccessException {
+        Membership membership = new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500)
+                .forClub("club-123")
+                .withVisitQuota(1)
+                .build();
+        membershipService.assignMembership(client, membership, admin);
+
+        membershipService.checkIn(client, "club-123");
+
+        assertThrows(MembershipAccessException.class, () ->
+            membershipService.validateClubAccess(client, "club-123"));
+        assertThrows(MembershipAccessException.class, () ->
+            membershipService.checkIn(client, "club-123"));
+    }
+
+    @Test
+    void testConcurrentCheckInsAtMultipleClubsRespectQuota() throws InterruptedException {
+        Membership membership = new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 1000)
+                .withVisitQuota(100)
+                .build();
+        membershipService.assignMembership(client, membership, admin);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            String clubId = "club-" + t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    try {
+                        membershipService.checkIn(client, clubId);
+                        accepted.incrementAndGet();
+                    } catch (MembershipAccessException e) {
+                        // quota exhausted
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, accepted.get());
+        assertEquals(100, membership.getUsedVisits());
+        assertEquals(100, membership.getReconciledVisits());
+        assertEquals(0, membership.getRemainingVisits());
+    }
+
+    @Test
+    void testFreezeClubMembershipsFreezesOnlyThatClub() {
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Client member = new Client("Клієнт " + i, "+38099000000" + i);
+            Membership.Builder builder = i < 6
+                    ? new Membership.Builder(MembershipType.SINGLE_CLUB, LocalDate.now(), 500).forClub(i < 4 ? "club-123" : "other-club")
+                    : new Membership.Builder(MembershipType.NETWORK_WIDE, LocalDate.now(), 1000);
+            membershipService.assignMembership(member, builder.withDurationInDays(30).build(), admin);
+            clients.add(member);
+        }
+
+        int frozen = membershipService.freezeClubMemberships(clients, "club-123",
+                LocalDate.now(), LocalDate.now().plusDays(13));
+
+        assertEquals(4, frozen);
+        assertTrue(clients.get(0).getMembership().isFrozen());
+        assertEquals(LocalDate.now().plusDays(44), clients.get(3).getMembership().getEndDate());
+        assertTrue(clients.get(4).hasActiveMembership());
+        assertTrue(clients.get(9).hasActiveMembership());
+        assertThrows(MembershipAccessException.class, () ->
+            membershipService.validateClubAccess(clients.get(0), "club-123"));
+    }
+
+    @Test
+    void testReassignmentDropsQueuedRenewalFromStatistics() {
+        LocalDate today = LocalDate.now();
+        MutableClock clock = new MutableClock(today);
+        MembershipService service = new MembershipService(clock);
+        Membership current = networkWide(today, 30);
+        Membership renewal = current.renew();
+        service.assignMembership(client, current, admin);
+        assertTrue(service.scheduleRenewal(client, current, renewal, admin));
+
+        Membership reassigned = networkWide(today, 90);
+        service.assignMembership(client, reassigned, admin);
+
+        MembershipStatistics statistics = service.getStatistics();
+        clock.setDate(renewal.getStartDate().plusDays(1));
+        assertEquals(1, statistics.getTotalActiveMembers());
+        clock.setDate(reassigned.getEndDate().plusDays(1));
+        assertEquals(0, statistics.getTotalActiveMembers());
+    }
+
+    @Test
+    void testFreezeMovesQueuedRenewalBehindCurrentMembership() {
+        LocalDate today = LocalDate.now();
+        MutableClock clock = new MutableClock(today);
+        MembershipService service = new MembershipService(clock);
+        Membership current = networkWide(today, 30);
+        service.assignMembership(client, current, admin);
+        service.scheduleRenewal(client, current, current.renew(), admin);
+
+        service.freezeMembership(client, today.plusDays(5), today.plusDays(14));
+
+        Membership renewal = client.getNextMembership();
+        assertEquals(today.plusDays(40), current.getEndDate());
+        assertEquals(current.getEndDate().plusDays(1), renewal.getStartDate());
+        assertEquals(30, renewal.getDurationInDays());
+        clock.setDate(current.getEndDate());
+        assertEquals(1, service.getStatistics().getTotalActiveMembers());
+        clock.setDate(renewal.getStartDate());
+        assertEquals(1, service.getStatistics().getTotalActiveMembers());
+        clock.setDate(renewal.getEndDate().plusDays(1));
+        assertEquals(0, service.getStatistics().getTotalActiveMembers());
+    }
+
+    @Test
+    void testActivateRenewalsPromotesEndedMemberships() {
+        LocalDate today = LocalDate.now();
+        MutableClock clock = new MutableClock(today);
+        MembershipService service = new MembershipService(clock);
+        Membership current = networkWide(today, 30);
+        Membership renewal = current.renew();
+        service.assignMembership(client, current, admin);
+        service.scheduleRenewal(client, current, renewal, admin);
+
+        assertEquals(0, service.activateRenewals(List.of(client)));
+        assertSame(current, client.getMembership());
+
+        clock.setDate(renewal.getStartDate());
+        assertEquals(1, service.activateRenewals(List.of(client)));
+        assertSame(renewal, client.getMembership());
+        assertEquals(1, service.getStatistics().getTotalActiveMembers());
+    }
+
+    @Test
+    void testFreezeMembershipThrowsWhenNoMembership() {
+        assertThrows(IllegalArgumentException.class, () ->
+            membershipService.freezeMembership(client, LocalDate.now(), LocalDate.now().plusDays(1)));
+    }
+
+    private static Membership networkWide(LocalDate start, int days) {
+        return new Membership.Builder(MembershipType.NETWORK_WIDE, start, 500)
+                .withDurationInDays(days)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            this.instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.club.FitnessClub;
+import core.domain.club.FitnessNetwork;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.shop.DiscountStrategy;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.domain.staff.Trainer;
+import core.exceptions.BookingException;
+import core.exceptions.ProductOutOfStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkReportServiceTest {
+    private NetworkReportService service;
+    private FitnessNetwork network;
+    private Product product;
+    private List<GroupClass> classes;
+
+    @BeforeEach
+    void setUp() {
+        service = new NetworkReportService(new ForkJoinPool(4));
+        network = FitnessNetwork.create("MyFitness");
+        product = new ProductFactory().createProduct("SUPPLEMENT", "Протеїн", 1200, "Шоколад");
+        classes = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0);
+        for (int i = 0; i < 40; i++) {
+            FitnessClub club = new FitnessClub("м. Київ, вул. Спортивна, " + i);
+            Trainer trainer = new Trainer("Анна Шевченко", 25000.50, "Йога");
+            Studio studio = new Studio("Зал для йоги", 20, true);
+            club.addStudio(studio);
+            club.addStaff(trainer);
+            for (int h = 0; h < 3; h++) {
+                GroupClass groupClass = new GroupClass("Йога", trainer, studio, start.plusHours(h), 60);
+                club.getSchedule().addClass(groupClass);
+                classes.add(groupClass);
+            }
+            club.getInventory().addProduct(product, 5);
+            network.addClub(club);
+        }
+    }
+
+    @Test
+    void testReportAggregatesAllClubs() throws BookingException {
+        classes.get(0).addParticipant(new Client("Олена Ковальчук", "+380991234567"));
+        classes.get(1).cancel();
+
+        NetworkReportService.NetworkReport report = service.report(network);
+
+        assertEquals(40, report.clubs().size());
+        assertEquals(119, report.classCount());
+        assertEquals(119 * 20, report.capacitySeats());
+        assertEquals(1, report.bookedSeats());
+        assertEquals(200, report.stockUnits());
+        assertEquals(200 * 1200_00L, report.stockValueMinor());
+        assertEquals(40, report.staffCount());
+        assertEquals(40 * 2500050L, report.staffCostMinor());
+        assertEquals(1.0 / (119 * 20), report.getOccupancy(), 1e-12);
+        assertEquals(network.getClub(0).getId(), report.clubs().get(0).clubId());
+    }
+
+    @Test
+    void testUnchangedClubsAreTakenFromCache() throws BookingException, ProductOutOfStockException {
+        service.report(network);
+        assertEquals(40, service.getSummaryCount());
+
+        NetworkReportService.NetworkReport cached = service.report(network);
+        assertEquals(40, service.getSummaryCount());
+        assertEquals(0, cached.bookedSeats());
+
+        classes.get(0).addParticipant(new Client("Олена Ковальчук", "+380991234567"));
+        network.getClub(5).getInventory().removeProduct(product, 2);
+        NetworkReportService.NetworkReport updated = service.report(network);
+
+        assertEquals(42, service.getSummaryCount());
+        assertEquals(1, updated.bookedSeats());
+        assertEquals(198, updated.stockUnits());
+    }
+
+    @Test
+    void testCancellationInvalidatesClub() throws BookingException {
+        Client client = new Client("Олена Ковальчук", "+380991234567");
+        classes.get(0).addParticipant(client);
+        assertEquals(1, service.report(network).bookedSeats());
+
+        classes.get(0).removeParticipant(client);
+
+        assertEquals(0, service.report(network).bookedSeats());
+    }
+
+    @Test
+    void testSalaryChangesAreAlwaysReported() {
+        service.report(network);
+        network.getClub(0).getStaff().get(0).setSalary(30000);
+
+        NetworkReportService.NetworkReport report = service.report(network);
+
+        assertEquals(40, service.getSummaryCount());
+        assertEquals(39 * 2500050L + 3000000L, report.staffCostMinor());
+    }
+
+    @Test
+    void testPriceChangesAreAlwaysReported() {
+        service.report(network);
+        product.setDiscountStrategy(DiscountStrategy.percentageDiscount(10));
+
+        NetworkReportService.NetworkReport report = service.report(network);
+
+        assertEquals(40, service.getSummaryCount());
+        assertEquals(200 * 1080_00L, report.stockValueMinor());
+    }
+
+    @Test
+    void testEmptyNetwork() {
+        NetworkReportService.NetworkReport report = service.report(FitnessNetwork.create("Порожня"));
+
+        assertTrue(report.clubs().isEmpty());
+        assertEquals(0, report.getOccupancy());
+    }
+}
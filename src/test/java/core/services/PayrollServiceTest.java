@@ -0,0 +1,99 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.FitnessNetwork;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.Administrator;
+import core.domain.staff.Trainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollServiceTest {
+    private PayrollService service;
+    private YearMonth month;
+    private FitnessNetwork network;
+    private FitnessClub first;
+    private FitnessClub second;
+    private Trainer trainer;
+    private Administrator admin;
+    private Studio studio;
+
+    @BeforeEach
+    void setUp() {
+        service = new PayrollService(new ForkJoinPool(2), 500_00);
+        month = YearMonth.now().plusMonths(1);
+        network = FitnessNetwork.create("MyFitness");
+        first = new FitnessClub("м. Київ, пр. Оболонський, 1");
+        second = new FitnessClub("м. Київ, вул. Хрещатик, 22");
+        trainer = new Trainer("Анна Шевченко", 25000.50, "Йога");
+        admin = new Administrator("Петро Іваненко", 30000);
+        studio = new Studio("Зал для йоги", 20, true);
+        first.addStaff(trainer);
+        first.addStaff(admin);
+        network.addClub(first);
+        network.addClub(second);
+    }
+
+    @Test
+    void testClubPayrollAddsClassPay() {
+        addClass(first, 1, 9);
+        addClass(first, 2, 9);
+        addClass(first, 3, 9).cancel();
+        first.getSchedule().addClass(new GroupClass("Йога", trainer, studio,
+                month.plusMonths(1).atDay(1).atTime(9, 0), 60));
+
+        PayrollService.ClubPayroll payroll = service.run(first, month);
+
+        assertEquals(2, payroll.lines().size());
+        PayrollService.PayrollLine trainerLine = payroll.lines().get(0);
+        assertSame(trainer, trainerLine.employee());
+        assertEquals(25000_50, trainerLine.baseMinor());
+        assertEquals(2, trainerLine.classCount());
+        assertEquals(1000_00, trainerLine.classPayMinor());
+        assertEquals(25000_50 + 1000_00 + 30000_00, payroll.totalMinor());
+    }
+
+    @Test
+    void testNetworkPaysBaseSalaryOnce() {
+        second.addStaff(trainer);
+        addClass(first, 1, 9);
+        addClass(second, 1, 12);
+
+        PayrollService.Payroll payroll = service.run(network, month);
+
+        assertEquals(2, payroll.clubs().size());
+        assertEquals(2, payroll.employees().size());
+        PayrollService.PayrollLine trainerLine = payroll.employees().get(0);
+        assertEquals(25000_50, trainerLine.baseMinor());
+        assertEquals(2, trainerLine.classCount());
+        assertEquals(25000_50 + 1000_00 + 30000_00, payroll.totalMinor());
+    }
+
+    @Test
+    void testVisitingTrainerIsPaidForClassesOnly() {
+        addClass(second, 5, 18);
+
+        PayrollService.ClubPayroll payroll = service.run(second, month);
+
+        assertEquals(1, payroll.lines().size());
+        assertEquals(0, payroll.lines().get(0).baseMinor());
+        assertEquals(500_00, payroll.totalMinor());
+    }
+
+    @Test
+    void testRejectsNegativeRate() {
+        assertThrows(IllegalArgumentException.class, () -> new PayrollService(ForkJoinPool.commonPool(), -1));
+    }
+
+    private GroupClass addClass(FitnessClub club, int day, int hour) {
+        GroupClass groupClass = new GroupClass("Йога", trainer, studio, month.atDay(day).atTime(hour, 0), 60);
+        assertTrue(club.getSchedule().addClass(groupClass));
+        return groupClass;
+    }
+}
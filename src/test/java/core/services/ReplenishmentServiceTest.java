@@ -0,0 +1,168 @@
+package core.services;
+
+import core.domain.shop.Inventory;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.exceptions.ProductOutOfStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplenishmentServiceTest {
+
+    private MutableClock clock;
+    private ReplenishmentService service;
+    private Inventory inventory;
+    private Product protein;
+    private Product shirt;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        service = new ReplenishmentService(clock, 3, 2, 1, 7);
+        inventory = new Inventory();
+        ProductFactory factory = new ProductFactory();
+        protein = factory.createProduct("SUPPLEMENT", "Протеїн", 1000, "Шоколад");
+        shirt = factory.createProduct("CLOSE", "Футболка", 500, "M", "Чорна");
+        service.attach("club-1", inventory);
+    }
+
+    @Test
+    void testDemandRateConvergesToDailySales() throws ProductOutOfStockException {
+        inventory.addProduct(protein, 10_000);
+        for (int day = 0; day < 30; day++) {
+            inventory.removeProduct(protein, 10);
+            clock.advance(Duration.ofDays(1));
+            service.plan();
+        }
+
+        assertEquals(10.0, service.getDemandRate("club-1", protein), 0.1);
+        assertEquals(0.0, service.getDemandRate("club-1", shirt));
+        assertEquals(0.0, service.getDemandRate("club-9", protein));
+        assertTrue(service.getLastSuggestions().isEmpty());
+    }
+
+    @Test
+    void testSuggestsPurchaseAtReorderPoint() throws ProductOutOfStockException {
+        inventory.addProduct(protein, 400);
+        inventory.addProduct(shirt, 1_000);
+        for (int day = 0; day < 30; day++) {
+            inventory.removeProduct(protein, 10);
+            inventory.removeProduct(shirt, 5);
+            clock.advance(Duration.ofDays(1));
+            service.plan();
+        }
+        // protein: 100 left, 10/day; reorder point is 3 days of demand
+        assertTrue(service.getLastSuggestions().isEmpty());
+
+        inventory.removeProduct(protein, 75);
+        clock.advance(Duration.ofDays(1));
+        List<ReplenishmentService.PurchaseSuggestion> suggestions = service.plan();
+
+        assertEquals(1, suggestions.size());
+        ReplenishmentService.PurchaseSuggestion suggestion = suggestions.get(0);
+        assertEquals("club-1", suggestion.clubId());
+        assertEquals(protein, suggestion.product());
+        assertEquals(25, suggestion.stockLevel());
+        assertTrue(suggestion.reorderPoint() >= 25);
+        // enough for lead time, safety and one review period
+        assertEquals(Math.ceil(suggestion.demandPerDay() * 10 - 25), suggestion.quantity());
+        assertEquals(suggestions, service.getLastSuggestions());
+    }
+
+    @Test
+    void testRestockedProductIsNotSuggested() throws ProductOutOfStockException {
+        inventory.addProduct(protein, 50);
+        for (int day = 0; day < 4; day++) {
+            inventory.removeProduct(protein, 10);
+            clock.advance(Duration.ofDays(1));
+        }
+        inventory.addProduct(protein, 500);
+
+        assertTrue(service.plan().isEmpty());
+    }
+
+    @Test
+    void testSuggestionsAreOrderedByUrgencyAcrossClubs() throws ProductOutOfStockException {
+        Inventory second = new Inventory();
+        service.attach("club-2", second);
+        inventory.addProduct(protein, 30);
+        second.addProduct(protein, 30);
+        inventory.removeProduct(protein, 20);
+        second.removeProduct(protein, 25);
+        clock.advance(Duration.ofDays(1));
+
+        List<ReplenishmentService.PurchaseSuggestion> suggestions = service.plan();
+
+        assertEquals(List.of("club-2", "club-1"),
+                suggestions.stream().map(ReplenishmentService.PurchaseSuggestion::clubId).toList());
+    }
+
+    @Test
+    void testManyProductsGrowColumns() throws ProductOutOfStockException {
+        ProductFactory factory = new ProductFactory();
+        for (int i = 0; i < 1_000; i++) {
+            Product product = factory.createProduct("SUPPLEMENT", "Добавка " + i, 10, "Смак");
+            inventory.addProduct(product, 6);
+            inventory.removeProduct(product, 5);
+        }
+        clock.advance(Duration.ofDays(1));
+
+        assertEquals(1_000, service.plan().size());
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> service.attach("club-1", new Inventory()));
+        assertThrows(IllegalArgumentException.class, () -> service.attach(" ", new Inventory()));
+        assertThrows(IllegalArgumentException.class, () -> new ReplenishmentService(clock, 0, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.start(Duration.ZERO));
+    }
+
+    @Test
+    void testScheduledPlanning() throws Exception {
+        ReplenishmentService scheduled = new ReplenishmentService();
+        scheduled.start(Duration.ofMillis(10));
+        try {
+            assertThrows(IllegalStateException.class, () -> scheduled.start(Duration.ofMillis(10)));
+        } finally {
+            scheduled.stop();
+        }
+        scheduled.stop();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.shop.DiscountStrategy;
+import core.domain.shop.HeavyHitters;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.domain.shop.SalesRollup;
+import core.domain.shop.SalesRollup.Resolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesAnalyticsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 10, 18, 30);
+
+    private SalesAnalyticsService service;
+    private Product protein;
+    private Product shirt;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        service = new SalesAnalyticsService(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        ProductFactory factory = new ProductFactory();
+        protein = factory.createProduct("SUPPLEMENT", "Протеїн", 1000, "Шоколад");
+        shirt = factory.createProduct("CLOSE", "Футболка", 500, "M", "Чорна");
+        shirt.setDiscountStrategy(DiscountStrategy.percentageDiscount(20));
+        client = new Client("Олена Шевчук", "+380671234567");
+    }
+
+    @Test
+    void testClubAndNetworkTotals() {
+        service.recordOrder(order(NOW.minusHours(2), new OrderItem(protein, 1), new OrderItem(shirt, 2)), "club-1");
+        service.recordOrder(order(NOW.minusMinutes(10), new OrderItem(protein, 2)), "club-2");
+
+        SalesRollup.SalesTotals club1 = service.getTotals("club-1", Resolution.HOUR, NOW.minusDays(1), NOW.plusHours(1));
+        assertEquals(1, club1.orders());
+        assertEquals(3, club1.units());
+        assertEquals(180000, club1.revenueMinor());
+        assertEquals(20000, club1.discountMinor());
+
+        SalesRollup.SalesTotals network = service.getTotals(null, Resolution.DAY, NOW.minusDays(1), NOW.plusDays(1));
+        assertEquals(2, network.orders());
+        assertEquals(380000, network.revenueMinor());
+        assertEquals(SalesRollup.SalesTotals.ZERO,
+                service.getTotals("club-9", Resolution.DAY, NOW.minusDays(1), NOW.plusDays(1)));
+    }
+
+    @Test
+    void testRevenuePerHourSeries() {
+        service.recordOrder(order(NOW.minusHours(2), new OrderItem(protein, 1)), "club-1");
+        service.recordOrder(order(NOW, new OrderItem(protein, 3)), "club-1");
+
+        List<SalesRollup.SalesBucket> series = service.getSeries("club-1", Resolution.HOUR, 24);
+
+        assertEquals(24, series.size());
+        assertEquals(NOW.withMinute(0), series.get(23).start());
+        assertEquals(300000, series.get(23).totals().revenueMinor());
+        assertEquals(100000, series.get(21).totals().revenueMinor());
+        assertEquals(0, series.get(22).totals().revenueMinor());
+        assertTrue(service.getSeries("club-9", Resolution.HOUR, 24).stream()
+                .allMatch(bucket -> bucket.totals().orders() == 0));
+    }
+
+    @Test
+    void testTopSellersAndProductTotals() {
+        service.recordOrder(order(NOW.minusDays(1), new OrderItem(shirt, 5)), "club-1");
+        service.recordOrder(order(NOW, new OrderItem(protein, 2), new OrderItem(shirt, 1)), "club-2");
+
+        List<HeavyHitters.Estimate> network = service.getTopSellers(null, 1);
+        assertEquals(shirt.getNumericId(), network.get(0).productId());
+        assertEquals(6, network.get(0).count());
+        assertEquals(protein.getNumericId(), service.getTopSellers("club-2", 1).get(0).productId());
+        assertTrue(service.getTopSellers("club-9", 5).isEmpty());
+
+        SalesRollup.SalesTotals shirtSales = service.getProductTotals(shirt, NOW.minusDays(7), NOW.plusDays(1));
+        assertEquals(2, shirtSales.orders());
+        assertEquals(6, shirtSales.units());
+        assertEquals(240000, shirtSales.revenueMinor());
+        assertEquals(60000, shirtSales.discountMinor());
+    }
+
+    @Test
+    void testValidation() {
+        Order order = order(NOW, new OrderItem(protein, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.recordOrder(null, "club-1"));
+        assertThrows(IllegalArgumentException.class, () -> service.recordOrder(order, " "));
+    }
+
+    private Order order(LocalDateTime time, OrderItem... items) {
+        return new Order(client, List.of(items), time);
+    }
+}
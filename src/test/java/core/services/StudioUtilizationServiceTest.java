@@ -0,0 +1,184 @@
+package core.services;
+
+import core.domain.client.Client;
+import core.domain.club.FitnessClub;
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.staff.Trainer;
+import core.exceptions.BookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudioUtilizationServiceTest {
+    private MutableClock clock;
+    private StudioUtilizationService service;
+    private Trainer trainer;
+    private Studio yoga;
+    private Studio pool;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        clock = new MutableClock(monday.minusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        service = new StudioUtilizationService(clock);
+        trainer = new Trainer("Анна Шевченко", 25000, "Йога");
+        yoga = new Studio("Зал для йоги", 10, true);
+        pool = new Studio("Басейн", 20, true);
+    }
+
+    @Test
+    void testRecordsCompletedClassesOnly() {
+        GroupClass groupClass = classWith(yoga, monday.atTime(18, 0), 4);
+
+        assertFalse(service.recordCompleted(groupClass));
+
+        clock.set(monday.atTime(19, 0));
+        assertTrue(service.recordCompleted(groupClass));
+
+        StudioUtilizationService.Heatmap heatmap = service.getHeatmap(yoga);
+        assertEquals(1, heatmap.getClassCount(DayOfWeek.MONDAY, 18));
+        assertEquals(4, heatmap.getAttendance(DayOfWeek.MONDAY, 18));
+        assertEquals(10, heatmap.getCapacity(DayOfWeek.MONDAY, 18));
+        assertEquals(0.4, heatmap.getUtilization(DayOfWeek.MONDAY, 18), 1e-9);
+        assertEquals(0, heatmap.getUtilization(DayOfWeek.TUESDAY, 18));
+    }
+
+    @Test
+    void testCancelledClassesAreIgnored() {
+        GroupClass groupClass = classWith(yoga, monday.atTime(18, 0), 0);
+        groupClass.cancel();
+        clock.set(monday.plusDays(1).atStartOfDay());
+
+        assertFalse(service.recordCompleted(groupClass));
+        assertEquals(0, service.getHeatmap(yoga).getClassCount());
+    }
+
+    @Test
+    void testRangeHeatmapSelectsDays() {
+        GroupClass first = classWith(yoga, monday.atTime(9, 0), 2);
+        GroupClass second = classWith(yoga, monday.plusWeeks(1).atTime(9, 0), 6);
+        GroupClass wednesday = classWith(yoga, monday.plusDays(2).atTime(7, 0), 5);
+        clock.set(monday.plusWeeks(2).atStartOfDay());
+        service.recordCompleted(second);
+        service.recordCompleted(wednesday);
+        service.recordCompleted(first);
+
+        StudioUtilizationService.Heatmap firstWeek = service.getHeatmap(yoga, monday, monday.plusDays(6));
+        StudioUtilizationService.Heatmap secondWeek = service.getHeatmap(yoga, monday.plusWeeks(1), monday.plusWeeks(1));
+        StudioUtilizationService.Heatmap all = service.getHeatmap(yoga, monday.minusYears(1), monday.plusYears(1));
+
+        assertEquals(1, firstWeek.getClassCount(DayOfWeek.MONDAY, 9));
+        assertEquals(2, firstWeek.getAttendance(DayOfWeek.MONDAY, 9));
+        assertEquals(5, firstWeek.getAttendance(DayOfWeek.WEDNESDAY, 7));
+        assertEquals(6, secondWeek.getAttendance());
+        assertEquals(0, secondWeek.getAttendance(DayOfWeek.WEDNESDAY, 7));
+        assertEquals(13, all.getAttendance());
+        assertEquals(service.getHeatmap(yoga).getAttendance(), all.getAttendance());
+    }
+
+    @Test
+    void testOlderClassExtendsGridBackwards() {
+        GroupClass later = classWith(yoga, monday.plusDays(10).atTime(12, 0), 3);
+        GroupClass older = classWith(yoga, monday.atTime(12, 0), 1);
+        clock.set(monday.plusDays(20).atStartOfDay());
+
+        service.recordCompleted(later);
+        service.recordCompleted(older);
+
+        assertEquals(1, service.getHeatmap(yoga, monday, monday).getAttendance());
+        assertEquals(3, service.getHeatmap(yoga, monday.plusDays(10), monday.plusDays(10)).getAttendance());
+    }
+
+    @Test
+    void testSweepRecordsEachClassOnce() {
+        FitnessClub club = new FitnessClub("м. Київ, пр. Оболонський, 1");
+        GroupClass morning = classWith(yoga, monday.atTime(8, 0), 3);
+        GroupClass evening = classWith(pool, monday.atTime(20, 0), 5);
+        club.getSchedule().addClass(morning);
+        club.getSchedule().addClass(evening);
+
+        clock.set(monday.atTime(12, 0));
+        assertEquals(1, service.sweep(club));
+        assertEquals(0, service.sweep(club));
+        clock.set(monday.plusDays(1).atStartOfDay());
+        assertEquals(1, service.sweep(club));
+
+        assertEquals(1, service.getHeatmap(yoga).getClassCount());
+        assertEquals(1, service.getHeatmap(pool).getClassCount());
+    }
+
+    @Test
+    void testRankStudiosByUtilization() {
+        GroupClass busy = classWith(yoga, monday.atTime(18, 0), 9);
+        GroupClass quiet = classWith(pool, monday.atTime(18, 0), 2);
+        clock.set(monday.plusDays(1).atStartOfDay());
+        service.recordCompleted(busy);
+        service.recordCompleted(quiet);
+
+        List<StudioUtilizationService.StudioUtilization> ranking = service.rankStudios(monday, monday);
+
+        assertEquals(2, ranking.size());
+        assertSame(yoga, ranking.get(0).studio());
+        assertEquals(0.9, ranking.get(0).getUtilization(), 1e-9);
+        assertEquals(0.1, ranking.get(1).getUtilization(), 1e-9);
+        assertTrue(service.rankStudios(monday.plusDays(1), monday.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> service.getHeatmap(yoga, monday, monday.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> service.getHeatmap(yoga).getUtilization(DayOfWeek.MONDAY, 24));
+    }
+
+    private GroupClass classWith(Studio studio, LocalDateTime start, int participants) {
+        GroupClass groupClass = new GroupClass("Заняття", trainer, studio, start, 60);
+        try {
+            for (int i = 0; i < participants; i++) {
+                groupClass.addParticipant(new Client("Клієнт " + i, "+38099123456" + i));
+            }
+        } catch (BookingException e) {
+            throw new IllegalStateException(e);
+        }
+        return groupClass;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
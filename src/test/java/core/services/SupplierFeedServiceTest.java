@@ -0,0 +1,164 @@
+package core.services;
+
+import core.domain.shop.Clothes;
+import core.domain.shop.Inventory;
+import core.domain.shop.Product;
+import core.domain.shop.ProductAttribute;
+import core.domain.shop.ProductFactory;
+import core.domain.shop.Supplement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierFeedServiceTest {
+
+    private Inventory inventory;
+    private SupplierFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new Inventory();
+        service = new SupplierFeedService(new ProductFactory(), inventory, 4, 8);
+    }
+
+    @Test
+    void testImportCsvWithHeaderAndQuotedFields() throws IOException {
+        String feed = """
+                sku,type,name,price,quantity,param1,param2
+                TS-1,CLOSE,"Футболка, бавовна",499.90,10,M,Червоний
+                WP-1,SUPPLEMENT,Протеїн,1200,5,Ваніль
+                """;
+
+        SupplierFeedService.ImportReport report = service.importFeed(new StringReader(feed), SupplierFeedFormat.CSV);
+
+        assertEquals(2, report.appliedLines());
+        assertEquals(0, report.invalidLines());
+        assertEquals(2, report.productsCreated());
+
+        Product shirt = service.findBySku("TS-1").orElseThrow();
+        assertInstanceOf(Clothes.class, shirt);
+        assertEquals("Футболка, бавовна", shirt.getName());
+        assertEquals(49990, shirt.getOriginalPriceMinor());
+        assertEquals("M", shirt.getAttribute(ProductAttribute.SIZE));
+        assertEquals(10, inventory.getStockLevel(shirt));
+
+        Product protein = service.findBySku("WP-1").orElseThrow();
+        assertInstanceOf(Supplement.class, protein);
+        assertEquals(5, inventory.getStockLevel(protein));
+    }
+
+    @Test
+    void testImportJsonLines() throws IOException {
+        String feed = """
+                {"sku":"WP-2","type":"SUPPLEMENT","name":"Креатин","price":350.5,"quantity":7,"params":["Без смаку"],"vendor":"X"}
+                {"sku":"TS-2","type":"close","name":"Шорти","price":"299.99","quantity":3,"params":["L","Чорний"]}
+                """;
+
+        SupplierFeedService.ImportReport report = service.importFeed(new StringReader(feed), SupplierFeedFormat.JSON_LINES);
+
+        assertEquals(2, report.appliedLines());
+        assertEquals(35050, service.findBySku("WP-2").orElseThrow().getOriginalPriceMinor());
+        assertEquals(3, inventory.getStockLevel(service.findBySku("TS-2").orElseThrow()));
+    }
+
+    @Test
+    void testDuplicateSkusAddStockToOneProduct() throws IOException {
+        String first = "TS-1,CLOSE,Футболка,100,2,M,Білий\nTS-1,CLOSE,Футболка,100,3,M,Білий\n";
+        String second = "TS-1,CLOSE,Футболка,100,5,M,Білий\n";
+
+        service.importFeed(new StringReader(first), SupplierFeedFormat.CSV);
+        SupplierFeedService.ImportReport report = service.importFeed(new StringReader(second), SupplierFeedFormat.CSV);
+
+        assertEquals(0, report.productsCreated());
+        assertEquals(1, service.getKnownSkuCount());
+        assertEquals(1, inventory.getStock().size());
+        assertEquals(10, inventory.getStockLevel(service.findBySku("TS-1").orElseThrow()));
+    }
+
+    @Test
+    void testInvalidLinesAreReportedAndSkipped() throws IOException {
+        String feed = """
+                TS-1,CLOSE,Футболка,100,2,M,Білий
+                TS-2,CLOSE,Футболка,abc,2,M,Білий
+                TS-3,UNKNOWN,Щось,100,2
+                TS-4,CLOSE,Футболка,100,-1,M,Білий
+                TS-5,CLOSE,Футболка,100,2,M
+
+                WP-1,SUPPLEMENT,Протеїн,100,1,Шоколад
+                """;
+
+        SupplierFeedService.ImportReport report = service.importFeed(new StringReader(feed), SupplierFeedFormat.CSV);
+
+        assertEquals(2, report.appliedLines());
+        assertEquals(4, report.invalidLines());
+        assertEquals(4, report.errors().size());
+        assertTrue(report.errors().get(0).startsWith("Рядок 2"));
+        assertTrue(report.errors().stream().anyMatch(e -> e.startsWith("SKU TS-5")));
+        assertTrue(service.findBySku("TS-5").isEmpty());
+    }
+
+    @Test
+    void testLargeFeedIsStreamed() throws IOException {
+        int lines = 200_000;
+        int distinctSkus = 1_000;
+        SupplierFeedService bulk = new SupplierFeedService(new ProductFactory(), inventory);
+
+        SupplierFeedService.ImportReport report = bulk.importFeed(
+                new GeneratedFeed(lines, distinctSkus), SupplierFeedFormat.CSV);
+
+        assertEquals(lines, report.appliedLines());
+        assertEquals(0, report.invalidLines());
+        assertEquals(distinctSkus, report.productsCreated());
+        long totalStock = inventory.getStock().values().stream().mapToLong(Integer::longValue).sum();
+        assertEquals(lines, totalStock);
+        assertTrue(report.getLinesPerSecond() > 0);
+    }
+
+    @Test
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SupplierFeedService(null, inventory));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SupplierFeedService(new ProductFactory(), inventory, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importFeed(null, SupplierFeedFormat.CSV));
+    }
+
+    /** Produces CSV lines on demand, so the feed itself never sits in memory. */
+    private static final class GeneratedFeed extends Reader {
+        private final int lines;
+        private final int distinctSkus;
+        private int next;
+        private String current = "";
+        private int position;
+
+        GeneratedFeed(int lines, int distinctSkus) {
+            this.lines = lines;
+            this.distinctSkus = distinctSkus;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (next == lines) {
+                    return -1;
+                }
+                int sku = next++ % distinctSkus;
+                current = "SKU-" + sku + ",SUPPLEMENT,Добавка " + sku + ",19.99,1,Смак" + sku + "\n";
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
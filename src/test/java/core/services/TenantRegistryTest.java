@@ -0,0 +1,167 @@
+package core.services;
+
+import core.domain.club.FitnessClub;
+import core.domain.club.FitnessNetwork;
+import core.domain.club.Studio;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import core.domain.staff.Trainer;
+import core.util.IdGenerator;
+import core.util.IdGenerators;
+import core.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRegistryTest {
+
+    private final TenantRegistry registry = new TenantRegistry();
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void testTenantsHaveIsolatedNetworks() throws Exception {
+        Tenant kyiv = registry.register("kyiv", "MyFitness Kyiv");
+        Tenant lviv = registry.register("lviv", "SportLife Lviv");
+
+        kyiv.submit(() -> kyiv.getNetwork().addClub(new FitnessClub("Київ, вул. Хрещатик, 1"))).get();
+
+        assertNotSame(kyiv.getNetwork(), lviv.getNetwork());
+        assertNotSame(FitnessNetwork.getInstance("Default"), kyiv.getNetwork());
+        assertEquals("SportLife Lviv", lviv.getNetwork().getName());
+        assertEquals(1, kyiv.getNetwork().getClubCount());
+        assertEquals(0, lviv.getNetwork().getClubCount());
+        assertSame(kyiv, registry.get("kyiv"));
+        assertTrue(registry.find("odesa").isEmpty());
+    }
+
+    @Test
+    void testWorkRunsOnTenantThreadsWithTenantIds() throws Exception {
+        Tenant tenant = registry.register("kyiv", "MyFitness Kyiv");
+
+        String threadName = tenant.submit(() -> Thread.currentThread().getName()).get();
+        long clubId = tenant.submit(() -> new FitnessClub("Адреса").getNumericId()).get();
+
+        assertTrue(threadName.startsWith("tenant-kyiv-"));
+        assertEquals(tenant.getNodeId(), SnowflakeIdGenerator.nodeOf(clubId));
+        assertEquals(0, SnowflakeIdGenerator.nodeOf(new FitnessClub("Адреса").getNumericId()));
+    }
+
+    @Test
+    void testHundredTenantsInOneProcess() throws Exception {
+        int tenantCount = 100;
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < tenantCount; t++) {
+            Tenant tenant = registry.register("tenant-" + t, "Network " + t);
+            results.add(tenant.submit(() -> {
+                ProductFactory factory = new ProductFactory();
+                for (int c = 0; c < 3; c++) {
+                    FitnessClub club = new FitnessClub("Адреса " + c);
+                    club.addStudio(new Studio("Зал", 20, true));
+                    club.addStaff(new Trainer("Тренер " + c, 20000, "Йога"));
+                    for (int p = 0; p < 50; p++) {
+                        Product product = factory.createProduct("SUPPLEMENT", "Добавка " + p, 100, "Смак");
+                        club.getInventory().addProduct(product, 10);
+                    }
+                    tenant.getNetwork().addClub(club);
+                }
+                return tenant.getNetwork().getClub(0).getNumericId();
+            }));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<Long> result : results) {
+            ids.add(result.get());
+        }
+
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%d tenants, approx. %d KB heap per tenant%n",
+                tenantCount, Math.max(0, after - before) / tenantCount / 1024);
+
+        assertEquals(tenantCount, registry.size());
+        assertEquals(tenantCount, ids.size());
+        Set<Integer> nodes = new HashSet<>();
+        for (Tenant tenant : registry.getTenants()) {
+            assertEquals(3, tenant.getNetwork().getClubCount());
+            assertEquals(3, tenant.getNetwork().getTotalStudios());
+            assertEquals(3, tenant.getNetwork().getTotalStaff());
+            nodes.add(tenant.getNodeId());
+        }
+        assertEquals(tenantCount, nodes.size());
+    }
+
+    @Test
+    void testRemoveShutsDownAndReusesNode() throws Exception {
+        Tenant tenant = registry.register("kyiv", "MyFitness Kyiv");
+        int node = tenant.getNodeId();
+
+        assertTrue(registry.remove("kyiv"));
+
+        assertTrue(tenant.isShutdown());
+        assertFalse(registry.remove("kyiv"));
+        assertEquals(node, registry.register("lviv", "SportLife Lviv").getNodeId());
+    }
+
+    @Test
+    void testRegistriesShareNodes() {
+        TenantRegistry other = new TenantRegistry();
+        try {
+            int kyiv = registry.register("kyiv", "MyFitness Kyiv").getNodeId();
+            int lviv = other.register("lviv", "SportLife Lviv").getNodeId();
+
+            assertNotEquals(kyiv, lviv);
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    void testSharedGeneratorNodeIsSkipped() {
+        IdGenerator previous = IdGenerators.getGenerator();
+        Tenant probe = registry.register("probe", "Probe");
+        int node = probe.getNodeId();
+        registry.shutdown();
+        IdGenerators.setGenerator(new SnowflakeIdGenerator(node));
+        try {
+            assertNotEquals(node, registry.register("kyiv", "MyFitness Kyiv").getNodeId());
+        } finally {
+            IdGenerators.setGenerator(previous);
+        }
+    }
+
+    @Test
+    void testReusedNodeContinuesIds() throws Exception {
+        Tenant kyiv = registry.register("kyiv", "MyFitness Kyiv");
+        long last = kyiv.submit(() -> new FitnessClub("Адреса").getNumericId()).get();
+        assertTrue(registry.remove("kyiv"));
+
+        Tenant lviv = registry.register("lviv", "SportLife Lviv");
+        long next = lviv.submit(() -> new FitnessClub("Адреса").getNumericId()).get();
+
+        assertEquals(kyiv.getNodeId(), lviv.getNodeId());
+        assertTrue(next > last);
+    }
+
+    @Test
+    void testValidation() {
+        registry.register("kyiv", "MyFitness Kyiv");
+        assertThrows(IllegalArgumentException.class, () -> registry.register("kyiv", "Інша"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(" ", "Мережа"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register("odesa", "Мережа", 0));
+        assertThrows(IllegalArgumentException.class, () -> registry.get("odesa"));
+    }
+}
@@ -0,0 +1,199 @@
+package core.services;
+
+import core.domain.club.Studio;
+import core.domain.scheduling.GroupClass;
+import core.domain.scheduling.Schedule;
+import core.domain.staff.Trainer;
+import core.services.TrainerAssignmentService.Assignment;
+import core.services.TrainerAssignmentService.AssignmentPlan;
+import core.services.TrainerAssignmentService.Availability;
+import core.services.TrainerAssignmentService.ClassSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrainerAssignmentServiceTest {
+    private TrainerAssignmentService service;
+    private Studio hall;
+    private Studio pool;
+    private Trainer yogaTrainer;
+    private Trainer swimTrainer;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        service = new TrainerAssignmentService();
+        hall = new Studio("Зал для йоги", 20, true);
+        pool = new Studio("Басейн", 30, true);
+        yogaTrainer = new Trainer("Анна Шевченко", 25000, "Йога");
+        swimTrainer = new Trainer("Олег Коваль", 25000, "Плавання");
+        day = LocalDate.now().plusDays(7);
+    }
+
+    @Test
+    void testPrefersMatchingSpecialization() {
+        ClassSlot yoga = new ClassSlot("Йога", hall, day.atTime(9, 0), 60, "Йога");
+        ClassSlot swim = new ClassSlot("Аква", pool, day.atTime(9, 0), 60, "Плавання");
+
+        AssignmentPlan plan = service.assign(List.of(yoga, swim), available(yogaTrainer, swimTrainer));
+
+        assertTrue(plan.isComplete());
+        assertEquals(0, plan.mismatched());
+        assertSame(yogaTrainer, trainerOf(plan, yoga));
+        assertSame(swimTrainer, trainerOf(plan, swim));
+    }
+
+    @Test
+    void testTrainerIsNeverBookedTwiceAtOnce() {
+        ClassSlot first = new ClassSlot("Йога 1", hall, day.atTime(9, 0), 60, "Йога");
+        ClassSlot second = new ClassSlot("Йога 2", pool, day.atTime(9, 30), 60, "Йога");
+
+        AssignmentPlan plan = service.assign(List.of(first, second), available(yogaTrainer, swimTrainer));
+
+        assertTrue(plan.isComplete());
+        assertEquals(1, plan.mismatched());
+        assertNotSame(trainerOf(plan, first), trainerOf(plan, second));
+    }
+
+    @Test
+    void testBalancesLoadBetweenEqualTrainers() {
+        Trainer other = new Trainer("Ірина Бондар", 25000, "Йога");
+        List<ClassSlot> slots = new ArrayList<>();
+        for (int hour = 8; hour < 16; hour++) {
+            slots.add(new ClassSlot("Йога " + hour, hall, day.atTime(hour, 0), 60, "Йога"));
+        }
+
+        AssignmentPlan plan = service.assign(slots, available(yogaTrainer, other));
+
+        assertTrue(plan.isComplete());
+        assertEquals(4, plan.minLoad());
+        assertEquals(4, plan.maxLoad());
+    }
+
+    @Test
+    void testRespectsAvailability() {
+        ClassSlot morning = new ClassSlot("Йога", hall, day.atTime(9, 0), 60, "Йога");
+        ClassSlot evening = new ClassSlot("Йога", hall, day.atTime(19, 0), 60, "Йога");
+        Map<Trainer, List<Availability>> availability = new HashMap<>();
+        availability.put(yogaTrainer, List.of(new Availability(day.getDayOfWeek(), LocalTime.of(8, 0), LocalTime.of(12, 0))));
+
+        AssignmentPlan plan = service.assign(List.of(morning, evening), availability);
+
+        assertSame(yogaTrainer, trainerOf(plan, morning));
+        assertEquals(List.of(evening), plan.unassigned());
+    }
+
+    @Test
+    void testLargeTimetableHasNoConflicts() {
+        String[] specializations = {"Йога", "Плавання", "Пілатес", "Бокс"};
+        Map<Trainer, List<Availability>> availability = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            availability.put(new Trainer("Тренер " + i, 20000, specializations[i % 4]), List.of());
+        }
+        Random random = new Random(7);
+        List<ClassSlot> slots = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = day.plusDays(random.nextInt(7)).atTime(8 + random.nextInt(12), 15 * random.nextInt(4));
+            slots.add(new ClassSlot("Заняття " + i, hall, start, 45 + 15 * random.nextInt(3),
+                    specializations[random.nextInt(4)]));
+        }
+
+        AssignmentPlan plan = service.assign(slots, availability);
+
+        assertEquals(200, plan.assignments().size() + plan.unassigned().size());
+        List<Assignment> assignments = plan.assignments();
+        for (int i = 0; i < assignments.size(); i++) {
+            for (int j = i + 1; j < assignments.size(); j++) {
+                Assignment a = assignments.get(i);
+                Assignment b = assignments.get(j);
+                if (a.trainer() == b.trainer()) {
+                    assertFalse(a.slot().start().isBefore(b.slot().end()) && b.slot().start().isBefore(a.slot().end()));
+                }
+            }
+            assertEquals(assignments.get(i).trainer().getSpecialization().equals(assignments.get(i).slot().specialization()),
+                    assignments.get(i).specializationMatch());
+        }
+    }
+
+    @Test
+    void testApplyAddsClassesToSchedule() {
+        ClassSlot yoga = new ClassSlot("Йога", hall, day.atTime(9, 0), 60, "Йога");
+        ClassSlot swim = new ClassSlot("Аква", pool, day.atTime(9, 0), 45, "Плавання");
+        Schedule schedule = new Schedule();
+
+        TrainerAssignmentService.AppliedPlan applied = service.apply(service.assign(List.of(yoga, swim),
+                available(yogaTrainer, swimTrainer)), schedule);
+        List<GroupClass> added = applied.added();
+
+        assertTrue(applied.isComplete());
+        assertEquals(2, added.size());
+        assertEquals(2, schedule.getClassesForDate(day).size());
+        GroupClass swimClass = added.stream().filter(c -> c.getStudio() == pool).findFirst().orElseThrow();
+        assertSame(swimTrainer, swimClass.getTrainer());
+        assertEquals(LocalDateTime.of(day, LocalTime.of(9, 45)), swimClass.getEndTime());
+    }
+
+    @Test
+    void testExistingClassesOfScheduleKeepTrainerBusy() {
+        Schedule schedule = new Schedule();
+        schedule.addClass(new GroupClass("Ранкова йога", yogaTrainer, pool, day.atTime(8, 30), 60));
+        ClassSlot yoga = new ClassSlot("Йога", hall, day.atTime(9, 0), 60, "Йога");
+
+        AssignmentPlan plan = service.assign(List.of(yoga), available(yogaTrainer, swimTrainer), schedule);
+        assertSame(swimTrainer, trainerOf(plan, yoga));
+
+        AssignmentPlan onlyBusy = service.assign(List.of(yoga), available(yogaTrainer), schedule);
+        assertEquals(List.of(yoga), onlyBusy.unassigned());
+    }
+
+    @Test
+    void testApplySkipsTrainerOverlapsAndReportsThem() {
+        ClassSlot yoga = new ClassSlot("Йога", hall, day.atTime(9, 0), 60, "Йога");
+        ClassSlot late = new ClassSlot("Вечірня йога", hall, day.atTime(18, 0), 60, "Йога");
+        AssignmentPlan plan = service.assign(List.of(yoga, late), available(yogaTrainer));
+        Schedule schedule = new Schedule();
+        schedule.addClass(new GroupClass("Ранкова йога", yogaTrainer, pool, day.atTime(8, 30), 60));
+
+        TrainerAssignmentService.AppliedPlan applied = service.apply(plan, schedule);
+
+        assertFalse(applied.isComplete());
+        assertEquals(List.of(yoga), applied.unassigned());
+        assertEquals(1, applied.added().size());
+        assertEquals(2, schedule.getClassesForDate(day).size());
+    }
+
+    @Test
+    void testRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> service.assign(null, Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClassSlot("Йога", hall, day.atTime(9, 0), 0, "Йога"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Availability(day.getDayOfWeek(), LocalTime.of(12, 0), LocalTime.of(9, 0)));
+    }
+
+    private static Map<Trainer, List<Availability>> available(Trainer... trainers) {
+        Map<Trainer, List<Availability>> availability = new HashMap<>();
+        for (Trainer trainer : trainers) {
+            availability.put(trainer, List.of());
+        }
+        return availability;
+    }
+
+    private static Trainer trainerOf(AssignmentPlan plan, ClassSlot slot) {
+        return plan.assignments().stream()
+                .filter(assignment -> assignment.slot() == slot)
+                .map(Assignment::trainer)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,38 @@
+package core.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyIdTest {
+
+    @AfterEach
+    void tearDown() {
+        IdGenerators.setThreadGenerator(null);
+    }
+
+    @Test
+    void testNextTakesValueFromCurrentGenerator() {
+        IdGenerators.setThreadGenerator(() -> 42L);
+
+        LazyId id = LazyId.next();
+
+        assertEquals(42L, id.value());
+        assertEquals("42", id.asString());
+        assertEquals("42", id.toString());
+    }
+
+    @Test
+    void testStringFormIsCached() {
+        LazyId id = LazyId.next();
+
+        assertSame(id.asString(), id.asString());
+        assertEquals(IdGenerators.format(id.value()), id.asString());
+    }
+
+    @Test
+    void testIdsAreUnique() {
+        assertNotEquals(LazyId.next().value(), LazyId.next().value());
+    }
+}
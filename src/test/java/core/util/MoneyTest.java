@@ -0,0 +1,90 @@
+package core.util;
+
+import core.domain.client.Client;
+import core.domain.shop.DiscountStrategy;
+import core.domain.shop.Order;
+import core.domain.shop.OrderItem;
+import core.domain.shop.Product;
+import core.domain.shop.ProductFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testOfMajorUsesDecimalRepresentation() {
+        assertEquals(10, Money.ofMajor(0.1));
+        assertEquals(123456, Money.ofMajor(1234.56));
+        assertEquals(29, Money.ofMajor(0.285)); // half-up, not 28 from 28.499999...
+        assertEquals(0, Money.ofMajor(0.0));
+    }
+
+    @Test
+    void testOfMajorThrowsWhenNotFinite() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void testPercentOfRoundsHalfUp() {
+        assertEquals(18518, Money.percentOf(123456, Money.toBasisPoints(15))); // 185.184 -> 185.18
+        assertEquals(1, Money.percentOf(5, Money.toBasisPoints(10)));          // 0.5 -> 1
+        assertEquals(0, Money.percentOf(4, Money.toBasisPoints(10)));          // 0.4 -> 0
+        assertEquals(125, Money.percentOf(1000, Money.toBasisPoints(12.5)));
+    }
+
+    @Test
+    void testTimesThrowsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("1234.50", Money.format(123450));
+        assertEquals("0.05", Money.format(5));
+    }
+
+    @Test
+    void testBulkOrderTotalsReconcileExactly() {
+        ProductFactory factory = new ProductFactory();
+        Client client = new Client("Олена Ковальчук", "+380991234567");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = factory.createProduct("SUPPLEMENT", "Протеїн " + i, 0.1 + i * 3.37, "Ваніль");
+            product.setDiscountStrategy(DiscountStrategy.percentageDiscount(i % 4 * 5 + 7.5));
+            products.add(product);
+        }
+
+        long ledgerMinor = 0;
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int order = 0; order < 200_000; order++) {
+            List<OrderItem> items = new ArrayList<>(3);
+            for (int line = 0; line < 3; line++) {
+                items.add(new OrderItem(products.get((order * 7 + line * 13) % products.size()), 1 + line));
+            }
+            Order placed = new Order(client, items);
+            ledgerMinor += placed.getTotalPriceMinor();
+            for (OrderItem item : items) {
+                expected = expected.add(referenceLineTotal(item));
+            }
+        }
+
+        assertEquals(expected, BigDecimal.valueOf(ledgerMinor, Money.SCALE));
+    }
+
+    private static BigDecimal referenceLineTotal(OrderItem item) {
+        Product product = item.product();
+        BigDecimal price = BigDecimal.valueOf(product.getOriginalPrice());
+        BigDecimal percent = BigDecimal.valueOf(((DiscountStrategy.PercentageDiscount) product.getDiscountStrategy())
+                .getDiscountPercent());
+        BigDecimal discount = price.multiply(percent)
+                .divide(BigDecimal.valueOf(100), Money.SCALE, RoundingMode.HALF_UP);
+        return price.subtract(discount).multiply(BigDecimal.valueOf(item.quantity()));
+    }
+}
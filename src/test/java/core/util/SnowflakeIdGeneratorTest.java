@@ -0,0 +1,142 @@
+package core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testIdsAreStrictlyIncreasing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testIdEncodesNodeAndTime() {
+        Instant now = Instant.parse("2025-06-01T10:15:30.123Z");
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(517, Clock.fixed(now, ZoneOffset.UTC));
+
+        long id = generator.nextId();
+
+        assertEquals(517, SnowflakeIdGenerator.nodeOf(id));
+        assertEquals(now, SnowflakeIdGenerator.timestampOf(id));
+        assertTrue(id > 0);
+    }
+
+    @Test
+    void testSequenceOverflowAndFixedClockStayUnique() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1,
+                Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC));
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) { // more than 4096 per millisecond
+            assertTrue(ids.add(generator.nextId()));
+        }
+    }
+
+    @Test
+    void testClockMovingBackwardsDoesNotRepeatIds() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-06-01T00:00:01Z"));
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock);
+        long before = generator.nextId();
+
+        clock.instant = Instant.parse("2025-06-01T00:00:00Z");
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void testDifferentNodesNeverCollide() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1, clock);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2, clock);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    @Test
+    void testConcurrentGenerationIsUnique() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void testInvalidNodeIdThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void testIdGeneratorsUsesInstalledGenerator() {
+        IdGenerator original = IdGenerators.getGenerator();
+        try {
+            IdGenerators.setGenerator(() -> 42L);
+            assertEquals(42L, IdGenerators.nextId());
+            assertEquals("42", IdGenerators.format(42L));
+            assertThrows(IllegalArgumentException.class, () -> IdGenerators.setGenerator(null));
+        } finally {
+            IdGenerators.setGenerator(original);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public long millis() {
+            return instant.toEpochMilli();
+        }
+    }
+}